@@ -0,0 +1,165 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.core.model.SystemConsumptionAggregate;
+import io.leavesfly.smartgrid.core.model.UserConsumptionVector;
+import io.leavesfly.smartgrid.core.model.WideConsumptionAggregate;
+import io.leavesfly.smartgrid.retailer.ElectricityConsumptionByTime;
+import io.leavesfly.smartgrid.retailer.Retailer;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+
+/**
+ * 用户消耗聚合基准
+ * {@link SystemConsumptionAggregate#aggregateUserConsumptions} 和
+ * {@link Retailer#aggregateUserConsumption} 要求用户数等于配置的用户数，只按配置规模测量；
+ * {@link WideConsumptionAggregate} 和逐用户累加的64位聚合按参数化的用户数量测量
+ *
+ * 核心用户向量的用户ID受配置用户数限制，参数化规模下按编号循环复用；
+ * 零售商聚合方法会记录INFO日志，基准运行期间日志级别调为WARN
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    /**
+     * 配置规模的用户消耗数据
+     */
+    @State(Scope.Benchmark)
+    public static class ConfiguredUsers {
+        List<UserConsumptionVector> coreConsumptions;
+        List<OneUserConsumVector> legacyConsumptions;
+        SystemConsumptionAggregate coreAggregate;
+        ElectricityConsumptionByTime legacyAggregate;
+        long[] wideTotals;
+        private LogLevel previousLevel;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            previousLevel = quietLogs();
+            coreConsumptions = coreUsers(SmartGridConfig.USER_COUNT);
+            legacyConsumptions = legacyUsers(UsersArgs.userNum);
+            coreAggregate = new SystemConsumptionAggregate();
+            legacyAggregate = new ElectricityConsumptionByTime();
+            wideTotals = new long[UsersArgs.timeSlots];
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            SmartGridLogger.getInstance().setLogLevel(previousLevel);
+        }
+    }
+
+    /**
+     * 参数化规模的用户消耗数据
+     */
+    @State(Scope.Benchmark)
+    public static class ScaledUsers {
+        @Param({"100", "10000", "1000000"})
+        public int users;
+
+        List<UserConsumptionVector> coreConsumptions;
+        List<int[]> rawConsumptions;
+        WideConsumptionAggregate wideAggregate;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            coreConsumptions = coreUsers(users);
+            rawConsumptions = new ArrayList<>(users);
+            for (UserConsumptionVector consumption : coreConsumptions) {
+                rawConsumptions.add(consumption.getConsumptionsCopy());
+            }
+            wideAggregate = new WideConsumptionAggregate();
+        }
+    }
+
+    @Benchmark
+    public SystemConsumptionAggregate coreAggregate(ConfiguredUsers state) {
+        state.coreAggregate.aggregateUserConsumptions(state.coreConsumptions);
+        return state.coreAggregate;
+    }
+
+    @Benchmark
+    public ElectricityConsumptionByTime retailerAggregate(ConfiguredUsers state) {
+        Retailer.aggregateUserConsumption(state.legacyAggregate, state.legacyConsumptions);
+        return state.legacyAggregate;
+    }
+
+    @Benchmark
+    public long[] retailerAggregateWide(ConfiguredUsers state) {
+        Retailer.aggregateUserConsumptionWide(state.wideTotals, state.legacyConsumptions);
+        return state.wideTotals;
+    }
+
+    @Benchmark
+    public WideConsumptionAggregate wideAggregateVectors(ScaledUsers state) {
+        state.wideAggregate.aggregateUserConsumptions(state.coreConsumptions);
+        return state.wideAggregate;
+    }
+
+    @Benchmark
+    public WideConsumptionAggregate wideAggregateArrays(ScaledUsers state) {
+        state.wideAggregate.reset();
+        for (int[] consumptions : state.rawConsumptions) {
+            state.wideAggregate.add(consumptions);
+        }
+        return state.wideAggregate;
+    }
+
+    private static LogLevel quietLogs() {
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        LogLevel previous = logger.getLogLevel();
+        logger.setLogLevel(LogLevel.WARN);
+        return previous;
+    }
+
+    private static List<UserConsumptionVector> coreUsers(int count) {
+        List<UserConsumptionVector> consumptions = new ArrayList<>(count);
+        for (int user = 0; user < count; user++) {
+            int[] values = new int[SmartGridConfig.TIME_SLOTS];
+            for (int slot = 0; slot < values.length; slot++) {
+                values[slot] = 1 + (user + slot) % 5;
+            }
+            consumptions.add(new UserConsumptionVector(user % SmartGridConfig.USER_COUNT, values));
+        }
+        return consumptions;
+    }
+
+    private static List<OneUserConsumVector> legacyUsers(int count) {
+        List<OneUserConsumVector> consumptions = new ArrayList<>(count);
+        for (int user = 0; user < count; user++) {
+            int[] values = new int[UsersArgs.timeSlots];
+            for (int slot = 0; slot < values.length; slot++) {
+                values[slot] = 1 + (user + slot) % 5;
+            }
+            consumptions.add(new OneUserConsumVector(user, values));
+        }
+        return consumptions;
+    }
+}
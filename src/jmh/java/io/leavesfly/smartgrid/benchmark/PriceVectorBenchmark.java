@@ -0,0 +1,81 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+import io.leavesfly.smartgrid.retailer.PriceVector;
+
+/**
+ * 价格向量复制与修改基准
+ * 模拟退火每一步都会复制当前价格并修改一个时间段，
+ * 对比旧版价格向量（复制到已有对象）和核心价格向量（新建副本或原地复制）的开销
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceVectorBenchmark {
+
+    private static final float[] PRICES = {0.8f, 1.1f, 1.4f, 0.6f};
+
+    private PriceVector legacySource;
+    private PriceVector legacyTarget;
+    private io.leavesfly.smartgrid.core.model.PriceVector coreSource;
+    private io.leavesfly.smartgrid.core.model.PriceVector coreTarget;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        legacySource = new PriceVector(PRICES);
+        legacyTarget = new PriceVector(PRICES);
+        coreSource = new io.leavesfly.smartgrid.core.model.PriceVector(PRICES);
+        coreTarget = new io.leavesfly.smartgrid.core.model.PriceVector(PRICES);
+    }
+
+    private int nextPosition() {
+        position = (position + 1) & 3;
+        return position;
+    }
+
+    @Benchmark
+    public PriceVector legacyCopy() {
+        return new PriceVector(legacySource);
+    }
+
+    @Benchmark
+    public PriceVector legacyModifyInto() {
+        return legacySource.createModifiedPriceVector(nextPosition(), 1.2f, legacyTarget);
+    }
+
+    @Benchmark
+    public io.leavesfly.smartgrid.core.model.PriceVector coreCopy() {
+        return new io.leavesfly.smartgrid.core.model.PriceVector(coreSource);
+    }
+
+    @Benchmark
+    public PriceVectorInterface coreModifyNew() {
+        return coreSource.createNewPriceVector(nextPosition(), 1.2f);
+    }
+
+    @Benchmark
+    public PriceVectorInterface coreCopyFrom() {
+        coreTarget.copyFrom(coreSource);
+        return coreTarget;
+    }
+}
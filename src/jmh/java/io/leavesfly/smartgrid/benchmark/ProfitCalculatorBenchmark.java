@@ -0,0 +1,102 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leavesfly.smartgrid.core.algorithm.PolynomialCostCurve;
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.retailer.ElectricityConsumptionByTime;
+import io.leavesfly.smartgrid.retailer.PriceVector;
+
+/**
+ * 利润计算基准
+ * 对比旧版静态计算器（float与64位两个版本）和核心计算器（公式、查找表与64位三种方式）
+ * 计算一次零售商利润的耗时；用户数量决定各时间段总用电量的量级
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfitCalculatorBenchmark {
+
+    /** 每个用户在单个时间段的平均用电量 */
+    private static final int CONSUMPTION_PER_USER = 8;
+
+    /** 参与聚合的用户数量 */
+    @Param({"2", "1000", "10000"})
+    public int users;
+
+    private ElectricityConsumptionByTime legacyConsumption;
+    private long[] wideConsumption;
+    private int[] consumption;
+    private PriceVector legacyPrice;
+    private io.leavesfly.smartgrid.core.model.PriceVector corePrice;
+    private io.leavesfly.smartgrid.core.algorithm.RetailerProfitCalculator formulaCalculator;
+    private io.leavesfly.smartgrid.core.algorithm.RetailerProfitCalculator tableCalculator;
+
+    @Setup
+    public void setUp() {
+        consumption = new int[SmartGridConfig.TIME_SLOTS];
+        wideConsumption = new long[SmartGridConfig.TIME_SLOTS];
+        for (int slot = 0; slot < consumption.length; slot++) {
+            consumption[slot] = users * (CONSUMPTION_PER_USER + slot);
+            wideConsumption[slot] = consumption[slot];
+        }
+        legacyConsumption = new ElectricityConsumptionByTime(consumption.clone());
+
+        float[] prices = {0.8f, 1.1f, 1.4f, 0.6f};
+        legacyPrice = new PriceVector(prices);
+        corePrice = new io.leavesfly.smartgrid.core.model.PriceVector(prices);
+
+        formulaCalculator = new io.leavesfly.smartgrid.core.algorithm.RetailerProfitCalculator();
+        int maxConsumption = 0;
+        for (int value : consumption) {
+            maxConsumption = Math.max(maxConsumption, value);
+        }
+        tableCalculator = new io.leavesfly.smartgrid.core.algorithm.RetailerProfitCalculator(
+                PolynomialCostCurve.fromConfig(), maxConsumption);
+    }
+
+    @Benchmark
+    public float legacyFloat() {
+        return io.leavesfly.smartgrid.retailer.RetailerProfitCalculator
+                .calculateRetailerProfit(legacyConsumption, legacyPrice);
+    }
+
+    @Benchmark
+    public double legacyWide() {
+        return io.leavesfly.smartgrid.retailer.RetailerProfitCalculator
+                .calculateRetailerProfitWide(wideConsumption, legacyPrice);
+    }
+
+    @Benchmark
+    public float coreFormula() {
+        return formulaCalculator.calculateProfit(corePrice, consumption);
+    }
+
+    @Benchmark
+    public float coreLookupTable() {
+        return tableCalculator.calculateProfit(corePrice, consumption);
+    }
+
+    @Benchmark
+    public double coreWide() {
+        return formulaCalculator.calculateProfitWide(corePrice, wideConsumption);
+    }
+}
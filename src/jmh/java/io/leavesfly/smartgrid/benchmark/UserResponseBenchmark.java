@@ -0,0 +1,71 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.leavesfly.smartgrid.retailer.PriceVector;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UsersArgs;
+
+/**
+ * 用户响应计算基准
+ * 测量 {@link UserMaxSatisfaConsumVector#getConsumVectorByPriceVector} 在一轮价格广播中
+ * 为全部用户计算最优用电向量的耗时；用户配置只有 {@link UsersArgs#userNum} 组，
+ * 更多的用户按编号循环复用这些配置
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseBenchmark {
+
+    /** 每轮需要响应的用户数量 */
+    @Param({"2", "100", "10000"})
+    public int users;
+
+    private PriceVector priceVector;
+
+    @Setup
+    public void setUp() {
+        priceVector = new PriceVector(new float[] {0.8f, 1.1f, 1.4f, 0.6f});
+    }
+
+    /**
+     * 与用户线程相同：每个用户每轮新建用电向量并计算
+     */
+    @Benchmark
+    public void respondAllUsers(Blackhole blackhole) {
+        for (int user = 0; user < users; user++) {
+            OneUserConsumVector vector = new OneUserConsumVector(user % UsersArgs.userNum,
+                    new int[UsersArgs.timeSlots]);
+            blackhole.consume(UserMaxSatisfaConsumVector.getConsumVectorByPriceVector(vector, priceVector));
+        }
+    }
+
+    /**
+     * 单个用户的一次响应
+     */
+    @Benchmark
+    public OneUserConsumVector respondOneUser() {
+        OneUserConsumVector vector = new OneUserConsumVector(0, new int[UsersArgs.timeSlots]);
+        return UserMaxSatisfaConsumVector.getConsumVectorByPriceVector(vector, priceVector);
+    }
+}
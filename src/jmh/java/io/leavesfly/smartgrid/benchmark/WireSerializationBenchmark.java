@@ -0,0 +1,166 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leavesfly.smartgrid.retailer.PriceVector;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+
+/**
+ * 线上对象序列化基准
+ * 零售商与用户之间通过长连接上的Object流交换 {@link PriceVector} 和 {@link OneUserConsumVector}，
+ * 流头和类描述只在连接建立时发送一次。round trip 基准复用同一对Object流，
+ * 与实际连接的稳态开销一致；fresh 基准每次新建流，对应建立连接后的第一条消息
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireSerializationBenchmark {
+
+    private PriceVector priceVector;
+    private OneUserConsumVector consumVector;
+
+    private LoopbackBuffer buffer;
+    private ObjectOutputStream out;
+    private ObjectInputStream in;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        priceVector = new PriceVector(new float[] {0.8f, 1.1f, 1.4f, 0.6f});
+        priceVector.setNewPrice(true);
+        consumVector = new OneUserConsumVector(1, new int[] {5, 7, 9, 4});
+
+        buffer = new LoopbackBuffer();
+        out = new ObjectOutputStream(buffer.output());
+        out.flush();
+        in = new ObjectInputStream(buffer.input());
+    }
+
+    @Benchmark
+    public Object priceRoundTrip() throws Exception {
+        return roundTrip(new PriceVector(priceVector));
+    }
+
+    @Benchmark
+    public Object consumptionRoundTrip() throws Exception {
+        return roundTrip(new OneUserConsumVector(consumVector.getUserID(), consumVector.getConsumVector().clone()));
+    }
+
+    @Benchmark
+    public byte[] priceFreshStream() throws IOException {
+        return serializeFresh(priceVector);
+    }
+
+    @Benchmark
+    public byte[] consumptionFreshStream() throws IOException {
+        return serializeFresh(consumVector);
+    }
+
+    /**
+     * 与实际连接相同，每条消息都是新对象，不会命中Object流的句柄缓存
+     */
+    private Object roundTrip(Object message) throws Exception {
+        out.writeObject(message);
+        out.flush();
+        Object received = in.readObject();
+        buffer.clear();
+        return received;
+    }
+
+    private static byte[] serializeFresh(Object message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(message);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 单线程内存管道，写入的字节可立即读出，读完后可清空复用
+     */
+    private static final class LoopbackBuffer {
+        private byte[] data = new byte[1024];
+        private int writePosition;
+        private int readPosition;
+
+        OutputStream output() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    ensureCapacity(1);
+                    data[writePosition++] = (byte) b;
+                }
+
+                @Override
+                public void write(byte[] source, int offset, int length) {
+                    ensureCapacity(length);
+                    System.arraycopy(source, offset, data, writePosition, length);
+                    writePosition += length;
+                }
+            };
+        }
+
+        InputStream input() {
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return readPosition < writePosition ? data[readPosition++] & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] target, int offset, int length) {
+                    int available = writePosition - readPosition;
+                    if (available <= 0) {
+                        return -1;
+                    }
+                    int count = Math.min(length, available);
+                    System.arraycopy(data, readPosition, target, offset, count);
+                    readPosition += count;
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return writePosition - readPosition;
+                }
+            };
+        }
+
+        void clear() {
+            if (readPosition == writePosition) {
+                readPosition = 0;
+                writePosition = 0;
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (writePosition + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, writePosition + extra));
+            }
+        }
+    }
+}
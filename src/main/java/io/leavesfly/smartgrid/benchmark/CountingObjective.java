@@ -0,0 +1,170 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.leavesfly.smartgrid.core.algorithm.ProfitObjectiveInterface;
+import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+import io.leavesfly.smartgrid.retailer.RetailerProfitCalculator;
+
+/**
+ * 带预算和计数的定价目标函数
+ * 以 {@link SyntheticPopulation} 的响应和零售商64位利润公式计算利润，统计评估次数，
+ * 并在最优利润提高时记录一个曲线点（评估序号、耗时、最优利润）
+ *
+ * 评估次数或耗时用尽后，下一次评估抛出 {@link BudgetExhaustedException}，
+ * 无论优化算法自身的停止条件如何，都在同一预算下结束
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class CountingObjective implements ProfitObjectiveInterface {
+
+    private final SyntheticPopulation population;
+    private final long maxEvaluations;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final float[] scratchPrices;
+    private final long[] scratchTotals;
+    private final List<CurvePoint> curve = new ArrayList<>();
+
+    private long evaluations;
+    private double bestProfit = Double.NEGATIVE_INFINITY;
+    private boolean exhausted;
+
+    /**
+     * 构造函数，计时从构造时开始
+     * @param population 用户群体
+     * @param maxEvaluations 评估次数上限
+     * @param budgetMillis 耗时上限（毫秒）
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public CountingObjective(SyntheticPopulation population, long maxEvaluations, long budgetMillis) {
+        if (population == null || maxEvaluations <= 0 || budgetMillis <= 0) {
+            throw new IllegalArgumentException("用户群体不能为null，评估次数和耗时上限必须为正数");
+        }
+        this.population = population;
+        this.maxEvaluations = maxEvaluations;
+        this.scratchPrices = new float[population.getSlots()];
+        this.scratchTotals = new long[population.getSlots()];
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    @Override
+    public double evaluate(PriceVectorInterface priceVector) {
+        for (int slot = 0; slot < scratchPrices.length; slot++) {
+            scratchPrices[slot] = priceVector.getPriceByPosition(slot);
+        }
+        return evaluate(scratchPrices, scratchTotals);
+    }
+
+    /**
+     * 计算一组价格的利润
+     * @param prices 各时间段价格
+     * @param totals 输出的各时间段总消耗
+     * @return 利润
+     * @throws BudgetExhaustedException 如果预算已用尽
+     */
+    public double evaluate(float[] prices, long[] totals) {
+        long now = System.nanoTime();
+        if (evaluations >= maxEvaluations || now >= deadlineNanos) {
+            exhausted = true;
+            throw new BudgetExhaustedException();
+        }
+        Arrays.fill(totals, 0L);
+        population.respond(0, population.getUsers(), prices, totals);
+        double profit = RetailerProfitCalculator.calculateRetailerProfitWide(totals, prices);
+        evaluations++;
+        if (profit > bestProfit) {
+            bestProfit = profit;
+            curve.add(new CurvePoint(evaluations, System.nanoTime() - startNanos, profit));
+        }
+        return profit;
+    }
+
+    public SyntheticPopulation getPopulation() {
+        return population;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * 获取目前为止的最优利润
+     * @return 最优利润，尚未评估时返回负无穷
+     */
+    public double getBestProfit() {
+        return bestProfit;
+    }
+
+    /**
+     * 是否因预算用尽而结束
+     * @return 有评估请求被预算拒绝时返回true
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * 获取自构造以来的耗时
+     * @return 纳秒
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 获取最优利润曲线，每次最优利润提高时一个点
+     * @return 只读曲线
+     */
+    public List<CurvePoint> getCurve() {
+        return Collections.unmodifiableList(curve);
+    }
+
+    /**
+     * 最优利润曲线上的一个点
+     */
+    public static final class CurvePoint {
+        private final long evaluation;
+        private final long elapsedNanos;
+        private final double bestProfit;
+
+        CurvePoint(long evaluation, long elapsedNanos, double bestProfit) {
+            this.evaluation = evaluation;
+            this.elapsedNanos = elapsedNanos;
+            this.bestProfit = bestProfit;
+        }
+
+        /**
+         * 达到该最优利润时的评估序号，从1开始
+         * @return 评估序号
+         */
+        public long getEvaluation() {
+            return evaluation;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getBestProfit() {
+            return bestProfit;
+        }
+    }
+
+    /**
+     * 评估预算用尽
+     */
+    public static final class BudgetExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BudgetExhaustedException() {
+            super("评估预算已用尽", null, false, false);
+        }
+    }
+}
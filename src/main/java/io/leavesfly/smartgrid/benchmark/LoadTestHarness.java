@@ -0,0 +1,302 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.leavesfly.smartgrid.retailer.Retailer;
+import io.leavesfly.smartgrid.retailer.RetailerMetrics;
+import io.leavesfly.smartgrid.retailer.RetailerServer;
+import io.leavesfly.smartgrid.user.UserThread;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.metrics.LatencyHistogram;
+import io.leavesfly.smartgrid.util.metrics.MetricsRegistry;
+
+/**
+ * 零售商/用户协议的端到端回环负载测试
+ * 在进程内以自动分配的端口启动 {@link RetailerServer}，通过回环地址启动指定数量的
+ * {@link UserThread}，运行固定轮数的SAPC定价，报告评估吞吐量、评估延迟分位数、
+ * 线上字节数以及堆和GC统计
+ *
+ * 一次评估指一次价格广播并收齐全部用户响应、完成聚合和利润计算；
+ * 一轮退火包含 TIME_SLOTS 次评估，另有一次初始评估
+ *
+ * 运行方式（先执行 mvn compile）：
+ * java -cp target/classes io.leavesfly.smartgrid.benchmark.LoadTestHarness [用户数] [退火轮数] [广播等待毫秒]
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class LoadTestHarness {
+
+    /** 默认用户数量 */
+    public static final int DEFAULT_USERS = 100;
+
+    /** 默认退火轮数 */
+    public static final int DEFAULT_ROUNDS = 5;
+
+    /** 默认超时时间（毫秒） */
+    public static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private LoadTestHarness() {
+        throw new UnsupportedOperationException("此类为工具类，不允许实例化");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_USERS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long delayMillis = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        System.out.println(run(users, rounds, delayMillis, DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * 运行一次负载测试
+     * 运行期间日志级别调为WARN，结束后恢复；零售商指标在开始前清空
+     *
+     * @param users 用户数量
+     * @param rounds 最多执行的退火轮数
+     * @param delayMillis 每次广播价格前的等待时间（毫秒）
+     * @param timeoutMillis 整体超时时间（毫秒）
+     * @return 测试结果
+     * @throws Exception 服务器启动失败、算法异常或超时
+     */
+    public static Result run(int users, int rounds, long delayMillis, long timeoutMillis) throws Exception {
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        LogLevel previousLevel = logger.getLogLevel();
+        logger.setLogLevel(LogLevel.WARN);
+        try {
+            return runQuietly(users, rounds, delayMillis, timeoutMillis);
+        } finally {
+            logger.setLogLevel(previousLevel);
+        }
+    }
+
+    private static Result runQuietly(int users, int rounds, long delayMillis, long timeoutMillis)
+            throws Exception {
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(users);
+        retailer.setBroadcastDelayMillis(delayMillis);
+        retailer.setMaxRounds(rounds);
+
+        System.gc();
+        GcSnapshot gcBefore = GcSnapshot.take();
+        resetHeapPeaks();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        try (RetailerServer server = RetailerServer.start(0, retailer)) {
+            long connectStart = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread algorithm = new Thread(() -> {
+                try {
+                    server.runAlgorithm();
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }, "load-test-sapc");
+            algorithm.start();
+
+            Thread[] userThreads = new Thread[users];
+            for (int user = 0; user < users; user++) {
+                userThreads[user] = new Thread(new UserThread(user, LOOPBACK, server.getPort()),
+                        "load-test-user-" + user);
+                userThreads[user].setDaemon(true);
+                userThreads[user].start();
+            }
+
+            retailer.awaitAllUsersConnected();
+            long runStart = System.nanoTime();
+            long connectNanos = runStart - connectStart;
+
+            algorithm.join(remainingMillis(deadline));
+            long elapsedNanos = System.nanoTime() - runStart;
+            if (algorithm.isAlive()) {
+                algorithm.interrupt();
+                throw new IllegalStateException("负载测试超时: " + timeoutMillis + "ms");
+            }
+            if (failure.get() != null) {
+                throw new IllegalStateException("SAPC算法执行失败", failure.get());
+            }
+            for (Thread userThread : userThreads) {
+                userThread.join(remainingMillis(deadline));
+            }
+
+            return new Result(users, connectNanos, elapsedNanos, RetailerMetrics.REGISTRY,
+                    GcSnapshot.take().minus(gcBefore), heapUsed(), heapPeak());
+        }
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * GC次数与耗时的快照
+     */
+    private static final class GcSnapshot {
+        final long collections;
+        final long timeMillis;
+
+        GcSnapshot(long collections, long timeMillis) {
+            this.collections = collections;
+            this.timeMillis = timeMillis;
+        }
+
+        static GcSnapshot take() {
+            long collections = 0;
+            long timeMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(0L, gc.getCollectionCount());
+                timeMillis += Math.max(0L, gc.getCollectionTime());
+            }
+            return new GcSnapshot(collections, timeMillis);
+        }
+
+        GcSnapshot minus(GcSnapshot before) {
+            return new GcSnapshot(collections - before.collections, timeMillis - before.timeMillis);
+        }
+    }
+
+    /**
+     * 负载测试结果
+     */
+    public static final class Result {
+        private final int users;
+        private final long connectNanos;
+        private final long elapsedNanos;
+        private final long evaluations;
+        private final long annealingRounds;
+        private final long latencyP50Nanos;
+        private final long latencyP99Nanos;
+        private final long latencyMaxNanos;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final long gcCount;
+        private final long gcTimeMillis;
+        private final long heapUsedBytes;
+        private final long heapPeakBytes;
+
+        Result(int users, long connectNanos, long elapsedNanos, MetricsRegistry registry,
+               GcSnapshot gc, long heapUsedBytes, long heapPeakBytes) {
+            LatencyHistogram latency = registry.histogram("evaluationLatency");
+            this.users = users;
+            this.connectNanos = connectNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.evaluations = registry.counter("evaluations").sum();
+            this.annealingRounds = registry.counter("annealingRounds").sum();
+            this.latencyP50Nanos = latency.getValueAtPercentile(50.0);
+            this.latencyP99Nanos = latency.getValueAtPercentile(99.0);
+            this.latencyMaxNanos = latency.getMax();
+            this.bytesSent = registry.counter("bytesSent").sum();
+            this.bytesReceived = registry.counter("bytesReceived").sum();
+            this.gcCount = gc.collections;
+            this.gcTimeMillis = gc.timeMillis;
+            this.heapUsedBytes = heapUsedBytes;
+            this.heapPeakBytes = heapPeakBytes;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getAnnealingRounds() {
+            return annealingRounds;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 每秒完成的评估次数
+         * @return 评估吞吐量
+         */
+        public double getEvaluationsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : evaluations * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * 每秒完成的退火轮数
+         * @return 退火轮吞吐量
+         */
+        public double getRoundsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : annealingRounds * 1e9 / elapsedNanos;
+        }
+
+        public long getLatencyP50Nanos() {
+            return latencyP50Nanos;
+        }
+
+        public long getLatencyP99Nanos() {
+            return latencyP99Nanos;
+        }
+
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcTimeMillis() {
+            return gcTimeMillis;
+        }
+
+        public long getHeapPeakBytes() {
+            return heapPeakBytes;
+        }
+
+        @Override
+        public String toString() {
+            long evaluationsOrOne = Math.max(1L, evaluations);
+            return String.format(
+                    "users=%d, connect=%.1f ms, elapsed=%.3f s%n"
+                    + "evaluations=%d (%.1f/s), annealingRounds=%d (%.2f/s)%n"
+                    + "evaluation latency: p50=%.3f ms, p99=%.3f ms, max=%.3f ms%n"
+                    + "wire bytes: sent=%d, received=%d, per evaluation=%d%n"
+                    + "gc: count=%d, time=%d ms; heap: used=%.1f MB, peak=%.1f MB",
+                    users, connectNanos / 1e6, elapsedNanos / 1e9,
+                    evaluations, getEvaluationsPerSecond(), annealingRounds, getRoundsPerSecond(),
+                    latencyP50Nanos / 1e6, latencyP99Nanos / 1e6, latencyMaxNanos / 1e6,
+                    bytesSent, bytesReceived, (bytesSent + bytesReceived) / evaluationsOrOne,
+                    gcCount, gcTimeMillis, heapUsedBytes / 1048576.0, heapPeakBytes / 1048576.0);
+        }
+    }
+}
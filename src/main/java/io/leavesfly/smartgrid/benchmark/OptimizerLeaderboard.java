@@ -0,0 +1,583 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.leavesfly.smartgrid.core.algorithm.OptimizationAlgorithmInterface;
+import io.leavesfly.smartgrid.core.algorithm.ProfitObjectiveInterface;
+import io.leavesfly.smartgrid.core.algorithm.SimulatedAnnealingOptimizer;
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.retailer.Retailer;
+import io.leavesfly.smartgrid.retailer.RetailerConfigConstants;
+import io.leavesfly.smartgrid.retailer.SAPC_Algorithm;
+import io.leavesfly.smartgrid.retailer.UserTransport;
+import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * 优化算法质量-时间排行榜
+ * 在多个按种子生成的用户群体上，以相同的评估次数和耗时预算运行每个参赛算法，记录最优利润曲线，
+ * 并以每个群体上所有算法找到的最优利润为已知最优，统计达到已知最优99%所需的时间和评估次数
+ *
+ * 利润可能为负，"达到99%" 指与已知最优的差距不超过其绝对值的1%。
+ * 参赛算法包括经 {@link UserTransport} 接入的 {@link SAPC_Algorithm}，
+ * 以及任何实现 {@link OptimizationAlgorithmInterface} 的优化器；
+ * 每个算法在同一群体上使用相同种子的 {@link RandomSource}
+ *
+ * 运行方式（先执行 mvn compile）：
+ * java -cp target/classes io.leavesfly.smartgrid.benchmark.OptimizerLeaderboard
+ *     users=10 seeds=5 evaluations=2000 budgetMillis=1000 curves=curves.csv
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class OptimizerLeaderboard {
+
+    /** 视为达到已知最优的比例 */
+    public static final double TARGET_FRACTION = 0.99;
+
+    /** 曲线CSV表头 */
+    public static final String CURVE_HEADER = "algorithm,seed,evaluation,elapsed_ms,best_profit";
+
+    private OptimizerLeaderboard() {
+        throw new UnsupportedOperationException("此类为工具类，不允许实例化");
+    }
+
+    /**
+     * 参赛算法
+     */
+    public interface Contender {
+        /**
+         * 算法名称
+         * @return 名称
+         */
+        String getName();
+
+        /**
+         * 在目标函数上运行算法，预算用尽时目标函数抛出 {@link CountingObjective.BudgetExhaustedException}
+         * @param objective 目标函数
+         * @param random 本次运行的随机数源
+         * @throws Exception 算法执行异常
+         */
+        void run(CountingObjective objective, RandomSource random) throws Exception;
+    }
+
+    /**
+     * 创建优化器的工厂
+     */
+    public interface OptimizerFactory {
+        /**
+         * 创建优化器
+         * @param objective 目标函数
+         * @param random 随机数源
+         * @return 优化器
+         */
+        OptimizationAlgorithmInterface create(ProfitObjectiveInterface objective, RandomSource random);
+    }
+
+    /**
+     * 把实现 {@link OptimizationAlgorithmInterface} 的优化器包装为参赛算法
+     * 初始价格由 {@link SimulatedAnnealingOptimizer#randomInitialPrice(RandomSource)} 生成
+     * @param name 名称
+     * @param factory 优化器工厂
+     * @return 参赛算法
+     */
+    public static Contender optimizer(String name, OptimizerFactory factory) {
+        return contender(name, (objective, random) -> {
+            OptimizationAlgorithmInterface algorithm = factory.create(objective, random);
+            algorithm.optimize(SimulatedAnnealingOptimizer.randomInitialPrice(random));
+        });
+    }
+
+    /**
+     * SAPC算法，经把价格直接交给目标函数评估的传输运行
+     * 零售商使用本次运行的随机数源，同一种子的重复运行结果相同
+     * @return 参赛算法
+     */
+    public static Contender sapc() {
+        return contender("sapc", (objective, random) -> {
+            Retailer retailer = new Retailer(objective.getPopulation().getUsers(), random);
+            retailer.setBroadcastDelayMillis(0);
+            try (UserTransport transport = new ObjectiveTransport(retailer, objective)) {
+                SAPC_Algorithm.simulatedAnnealingAglorith(retailer, transport);
+            }
+        });
+    }
+
+    /**
+     * 随机搜索基线，在预算内不断评估随机价格
+     * @return 参赛算法
+     */
+    public static Contender randomSearch() {
+        return contender("random-search", (objective, random) -> {
+            float[] prices = new float[objective.getPopulation().getSlots()];
+            long[] totals = new long[prices.length];
+            while (true) {
+                for (int slot = 0; slot < prices.length; slot++) {
+                    prices[slot] = random.nextFloat(SmartGridConfig.MIN_PRICE, SmartGridConfig.MAX_PRICE);
+                }
+                objective.evaluate(prices, totals);
+            }
+        });
+    }
+
+    /**
+     * 默认参赛算法：SAPC、相同降温规则的重构版模拟退火、每个温度扫描8轮的模拟退火和随机搜索
+     * @return 参赛算法列表
+     */
+    public static List<Contender> defaultContenders() {
+        return Arrays.asList(
+                sapc(),
+                optimizer("annealing", SimulatedAnnealingOptimizer::new),
+                optimizer("annealing-x8", (objective, random) -> {
+                    SimulatedAnnealingOptimizer optimizer = new SimulatedAnnealingOptimizer(objective, random);
+                    optimizer.setSweepsPerTemperature(8);
+                    return optimizer;
+                }),
+                randomSearch());
+    }
+
+    private interface ContenderBody {
+        void run(CountingObjective objective, RandomSource random) throws Exception;
+    }
+
+    private static Contender contender(String name, ContenderBody body) {
+        return new Contender() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void run(CountingObjective objective, RandomSource random) throws Exception {
+                body.run(objective, random);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        Leaderboard leaderboard = run(defaultContenders(), settings);
+        System.out.println(leaderboard);
+        if (settings.curves != null) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(settings.curves), StandardCharsets.UTF_8)) {
+                leaderboard.writeCurves(writer);
+            }
+            System.out.println("曲线已写入 " + settings.curves);
+        }
+    }
+
+    /**
+     * 运行排行榜
+     * 运行期间日志级别调为WARN，结束后恢复
+     *
+     * @param contenders 参赛算法
+     * @param settings 配置
+     * @return 排行榜
+     * @throws Exception 参赛算法执行异常（预算用尽除外）
+     */
+    public static Leaderboard run(List<Contender> contenders, Settings settings) throws Exception {
+        if (contenders == null || contenders.isEmpty()) {
+            throw new IllegalArgumentException("参赛算法不能为空");
+        }
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        LogLevel previousLevel = logger.getLogLevel();
+        logger.setLogLevel(LogLevel.WARN);
+        try {
+            List<Run> runs = new ArrayList<>();
+            for (int index = 0; index < settings.seeds; index++) {
+                long seed = settings.seed + index;
+                SyntheticPopulation population = SyntheticPopulation.random(settings.users,
+                        RetailerConfigConstants.TIME_SLOTS, UsersArgs.B_applianceNum,
+                        SyntheticPopulation.DEFAULT_PROFILES, seed);
+                List<Run> seedRuns = new ArrayList<>(contenders.size());
+                for (Contender contender : contenders) {
+                    CountingObjective objective = new CountingObjective(population,
+                            settings.evaluations, settings.budgetMillis);
+                    try {
+                        contender.run(objective, new RandomSource(seed));
+                    } catch (CountingObjective.BudgetExhaustedException e) {
+                        // 预算用尽，正常结束
+                    }
+                    seedRuns.add(new Run(contender.getName(), seed, objective));
+                }
+                double bestKnown = Double.NEGATIVE_INFINITY;
+                for (Run run : seedRuns) {
+                    bestKnown = Math.max(bestKnown, run.bestProfit);
+                }
+                for (Run run : seedRuns) {
+                    run.score(bestKnown);
+                }
+                runs.addAll(seedRuns);
+            }
+            return new Leaderboard(contenders, runs);
+        } finally {
+            logger.setLogLevel(previousLevel);
+        }
+    }
+
+    /**
+     * 把价格直接交给目标函数评估的传输，供SAPC算法使用
+     */
+    private static final class ObjectiveTransport implements UserTransport {
+        private final Retailer retailer;
+        private final CountingObjective objective;
+
+        ObjectiveTransport(Retailer retailer, CountingObjective objective) {
+            this.retailer = retailer;
+            this.objective = objective;
+        }
+
+        @Override
+        public void awaitUsers() {
+            // 用户由目标函数模拟，始终就绪
+        }
+
+        @Override
+        public void evaluate() {
+            double profit = objective.evaluate(retailer.getNewPriceVector().getPriceArray(),
+                    retailer.getNewWideConsumption());
+            retailer.setNewRetailerProfit(profit);
+        }
+
+        @Override
+        public void broadcastFinalPrice() {
+            retailer.getNewPriceVector().setAlgorithmEnded(true);
+        }
+
+        @Override
+        public void close() {
+            // 没有需要释放的资源
+        }
+    }
+
+    /**
+     * 排行榜配置
+     * 命令行参数形如 key=value
+     */
+    public static final class Settings {
+        private int users = 10;
+        private int seeds = 5;
+        private long seed = 1L;
+        private long evaluations = 2_000L;
+        private long budgetMillis = 1_000L;
+        private String curves;
+
+        /**
+         * 解析命令行参数，未指定的项使用默认值
+         * 支持的键：users、seeds（群体数量）、seed（起始种子）、evaluations、budgetMillis、curves（曲线CSV路径）
+         *
+         * @param args 命令行参数
+         * @return 配置
+         * @throws IllegalArgumentException 如果参数无法识别或取值无效
+         */
+        public static Settings parse(String... args) {
+            Settings settings = new Settings();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("参数格式应为 key=value: " + arg);
+                }
+                String key = arg.substring(0, separator);
+                String value = arg.substring(separator + 1).trim();
+                switch (key) {
+                    case "users":
+                        settings.users = positive(Integer.parseInt(value), key);
+                        break;
+                    case "seeds":
+                        settings.seeds = positive(Integer.parseInt(value), key);
+                        break;
+                    case "seed":
+                        settings.seed = Long.parseLong(value);
+                        break;
+                    case "evaluations":
+                        settings.evaluations = positive(Long.parseLong(value), key);
+                        break;
+                    case "budgetMillis":
+                        settings.budgetMillis = positive(Long.parseLong(value), key);
+                        break;
+                    case "curves":
+                        settings.curves = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知参数: " + key);
+                }
+            }
+            return settings;
+        }
+
+        private static int positive(int value, String key) {
+            return (int) positive((long) value, key);
+        }
+
+        private static long positive(long value, String key) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(key + " 必须为正数: " + value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 一个算法在一个群体上的运行结果
+     */
+    public static final class Run {
+        private final String algorithm;
+        private final long seed;
+        private final long evaluations;
+        private final long elapsedNanos;
+        private final double bestProfit;
+        private final boolean exhausted;
+        private final List<CountingObjective.CurvePoint> curve;
+        private double bestKnownProfit;
+        private long evaluationsToTarget = -1L;
+        private long nanosToTarget = -1L;
+
+        Run(String algorithm, long seed, CountingObjective objective) {
+            this.algorithm = algorithm;
+            this.seed = seed;
+            this.evaluations = objective.getEvaluations();
+            this.elapsedNanos = objective.getElapsedNanos();
+            this.bestProfit = objective.getBestProfit();
+            this.exhausted = objective.isExhausted();
+            this.curve = objective.getCurve();
+        }
+
+        void score(double bestKnown) {
+            this.bestKnownProfit = bestKnown;
+            double target = bestKnown - (1.0 - TARGET_FRACTION) * Math.abs(bestKnown);
+            for (CountingObjective.CurvePoint point : curve) {
+                if (point.getBestProfit() >= target) {
+                    evaluationsToTarget = point.getEvaluation();
+                    nanosToTarget = point.getElapsedNanos();
+                    return;
+                }
+            }
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public double getBestProfit() {
+            return bestProfit;
+        }
+
+        /**
+         * 是否因预算用尽而结束（否则为算法自行收敛）
+         * @return 预算用尽返回true
+         */
+        public boolean isExhausted() {
+            return exhausted;
+        }
+
+        /**
+         * 达到已知最优99%时的评估序号
+         * @return 评估序号，未达到时返回-1
+         */
+        public long getEvaluationsToTarget() {
+            return evaluationsToTarget;
+        }
+
+        /**
+         * 达到已知最优99%时的耗时
+         * @return 纳秒，未达到时返回-1
+         */
+        public long getNanosToTarget() {
+            return nanosToTarget;
+        }
+
+        /**
+         * 与已知最优的差距占已知最优绝对值的百分比
+         * @return 百分比，0表示就是已知最优
+         */
+        public double getGapPercent() {
+            double scale = Math.abs(bestKnownProfit);
+            return scale == 0.0 ? 0.0 : (bestKnownProfit - bestProfit) / scale * 100.0;
+        }
+
+        public List<CountingObjective.CurvePoint> getCurve() {
+            return curve;
+        }
+    }
+
+    /**
+     * 排行榜：按达到已知最优99%的次数从多到少、所需时间中位数从短到长排序
+     */
+    public static final class Leaderboard {
+        private final List<Run> runs;
+        private final List<Standing> standings;
+
+        Leaderboard(List<Contender> contenders, List<Run> runs) {
+            this.runs = Collections.unmodifiableList(runs);
+            Map<String, List<Run>> byAlgorithm = new LinkedHashMap<>();
+            for (Contender contender : contenders) {
+                byAlgorithm.put(contender.getName(), new ArrayList<>());
+            }
+            for (Run run : runs) {
+                byAlgorithm.get(run.algorithm).add(run);
+            }
+            List<Standing> ranked = new ArrayList<>();
+            for (Map.Entry<String, List<Run>> entry : byAlgorithm.entrySet()) {
+                ranked.add(new Standing(entry.getKey(), entry.getValue()));
+            }
+            ranked.sort(Comparator.comparingInt((Standing s) -> -s.hits)
+                    .thenComparingLong(s -> s.medianNanosToTarget < 0 ? Long.MAX_VALUE : s.medianNanosToTarget)
+                    .thenComparingDouble(s -> s.meanGapPercent));
+            this.standings = Collections.unmodifiableList(ranked);
+        }
+
+        public List<Run> getRuns() {
+            return runs;
+        }
+
+        /**
+         * 获取排名
+         * @return 按名次排序的各算法统计
+         */
+        public List<Standing> getStandings() {
+            return standings;
+        }
+
+        /**
+         * 以CSV写出全部运行的最优利润曲线
+         * @param out 输出
+         * @throws IOException 如果写出失败
+         */
+        public void writeCurves(Appendable out) throws IOException {
+            out.append(CURVE_HEADER).append('\n');
+            for (Run run : runs) {
+                for (CountingObjective.CurvePoint point : run.curve) {
+                    out.append(run.algorithm).append(',')
+                        .append(Long.toString(run.seed)).append(',')
+                        .append(Long.toString(point.getEvaluation())).append(',')
+                        .append(String.format(Locale.ROOT, "%.3f", point.getElapsedNanos() / 1e6)).append(',')
+                        .append(Double.toString(point.getBestProfit())).append('\n');
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%-4s %-16s %8s %12s %16s %16s %14s%n",
+                    "rank", "algorithm", "hit99%", "mean gap %", "median ms to99%", "median evals99%",
+                    "mean evals"));
+            int rank = 1;
+            for (Standing standing : standings) {
+                out.append(String.format(Locale.ROOT, "%-4d %-16s %4d/%-3d %12.4f %16s %16s %14.1f%n",
+                        rank++, standing.algorithm, standing.hits, standing.runs, standing.meanGapPercent,
+                        standing.medianNanosToTarget < 0 ? "-"
+                                : String.format(Locale.ROOT, "%.3f", standing.medianNanosToTarget / 1e6),
+                        standing.medianEvaluationsToTarget < 0 ? "-"
+                                : Long.toString(standing.medianEvaluationsToTarget),
+                        standing.meanEvaluations));
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * 一个算法在全部群体上的统计
+     */
+    public static final class Standing {
+        private final String algorithm;
+        private final int runs;
+        private final int hits;
+        private final double meanGapPercent;
+        private final double meanEvaluations;
+        private final long medianNanosToTarget;
+        private final long medianEvaluationsToTarget;
+
+        Standing(String algorithm, List<Run> runs) {
+            this.algorithm = algorithm;
+            this.runs = runs.size();
+            List<Long> nanos = new ArrayList<>();
+            List<Long> evaluations = new ArrayList<>();
+            double gapSum = 0.0;
+            double evaluationSum = 0.0;
+            for (Run run : runs) {
+                gapSum += run.getGapPercent();
+                evaluationSum += run.evaluations;
+                if (run.evaluationsToTarget > 0) {
+                    nanos.add(run.nanosToTarget);
+                    evaluations.add(run.evaluationsToTarget);
+                }
+            }
+            this.hits = nanos.size();
+            this.meanGapPercent = runs.isEmpty() ? 0.0 : gapSum / runs.size();
+            this.meanEvaluations = runs.isEmpty() ? 0.0 : evaluationSum / runs.size();
+            this.medianNanosToTarget = median(nanos);
+            this.medianEvaluationsToTarget = median(evaluations);
+        }
+
+        private static long median(List<Long> values) {
+            if (values.isEmpty()) {
+                return -1L;
+            }
+            Collections.sort(values);
+            return values.get(values.size() / 2);
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 达到已知最优99%的群体数量
+         * @return 次数
+         */
+        public int getHits() {
+            return hits;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public double getMeanGapPercent() {
+            return meanGapPercent;
+        }
+
+        /**
+         * 达到已知最优99%所需时间的中位数
+         * @return 纳秒，从未达到时返回-1
+         */
+        public long getMedianNanosToTarget() {
+            return medianNanosToTarget;
+        }
+
+        /**
+         * 达到已知最优99%所需评估次数的中位数
+         * @return 评估次数，从未达到时返回-1
+         */
+        public long getMedianEvaluationsToTarget() {
+            return medianEvaluationsToTarget;
+        }
+
+        public double getMeanEvaluations() {
+            return meanEvaluations;
+        }
+    }
+}
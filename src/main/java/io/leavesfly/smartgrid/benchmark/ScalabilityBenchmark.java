@@ -0,0 +1,740 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.leavesfly.smartgrid.retailer.PriceVector;
+import io.leavesfly.smartgrid.retailer.Retailer;
+import io.leavesfly.smartgrid.retailer.RetailerConfigConstants;
+import io.leavesfly.smartgrid.retailer.RetailerProfitCalculator;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.metrics.LatencyHistogram;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * 定价流水线规模测试
+ * 在用户数、时间段数、B类电器数和线程数构成的网格上逐点运行完整的定价流水线：
+ * 群体响应、聚合、利润计算和模拟退火的接受判断，每个点输出一行CSV，
+ * 包括评估吞吐量、评估延迟分位数、每次评估分配的字节数和堆峰值
+ *
+ * 两种内核：
+ * generic 使用 {@link SyntheticPopulation} 的无分配内核，各线程累加到自己的数组后合并；
+ * legacy 使用现有的逐用户 {@link OneUserConsumVector} 响应、列表聚合和零售商利润计算，
+ * 只在时间段数和电器数与 UsersArgs 配置一致时运行。
+ * 形状与配置一致时两种内核使用同一群体，得到的利润相同，便于对照
+ *
+ * 运行方式（先执行 mvn compile）：
+ * java -cp target/classes io.leavesfly.smartgrid.benchmark.ScalabilityBenchmark
+ *     users=1e2,1e4,1e6 slots=4,96 appliances=4 threads=1,4 kernels=generic,legacy output=scalability.csv
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class ScalabilityBenchmark {
+
+    /** CSV表头 */
+    public static final String CSV_HEADER = "kernel,users,slots,appliances,threads,status,evaluations,"
+            + "elapsed_ms,evaluations_per_second,user_responses_per_second,"
+            + "latency_p50_us,latency_p99_us,latency_max_us,"
+            + "allocated_bytes_per_evaluation,heap_peak_mb,setup_ms,best_profit";
+
+    /** 正式计时前的预热评估次数 */
+    static final int WARMUP_EVALUATIONS = 3;
+
+    /** 各线程累加数组之间的填充，避免相邻数组落在同一缓存行 */
+    private static final int PADDING_LONGS = 8;
+
+    private static final float MIN_PRICE = 0.5f;
+    private static final float MAX_PRICE = 1.5f;
+
+    /**
+     * 流水线内核
+     */
+    public enum Kernel {
+        /** 与配置无关的无分配内核 */
+        GENERIC,
+        /** 基于 UsersArgs 与 retailer 包现有实现的内核 */
+        LEGACY;
+
+        /**
+         * 是否支持指定的形状
+         * @param slots 时间段数量
+         * @param appliances B类电器数量
+         * @return 支持返回true
+         */
+        public boolean supports(int slots, int appliances) {
+            return this == GENERIC || isConfiguredShape(slots, appliances);
+        }
+    }
+
+    private ScalabilityBenchmark() {
+        throw new UnsupportedOperationException("此类为工具类，不允许实例化");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Sweep sweep = Sweep.parse(args);
+        if (sweep.output == null) {
+            run(sweep, System.out, null);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(Paths.get(sweep.output), StandardCharsets.UTF_8)) {
+            run(sweep, writer, System.out);
+        }
+        System.out.println("结果已写入 " + sweep.output);
+    }
+
+    /**
+     * 运行整个网格
+     * 运行期间日志级别调为WARN，结束后恢复；每个点完成后立即写出一行并刷新
+     *
+     * @param sweep 网格配置
+     * @param csv CSV输出
+     * @param progress 进度输出，为null时不输出
+     * @return 各点结果
+     * @throws IOException 如果写出失败
+     */
+    public static List<Result> run(Sweep sweep, Appendable csv, PrintStream progress) throws IOException {
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        LogLevel previousLevel = logger.getLogLevel();
+        logger.setLogLevel(LogLevel.WARN);
+        try {
+            csv.append(CSV_HEADER).append('\n');
+            List<Result> results = new ArrayList<>();
+            StringBuilder line = new StringBuilder(256);
+            for (Kernel kernel : sweep.kernels) {
+                for (int users : sweep.users) {
+                    for (int slots : sweep.slots) {
+                        for (int appliances : sweep.appliances) {
+                            if (!kernel.supports(slots, appliances)) {
+                                continue;
+                            }
+                            for (int threads : sweep.threads) {
+                                Result result = runPoint(kernel, users, slots, appliances, threads,
+                                        sweep.evaluations, sweep.budgetMillis, sweep.seed);
+                                results.add(result);
+                                line.setLength(0);
+                                result.appendCsv(line);
+                                csv.append(line).append('\n');
+                                if (csv instanceof Flushable) {
+                                    ((Flushable) csv).flush();
+                                }
+                                if (progress != null) {
+                                    progress.println(result);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return results;
+        } finally {
+            logger.setLogLevel(previousLevel);
+        }
+    }
+
+    /**
+     * 运行网格中的一个点
+     * 先构建群体，做一次初始评估和若干次预热评估，随后执行模拟退火步，
+     * 直到完成指定评估次数或超出时间预算（至少完成一次）；内存不足时返回状态为 oom 的结果
+     *
+     * @param kernel 内核
+     * @param users 用户数量
+     * @param slots 时间段数量
+     * @param appliances B类电器数量
+     * @param threads 计算群体响应的线程数量
+     * @param evaluations 计时的评估次数上限
+     * @param budgetMillis 计时阶段的时间预算（毫秒）
+     * @param seed 随机种子，决定合成群体和候选价格
+     * @return 结果
+     * @throws IllegalArgumentException 如果参数无效或内核不支持该形状
+     */
+    public static Result runPoint(Kernel kernel, int users, int slots, int appliances, int threads,
+                                  int evaluations, long budgetMillis, long seed) {
+        if (users <= 0 || slots <= 0 || appliances <= 0 || threads <= 0 || evaluations <= 0 || budgetMillis <= 0) {
+            throw new IllegalArgumentException("规模测试参数必须为正数");
+        }
+        if (!kernel.supports(slots, appliances)) {
+            throw new IllegalArgumentException("legacy内核只支持 " + UsersArgs.timeSlots + " 个时间段、"
+                    + UsersArgs.B_applianceNum + " 个电器");
+        }
+        Result result = new Result(kernel, users, slots, appliances, threads);
+        System.gc();
+        LoadTestHarness.resetHeapPeaks();
+        Pipeline pipeline = null;
+        try {
+            long setupStart = System.nanoTime();
+            SyntheticPopulation population = isConfiguredShape(slots, appliances)
+                    ? SyntheticPopulation.configured(users)
+                    : SyntheticPopulation.random(users, slots, appliances, SyntheticPopulation.DEFAULT_PROFILES, seed);
+            pipeline = kernel == Kernel.GENERIC
+                    ? new GenericPipeline(population, threads)
+                    : new LegacyPipeline(users, threads);
+            result.setupNanos = System.nanoTime() - setupStart;
+            anneal(pipeline, slots, evaluations, budgetMillis, seed, result);
+            result.status = "ok";
+        } catch (OutOfMemoryError e) {
+            result.status = "oom";
+        } finally {
+            if (pipeline != null) {
+                pipeline.close();
+            }
+        }
+        result.heapPeakBytes = LoadTestHarness.heapPeak();
+        return result;
+    }
+
+    private static void anneal(Pipeline pipeline, int slots, int evaluations, long budgetMillis, long seed,
+                               Result result) {
+        RandomSource random = new RandomSource(seed);
+        float[] current = new float[slots];
+        float[] candidate = new float[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            current[slot] = randomPrice(random);
+        }
+
+        double currentProfit = pipeline.evaluate(current);
+        double bestProfit = currentProfit;
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        long warmupEnd = System.nanoTime() + budgetNanos / 4;
+        for (int i = 0; i < WARMUP_EVALUATIONS && System.nanoTime() < warmupEnd; i++) {
+            pipeline.evaluate(current);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        long[] threadIds = pipeline.threadIds();
+        long allocatedBefore = allocatedBytes(threadIds);
+        double temperature = RetailerConfigConstants.START_TEMPERATURE;
+        int round = 1;
+        int completed = 0;
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        while (completed < evaluations && (completed == 0 || System.nanoTime() < deadline)) {
+            System.arraycopy(current, 0, candidate, 0, slots);
+            candidate[completed % slots] = randomPrice(random);
+
+            long evaluationStart = System.nanoTime();
+            double profit = pipeline.evaluate(candidate);
+            latency.recordSince(evaluationStart);
+
+            if (profit > currentProfit || random.nextDouble() < Math.exp((profit - currentProfit) / temperature)) {
+                float[] accepted = candidate;
+                candidate = current;
+                current = accepted;
+                currentProfit = profit;
+                bestProfit = Math.max(bestProfit, profit);
+            }
+            completed++;
+            if (completed % slots == 0) {
+                round++;
+                temperature = temperature / Math.log(round);
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes(threadIds);
+
+        result.evaluations = completed;
+        result.latencyP50Nanos = latency.getValueAtPercentile(50.0);
+        result.latencyP99Nanos = latency.getValueAtPercentile(99.0);
+        result.latencyMaxNanos = latency.getMax();
+        result.allocatedBytesPerEvaluation = allocatedBefore < 0 || allocatedAfter < 0
+                ? -1L : (allocatedAfter - allocatedBefore) / completed;
+        result.bestProfit = bestProfit;
+    }
+
+    private static float randomPrice(RandomSource random) {
+        return random.nextFloat(MIN_PRICE, MAX_PRICE);
+    }
+
+    private static boolean isConfiguredShape(int slots, int appliances) {
+        return slots == UsersArgs.timeSlots && appliances == UsersArgs.B_applianceNum;
+    }
+
+    /**
+     * 统计指定线程累计分配的字节数
+     * @param threadIds 线程ID
+     * @return 字节数，当前JVM不支持时返回-1
+     */
+    private static long allocatedBytes(long[] threadIds) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1L;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return -1L;
+        }
+        long total = 0;
+        for (long bytes : allocationBean.getThreadAllocatedBytes(threadIds)) {
+            if (bytes < 0) {
+                return -1L;
+            }
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * 一次定价评估：群体响应、聚合和利润计算
+     */
+    private interface Pipeline {
+        /**
+         * 评估一组价格
+         * @param prices 各时间段价格
+         * @return 零售商利润
+         */
+        double evaluate(float[] prices);
+
+        /**
+         * 参与评估的线程ID，包括调用线程
+         * @return 线程ID
+         */
+        long[] threadIds();
+
+        /**
+         * 停止工作线程
+         */
+        void close();
+    }
+
+    /**
+     * 基于 SyntheticPopulation 的内核，用户按区间分给各线程，各自累加后在调用线程上合并
+     */
+    private static final class GenericPipeline implements Pipeline {
+        private final SyntheticPopulation population;
+        private final long[][] partials;
+        private final long[] totals;
+        private final List<Callable<Void>> tasks;
+        private final WorkerPool pool;
+        private float[] prices;
+
+        GenericPipeline(SyntheticPopulation population, int threads) {
+            int slots = population.getSlots();
+            int users = population.getUsers();
+            int chunks = Math.min(threads, users);
+            this.population = population;
+            this.totals = new long[slots];
+            this.partials = new long[chunks][];
+            this.tasks = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                long[] partial = new long[slots + PADDING_LONGS];
+                int from = (int) ((long) users * chunk / chunks);
+                int to = (int) ((long) users * (chunk + 1) / chunks);
+                partials[chunk] = partial;
+                tasks.add(() -> {
+                    Arrays.fill(partial, 0L);
+                    population.respond(from, to, prices, partial);
+                    return null;
+                });
+            }
+            this.pool = chunks > 1 ? new WorkerPool(chunks) : null;
+        }
+
+        @Override
+        public double evaluate(float[] prices) {
+            this.prices = prices;
+            if (pool == null) {
+                Arrays.fill(partials[0], 0L);
+                population.respond(0, population.getUsers(), prices, partials[0]);
+            } else {
+                pool.invokeAll(tasks);
+            }
+            Arrays.fill(totals, 0L);
+            for (long[] partial : partials) {
+                for (int slot = 0; slot < totals.length; slot++) {
+                    totals[slot] += partial[slot];
+                }
+            }
+            return RetailerProfitCalculator.calculateRetailerProfitWide(totals, prices);
+        }
+
+        @Override
+        public long[] threadIds() {
+            return WorkerPool.threadIds(pool);
+        }
+
+        @Override
+        public void close() {
+            if (pool != null) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * 基于现有实现的内核：每个用户新建 OneUserConsumVector，收集到列表后由
+     * {@link Retailer#aggregateUserConsumptionWide} 聚合，再由 retailer 包的利润计算器计算利润
+     */
+    private static final class LegacyPipeline implements Pipeline {
+        private final int users;
+        private final OneUserConsumVector[] responses;
+        private final List<OneUserConsumVector> responseList;
+        private final long[] totals = new long[UsersArgs.timeSlots];
+        private final List<Callable<Void>> tasks;
+        private final WorkerPool pool;
+        private PriceVector priceVector;
+
+        LegacyPipeline(int users, int threads) {
+            int chunks = Math.min(threads, users);
+            this.users = users;
+            this.responses = new OneUserConsumVector[users];
+            this.responseList = new ArrayList<>(users);
+            this.tasks = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = (int) ((long) users * chunk / chunks);
+                int to = (int) ((long) users * (chunk + 1) / chunks);
+                tasks.add(() -> {
+                    respond(from, to);
+                    return null;
+                });
+            }
+            this.pool = chunks > 1 ? new WorkerPool(chunks) : null;
+        }
+
+        private void respond(int from, int to) {
+            for (int user = from; user < to; user++) {
+                responses[user] = UserMaxSatisfaConsumVector.respond(user, priceVector);
+            }
+        }
+
+        @Override
+        public double evaluate(float[] prices) {
+            this.priceVector = new PriceVector(prices);
+            if (pool == null) {
+                respond(0, users);
+            } else {
+                pool.invokeAll(tasks);
+            }
+            responseList.clear();
+            Collections.addAll(responseList, responses);
+            Retailer.aggregateUserConsumptionWide(totals, responseList, users);
+            return RetailerProfitCalculator.calculateRetailerProfitWide(totals, priceVector);
+        }
+
+        @Override
+        public long[] threadIds() {
+            return WorkerPool.threadIds(pool);
+        }
+
+        @Override
+        public void close() {
+            if (pool != null) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * 预先启动的固定线程池，记录工作线程ID以统计内存分配
+     */
+    private static final class WorkerPool {
+        private final ThreadPoolExecutor executor;
+        private final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+        WorkerPool(int size) {
+            this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "scalability-worker-" + threads.size());
+                        thread.setDaemon(true);
+                        threads.add(thread);
+                        return thread;
+                    });
+            executor.prestartAllCoreThreads();
+        }
+
+        void invokeAll(List<Callable<Void>> tasks) {
+            try {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("规模测试被中断", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("群体响应计算失败", cause);
+            }
+        }
+
+        static long[] threadIds(WorkerPool pool) {
+            List<Thread> workers = pool == null ? Collections.<Thread>emptyList() : pool.threads;
+            synchronized (workers) {
+                long[] ids = new long[workers.size() + 1];
+                ids[0] = Thread.currentThread().getId();
+                for (int i = 0; i < workers.size(); i++) {
+                    ids[i + 1] = workers.get(i).getId();
+                }
+                return ids;
+            }
+        }
+
+        void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 网格配置
+     * 命令行参数形如 key=value，列表以逗号分隔，用户数可写作 1e6
+     */
+    public static final class Sweep {
+        private int[] users = {100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+        private int[] slots = {4, 24, 48, 96};
+        private int[] appliances = {4, 16};
+        private int[] threads = defaultThreads();
+        private Kernel[] kernels = Kernel.values();
+        private int evaluations = 20;
+        private long budgetMillis = 5_000L;
+        private long seed = 42L;
+        private String output;
+
+        /**
+         * 解析命令行参数，未指定的项使用默认值
+         * 支持的键：users、slots、appliances、threads、kernels、evaluations、budgetMillis、seed、output
+         *
+         * @param args 命令行参数
+         * @return 网格配置
+         * @throws IllegalArgumentException 如果参数无法识别或取值无效
+         */
+        public static Sweep parse(String... args) {
+            Sweep sweep = new Sweep();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("参数格式应为 key=value: " + arg);
+                }
+                String key = arg.substring(0, separator);
+                String value = arg.substring(separator + 1);
+                switch (key) {
+                    case "users":
+                        sweep.users = parseCounts(value);
+                        break;
+                    case "slots":
+                        sweep.slots = parseCounts(value);
+                        break;
+                    case "appliances":
+                        sweep.appliances = parseCounts(value);
+                        break;
+                    case "threads":
+                        sweep.threads = parseCounts(value);
+                        break;
+                    case "kernels":
+                        String[] names = value.split(",");
+                        sweep.kernels = new Kernel[names.length];
+                        for (int i = 0; i < names.length; i++) {
+                            sweep.kernels[i] = Kernel.valueOf(names[i].trim().toUpperCase(Locale.ROOT));
+                        }
+                        break;
+                    case "evaluations":
+                        sweep.evaluations = parseCount(value);
+                        break;
+                    case "budgetMillis":
+                        sweep.budgetMillis = parseCount(value);
+                        break;
+                    case "seed":
+                        sweep.seed = Long.parseLong(value);
+                        break;
+                    case "output":
+                        sweep.output = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知参数: " + key);
+                }
+            }
+            return sweep;
+        }
+
+        private static int[] parseCounts(String value) {
+            String[] parts = value.split(",");
+            int[] counts = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                counts[i] = parseCount(parts[i]);
+            }
+            return counts;
+        }
+
+        private static int parseCount(String value) {
+            double parsed = Double.parseDouble(value.trim());
+            if (parsed < 1 || parsed > Integer.MAX_VALUE || parsed != Math.rint(parsed)) {
+                throw new IllegalArgumentException("取值必须为正整数: " + value);
+            }
+            return (int) parsed;
+        }
+
+        private static int[] defaultThreads() {
+            int processors = Runtime.getRuntime().availableProcessors();
+            List<Integer> counts = new ArrayList<>();
+            for (int count = 1; count < processors; count *= 2) {
+                counts.add(count);
+            }
+            counts.add(processors);
+            int[] threads = new int[counts.size()];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = counts.get(i);
+            }
+            return threads;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+    }
+
+    /**
+     * 网格中一个点的结果
+     */
+    public static final class Result {
+        private final Kernel kernel;
+        private final int users;
+        private final int slots;
+        private final int appliances;
+        private final int threads;
+        private String status = "error";
+        private int evaluations;
+        private long elapsedNanos;
+        private long setupNanos;
+        private long latencyP50Nanos;
+        private long latencyP99Nanos;
+        private long latencyMaxNanos;
+        private long allocatedBytesPerEvaluation = -1L;
+        private long heapPeakBytes;
+        private double bestProfit = Double.NaN;
+
+        Result(Kernel kernel, int users, int slots, int appliances, int threads) {
+            this.kernel = kernel;
+            this.users = users;
+            this.slots = slots;
+            this.appliances = appliances;
+            this.threads = threads;
+        }
+
+        public Kernel getKernel() {
+            return kernel;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * 运行状态
+         * @return ok 表示正常完成，oom 表示内存不足
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * 每秒完成的评估次数
+         * @return 评估吞吐量
+         */
+        public double getEvaluationsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : evaluations * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * 每秒计算的用户响应数量
+         * @return 用户响应吞吐量
+         */
+        public double getUserResponsesPerSecond() {
+            return getEvaluationsPerSecond() * users;
+        }
+
+        public long getLatencyP50Nanos() {
+            return latencyP50Nanos;
+        }
+
+        public long getLatencyP99Nanos() {
+            return latencyP99Nanos;
+        }
+
+        /**
+         * 每次评估在调用线程和工作线程上分配的字节数
+         * @return 字节数，当前JVM不支持统计时返回-1
+         */
+        public long getAllocatedBytesPerEvaluation() {
+            return allocatedBytesPerEvaluation;
+        }
+
+        public long getHeapPeakBytes() {
+            return heapPeakBytes;
+        }
+
+        /**
+         * 计时阶段找到的最优利润
+         * @return 最优利润，未完成时返回NaN
+         */
+        public double getBestProfit() {
+            return bestProfit;
+        }
+
+        void appendCsv(StringBuilder out) {
+            out.append(kernel.name().toLowerCase(Locale.ROOT)).append(',')
+                .append(users).append(',')
+                .append(slots).append(',')
+                .append(appliances).append(',')
+                .append(threads).append(',')
+                .append(status).append(',')
+                .append(evaluations).append(',')
+                .append(format(elapsedNanos / 1e6)).append(',')
+                .append(format(getEvaluationsPerSecond())).append(',')
+                .append(format(getUserResponsesPerSecond())).append(',')
+                .append(format(latencyP50Nanos / 1e3)).append(',')
+                .append(format(latencyP99Nanos / 1e3)).append(',')
+                .append(format(latencyMaxNanos / 1e3)).append(',')
+                .append(allocatedBytesPerEvaluation).append(',')
+                .append(format(heapPeakBytes / 1048576.0)).append(',')
+                .append(format(setupNanos / 1e6)).append(',')
+                .append(bestProfit);
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.3f", value);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s users=%d slots=%d appliances=%d threads=%d: %s, %.1f eval/s, p50=%.3f ms, "
+                    + "alloc=%d B/eval, heap peak=%.1f MB",
+                    kernel.name().toLowerCase(Locale.ROOT), users, slots, appliances, threads, status,
+                    getEvaluationsPerSecond(), latencyP50Nanos / 1e6, allocatedBytesPerEvaluation,
+                    heapPeakBytes / 1048576.0);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * 规模测试用的合成用户群体
+ * 用户响应公式与 {@link UserMaxSatisfaConsumVector} 相同，但时间段数量、B类电器数量和用户数量
+ * 都在运行时指定，不受 UsersArgs 编译期常量的限制
+ *
+ * 与用户线程按 userID % userNum 复用已配置用户的做法一致，用户按 user % profiles 共享一组
+ * 电器与满意度参数（画像），每个用户另有自己的最大负载；参数按列连续存放在基本类型数组中，
+ * 千万级用户只占用每用户一个int
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class SyntheticPopulation {
+
+    /** 默认画像数量 */
+    public static final int DEFAULT_PROFILES = 64;
+
+    private final int users;
+    private final int slots;
+    private final int appliances;
+    private final int profiles;
+
+    /** 满意度，下标 (profile * slots + slot) * appliances + appliance */
+    private final int[] satisfaction;
+
+    /** B类电器最大用电量，下标 profile * appliances + appliance */
+    private final int[] applianceMax;
+
+    /** A类电器固定用电量，下标 profile * slots + slot */
+    private final int[] fixedConsumption;
+
+    /** 每个用户的最大负载 */
+    private final int[] userMax;
+
+    /** 各时间段的时间因子 1.5 * (slot + 1) */
+    private final float[] slotFactors;
+
+    private SyntheticPopulation(int users, int slots, int appliances, int profiles) {
+        if (users <= 0 || slots <= 0 || appliances <= 0 || profiles <= 0) {
+            throw new IllegalArgumentException("用户数、时间段数、电器数和画像数必须为正数");
+        }
+        this.users = users;
+        this.slots = slots;
+        this.appliances = appliances;
+        this.profiles = profiles;
+        this.satisfaction = new int[profiles * slots * appliances];
+        this.applianceMax = new int[profiles * appliances];
+        this.fixedConsumption = new int[profiles * slots];
+        this.userMax = new int[users];
+        this.slotFactors = new float[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            slotFactors[slot] = (float) (1.5 * (slot + 1));
+        }
+    }
+
+    /**
+     * 按种子生成随机画像的合成群体
+     * 参数取值范围与 UsersArgs 中的配置相近
+     *
+     * @param users 用户数量
+     * @param slots 时间段数量
+     * @param appliances 每个用户的B类电器数量
+     * @param profiles 画像数量，超过用户数量时按用户数量计
+     * @param seed 随机种子，相同种子生成相同群体
+     * @return 合成群体
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public static SyntheticPopulation random(int users, int slots, int appliances, int profiles, long seed) {
+        SyntheticPopulation population = new SyntheticPopulation(users, slots, appliances,
+                Math.min(profiles, Math.max(users, 1)));
+        RandomSource random = new RandomSource(seed);
+        for (int i = 0; i < population.satisfaction.length; i++) {
+            population.satisfaction[i] = random.nextInt(0, 6);
+        }
+        for (int i = 0; i < population.applianceMax.length; i++) {
+            population.applianceMax[i] = random.nextInt(1, 5);
+        }
+        for (int i = 0; i < population.fixedConsumption.length; i++) {
+            population.fixedConsumption[i] = random.nextInt(1, 4);
+        }
+        for (int user = 0; user < users; user++) {
+            population.userMax[user] = random.nextInt(8, 17);
+        }
+        return population;
+    }
+
+    /**
+     * 按 UsersArgs 配置生成的群体
+     * 时间段数量和电器数量取配置值，用户按 user % UsersArgs.userNum 复用已配置用户，
+     * 每个用户的响应与 {@link UserMaxSatisfaConsumVector#respond} 完全一致
+     *
+     * @param users 用户数量
+     * @return 合成群体
+     * @throws IllegalArgumentException 如果用户数量不是正数
+     */
+    public static SyntheticPopulation configured(int users) {
+        SyntheticPopulation population = new SyntheticPopulation(users, UsersArgs.timeSlots,
+                UsersArgs.B_applianceNum, UsersArgs.userNum);
+        for (int profile = 0; profile < UsersArgs.userNum; profile++) {
+            for (int slot = 0; slot < UsersArgs.timeSlots; slot++) {
+                population.fixedConsumption[profile * UsersArgs.timeSlots + slot] =
+                        UsersArgs.A_applianceConsum[profile][slot];
+                for (int appliance = 0; appliance < UsersArgs.B_applianceNum; appliance++) {
+                    population.satisfaction[(profile * UsersArgs.timeSlots + slot) * UsersArgs.B_applianceNum
+                            + appliance] = UsersArgs.users_B_applianceSatisfa[profile][appliance][slot];
+                }
+            }
+            for (int appliance = 0; appliance < UsersArgs.B_applianceNum; appliance++) {
+                population.applianceMax[profile * UsersArgs.B_applianceNum + appliance] =
+                        UsersArgs.B_applianceConsumMax[profile][appliance];
+            }
+        }
+        for (int user = 0; user < users; user++) {
+            population.userMax[user] = UsersArgs.userMax[user % UsersArgs.userNum];
+        }
+        return population;
+    }
+
+    /**
+     * 计算一段用户对价格的响应，并累加到各时间段总消耗上
+     * 不分配内存，多个线程可以用各自的累加数组并发处理不相交的用户区间
+     *
+     * @param fromUser 起始用户（包含）
+     * @param toUser 结束用户（不包含）
+     * @param prices 各时间段价格，长度为时间段数量
+     * @param totals 各时间段总消耗累加数组，长度为时间段数量
+     */
+    public void respond(int fromUser, int toUser, float[] prices, long[] totals) {
+        for (int user = fromUser; user < toUser; user++) {
+            int profile = user % profiles;
+            int max = userMax[user];
+            int base = profile * slots;
+            for (int slot = 0; slot < slots; slot++) {
+                totals[slot] += respond(profile, base + slot, max, prices[slot], slotFactors[slot]);
+            }
+        }
+    }
+
+    /**
+     * 计算单个用户对价格的响应
+     *
+     * @param user 用户
+     * @param prices 各时间段价格
+     * @param consumption 输出的各时间段用电量
+     */
+    public void respondUser(int user, float[] prices, int[] consumption) {
+        int profile = user % profiles;
+        for (int slot = 0; slot < slots; slot++) {
+            consumption[slot] = respond(profile, profile * slots + slot, userMax[user],
+                    prices[slot], slotFactors[slot]);
+        }
+    }
+
+    /**
+     * 单个用户单个时间段的用电量，浮点运算顺序与 UserMaxSatisfaConsumVector 一致
+     */
+    private int respond(int profile, int profileSlot, int max, float price, float slotFactor) {
+        int offset = profileSlot * appliances;
+        int maxOffset = profile * appliances;
+        float bApplianceSum = 0f;
+        for (int appliance = 0; appliance < appliances; appliance++) {
+            float consumption = slotFactor / (satisfaction[offset + appliance] + price);
+            int applianceLimit = applianceMax[maxOffset + appliance];
+            bApplianceSum += consumption > applianceLimit ? (float) applianceLimit : consumption;
+        }
+        int total = (int) bApplianceSum + fixedConsumption[profileSlot];
+        return total > max ? max : total;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public int getAppliances() {
+        return appliances;
+    }
+
+    public int getProfiles() {
+        return profiles;
+    }
+}
@@ -0,0 +1,45 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+/**
+ * 发电成本曲线接口
+ * 定义零售商在各时间段按用电量计算批发成本的方法，
+ * 可通过 {@link CostLookupTable#compile(CostCurveInterface, int)} 预编译为查找表
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public interface CostCurveInterface {
+
+    /**
+     * 计算指定时间段在给定用电量下的成本
+     * @param timeSlot 时间段索引
+     * @param consumption 该时间段的总用电量
+     * @return 成本值
+     */
+    double evaluate(int timeSlot, long consumption);
+
+    /**
+     * 成本是否与时间段无关
+     * 与时间段无关的曲线在编译查找表时所有时间段共享同一张表
+     * @return 如果与时间段无关返回true
+     */
+    boolean isSlotIndependent();
+
+    /**
+     * 曲线定义的时间段数量
+     * 编译查找表时与表格的时间段数量核对，与时间段无关的曲线适用于任意数量的时间段
+     * @return 时间段数量，适用于任意数量时返回0
+     */
+    default int getTimeSlots() {
+        return 0;
+    }
+
+    /**
+     * 曲线求值本身是否已是常数时间的表格查找
+     * 这样的曲线编译查找表时不再展开为逐单位用电量的表格，直接使用曲线自身的采样表
+     * @return 如果由采样表支撑返回true
+     */
+    default boolean isTableBacked() {
+        return false;
+    }
+}
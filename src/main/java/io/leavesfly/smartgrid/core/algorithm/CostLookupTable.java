@@ -0,0 +1,188 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.util.math.CompensatedSum;
+
+/**
+ * 成本查找表
+ * 将成本曲线在 [0, maxConsumption] 的整数用电量上预先求值，
+ * 运行时计算成本只需一次数组读取，超出表格范围的用电量回退到曲线直接求值
+ *
+ * 与时间段无关的曲线所有时间段共享同一张表，因此百万级用电量的表格只占用一份内存。
+ * 分时段的曲线每个时间段一张表，表格单元总数受 {@link #MAX_TABLE_CELLS} 限制；
+ * 由采样表支撑的曲线（如 {@link TabulatedCostCurve}）不展开，直接按曲线自身的采样表插值
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class CostLookupTable {
+
+    /** 全部时间段的表格单元总数上限（每个单元8字节，约256MB） */
+    public static final long MAX_TABLE_CELLS = 1L << 25;
+
+    /** 原始成本曲线，用于表格范围之外的回退求值 */
+    private final CostCurveInterface curve;
+
+    /** 表格覆盖的最大用电量 */
+    private final int maxConsumption;
+
+    /** 时间段数量 */
+    private final int timeSlots;
+
+    /** 各时间段的成本表，与时间段无关的曲线各时间段引用同一数组；由采样表支撑的曲线为null */
+    private final double[][] tables;
+
+    private CostLookupTable(CostCurveInterface curve, int timeSlots, int maxConsumption, double[][] tables) {
+        this.curve = curve;
+        this.timeSlots = timeSlots;
+        this.maxConsumption = maxConsumption;
+        this.tables = tables;
+    }
+
+    /**
+     * 按系统配置的时间段数量编译成本曲线
+     * @param curve 成本曲线
+     * @param maxConsumption 表格覆盖的最大用电量
+     * @return 成本查找表
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public static CostLookupTable compile(CostCurveInterface curve, int maxConsumption) {
+        return compile(curve, SmartGridConfig.TIME_SLOTS, maxConsumption);
+    }
+
+    /**
+     * 编译成本曲线
+     * @param curve 成本曲线
+     * @param timeSlots 时间段数量
+     * @param maxConsumption 表格覆盖的最大用电量
+     * @return 成本查找表
+     * @throws IllegalArgumentException 如果参数无效、曲线的时间段数量与timeSlots不一致，
+     *         或表格单元总数超过 {@link #MAX_TABLE_CELLS}
+     */
+    public static CostLookupTable compile(CostCurveInterface curve, int timeSlots, int maxConsumption) {
+        if (curve == null) {
+            throw new IllegalArgumentException("成本曲线不能为null");
+        }
+        if (timeSlots <= 0) {
+            throw new IllegalArgumentException("时间段数量必须为正数: " + timeSlots);
+        }
+        if (maxConsumption < 0) {
+            throw new IllegalArgumentException("最大用电量超出范围: " + maxConsumption);
+        }
+        int curveSlots = curve.getTimeSlots();
+        if (curveSlots != 0 && curveSlots != timeSlots) {
+            throw new IllegalArgumentException("成本曲线的时间段数量 " + curveSlots + " 与查找表的时间段数量 "
+                    + timeSlots + " 不一致");
+        }
+        if (curve.isTableBacked()) {
+            return new CostLookupTable(curve, timeSlots, maxConsumption, null);
+        }
+        long cells = (curve.isSlotIndependent() ? 1L : timeSlots) * ((long) maxConsumption + 1);
+        if (cells > MAX_TABLE_CELLS) {
+            throw new IllegalArgumentException("查找表单元总数 " + cells + " 超过上限 " + MAX_TABLE_CELLS);
+        }
+
+        double[][] tables = new double[timeSlots][];
+        if (curve.isSlotIndependent()) {
+            double[] shared = tabulate(curve, 0, maxConsumption);
+            for (int slot = 0; slot < timeSlots; slot++) {
+                tables[slot] = shared;
+            }
+        } else {
+            for (int slot = 0; slot < timeSlots; slot++) {
+                tables[slot] = tabulate(curve, slot, maxConsumption);
+            }
+        }
+        return new CostLookupTable(curve, timeSlots, maxConsumption, tables);
+    }
+
+    /**
+     * 对单个时间段的曲线求值生成表格
+     */
+    private static double[] tabulate(CostCurveInterface curve, int timeSlot, int maxConsumption) {
+        double[] table = new double[maxConsumption + 1];
+        for (int consumption = 0; consumption <= maxConsumption; consumption++) {
+            table[consumption] = curve.evaluate(timeSlot, consumption);
+        }
+        return table;
+    }
+
+    /**
+     * 查询指定时间段在给定用电量下的成本
+     * @param timeSlot 时间段索引
+     * @param consumption 用电量
+     * @return 成本值
+     */
+    public double costAt(int timeSlot, long consumption) {
+        if (tables != null && consumption >= 0 && consumption <= maxConsumption) {
+            return tables[timeSlot][(int) consumption];
+        }
+        return curve.evaluate(timeSlot, consumption);
+    }
+
+    /**
+     * 计算所有时间段的总成本
+     * @param consumptions 各时间段用电量，长度必须与表格时间段数量一致
+     * @return 总成本
+     * @throws IllegalArgumentException 如果数组长度不匹配
+     */
+    public double totalCost(int[] consumptions) {
+        validateLength(consumptions == null ? -1 : consumptions.length);
+        CompensatedSum total = new CompensatedSum();
+        for (int slot = 0; slot < consumptions.length; slot++) {
+            total.add(costAt(slot, consumptions[slot]));
+        }
+        return total.value();
+    }
+
+    /**
+     * 计算所有时间段的总成本（64位聚合版本）
+     * @param consumptions 各时间段用电量，长度必须与表格时间段数量一致
+     * @return 总成本
+     * @throws IllegalArgumentException 如果数组长度不匹配
+     */
+    public double totalCostWide(long[] consumptions) {
+        validateLength(consumptions == null ? -1 : consumptions.length);
+        CompensatedSum total = new CompensatedSum();
+        for (int slot = 0; slot < consumptions.length; slot++) {
+            total.add(costAt(slot, consumptions[slot]));
+        }
+        return total.value();
+    }
+
+    private void validateLength(int length) {
+        if (length != timeSlots) {
+            throw new IllegalArgumentException("消耗数组长度必须为 " + timeSlots);
+        }
+    }
+
+    /**
+     * 获取原始成本曲线
+     * @return 成本曲线
+     */
+    public CostCurveInterface getCurve() {
+        return curve;
+    }
+
+    /**
+     * 获取表格覆盖的最大用电量
+     * @return 最大用电量
+     */
+    public int getMaxConsumption() {
+        return maxConsumption;
+    }
+
+    /**
+     * 获取时间段数量
+     * @return 时间段数量
+     */
+    public int getTimeSlots() {
+        return timeSlots;
+    }
+
+    @Override
+    public String toString() {
+        return "CostLookupTable{curve=" + curve + ", timeSlots=" + timeSlots +
+               ", maxConsumption=" + maxConsumption + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 分段线性成本曲线
+ * 由一组 (用电量, 成本) 折点定义，折点之间线性插值，
+ * 超出首末折点的部分沿首末线段延长，与时间段无关
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class PiecewiseLinearCostCurve implements CostCurveInterface {
+
+    /** 折点用电量，严格递增 */
+    private final long[] breakpoints;
+
+    /** 折点处的成本 */
+    private final double[] costs;
+
+    /**
+     * 构造函数
+     * @param breakpoints 折点用电量，至少两个且严格递增
+     * @param costs 各折点处的成本，长度与折点一致
+     * @throws IllegalArgumentException 如果折点定义无效
+     */
+    public PiecewiseLinearCostCurve(long[] breakpoints, double[] costs) {
+        if (breakpoints == null || costs == null) {
+            throw new IllegalArgumentException("折点数组不能为null");
+        }
+        if (breakpoints.length < 2) {
+            throw new IllegalArgumentException("分段线性曲线至少需要两个折点");
+        }
+        if (breakpoints.length != costs.length) {
+            throw new IllegalArgumentException("折点与成本数组长度不一致");
+        }
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (breakpoints[i] <= breakpoints[i - 1]) {
+                throw new IllegalArgumentException("折点用电量必须严格递增: " + breakpoints[i]);
+            }
+        }
+        this.breakpoints = Arrays.copyOf(breakpoints, breakpoints.length);
+        this.costs = Arrays.copyOf(costs, costs.length);
+    }
+
+    @Override
+    public double evaluate(int timeSlot, long consumption) {
+        int segment = findSegment(consumption);
+        long x0 = breakpoints[segment];
+        long x1 = breakpoints[segment + 1];
+        double y0 = costs[segment];
+        double y1 = costs[segment + 1];
+        return y0 + (y1 - y0) * ((double) (consumption - x0) / (double) (x1 - x0));
+    }
+
+    @Override
+    public boolean isSlotIndependent() {
+        return true;
+    }
+
+    /**
+     * 查找用电量所在的线段下标，越界时返回首段或末段
+     * @param consumption 用电量
+     * @return 线段起点下标
+     */
+    private int findSegment(long consumption) {
+        int index = Arrays.binarySearch(breakpoints, consumption);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0) {
+            return 0;
+        }
+        return Math.min(index, breakpoints.length - 2);
+    }
+
+    @Override
+    public String toString() {
+        return "PiecewiseLinearCostCurve{breakpoints=" + Arrays.toString(breakpoints) +
+               ", costs=" + Arrays.toString(costs) + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import java.util.Arrays;
+
+/**
+ * 多项式成本曲线
+ * cost(c) = k0 + k1 * c + k2 * c² + ... + kn * cⁿ，与时间段无关
+ *
+ * 默认的 a * c² + b * c³ 成本即为 {@link #cubic(double, double)} 构造的特例
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class PolynomialCostCurve implements CostCurveInterface {
+
+    /** 多项式系数，下标即幂次 */
+    private final double[] coefficients;
+
+    /**
+     * 构造函数
+     * @param coefficients 多项式系数，coefficients[k] 为 cᵏ 的系数
+     * @throws IllegalArgumentException 如果系数数组无效
+     */
+    public PolynomialCostCurve(double... coefficients) {
+        if (coefficients == null || coefficients.length == 0) {
+            throw new IllegalArgumentException("多项式系数不能为空");
+        }
+        for (double coefficient : coefficients) {
+            if (Double.isNaN(coefficient) || Double.isInfinite(coefficient)) {
+                throw new IllegalArgumentException("多项式系数无效: " + coefficient);
+            }
+        }
+        this.coefficients = Arrays.copyOf(coefficients, coefficients.length);
+    }
+
+    /**
+     * 创建 a * c² + b * c³ 形式的三次成本曲线
+     * @param coefficientA 二次项系数a
+     * @param coefficientB 三次项系数b
+     * @return 三次成本曲线
+     */
+    public static PolynomialCostCurve cubic(double coefficientA, double coefficientB) {
+        return new PolynomialCostCurve(0.0, 0.0, coefficientA, coefficientB);
+    }
+
+    /**
+     * 使用配置类中的系数a、b创建三次成本曲线（不含权重w）
+     * @return 三次成本曲线
+     */
+    public static PolynomialCostCurve fromConfig() {
+        return cubic(SmartGridConfig.PROFIT_COEFFICIENT_A, SmartGridConfig.PROFIT_COEFFICIENT_B);
+    }
+
+    @Override
+    public double evaluate(int timeSlot, long consumption) {
+        // Horner法则求值，避免Math.pow
+        double x = consumption;
+        double result = 0.0;
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            result = result * x + coefficients[k];
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isSlotIndependent() {
+        return true;
+    }
+
+    /**
+     * 获取多项式系数的副本
+     * @return 系数数组副本
+     */
+    public double[] getCoefficientsCopy() {
+        return Arrays.copyOf(coefficients, coefficients.length);
+    }
+
+    @Override
+    public String toString() {
+        return "PolynomialCostCurve{coefficients=" + Arrays.toString(coefficients) + "}";
+    }
+}
@@ -0,0 +1,21 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+
+/**
+ * 定价目标函数接口
+ * 给出一组价格下零售商的利润，包括用户群体对价格的响应、聚合和利润计算，
+ * 是优化算法与用户群体之间唯一的依赖
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public interface ProfitObjectiveInterface {
+
+    /**
+     * 计算价格向量对应的零售商利润
+     * @param priceVector 价格向量
+     * @return 利润
+     */
+    double evaluate(PriceVectorInterface priceVector);
+}
@@ -2,6 +2,7 @@ package io.leavesfly.smartgrid.core.algorithm;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
 import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+import io.leavesfly.smartgrid.util.math.CompensatedSum;
 
 /**
  * 零售商利润计算器（重构版）
@@ -10,6 +11,9 @@ import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
  * 利润计算公式：
  * profit = Σ(consumption[i] * price[i]) - w * Σ(a * consumption[i]² + b * consumption[i]³)
  * 
+ * 也可通过 {@link #setCostCurve(CostCurveInterface, int)} 替换为多项式、分段线性或分时段表格成本曲线，
+ * 成本曲线预编译为查找表，此时成本为 w * Σcost(i, consumption[i])
+ * 
  * 主要改进：
  * 1. 实现ProfitCalculatorInterface接口，提高可扩展性
  * 2. 增强参数验证和错误处理
@@ -31,6 +35,9 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
     /** 权重系数w */
     private int weightCoefficient;
     
+    /** 预编译的成本查找表，为null时按 a * c² + b * c³ 公式计算 */
+    private CostLookupTable costTable;
+    
     /**
      * 默认构造函数
      * 使用配置文件中的默认参数
@@ -52,6 +59,18 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
         setParameters(coefficientA, coefficientB, weightCoefficient);
     }
     
+    /**
+     * 自定义成本曲线构造函数
+     * 成本曲线预编译为 [0, maxConsumption] 上的查找表，权重系数使用配置默认值
+     * @param costCurve 成本曲线
+     * @param maxConsumption 查找表覆盖的最大时间段总用电量
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public RetailerProfitCalculator(CostCurveInterface costCurve, int maxConsumption) {
+        this();
+        setCostCurve(costCurve, maxConsumption);
+    }
+    
     @Override
     public float calculateProfit(PriceVectorInterface priceVector, int[] totalConsumption) {
         validateInputs(priceVector, totalConsumption);
@@ -83,6 +102,38 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
         this.weightCoefficient = weight;
     }
     
+    /**
+     * 设置成本曲线
+     * 设置后成本按 w * Σcost(t, consumption[t]) 计算，系数a、b不再参与成本计算
+     * @param costCurve 成本曲线
+     * @param maxConsumption 查找表覆盖的最大时间段总用电量
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public void setCostCurve(CostCurveInterface costCurve, int maxConsumption) {
+        this.costTable = CostLookupTable.compile(costCurve, maxConsumption);
+    }
+    
+    /**
+     * 使用已编译的成本查找表，多个计算器可共享同一张表
+     * @param costTable 成本查找表，为null时恢复公式计算
+     * @throws IllegalArgumentException 如果查找表时间段数量与配置不一致
+     */
+    public void setCostTable(CostLookupTable costTable) {
+        if (costTable != null && costTable.getTimeSlots() != SmartGridConfig.TIME_SLOTS) {
+            throw new IllegalArgumentException(
+                "成本查找表时间段数量必须为 " + SmartGridConfig.TIME_SLOTS);
+        }
+        this.costTable = costTable;
+    }
+    
+    /**
+     * 获取当前使用的成本查找表
+     * @return 成本查找表，未设置成本曲线时返回null
+     */
+    public CostLookupTable getCostTable() {
+        return costTable;
+    }
+    
     @Override
     public boolean validateParameters() {
         return coefficientA >= 0 && coefficientB >= 0 && weightCoefficient >= 0;
@@ -120,21 +171,97 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
         }
         
         float costSum = 0.0f;
-        for (int consumption : totalConsumption) {
+        for (int timeSlot = 0; timeSlot < totalConsumption.length; timeSlot++) {
+            int consumption = totalConsumption[timeSlot];
             if (consumption < 0) {
                 throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
             }
             
-            // 计算二次项和三次项
-            float quadraticTerm = coefficientA * (float) Math.pow(consumption, 2);
-            float cubicTerm = coefficientB * (float) Math.pow(consumption, 3);
-            
-            costSum += quadraticTerm + cubicTerm;
+            costSum += calculateSlotCost(timeSlot, consumption);
         }
         
         return weightCoefficient * costSum;
     }
     
+    /**
+     * 计算单个时间段的成本（不含权重w）
+     * 设置了成本曲线时查表，否则计算二次项和三次项
+     * @param timeSlot 时间段索引
+     * @param consumption 该时间段的总用电量
+     * @return 成本值
+     */
+    private float calculateSlotCost(int timeSlot, int consumption) {
+        if (costTable != null) {
+            return (float) costTable.costAt(timeSlot, consumption);
+        }
+        
+        float quadraticTerm = coefficientA * (float) Math.pow(consumption, 2);
+        float cubicTerm = coefficientB * (float) Math.pow(consumption, 3);
+        return quadraticTerm + cubicTerm;
+    }
+    
+    /**
+     * 计算零售商利润（64位聚合版本）
+     * 用于 {@link io.leavesfly.smartgrid.core.model.WideConsumptionAggregate} 的聚合结果，
+     * 收益与成本均以double补偿求和，避免大规模用户下的溢出和精度丢失
+     * @param priceVector 价格向量
+     * @param totalConsumption 各时间段总用电量
+     * @return 利润值
+     */
+    public double calculateProfitWide(PriceVectorInterface priceVector, long[] totalConsumption) {
+        return calculateRevenueWide(priceVector, totalConsumption) - calculateCostWide(totalConsumption);
+    }
+    
+    /**
+     * 计算收益部分（64位聚合版本）
+     * @param priceVector 价格向量
+     * @param totalConsumption 各时间段总用电量
+     * @return 收益值
+     */
+    public double calculateRevenueWide(PriceVectorInterface priceVector, long[] totalConsumption) {
+        validateWideInputs(priceVector, totalConsumption);
+        
+        CompensatedSum revenue = new CompensatedSum();
+        for (int i = 0; i < totalConsumption.length; i++) {
+            revenue.add((double) totalConsumption[i] * priceVector.getPriceByPosition(i));
+        }
+        
+        return revenue.value();
+    }
+    
+    /**
+     * 计算成本部分（64位聚合版本）
+     * @param totalConsumption 各时间段总用电量
+     * @return 成本值
+     */
+    public double calculateCostWide(long[] totalConsumption) {
+        if (totalConsumption == null) {
+            throw new IllegalArgumentException("总消耗数组不能为null");
+        }
+        if (totalConsumption.length != SmartGridConfig.TIME_SLOTS) {
+            throw new IllegalArgumentException(
+                "总消耗数组长度必须为 " + SmartGridConfig.TIME_SLOTS);
+        }
+        
+        CompensatedSum costSum = new CompensatedSum();
+        for (int timeSlot = 0; timeSlot < totalConsumption.length; timeSlot++) {
+            long consumption = totalConsumption[timeSlot];
+            if (consumption < 0) {
+                throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
+            }
+            
+            if (costTable != null) {
+                costSum.add(costTable.costAt(timeSlot, consumption));
+            } else {
+                // a * c² + b * c³ = c² * (a + b * c)，全程double计算
+                double c = consumption;
+                costSum.add(c * c * ((double) coefficientA + (double) coefficientB * c));
+            }
+        }
+        
+        return weightCoefficient * costSum.value();
+    }
+    
     /**
      * 获取详细的利润计算分析
      * @param priceVector 价格向量
@@ -157,10 +284,7 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
         // 计算各时间段的成本贡献
         float[] costByTimeSlot = new float[SmartGridConfig.TIME_SLOTS];
         for (int i = 0; i < SmartGridConfig.TIME_SLOTS; i++) {
-            int consumption = totalConsumption[i];
-            float quadraticTerm = coefficientA * (float) Math.pow(consumption, 2);
-            float cubicTerm = coefficientB * (float) Math.pow(consumption, 3);
-            costByTimeSlot[i] = weightCoefficient * (quadraticTerm + cubicTerm);
+            costByTimeSlot[i] = weightCoefficient * calculateSlotCost(i, totalConsumption[i]);
         }
         
         return new ProfitAnalysis(profit, revenue, cost, revenueByTimeSlot, costByTimeSlot);
@@ -194,6 +318,34 @@ public class RetailerProfitCalculator implements ProfitCalculatorInterface {
         }
     }
     
+    /**
+     * 验证64位聚合版本的输入参数
+     * @param priceVector 价格向量
+     * @param totalConsumption 各时间段总用电量
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    private void validateWideInputs(PriceVectorInterface priceVector, long[] totalConsumption) {
+        if (priceVector == null) {
+            throw new IllegalArgumentException("价格向量不能为null");
+        }
+        if (totalConsumption == null) {
+            throw new IllegalArgumentException("总消耗数组不能为null");
+        }
+        if (totalConsumption.length != priceVector.getTimeSlots()) {
+            throw new IllegalArgumentException(
+                "总消耗数组长度必须与价格向量时间槽数量一致");
+        }
+        if (!priceVector.isValid()) {
+            throw new IllegalArgumentException("价格向量无效");
+        }
+        
+        for (long consumption : totalConsumption) {
+            if (consumption < 0) {
+                throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
+            }
+        }
+    }
+    
     // ============== Getter方法 ==============
     
     public float getCoefficientA() {
@@ -0,0 +1,148 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.core.model.PriceVector;
+import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * 模拟退火定价优化器（重构版）
+ * 与 SAPC 算法使用相同的邻域和降温规则：每轮依次把每个时间段的价格换成随机价格，
+ * 利润提高时接受，否则以 exp(Δ/T) 的概率接受；每轮结束后 T = T / ln(k)。
+ * 与 SAPC 不同的是，目标函数由 {@link ProfitObjectiveInterface} 提供，与用户如何接入无关，
+ * 随机数来自可复现的 {@link RandomSource}，并返回搜索过程中见过的最优价格
+ *
+ * 可通过 {@link #setSweepsPerTemperature(int)} 在每个温度下做多轮扫描，以更多评估换取更好的解
+ *
+ * 该类不是线程安全的
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public class SimulatedAnnealingOptimizer implements OptimizationAlgorithmInterface {
+
+    private final ProfitObjectiveInterface objective;
+    private final RandomSource random;
+
+    private float initialTemperature = SmartGridConfig.INITIAL_TEMPERATURE;
+    private float endTemperature = SmartGridConfig.END_TEMPERATURE;
+    private int sweepsPerTemperature = 1;
+
+    private float temperature;
+    private int currentRound;
+    private double bestProfit;
+
+    /**
+     * 构造函数
+     * @param objective 目标函数
+     * @param random 随机数源
+     * @throws IllegalArgumentException 如果参数为null
+     */
+    public SimulatedAnnealingOptimizer(ProfitObjectiveInterface objective, RandomSource random) {
+        if (objective == null || random == null) {
+            throw new IllegalArgumentException("目标函数和随机数源不能为null");
+        }
+        this.objective = objective;
+        this.random = random;
+        reset();
+    }
+
+    @Override
+    public PriceVectorInterface optimize(PriceVectorInterface initialPrice) {
+        if (initialPrice == null) {
+            throw new IllegalArgumentException("初始价格向量不能为null");
+        }
+        reset();
+        int timeSlots = initialPrice.getTimeSlots();
+        PriceVectorInterface current = initialPrice;
+        double currentProfit = objective.evaluate(current);
+        PriceVectorInterface best = current;
+        bestProfit = currentProfit;
+
+        while (temperature > endTemperature) {
+            for (int sweep = 0; sweep < sweepsPerTemperature; sweep++) {
+                for (int position = 0; position < timeSlots; position++) {
+                    PriceVectorInterface candidate = current.createNewPriceVector(position,
+                            PriceVector.generateRandomPrice(random));
+                    double profit = objective.evaluate(candidate);
+                    if (profit > currentProfit
+                            || random.nextDouble() < Math.exp((profit - currentProfit) / temperature)) {
+                        current = candidate;
+                        currentProfit = profit;
+                        if (profit > bestProfit) {
+                            best = candidate;
+                            bestProfit = profit;
+                        }
+                    }
+                }
+            }
+            currentRound++;
+            temperature = (float) (temperature / Math.log(currentRound));
+        }
+        return best;
+    }
+
+    /**
+     * 生成所有时间段使用同一随机价格的初始价格向量，等同于 {@link PriceVector#PriceVector(RandomSource)}
+     * @param random 随机数源
+     * @return 初始价格向量
+     */
+    public static PriceVector randomInitialPrice(RandomSource random) {
+        return new PriceVector(random);
+    }
+
+    @Override
+    public void setParameters(float initialTemperature, float endTemperature) {
+        if (!(initialTemperature > 0) || !(endTemperature > 0)) {
+            throw new IllegalArgumentException("温度必须为正数");
+        }
+        this.initialTemperature = initialTemperature;
+        this.endTemperature = endTemperature;
+        reset();
+    }
+
+    /**
+     * 设置每个温度下的扫描轮数，每轮扫描评估每个时间段一次
+     * @param sweepsPerTemperature 扫描轮数
+     * @throws IllegalArgumentException 如果扫描轮数不是正数
+     */
+    public void setSweepsPerTemperature(int sweepsPerTemperature) {
+        if (sweepsPerTemperature <= 0) {
+            throw new IllegalArgumentException("每个温度下的扫描轮数必须为正数: " + sweepsPerTemperature);
+        }
+        this.sweepsPerTemperature = sweepsPerTemperature;
+    }
+
+    @Override
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    @Override
+    public boolean hasConverged() {
+        return temperature <= endTemperature;
+    }
+
+    @Override
+    public void reset() {
+        temperature = initialTemperature;
+        currentRound = 1;
+        bestProfit = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * 获取最近一次优化找到的最优利润
+     * @return 最优利润，尚未优化时返回负无穷
+     */
+    public double getBestProfit() {
+        return bestProfit;
+    }
+
+    /**
+     * 获取当前温度
+     * @return 当前温度
+     */
+    public float getTemperature() {
+        return temperature;
+    }
+}
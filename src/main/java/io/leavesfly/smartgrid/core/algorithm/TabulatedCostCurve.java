@@ -0,0 +1,103 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 分时段表格成本曲线
+ * 每个时间段一张按固定用电量步长采样的成本表，
+ * 采样点之间线性插值，超出表格范围时沿最后一段延长
+ *
+ * 例如步长为100时，costsBySlot[t][i] 表示时间段t用电量为 i*100 时的成本
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class TabulatedCostCurve implements CostCurveInterface {
+
+    /** 各时间段的成本采样表 */
+    private final double[][] costsBySlot;
+
+    /** 采样步长（用电量单位） */
+    private final int step;
+
+    /**
+     * 构造函数
+     * @param costsBySlot 各时间段的成本采样表，每张表至少两个采样点
+     * @param step 采样步长，必须为正数
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public TabulatedCostCurve(double[][] costsBySlot, int step) {
+        if (costsBySlot == null || costsBySlot.length == 0) {
+            throw new IllegalArgumentException("成本表不能为空");
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("采样步长必须为正数: " + step);
+        }
+        this.costsBySlot = new double[costsBySlot.length][];
+        for (int slot = 0; slot < costsBySlot.length; slot++) {
+            double[] costs = costsBySlot[slot];
+            if (costs == null || costs.length < 2) {
+                throw new IllegalArgumentException("时间段 " + slot + " 的成本表至少需要两个采样点");
+            }
+            this.costsBySlot[slot] = Arrays.copyOf(costs, costs.length);
+        }
+        this.step = step;
+    }
+
+    @Override
+    public double evaluate(int timeSlot, long consumption) {
+        if (timeSlot < 0 || timeSlot >= costsBySlot.length) {
+            throw new IndexOutOfBoundsException(
+                "时间段索引超出范围: " + timeSlot + "，有效范围: [0, " +
+                (costsBySlot.length - 1) + "]");
+        }
+        double[] costs = costsBySlot[timeSlot];
+        long index = Math.floorDiv(consumption, (long) step);
+        // 越界时使用首段或末段外推
+        if (index < 0) {
+            index = 0;
+        } else if (index > costs.length - 2) {
+            index = costs.length - 2;
+        }
+        double y0 = costs[(int) index];
+        double y1 = costs[(int) index + 1];
+        double fraction = (double) (consumption - index * step) / step;
+        return y0 + (y1 - y0) * fraction;
+    }
+
+    @Override
+    public boolean isSlotIndependent() {
+        return false;
+    }
+
+    /**
+     * 采样点之间线性插值，求值只需两次数组读取
+     * @return 始终返回true
+     */
+    @Override
+    public boolean isTableBacked() {
+        return true;
+    }
+
+    /**
+     * 获取成本表覆盖的时间段数量
+     * @return 时间段数量
+     */
+    @Override
+    public int getTimeSlots() {
+        return costsBySlot.length;
+    }
+
+    /**
+     * 获取采样步长
+     * @return 采样步长
+     */
+    public int getStep() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return "TabulatedCostCurve{timeSlots=" + costsBySlot.length + ", step=" + step + "}";
+    }
+}
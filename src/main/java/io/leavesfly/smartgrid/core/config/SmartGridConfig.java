@@ -96,6 +96,21 @@ public final class SmartGridConfig {
      */
     public static final String USER_LOG_FILE = "logs/users.log";
     
+    /**
+     * 系统日志文件路径
+     */
+    public static final String SYSTEM_LOG_FILE = "logs/system.log";
+    
+    /**
+     * 日志目录的系统属性名，设置后各日志文件写入该目录（文件名不变）
+     */
+    public static final String LOG_DIRECTORY_PROPERTY = "smartgrid.log.dir";
+    
+    /**
+     * 默认日志目录
+     */
+    public static final String DEFAULT_LOG_DIRECTORY = "logs";
+    
     // =============== 用户电器配置 ===============
     /**
      * 用户最大用电量限制
@@ -240,4 +255,13 @@ public final class SmartGridConfig {
         }
         return USER_MAX_CONSUMPTION[userId];
     }
+    
+    /**
+     * 获取日志目录
+     * 优先使用系统属性 {@value #LOG_DIRECTORY_PROPERTY}，未设置时使用 {@value #DEFAULT_LOG_DIRECTORY}
+     * @return 日志目录路径
+     */
+    public static String getLogDirectory() {
+        return System.getProperty(LOG_DIRECTORY_PROPERTY, DEFAULT_LOG_DIRECTORY);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package io.leavesfly.smartgrid.core.model;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发系统用电消耗聚合类
+ * 允许多个生产者线程（如各用户的网络处理线程）无锁地逐个提交用户用电数据，
+ * 无需先收集完整的用户列表再调用 {@link SystemConsumptionAggregate#aggregateUserConsumptions(java.util.List)}
+ *
+ * 实现要点：
+ * 1. 每个时间段使用一个 {@link LongAdder} 分段计数，高并发下各线程写入不同的计数单元
+ * 2. 每一轮的计数器封装为一个Round对象，关闭一轮时原子地切换到下一轮
+ * 3. 一次用户提交要么完整计入当前轮，要么完整计入下一轮，不会被拆分到两轮
+ * 4. 关闭后等待正在写入的生产者退出，然后生成不可变的 {@link ConsumptionSnapshot}；
+ *    进入和退出各用一个 {@link LongAdder} 计数，生产者之间不争用同一个计数单元
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public class ConcurrentSystemConsumptionAggregate {
+
+    /** 当前正在累加的轮次 */
+    private final AtomicReference<Round> currentRound;
+
+    /**
+     * 默认构造函数，从第1轮开始
+     */
+    public ConcurrentSystemConsumptionAggregate() {
+        this(1L);
+    }
+
+    /**
+     * 指定起始轮次的构造函数
+     * @param firstRoundNumber 起始轮次编号
+     */
+    public ConcurrentSystemConsumptionAggregate(long firstRoundNumber) {
+        this.currentRound = new AtomicReference<>(new Round(firstRoundNumber));
+    }
+
+    /**
+     * 提交单个用户的用电消耗
+     * @param userConsumption 用户消耗向量
+     * @throws IllegalArgumentException 如果输入参数为null
+     */
+    public void add(ConsumptionVectorInterface userConsumption) {
+        if (userConsumption == null) {
+            throw new IllegalArgumentException("用户消耗向量不能为null");
+        }
+        int[] consumptions = new int[SmartGridConfig.TIME_SLOTS];
+        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+            consumptions[timeSlot] = userConsumption.getConsumptionByTimeSlot(timeSlot);
+        }
+        add(consumptions);
+    }
+
+    /**
+     * 提交单个用户各时间段的用电消耗
+     * 所有时间段作为一个整体计入同一轮
+     * @param consumptions 各时间段用电量
+     * @throws IllegalArgumentException 如果数组无效
+     */
+    public void add(int[] consumptions) {
+        validateConsumptions(consumptions);
+
+        Round round = enterCurrentRound();
+        try {
+            for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+                round.slotTotals[timeSlot].add(consumptions[timeSlot]);
+            }
+            round.contributors.increment();
+        } finally {
+            round.exit();
+        }
+    }
+
+    /**
+     * 向指定时间段累加用电量，不计入用户数量
+     * @param timeSlot 时间段索引
+     * @param consumption 用电量
+     * @throws IndexOutOfBoundsException 如果时间段索引无效
+     * @throws IllegalArgumentException 如果用电量为负数
+     */
+    public void addToTimeSlot(int timeSlot, long consumption) {
+        if (timeSlot < 0 || timeSlot >= SmartGridConfig.TIME_SLOTS) {
+            throw new IndexOutOfBoundsException(
+                "时间段索引超出范围: " + timeSlot + "，有效范围: [0, " +
+                (SmartGridConfig.TIME_SLOTS - 1) + "]");
+        }
+        if (consumption < 0) {
+            throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
+        }
+
+        Round round = enterCurrentRound();
+        try {
+            round.slotTotals[timeSlot].add(consumption);
+        } finally {
+            round.exit();
+        }
+    }
+
+    /**
+     * 原子地关闭当前轮并开启下一轮
+     * 关闭后到达的提交计入下一轮；方法在本轮所有进行中的提交完成后返回
+     * @return 本轮的不可变快照
+     */
+    public ConsumptionSnapshot closeRound() {
+        Round closing;
+        Round next;
+        do {
+            closing = currentRound.get();
+            next = new Round(closing.roundNumber + 1);
+        } while (!currentRound.compareAndSet(closing, next));
+
+        closing.close();
+        while (!closing.isQuiescent()) {
+            Thread.yield();
+        }
+
+        return closing.toSnapshot();
+    }
+
+    /**
+     * 读取当前轮的近似快照，不关闭本轮
+     * 并发写入时结果可能只包含部分提交，仅用于监控展示
+     * @return 当前轮的近似快照
+     */
+    public ConsumptionSnapshot peek() {
+        return currentRound.get().toSnapshot();
+    }
+
+    /**
+     * 获取当前正在累加的轮次编号
+     * @return 轮次编号
+     */
+    public long getCurrentRoundNumber() {
+        return currentRound.get().roundNumber;
+    }
+
+    /**
+     * 进入当前轮；若读取到的轮次恰好已被关闭，则重新读取新的当前轮
+     */
+    private Round enterCurrentRound() {
+        for (;;) {
+            Round round = currentRound.get();
+            if (round.tryEnter()) {
+                return round;
+            }
+        }
+    }
+
+    private void validateConsumptions(int[] consumptions) {
+        if (consumptions == null) {
+            throw new IllegalArgumentException("消耗数组不能为null");
+        }
+        if (consumptions.length != SmartGridConfig.TIME_SLOTS) {
+            throw new IllegalArgumentException(
+                "消耗数组长度必须为 " + SmartGridConfig.TIME_SLOTS);
+        }
+        for (int consumption : consumptions) {
+            if (consumption < 0) {
+                throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
+            }
+        }
+    }
+
+    /**
+     * 单轮计数器
+     * 生产者先增加entered再检查关闭标志，发现已关闭时增加exited后退出；关闭方先设置关闭标志，
+     * 再依次读取exited和entered。两个计数只增不减且任意时刻exited不超过entered，
+     * 因此读到相等时，读取entered之前进入的生产者都已退出，之后进入的生产者必然看到关闭标志
+     */
+    private static final class Round {
+
+        private final long roundNumber;
+        private final LongAdder[] slotTotals;
+        private final LongAdder contributors = new LongAdder();
+        private final LongAdder entered = new LongAdder();
+        private final LongAdder exited = new LongAdder();
+        private volatile boolean closed;
+
+        private Round(long roundNumber) {
+            this.roundNumber = roundNumber;
+            this.slotTotals = new LongAdder[SmartGridConfig.TIME_SLOTS];
+            for (int timeSlot = 0; timeSlot < slotTotals.length; timeSlot++) {
+                slotTotals[timeSlot] = new LongAdder();
+            }
+        }
+
+        private boolean tryEnter() {
+            entered.increment();
+            if (closed) {
+                exited.increment();
+                return false;
+            }
+            return true;
+        }
+
+        private void exit() {
+            exited.increment();
+        }
+
+        private void close() {
+            closed = true;
+        }
+
+        private boolean isQuiescent() {
+            long exits = exited.sum();
+            return entered.sum() == exits;
+        }
+
+        private ConsumptionSnapshot toSnapshot() {
+            long[] totals = new long[slotTotals.length];
+            for (int timeSlot = 0; timeSlot < totals.length; timeSlot++) {
+                totals[timeSlot] = slotTotals[timeSlot].sum();
+            }
+            return new ConsumptionSnapshot(roundNumber, totals, contributors.sum());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.leavesfly.smartgrid.core.model;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 系统用电消耗快照（不可变）
+ * 由 {@link ConcurrentSystemConsumptionAggregate#closeRound()} 在一轮结束时生成，
+ * 可在线程间自由共享
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class ConsumptionSnapshot {
+
+    /** 轮次编号 */
+    private final long roundNumber;
+
+    /** 各时间段的总用电消耗量 */
+    private final long[] totalConsumptions;
+
+    /** 本轮提交数据的用户数量 */
+    private final long contributorCount;
+
+    /**
+     * 构造函数
+     * @param roundNumber 轮次编号
+     * @param totalConsumptions 各时间段总用电量，构造时复制
+     * @param contributorCount 本轮提交数据的用户数量
+     */
+    public ConsumptionSnapshot(long roundNumber, long[] totalConsumptions, long contributorCount) {
+        if (totalConsumptions == null) {
+            throw new IllegalArgumentException("消耗数组不能为null");
+        }
+        this.roundNumber = roundNumber;
+        this.totalConsumptions = Arrays.copyOf(totalConsumptions, totalConsumptions.length);
+        this.contributorCount = contributorCount;
+    }
+
+    /**
+     * 获取轮次编号
+     * @return 轮次编号
+     */
+    public long getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * 获取本轮提交数据的用户数量
+     * @return 用户数量
+     */
+    public long getContributorCount() {
+        return contributorCount;
+    }
+
+    /**
+     * 获取指定时间段的总用电消耗
+     * @param timeSlot 时间段索引
+     * @return 该时间段的总用电消耗
+     * @throws IndexOutOfBoundsException 如果时间段索引无效
+     */
+    public long getConsumptionByTimeSlot(int timeSlot) {
+        if (timeSlot < 0 || timeSlot >= totalConsumptions.length) {
+            throw new IndexOutOfBoundsException(
+                "时间段索引超出范围: " + timeSlot + "，有效范围: [0, " +
+                (totalConsumptions.length - 1) + "]");
+        }
+        return totalConsumptions[timeSlot];
+    }
+
+    /**
+     * 获取总消耗数组的副本
+     * @return 总消耗数组副本
+     */
+    public long[] getTotalConsumptionsCopy() {
+        return Arrays.copyOf(totalConsumptions, totalConsumptions.length);
+    }
+
+    /**
+     * 计算系统总用电量
+     * @return 系统总用电量
+     */
+    public long calculateTotalSystemConsumption() {
+        long total = 0L;
+        for (long consumption : totalConsumptions) {
+            total += consumption;
+        }
+        return total;
+    }
+
+    /**
+     * 转换为int版本的系统消耗聚合对象
+     * @return 系统消耗聚合对象
+     * @throws IllegalStateException 如果某个时间段的总量超出int范围
+     */
+    public SystemConsumptionAggregate toSystemConsumptionAggregate() {
+        int[] narrowed = new int[SmartGridConfig.TIME_SLOTS];
+        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+            long consumption = totalConsumptions[timeSlot];
+            if (consumption > Integer.MAX_VALUE) {
+                throw new IllegalStateException(
+                    "时间段 " + timeSlot + " 的总用电量超出int范围: " + consumption);
+            }
+            narrowed[timeSlot] = (int) consumption;
+        }
+        return new SystemConsumptionAggregate(narrowed);
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumptionSnapshot{round=" + roundNumber +
+               ", consumptions=" + Arrays.toString(totalConsumptions) +
+               ", contributors=" + contributorCount + "}";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ConsumptionSnapshot that = (ConsumptionSnapshot) obj;
+        return roundNumber == that.roundNumber &&
+               contributorCount == that.contributorCount &&
+               Arrays.equals(totalConsumptions, that.totalConsumptions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roundNumber, Arrays.hashCode(totalConsumptions), contributorCount);
+    }
+}
@@ -1,10 +1,12 @@
 package io.leavesfly.smartgrid.core.model;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.util.random.RandomSource;
 import java.io.Serializable;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 电价向量类（重构版）
@@ -24,9 +26,6 @@ public class PriceVector implements PriceVectorInterface, Serializable {
     
     private static final long serialVersionUID = -5652678536888894383L;
     
-    /** 随机数生成器 */
-    private static final Random RANDOM = new Random();
-    
     /** 价格数组 */
     private final float[] prices;
     
@@ -42,7 +41,21 @@ public class PriceVector implements PriceVectorInterface, Serializable {
      */
     public PriceVector() {
         this.prices = new float[SmartGridConfig.TIME_SLOTS];
-        initializeWithRandomPrice();
+        Arrays.fill(prices, generateRandomPrice());
+    }
+    
+    /**
+     * 使用指定随机数源的构造函数
+     * 所有时间段使用相同的随机初始价格，相同种子得到相同的价格向量
+     * @param random 随机数源
+     * @throws IllegalArgumentException 如果随机数源为null
+     */
+    public PriceVector(RandomSource random) {
+        if (random == null) {
+            throw new IllegalArgumentException("随机数源不能为null");
+        }
+        this.prices = new float[SmartGridConfig.TIME_SLOTS];
+        Arrays.fill(prices, generateRandomPrice(random));
     }
     
     /**
@@ -84,11 +97,24 @@ public class PriceVector implements PriceVectorInterface, Serializable {
     }
     
     /**
-     * 使用随机价格初始化价格向量
+     * 直接接管数组的私有构造函数，不复制也不校验
+     * @param adoptedPrices 已校验的价格数组
+     * @param isNewPrice 是否为新价格
+     */
+    private PriceVector(float[] adoptedPrices, boolean isNewPrice) {
+        this.prices = adoptedPrices;
+        this.isNewPrice = isNewPrice;
+    }
+    
+    /**
+     * 受信任的快速构造方法
+     * 直接接管传入的数组，不做复制和校验，仅用于已在系统边界（如网络解码后）校验过的数据。
+     * 调用后调用方不得再修改该数组
+     * @param prices 已校验的价格数组，长度必须为 {@link SmartGridConfig#TIME_SLOTS}
+     * @return 价格向量
      */
-    private void initializeWithRandomPrice() {
-        float randomPrice = generateRandomPrice();
-        Arrays.fill(prices, randomPrice);
+    public static PriceVector ofTrusted(float[] prices) {
+        return new PriceVector(prices, false);
     }
     
     @Override
@@ -114,14 +140,25 @@ public class PriceVector implements PriceVectorInterface, Serializable {
         return SmartGridConfig.TIME_SLOTS;
     }
     
+    /**
+     * 获取价格数组的只读视图，不复制数组
+     * 视图随本向量的修改而变化
+     * @return 只读价格缓冲区
+     */
+    public FloatBuffer asReadOnlyBuffer() {
+        return FloatBuffer.wrap(prices).asReadOnlyBuffer();
+    }
+    
     @Override
     public PriceVectorInterface createNewPriceVector(int position, float newPrice) {
         validatePosition(position);
         validatePrice(newPrice);
         
-        PriceVector newVector = new PriceVector(this);
-        newVector.setPriceByPosition(position, newPrice);
-        newVector.setNewPrice(true);
+        // 本向量的数据和新价格均已校验，直接构造副本
+        float[] newPrices = Arrays.copyOf(prices, prices.length);
+        newPrices[position] = newPrice;
+        PriceVector newVector = new PriceVector(newPrices, true);
+        newVector.isAlgorithmEnded = this.isAlgorithmEnded;
         
         return newVector;
     }
@@ -150,17 +187,33 @@ public class PriceVector implements PriceVectorInterface, Serializable {
             throw new IllegalArgumentException("时间槽数量不匹配");
         }
         
+        if (other instanceof PriceVector) {
+            // 同类型时直接复制内部数组，避免额外的防御性副本
+            System.arraycopy(((PriceVector) other).prices, 0, this.prices, 0, this.prices.length);
+            return;
+        }
+        
         float[] otherPrices = other.getPricesCopy();
         System.arraycopy(otherPrices, 0, this.prices, 0, this.prices.length);
     }
     
     /**
      * 生成随机价格
+     * 使用当前线程的随机数生成器，多线程调用互不竞争，但结果不可复现
      * @return 在有效范围内的随机价格
      */
     public static float generateRandomPrice() {
         return SmartGridConfig.MIN_PRICE + 
-               RANDOM.nextFloat() * (SmartGridConfig.MAX_PRICE - SmartGridConfig.MIN_PRICE);
+               ThreadLocalRandom.current().nextFloat() * (SmartGridConfig.MAX_PRICE - SmartGridConfig.MIN_PRICE);
+    }
+    
+    /**
+     * 使用指定随机数源生成随机价格
+     * @param random 随机数源
+     * @return 在有效范围内的随机价格
+     */
+    public static float generateRandomPrice(RandomSource random) {
+        return random.nextFloat(SmartGridConfig.MIN_PRICE, SmartGridConfig.MAX_PRICE);
     }
     
     /**
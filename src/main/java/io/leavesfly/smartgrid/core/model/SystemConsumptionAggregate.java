@@ -1,6 +1,7 @@
 package io.leavesfly.smartgrid.core.model;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -27,6 +28,24 @@ public class SystemConsumptionAggregate {
     /** 数据是否完整填充的标志 */
     private boolean isDataComplete = false;
     
+    /** 派生指标缓存是否有效，每次修改数据时失效 */
+    private boolean metricsValid = false;
+    
+    /** 内部数组是否已通过兼容方法暴露，暴露后外部可能直接修改数组，缓存不再可信 */
+    private boolean rawArrayExposed = false;
+    
+    /** 缓存的系统总用电量 */
+    private int cachedTotal;
+    
+    /** 缓存的峰值用电时段 */
+    private int cachedPeakTimeSlot;
+    
+    /** 缓存的低谷用电时段 */
+    private int cachedValleyTimeSlot;
+    
+    /** 缓存的负载均衡度 */
+    private double cachedLoadBalance;
+    
     /**
      * 默认构造函数
      * 创建一个空的系统消耗聚合对象
@@ -49,6 +68,27 @@ public class SystemConsumptionAggregate {
         this.isDataComplete = true;
     }
     
+    /**
+     * 直接接管数组的私有构造函数，不复制也不校验
+     * @param adoptedConsumptions 已校验的总消耗数组
+     * @param dataComplete 数据完整性标志
+     */
+    private SystemConsumptionAggregate(int[] adoptedConsumptions, boolean dataComplete) {
+        this.totalConsumptions = adoptedConsumptions;
+        this.isDataComplete = dataComplete;
+    }
+    
+    /**
+     * 受信任的快速构造方法
+     * 直接接管传入的数组，不做复制和校验，仅用于已在系统边界（如网络解码后）校验过的数据。
+     * 调用后调用方不得再修改该数组，否则缓存的派生指标将失效
+     * @param totalConsumptions 已校验的总消耗数组，长度必须为 {@link SmartGridConfig#TIME_SLOTS}
+     * @return 系统消耗聚合对象
+     */
+    public static SystemConsumptionAggregate ofTrusted(int[] totalConsumptions) {
+        return new SystemConsumptionAggregate(totalConsumptions, true);
+    }
+    
     /**
      * 复制构造函数
      * @param other 要复制的系统消耗聚合对象
@@ -86,6 +126,7 @@ public class SystemConsumptionAggregate {
         validateTimeSlot(timeSlot);
         validateConsumptionValue(consumption);
         totalConsumptions[timeSlot] = consumption;
+        metricsValid = false;
     }
     
     /**
@@ -96,6 +137,15 @@ public class SystemConsumptionAggregate {
         return Arrays.copyOf(totalConsumptions, totalConsumptions.length);
     }
     
+    /**
+     * 获取总消耗数组的只读视图，不复制数组
+     * 视图随本对象的修改而变化
+     * @return 只读消耗缓冲区
+     */
+    public IntBuffer asReadOnlyBuffer() {
+        return IntBuffer.wrap(totalConsumptions).asReadOnlyBuffer();
+    }
+    
     /**
      * 设置所有时间段的总用电消耗
      * @param newConsumptions 新的总消耗数组
@@ -105,6 +155,7 @@ public class SystemConsumptionAggregate {
         validateConsumptionArray(newConsumptions);
         System.arraycopy(newConsumptions, 0, this.totalConsumptions, 0, SmartGridConfig.TIME_SLOTS);
         this.isDataComplete = true;
+        this.metricsValid = false;
     }
     
     /**
@@ -113,6 +164,7 @@ public class SystemConsumptionAggregate {
     public void reset() {
         Arrays.fill(totalConsumptions, 0);
         this.isDataComplete = false;
+        this.metricsValid = false;
     }
     
     /**
@@ -131,34 +183,41 @@ public class SystemConsumptionAggregate {
                 "，实际: " + userConsumptions.size());
         }
         
+        for (ConsumptionVectorInterface userConsumption : userConsumptions) {
+            if (userConsumption == null) {
+                throw new IllegalArgumentException("用户消耗向量不能为null");
+            }
+        }
+        
         // 重置数据
         reset();
         
-        // 聚合各用户的消耗数据
-        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
-            int totalConsumption = 0;
-            for (ConsumptionVectorInterface userConsumption : userConsumptions) {
-                if (userConsumption == null) {
-                    throw new IllegalArgumentException("用户消耗向量不能为null");
+        // 聚合各用户的消耗数据，UserConsumptionVector直接读取内部数组，跳过逐项边界检查
+        for (ConsumptionVectorInterface userConsumption : userConsumptions) {
+            if (userConsumption instanceof UserConsumptionVector) {
+                int[] consumptions = ((UserConsumptionVector) userConsumption).consumptionsView();
+                for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+                    totalConsumptions[timeSlot] += consumptions[timeSlot];
+                }
+            } else {
+                for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+                    totalConsumptions[timeSlot] += userConsumption.getConsumptionByTimeSlot(timeSlot);
                 }
-                totalConsumption += userConsumption.getConsumptionByTimeSlot(timeSlot);
             }
-            totalConsumptions[timeSlot] = totalConsumption;
         }
         
         this.isDataComplete = true;
+        this.metricsValid = false;
     }
     
     /**
      * 计算系统总用电量
+     * 结果按数据版本缓存，数据未变化时重复调用为O(1)
      * @return 系统总用电量
      */
     public int calculateTotalSystemConsumption() {
-        int total = 0;
-        for (int consumption : totalConsumptions) {
-            total += consumption;
-        }
-        return total;
+        ensureMetrics();
+        return cachedTotal;
     }
     
     /**
@@ -166,17 +225,8 @@ public class SystemConsumptionAggregate {
      * @return 峰值用电时段的索引
      */
     public int getPeakConsumptionTimeSlot() {
-        int maxConsumption = totalConsumptions[0];
-        int peakTimeSlot = 0;
-        
-        for (int i = 1; i < totalConsumptions.length; i++) {
-            if (totalConsumptions[i] > maxConsumption) {
-                maxConsumption = totalConsumptions[i];
-                peakTimeSlot = i;
-            }
-        }
-        
-        return peakTimeSlot;
+        ensureMetrics();
+        return cachedPeakTimeSlot;
     }
     
     /**
@@ -184,17 +234,8 @@ public class SystemConsumptionAggregate {
      * @return 低谷用电时段的索引
      */
     public int getValleyConsumptionTimeSlot() {
-        int minConsumption = totalConsumptions[0];
-        int valleyTimeSlot = 0;
-        
-        for (int i = 1; i < totalConsumptions.length; i++) {
-            if (totalConsumptions[i] < minConsumption) {
-                minConsumption = totalConsumptions[i];
-                valleyTimeSlot = i;
-            }
-        }
-        
-        return valleyTimeSlot;
+        ensureMetrics();
+        return cachedValleyTimeSlot;
     }
     
     /**
@@ -202,15 +243,8 @@ public class SystemConsumptionAggregate {
      * @return 负载均衡度，值越小表示负载越均衡
      */
     public double calculateLoadBalanceMetric() {
-        double mean = (double) calculateTotalSystemConsumption() / SmartGridConfig.TIME_SLOTS;
-        double sumSquaredDifferences = 0.0;
-        
-        for (int consumption : totalConsumptions) {
-            double difference = consumption - mean;
-            sumSquaredDifferences += difference * difference;
-        }
-        
-        return Math.sqrt(sumSquaredDifferences / SmartGridConfig.TIME_SLOTS);
+        ensureMetrics();
+        return cachedLoadBalance;
     }
     
     /**
@@ -224,6 +258,48 @@ public class SystemConsumptionAggregate {
         return total == 0 ? 0.0 : (double) totalConsumptions[timeSlot] / total;
     }
     
+    /**
+     * 确保派生指标缓存有效
+     * 第一遍扫描同时求总量、峰值和低谷，第二遍按均值求标准差，结果与逐项计算完全一致
+     */
+    private void ensureMetrics() {
+        if (metricsValid && !rawArrayExposed) {
+            return;
+        }
+        
+        int total = totalConsumptions[0];
+        int maxConsumption = totalConsumptions[0];
+        int minConsumption = totalConsumptions[0];
+        int peakTimeSlot = 0;
+        int valleyTimeSlot = 0;
+        
+        for (int i = 1; i < totalConsumptions.length; i++) {
+            int consumption = totalConsumptions[i];
+            total += consumption;
+            if (consumption > maxConsumption) {
+                maxConsumption = consumption;
+                peakTimeSlot = i;
+            }
+            if (consumption < minConsumption) {
+                minConsumption = consumption;
+                valleyTimeSlot = i;
+            }
+        }
+        
+        double mean = (double) total / SmartGridConfig.TIME_SLOTS;
+        double sumSquaredDifferences = 0.0;
+        for (int consumption : totalConsumptions) {
+            double difference = consumption - mean;
+            sumSquaredDifferences += difference * difference;
+        }
+        
+        cachedTotal = total;
+        cachedPeakTimeSlot = peakTimeSlot;
+        cachedValleyTimeSlot = valleyTimeSlot;
+        cachedLoadBalance = Math.sqrt(sumSquaredDifferences / SmartGridConfig.TIME_SLOTS);
+        metricsValid = true;
+    }
+    
     /**
      * 检查数据是否完整
      * @return 如果数据完整返回true
@@ -294,17 +370,20 @@ public class SystemConsumptionAggregate {
         
         System.arraycopy(other.totalConsumptions, 0, this.totalConsumptions, 0, SmartGridConfig.TIME_SLOTS);
         this.isDataComplete = other.isDataComplete;
+        this.metricsValid = false;
     }
     
     // ============== 兼容性方法（用于与旧代码兼容） ==============
     
     /**
      * 兼容旧代码的方法：获取消耗数组
+     * 调用方可能直接修改返回的数组，因此调用后派生指标不再缓存
      * @deprecated 请使用 {@link #getTotalConsumptionsCopy()} 获取数组副本
      * @return 消耗数组的直接引用
      */
     @Deprecated
     public int[] getConsumByTimeVector() {
+        rawArrayExposed = true;
         return totalConsumptions;
     }
     
@@ -2,6 +2,7 @@ package io.leavesfly.smartgrid.core.model;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
 import java.io.Serializable;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -57,6 +58,29 @@ public class UserConsumptionVector implements ConsumptionVectorInterface, Serial
         // 数组默认初始化为0
     }
     
+    /**
+     * 直接接管数组的私有构造函数，不复制也不校验
+     * @param userId 已校验的用户ID
+     * @param adoptedConsumptions 已校验的用电消耗数组
+     * @param trusted 区分重载的标记参数
+     */
+    private UserConsumptionVector(int userId, int[] adoptedConsumptions, boolean trusted) {
+        this.userId = userId;
+        this.consumptions = adoptedConsumptions;
+    }
+    
+    /**
+     * 受信任的快速构造方法
+     * 直接接管传入的数组，不做复制和校验，仅用于已在系统边界（如网络解码后）校验过的数据。
+     * 调用后调用方不得再修改该数组
+     * @param userId 已校验的用户ID
+     * @param consumptions 已校验的用电消耗数组，长度必须为 {@link SmartGridConfig#TIME_SLOTS}
+     * @return 用户消耗向量
+     */
+    public static UserConsumptionVector ofTrusted(int userId, int[] consumptions) {
+        return new UserConsumptionVector(userId, consumptions, true);
+    }
+    
     /**
      * 复制构造函数
      * @param other 要复制的用户消耗向量
@@ -95,6 +119,23 @@ public class UserConsumptionVector implements ConsumptionVectorInterface, Serial
         return Arrays.copyOf(consumptions, consumptions.length);
     }
     
+    /**
+     * 获取用电消耗数组的只读视图，不复制数组
+     * 视图随本向量的修改而变化
+     * @return 只读消耗缓冲区
+     */
+    public IntBuffer asReadOnlyBuffer() {
+        return IntBuffer.wrap(consumptions).asReadOnlyBuffer();
+    }
+    
+    /**
+     * 包内热点路径使用的内部数组引用，调用方只读不写
+     * @return 内部消耗数组
+     */
+    int[] consumptionsView() {
+        return consumptions;
+    }
+    
     @Override
     public int getTotalConsumption() {
         int total = 0;
@@ -123,9 +164,8 @@ public class UserConsumptionVector implements ConsumptionVectorInterface, Serial
             }
         }
         
-        // 检查总消耗是否超过用户限制
-        int userMaxConsumption = SmartGridConfig.getUserMaxConsumption(userId);
-        return getTotalConsumption() <= userMaxConsumption;
+        // 检查总消耗是否超过用户限制（用户ID已在上方校验，直接读取配置数组）
+        return getTotalConsumption() <= SmartGridConfig.USER_MAX_CONSUMPTION[userId];
     }
     
     @Override
@@ -0,0 +1,180 @@
+package io.leavesfly.smartgrid.core.model;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 64位系统用电消耗聚合类
+ * {@link SystemConsumptionAggregate} 的宽整型版本，各时间段总量以long累加，
+ * 用于百万级以上用户规模，避免int求和溢出
+ *
+ * 与 {@link SystemConsumptionAggregate#aggregateUserConsumptions(List)} 不同，
+ * 该类不要求用户数量等于 {@link SmartGridConfig#USER_COUNT}，可逐个累加用户数据
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public class WideConsumptionAggregate {
+
+    /** 各时间段的总用电消耗量 */
+    private final long[] totalConsumptions;
+
+    /** 已累加的用户数量 */
+    private long contributorCount;
+
+    /**
+     * 默认构造函数
+     * 创建一个空的宽整型聚合对象
+     */
+    public WideConsumptionAggregate() {
+        this.totalConsumptions = new long[SmartGridConfig.TIME_SLOTS];
+    }
+
+    /**
+     * 累加单个用户的用电消耗
+     * @param userConsumption 用户消耗向量
+     * @throws IllegalArgumentException 如果输入参数为null
+     */
+    public void add(ConsumptionVectorInterface userConsumption) {
+        if (userConsumption == null) {
+            throw new IllegalArgumentException("用户消耗向量不能为null");
+        }
+        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+            totalConsumptions[timeSlot] += userConsumption.getConsumptionByTimeSlot(timeSlot);
+        }
+        contributorCount++;
+    }
+
+    /**
+     * 累加单个用户的用电消耗数组
+     * @param consumptions 各时间段用电量
+     * @throws IllegalArgumentException 如果数组无效
+     */
+    public void add(int[] consumptions) {
+        if (consumptions == null) {
+            throw new IllegalArgumentException("消耗数组不能为null");
+        }
+        if (consumptions.length != SmartGridConfig.TIME_SLOTS) {
+            throw new IllegalArgumentException(
+                "消耗数组长度必须为 " + SmartGridConfig.TIME_SLOTS);
+        }
+        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+            int consumption = consumptions[timeSlot];
+            if (consumption < 0) {
+                throw new IllegalArgumentException("用电消耗不能为负数: " + consumption);
+            }
+            totalConsumptions[timeSlot] += consumption;
+        }
+        contributorCount++;
+    }
+
+    /**
+     * 聚合多个用户的用电消耗数据，先重置已有数据
+     * @param userConsumptions 用户消耗向量列表
+     * @throws IllegalArgumentException 如果输入参数无效
+     */
+    public void aggregateUserConsumptions(List<? extends ConsumptionVectorInterface> userConsumptions) {
+        if (userConsumptions == null) {
+            throw new IllegalArgumentException("用户消耗列表不能为null");
+        }
+
+        reset();
+
+        for (ConsumptionVectorInterface userConsumption : userConsumptions) {
+            add(userConsumption);
+        }
+    }
+
+    /**
+     * 获取指定时间段的总用电消耗
+     * @param timeSlot 时间段索引
+     * @return 该时间段的总用电消耗
+     * @throws IndexOutOfBoundsException 如果时间段索引无效
+     */
+    public long getConsumptionByTimeSlot(int timeSlot) {
+        if (timeSlot < 0 || timeSlot >= SmartGridConfig.TIME_SLOTS) {
+            throw new IndexOutOfBoundsException(
+                "时间段索引超出范围: " + timeSlot + "，有效范围: [0, " +
+                (SmartGridConfig.TIME_SLOTS - 1) + "]");
+        }
+        return totalConsumptions[timeSlot];
+    }
+
+    /**
+     * 获取总消耗数组的副本
+     * @return 总消耗数组副本
+     */
+    public long[] getTotalConsumptionsCopy() {
+        return Arrays.copyOf(totalConsumptions, totalConsumptions.length);
+    }
+
+    /**
+     * 计算系统总用电量
+     * @return 系统总用电量
+     */
+    public long calculateTotalSystemConsumption() {
+        long total = 0L;
+        for (long consumption : totalConsumptions) {
+            total += consumption;
+        }
+        return total;
+    }
+
+    /**
+     * 获取已累加的用户数量
+     * @return 用户数量
+     */
+    public long getContributorCount() {
+        return contributorCount;
+    }
+
+    /**
+     * 重置所有时间段的用电消耗为0
+     */
+    public void reset() {
+        Arrays.fill(totalConsumptions, 0L);
+        contributorCount = 0L;
+    }
+
+    /**
+     * 转换为int版本的系统消耗聚合对象
+     * @return 系统消耗聚合对象
+     * @throws IllegalStateException 如果某个时间段的总量超出int范围
+     */
+    public SystemConsumptionAggregate toSystemConsumptionAggregate() {
+        int[] narrowed = new int[SmartGridConfig.TIME_SLOTS];
+        for (int timeSlot = 0; timeSlot < SmartGridConfig.TIME_SLOTS; timeSlot++) {
+            long consumption = totalConsumptions[timeSlot];
+            if (consumption > Integer.MAX_VALUE) {
+                throw new IllegalStateException(
+                    "时间段 " + timeSlot + " 的总用电量超出int范围: " + consumption);
+            }
+            narrowed[timeSlot] = (int) consumption;
+        }
+        return new SystemConsumptionAggregate(narrowed);
+    }
+
+    @Override
+    public String toString() {
+        return "WideConsumptionAggregate{consumptions=" + Arrays.toString(totalConsumptions) +
+               ", total=" + calculateTotalSystemConsumption() +
+               ", contributors=" + contributorCount + "}";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        WideConsumptionAggregate that = (WideConsumptionAggregate) obj;
+        return contributorCount == that.contributorCount &&
+               Arrays.equals(totalConsumptions, that.totalConsumptions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(totalConsumptions), contributorCount);
+    }
+}
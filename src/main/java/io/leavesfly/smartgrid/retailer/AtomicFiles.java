@@ -0,0 +1,65 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 状态文件的原子写入工具
+ * 先写入同目录的临时文件并刷到磁盘，再原子重命名为目标文件，
+ * 崩溃时目标文件要么是上一次的完整内容，要么是新的完整内容
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class AtomicFiles {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * 原子地写入文件，所在目录不存在时创建
+     * @param file 目标文件
+     * @param buffer 要写入的内容，从position写到limit
+     * @throws IOException 写入失败，此时目标文件保持不变
+     */
+    static void write(Path file, ByteBuffer buffer) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 计算字节数组前length个字节的CRC32
+     * @param bytes 字节数组
+     * @param length 长度
+     * @return 校验和
+     */
+    static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,61 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.util.List;
+
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+
+/**
+ * 直接调用的用户传输
+ * 在算法线程上依次计算每个用户的响应，没有线程切换和序列化，
+ * 用于测试、离线仿真和衡量用户模型本身的开销
+ *
+ * 用户ID可以超过已配置的用户数量，按 {@link UserMaxSatisfaConsumVector#respond} 的规则复用配置
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class DirectUserTransport implements UserTransport {
+
+    private final Retailer retailer;
+
+    /**
+     * 构造函数
+     * @param retailer 零售商核心对象，用户数量取 {@link Retailer#getExpectedUsers()}
+     * @throws IllegalArgumentException 如果零售商为null
+     */
+    public DirectUserTransport(Retailer retailer) {
+        if (retailer == null) {
+            throw new IllegalArgumentException("零售商不能为null");
+        }
+        this.retailer = retailer;
+    }
+
+    @Override
+    public void awaitUsers() {
+        // 用户在调用线程上计算，始终就绪
+    }
+
+    @Override
+    public void evaluate() {
+        PriceVector priceVector = retailer.getNewPriceVector();
+        List<OneUserConsumVector> responses = retailer.getUserConsumptionList();
+        synchronized (responses) {
+            for (int userId = 0; userId < retailer.getExpectedUsers(); userId++) {
+                responses.add(UserMaxSatisfaConsumVector.respond(userId, priceVector));
+            }
+            RetailerMetrics.recordLastResponse();
+            retailer.evaluateCollectedConsumption();
+        }
+    }
+
+    @Override
+    public void broadcastFinalPrice() {
+        retailer.getNewPriceVector().setAlgorithmEnded(true);
+    }
+
+    @Override
+    public void close() {
+        // 没有需要释放的资源
+    }
+}
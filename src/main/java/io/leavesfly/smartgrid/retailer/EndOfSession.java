@@ -0,0 +1,46 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.Serializable;
+
+/**
+ * 会话结束消息
+ * 零售商在算法结束或服务器关闭时向每个用户发送的最后一个对象，携带最终价格。
+ * 用户收到后回复 {@link io.leavesfly.smartgrid.user.EndOfSessionAck} 并关闭连接，不再重连
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class EndOfSession implements Serializable {
+
+    private static final long serialVersionUID = 6093184117325907314L;
+
+    private final PriceVector finalPrice;
+    private final boolean completed;
+
+    /**
+     * 构造函数
+     * @param finalPrice 最终价格
+     * @param completed 算法是否已正常结束，服务器提前关闭时为false
+     */
+    public EndOfSession(PriceVector finalPrice, boolean completed) {
+        this.finalPrice = finalPrice;
+        this.completed = completed;
+    }
+
+    public PriceVector getFinalPrice() {
+        return finalPrice;
+    }
+
+    /**
+     * 算法是否已正常结束
+     * @return 正常结束返回true，服务器提前关闭时返回false
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return "EndOfSession{completed=" + completed + ", finalPrice=" + finalPrice + "}";
+    }
+}
@@ -1,6 +1,9 @@
 package io.leavesfly.smartgrid.retailer;
 
 import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.leavesfly.smartgrid.util.random.RandomSource;
 
 /**
  * 价格向量类
@@ -33,15 +36,35 @@ public class PriceVector implements Serializable {
     /** 各时间段的价格数组 */
     private float[] priceArray;
     
+    /** 价格轮次，零售商发送前写入，用户端按它标识所响应的轮次；0表示未知 */
+    private long round;
+    
     /**
      * 默认构造函数
      * 初始化一个随机价格的价格向量
      */
     public PriceVector() {
+        this(generateRandomPrice());
+    }
+    
+    /**
+     * 使用指定随机数源初始化随机价格的价格向量，相同种子得到相同的初始价格
+     * 
+     * @param random 随机数源
+     */
+    public PriceVector(RandomSource random) {
+        this(generateRandomPrice(random));
+    }
+    
+    /**
+     * 所有时间段使用同一价格的构造函数
+     * 
+     * @param price 初始价格
+     */
+    private PriceVector(float price) {
         this.priceArray = new float[TIME_SLOTS];
-        double randomPrice = MIN_PRICE + Math.random() * (MAX_PRICE - MIN_PRICE);
         for (int i = 0; i < TIME_SLOTS; i++) {
-            priceArray[i] = (float) randomPrice;
+            priceArray[i] = price;
         }
     }
     
@@ -54,6 +77,7 @@ public class PriceVector implements Serializable {
     public PriceVector(PriceVector priceVector) {
         this.priceArray = new float[TIME_SLOTS];
         this.isAlgorithmEnded = priceVector.isAlgorithmEnded;
+        this.round = priceVector.round;
         for (int i = 0; i < TIME_SLOTS; i++) {
             this.priceArray[i] = priceVector.getPriceArray()[i];
         }
@@ -87,6 +111,24 @@ public class PriceVector implements Serializable {
         return priceArray;
     }
     
+    /**
+     * 获取价格轮次
+     * 
+     * @return 价格轮次，从1开始，未知时为0
+     */
+    public long getRound() {
+        return round;
+    }
+    
+    /**
+     * 设置价格轮次
+     * 
+     * @param round 价格轮次
+     */
+    public void setRound(long round) {
+        this.round = round;
+    }
+    
     /**
      * 检查是否为新价格
      * 
@@ -159,12 +201,23 @@ public class PriceVector implements Serializable {
     
     /**
      * 生成一个随机价格
-     * 用于SAPC算法中生成随机邻近解
+     * 使用当前线程的随机数生成器，多线程调用互不竞争，但结果不可复现
      * 
      * @return 在合理范围内的随机价格
      */
     public static float generateRandomPrice() {
-        return (float) (MIN_PRICE + Math.random() * (MAX_PRICE - MIN_PRICE));
+        return (float) (MIN_PRICE + ThreadLocalRandom.current().nextDouble() * (MAX_PRICE - MIN_PRICE));
+    }
+    
+    /**
+     * 使用指定随机数源生成一个随机价格
+     * 用于SAPC算法中生成随机邻近解
+     * 
+     * @param random 随机数源
+     * @return 在合理范围内的随机价格
+     */
+    public static float generateRandomPrice(RandomSource random) {
+        return random.nextFloat(MIN_PRICE, MAX_PRICE);
     }
     
     /**
@@ -0,0 +1,111 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+
+/**
+ * 基于进程内阻塞队列的用户传输
+ * 每个用户由一个守护线程模拟，从自己的收件队列取价格、计算响应后放入共享的响应队列；
+ * 与TCP传输相同，用户并发响应、由零售商收齐后再聚合，但没有序列化和网络往返，
+ * 用于在单进程内以内存速度验证并发交互
+ *
+ * 每轮只复制一次价格向量，各用户线程共享只读副本，队列的放入与取出保证可见性
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class QueueUserTransport implements UserTransport {
+
+    private final Retailer retailer;
+    private final List<BlockingQueue<PriceVector>> inboxes;
+    private final BlockingQueue<OneUserConsumVector> responses;
+    private final List<Thread> userThreads;
+    private final CountDownLatch ready;
+
+    /**
+     * 构造函数，立即启动全部用户线程
+     * @param retailer 零售商核心对象，用户数量取 {@link Retailer#getExpectedUsers()}
+     * @throws IllegalArgumentException 如果零售商为null
+     */
+    public QueueUserTransport(Retailer retailer) {
+        if (retailer == null) {
+            throw new IllegalArgumentException("零售商不能为null");
+        }
+        int userCount = retailer.getExpectedUsers();
+        this.retailer = retailer;
+        this.inboxes = new ArrayList<>(userCount);
+        this.responses = new ArrayBlockingQueue<>(userCount);
+        this.userThreads = new ArrayList<>(userCount);
+        this.ready = new CountDownLatch(userCount);
+        for (int userId = 0; userId < userCount; userId++) {
+            BlockingQueue<PriceVector> inbox = new ArrayBlockingQueue<>(1);
+            inboxes.add(inbox);
+            int id = userId;
+            Thread thread = new Thread(() -> runUser(id, inbox), "queue-user-" + userId);
+            thread.setDaemon(true);
+            userThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    private void runUser(int userId, BlockingQueue<PriceVector> inbox) {
+        ready.countDown();
+        try {
+            while (true) {
+                PriceVector priceVector = inbox.take();
+                if (priceVector.isAlgorithmEnded()) {
+                    return;
+                }
+                responses.put(UserMaxSatisfaConsumVector.respond(userId, priceVector));
+            }
+        } catch (InterruptedException e) {
+            // 传输关闭，用户线程退出
+        }
+    }
+
+    @Override
+    public void awaitUsers() throws InterruptedException {
+        ready.await();
+    }
+
+    @Override
+    public void evaluate() throws InterruptedException {
+        broadcast(new PriceVector(retailer.getNewPriceVector()));
+        List<OneUserConsumVector> collected = retailer.getUserConsumptionList();
+        synchronized (collected) {
+            for (int received = 0; received < inboxes.size(); received++) {
+                collected.add(responses.take());
+            }
+            RetailerMetrics.recordLastResponse();
+            retailer.evaluateCollectedConsumption();
+        }
+    }
+
+    @Override
+    public void broadcastFinalPrice() throws InterruptedException {
+        retailer.getNewPriceVector().setAlgorithmEnded(true);
+        broadcast(new PriceVector(retailer.getNewPriceVector()));
+    }
+
+    private void broadcast(PriceVector priceVector) throws InterruptedException {
+        for (BlockingQueue<PriceVector> inbox : inboxes) {
+            inbox.put(priceVector);
+        }
+    }
+
+    /**
+     * 中断全部用户线程
+     */
+    @Override
+    public void close() {
+        for (Thread thread : userThreads) {
+            thread.interrupt();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package io.leavesfly.smartgrid.retailer;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import io.leavesfly.smartgrid.user.OneUserConsumVector;
 import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.jfr.AggregationEvent;
+import io.leavesfly.smartgrid.util.jfr.FlightRecorderSupport;
+import io.leavesfly.smartgrid.util.random.RandomSource;
 
 /**
  * 零售商核心类
@@ -12,6 +17,15 @@ import io.leavesfly.smartgrid.user.UsersArgs;
  * 负责管理价格向量、消耗数据、利润信息和用户连接状态
  * 支持多线程并发访问和数据同步
  * 
+ * 算法线程与各用户连接线程之间按轮次编号同步：算法每发布一次价格，价格轮次加一，
+ * 连接线程等待轮次超过自己已处理的轮次；最后一个用户的消耗数据聚合完成后，评估轮次加一，
+ * 算法线程等待评估轮次追上价格轮次。等待条件由轮次编号决定，
+ * 先通知后等待的线程不会错过唤醒，因此不再需要在广播前休眠
+ * 
+ * 用户成员可以在运行中加入或离开：每轮的参与者在发布价格时确定，新成员从下一次发布的轮次开始参与，
+ * 离开的成员若是本轮参与者则本轮不再等待它的响应，聚合按实际收到的响应进行。
+ * {@link #getExpectedUsers()} 只决定开始定价前需要等待的成员数量
+ * 
  * @author SmartGrid Team
  * @version 1.0
  */
@@ -29,28 +43,114 @@ public class Retailer {
     /** 当前消耗数据 */
     private ElectricityConsumptionByTime currentConsumption;
     
-    /** 当前零售商利润 */
-    private float currentRetailerProfit;
+    /** 当前零售商利润（以double保存，兼容float访问） */
+    private double currentRetailerProfit;
     
     /** 新的消耗数据（用于SAPC算法中的数据迭代） */
     private ElectricityConsumptionByTime newConsumption;
     
     /** 新的零售商利润（用于SAPC算法中的利润迭代） */
-    private float newRetailerProfit;
+    private double newRetailerProfit;
+    
+    /** 新的64位消耗数据（64位聚合模式下使用） */
+    private final long[] newWideConsumption;
     
     /** 用户消耗向量列表，存储所有用户的消耗数据 */
     private List<OneUserConsumVector> userConsumptionList;
     
+    /** 开始定价所需的用户数量 */
+    private final int expectedUsers;
+    
+    /** 本次运行的随机数源，生成初始价格、邻近解和接受判断，只由算法线程使用 */
+    private final RandomSource random;
+    
+    /** 已发布的价格轮次，访问时持有priceLock */
+    private long priceRound;
+    
+    /** 已完成评估的轮次，访问时持有evaluationLock */
+    private long evaluationRound;
+    
+    /** 当前成员数量，访问时持有priceLock */
+    private int activeMembers;
+    
+    /** 当前价格轮次的参与者数量，在发布价格时确定，访问时持有priceLock */
+    private int roundParticipants;
+    
+    /** 当前价格轮次已收到的响应数量，访问时持有priceLock */
+    private int roundResponses;
+    
+    /** 当前价格轮次是否仍在等待响应，访问时持有priceLock */
+    private boolean roundOpen;
+    
+    /** 是否已发布最终价格，访问时持有priceLock */
+    private boolean sessionEnded;
+    
+    /** 是否已关闭，关闭后不再开始新的价格轮次，也不再等待评估完成 */
+    private volatile boolean shutdown;
+    
+    /** 用户会话登记表，断线重连的用户凭令牌恢复会话 */
+    private final SessionRegistry sessions = new SessionRegistry();
+    
+    private final Object priceLock = new Object();
+    private final Object evaluationLock = new Object();
+    
+    /** 每次广播价格前的等待时间（毫秒） */
+    private volatile long broadcastDelayMillis = RetailerConfigConstants.BROADCAST_DELAY_MILLIS;
+    
+    /** 最多执行的退火轮数 */
+    private volatile int maxRounds = RetailerConfigConstants.MAX_ROUNDS;
+    
+    /** SAPC解的存储，为null时不续跑、不热启动 */
+    private volatile SolutionStore solutionStore = RetailerConfigConstants.SOLUTION_FILE == null
+            ? null : new SolutionStore(Paths.get(RetailerConfigConstants.SOLUTION_FILE));
+    
+    /** 优化状态检查点，为null时不保存检查点 */
+    private volatile RetailerCheckpoint checkpoint = RetailerConfigConstants.CHECKPOINT_FILE == null
+            ? null : new RetailerCheckpoint(Paths.get(RetailerConfigConstants.CHECKPOINT_FILE),
+                    RetailerConfigConstants.CHECKPOINT_INTERVAL);
+    
     /**
      * 默认构造函数
-     * 初始化零售商对象的所有数据结构
+     * 初始化零售商对象的所有数据结构，用户数量取自 {@link UsersArgs#userNum}
      */
     public Retailer() {
+        this(UsersArgs.userNum);
+    }
+    
+    /**
+     * 指定用户数量的构造函数
+     * 用户数量为开始定价前需要等待的成员数量，开始后成员可以加入或离开；随机数源由 {@link RandomSource#forRun()} 创建，可通过系统属性 smartgrid.random.seed 指定种子
+     * 
+     * @param expectedUsers 开始定价所需的用户数量
+     * @throws IllegalArgumentException 如果用户数量不为正数
+     */
+    public Retailer(int expectedUsers) {
+        this(expectedUsers, RandomSource.forRun());
+    }
+    
+    /**
+     * 指定用户数量和随机数源的构造函数
+     * 相同种子的随机数源在相同用户响应下得到相同的定价过程
+     * 
+     * @param expectedUsers 开始定价所需的用户数量
+     * @param random 本次运行的随机数源
+     * @throws IllegalArgumentException 如果用户数量不为正数或随机数源为null
+     */
+    public Retailer(int expectedUsers, RandomSource random) {
+        if (expectedUsers <= 0) {
+            throw new IllegalArgumentException("用户数量必须为正数: " + expectedUsers);
+        }
+        if (random == null) {
+            throw new IllegalArgumentException("随机数源不能为null");
+        }
+        this.expectedUsers = expectedUsers;
+        this.random = random;
         this.stepCounter = new StepCounter();
-        this.currentPriceVector = new PriceVector();
-        this.newPriceVector = new PriceVector();
+        this.currentPriceVector = new PriceVector(random);
+        this.newPriceVector = new PriceVector(currentPriceVector);
         this.currentConsumption = new ElectricityConsumptionByTime();
         this.newConsumption = new ElectricityConsumptionByTime();
+        this.newWideConsumption = new long[PriceVector.getTimeSlots()];
         this.userConsumptionList = new ArrayList<OneUserConsumVector>();
     }
     
@@ -66,12 +166,30 @@ public class Retailer {
         return stepCounter;
     }
     
+    /**
+     * 获取用户会话登记表
+     * 
+     * @return 会话登记表
+     */
+    SessionRegistry getSessions() {
+        return sessions;
+    }
+    
     /**
      * 获取当前零售商利润
      * 
      * @return 当前利润值
      */
     public float getCurrentRetailerProfit() {
+        return (float) currentRetailerProfit;
+    }
+    
+    /**
+     * 获取当前零售商利润（双精度）
+     * 
+     * @return 当前利润值
+     */
+    public double getCurrentRetailerProfitDouble() {
         return currentRetailerProfit;
     }
     
@@ -82,6 +200,15 @@ public class Retailer {
      * @return 新的利润值
      */
     public float getNewRetailerProfit() {
+        return (float) newRetailerProfit;
+    }
+    
+    /**
+     * 获取新的零售商利润（双精度）
+     * 
+     * @return 新的利润值
+     */
+    public double getNewRetailerProfitDouble() {
         return newRetailerProfit;
     }
     
@@ -132,8 +259,128 @@ public class Retailer {
         return newConsumption;
     }
     
+    /**
+     * 获取新的64位消耗数据
+     * 仅在64位聚合模式下填充
+     * 
+     * @return 各时间段64位总消耗数组
+     */
+    public long[] getNewWideConsumption() {
+        return newWideConsumption;
+    }
+    
+    /**
+     * 获取开始定价所需的用户数量
+     * 不经网络的传输以此作为固定的用户数量
+     * 
+     * @return 用户数量
+     */
+    public int getExpectedUsers() {
+        return expectedUsers;
+    }
+    
+    /**
+     * 获取当前成员数量
+     * 
+     * @return 已加入且尚未离开的成员数量
+     */
+    public int getActiveMembers() {
+        synchronized (priceLock) {
+            return activeMembers;
+        }
+    }
+    
+    /**
+     * 获取本次运行的随机数源
+     * 
+     * @return 随机数源
+     */
+    public RandomSource getRandomSource() {
+        return random;
+    }
+    
+    /**
+     * 获取每次广播价格前的等待时间
+     * 
+     * @return 等待时间（毫秒）
+     */
+    public long getBroadcastDelayMillis() {
+        return broadcastDelayMillis;
+    }
+    
+    /**
+     * 获取最多执行的退火轮数
+     * 
+     * @return 最大轮数
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+    
     // =========================== Setter 方法 ===========================
     
+    /**
+     * 设置每次广播价格前的等待时间
+     * 
+     * @param broadcastDelayMillis 等待时间（毫秒），0表示不等待
+     * @throws IllegalArgumentException 如果等待时间为负数
+     */
+    public void setBroadcastDelayMillis(long broadcastDelayMillis) {
+        if (broadcastDelayMillis < 0) {
+            throw new IllegalArgumentException("广播等待时间不能为负数: " + broadcastDelayMillis);
+        }
+        this.broadcastDelayMillis = broadcastDelayMillis;
+    }
+    
+    /**
+     * 设置最多执行的退火轮数
+     * 
+     * @param maxRounds 最大轮数
+     * @throws IllegalArgumentException 如果轮数不为正数
+     */
+    public void setMaxRounds(int maxRounds) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("最大轮数必须为正数: " + maxRounds);
+        }
+        this.maxRounds = maxRounds;
+    }
+    
+    /**
+     * 获取SAPC解的存储
+     * 
+     * @return 解存储，未配置时返回null
+     */
+    public SolutionStore getSolutionStore() {
+        return solutionStore;
+    }
+    
+    /**
+     * 设置SAPC解的存储，默认取系统属性 smartgrid.sapc.solutionFile
+     * 
+     * @param solutionStore 解存储，为null时不续跑、不热启动
+     */
+    public void setSolutionStore(SolutionStore solutionStore) {
+        this.solutionStore = solutionStore;
+    }
+    
+    /**
+     * 获取优化状态检查点
+     * 
+     * @return 检查点，未配置时返回null
+     */
+    public RetailerCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+    
+    /**
+     * 设置优化状态检查点，默认取系统属性 smartgrid.checkpoint.file
+     * 
+     * @param checkpoint 检查点，为null时不保存检查点
+     */
+    public void setCheckpoint(RetailerCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+    
     /**
      * 设置当前零售商利润
      * 
@@ -143,6 +390,15 @@ public class Retailer {
         this.currentRetailerProfit = currentRetailerProfit;
     }
     
+    /**
+     * 设置当前零售商利润（双精度）
+     * 
+     * @param currentRetailerProfit 要设置的利润值
+     */
+    public void setCurrentRetailerProfit(double currentRetailerProfit) {
+        this.currentRetailerProfit = currentRetailerProfit;
+    }
+    
     /**
      * 设置新的零售商利润
      * 
@@ -152,6 +408,15 @@ public class Retailer {
         this.newRetailerProfit = newRetailerProfit;
     }
     
+    /**
+     * 设置新的零售商利润（双精度）
+     * 
+     * @param newRetailerProfit 要设置的新利润值
+     */
+    public void setNewRetailerProfit(double newRetailerProfit) {
+        this.newRetailerProfit = newRetailerProfit;
+    }
+    
     /**
      * 设置新的价格向量
      * 
@@ -179,6 +444,250 @@ public class Retailer {
         this.newConsumption = newConsumption;
     }
     
+    // =========================== 轮次同步 ===========================
+    
+    /**
+     * 登记一个新成员，成员数量达到开始定价所需的数量时唤醒等待的算法线程
+     * 新成员从下一次发布的价格轮次开始参与；当前轮次没有任何参与者且尚未完成时直接加入当前轮次，
+     * 这样全部成员离开后，算法可以由新加入的成员继续
+     * 
+     * @return 该成员参与的第一个价格轮次
+     */
+    public long joinMember() {
+        return rejoinMember(Long.MAX_VALUE);
+    }
+    
+    /**
+     * 登记一个恢复会话的成员
+     * 当前轮次尚未完成且该会话还没有提交过本轮响应时直接加入当前轮次，重连的用户立即收到当前价格；
+     * 其余情况与 {@link #joinMember()} 相同
+     * 
+     * @param lastRespondedRound 该会话最近一次提交响应的轮次，从未响应时为0
+     * @return 该成员参与的第一个价格轮次
+     */
+    public long rejoinMember(long lastRespondedRound) {
+        synchronized (priceLock) {
+            activeMembers++;
+            stepCounter.incrementStep();
+            priceLock.notifyAll();
+            if (roundOpen && (roundParticipants == 0 || lastRespondedRound < priceRound)) {
+                roundParticipants++;
+                return priceRound;
+            }
+            return priceRound + 1;
+        }
+    }
+    
+    /**
+     * 登记一个成员离开并释放它的位置
+     * 成员是当前轮次尚未响应的参与者时，本轮不再等待它，其余参与者都已响应则立即完成本轮评估
+     * 
+     * @param pendingRound 该成员已收到价格但尚未响应的轮次，没有时为0
+     */
+    public void leaveMember(long pendingRound) {
+        synchronized (userConsumptionList) {
+            boolean complete = false;
+            synchronized (priceLock) {
+                activeMembers--;
+                stepCounter.decrementStep();
+                if (roundOpen && pendingRound == priceRound) {
+                    roundParticipants--;
+                    complete = closeRoundIfComplete();
+                }
+            }
+            if (complete) {
+                finishRound();
+            }
+        }
+    }
+    
+    /**
+     * 提交一个参与者对当前价格轮次的响应
+     * 本轮全部参与者都已响应时聚合并计算利润，然后唤醒等待的算法线程
+     * 
+     * @param consumption 参与者的消耗数据
+     * @return 本次响应完成了本轮评估时返回true
+     */
+    public boolean submitResponse(OneUserConsumVector consumption) {
+        synchronized (userConsumptionList) {
+            userConsumptionList.add(consumption);
+            boolean complete;
+            synchronized (priceLock) {
+                roundResponses++;
+                complete = closeRoundIfComplete();
+            }
+            if (complete) {
+                finishRound();
+            }
+            return complete;
+        }
+    }
+    
+    /**
+     * 等待成员数量达到开始定价所需的数量
+     * 
+     * @throws InterruptedException 等待被中断
+     * @throws IllegalStateException 等待期间零售商被关闭
+     */
+    public void awaitAllUsersConnected() throws InterruptedException {
+        synchronized (priceLock) {
+            while (activeMembers < expectedUsers) {
+                if (shutdown) {
+                    throw new IllegalStateException("零售商已关闭，不再等待用户连接");
+                }
+                priceLock.wait();
+            }
+        }
+    }
+    
+    /**
+     * 发布当前的新价格向量，唤醒全部连接线程
+     * 此刻的全部成员即为本轮参与者；价格向量带有算法结束标志时不再等待响应
+     * 
+     * @return 本次发布的价格轮次
+     */
+    public long publishNewPrice() {
+        synchronized (priceLock) {
+            priceRound++;
+            roundParticipants = activeMembers;
+            roundResponses = 0;
+            sessionEnded = shutdown || newPriceVector.isAlgorithmEnded();
+            roundOpen = !sessionEnded;
+            priceLock.notifyAll();
+            return priceRound;
+        }
+    }
+    
+    /**
+     * 等待指定轮次的价格发布，返回价格向量的副本
+     * 已发布最终价格时立即返回最终价格，在运行结束后才加入的成员也能正常退出
+     * 
+     * @param round 等待的价格轮次，从1开始
+     * @return 该轮价格向量的副本
+     * @throws InterruptedException 等待被中断
+     */
+    public PriceVector awaitNewPrice(long round) throws InterruptedException {
+        synchronized (priceLock) {
+            while (priceRound < round && !sessionEnded) {
+                priceLock.wait();
+            }
+            return new PriceVector(newPriceVector);
+        }
+    }
+    
+    /**
+     * 标记本轮全部用户的消耗数据已聚合、利润已计算，唤醒等待的算法线程
+     */
+    public void completeEvaluation() {
+        synchronized (evaluationLock) {
+            evaluationRound++;
+            evaluationLock.notifyAll();
+        }
+    }
+    
+    /**
+     * 等待指定价格轮次的评估完成
+     * 
+     * @param round 价格轮次
+     * @throws InterruptedException 等待被中断
+     * @throws IllegalStateException 评估完成前零售商被关闭
+     */
+    public void awaitEvaluation(long round) throws InterruptedException {
+        synchronized (evaluationLock) {
+            while (evaluationRound < round) {
+                if (shutdown) {
+                    throw new IllegalStateException("零售商已关闭，价格轮次 " + round + " 的评估无法完成");
+                }
+                evaluationLock.wait();
+            }
+        }
+    }
+    
+    /**
+     * 关闭零售商，结束会话
+     * 等待价格的连接立即返回并向用户发送会话结束消息，尚未完成的轮次不再完成，
+     * 等待用户连接或评估完成的算法线程抛出 {@link IllegalStateException}。服务器关闭时调用
+     */
+    public void shutdown() {
+        shutdown = true;
+        synchronized (priceLock) {
+            sessionEnded = true;
+            roundOpen = false;
+            priceLock.notifyAll();
+        }
+        synchronized (evaluationLock) {
+            evaluationLock.notifyAll();
+        }
+    }
+    
+    /**
+     * 零售商是否已关闭
+     * 
+     * @return 调用过 {@link #shutdown()} 时返回true
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+    
+    /**
+     * 判断当前轮次是否已收齐全部参与者的响应，收齐时关闭本轮，调用方需持有priceLock
+     * 
+     * @return 本次调用关闭了本轮时返回true
+     */
+    private boolean closeRoundIfComplete() {
+        if (roundOpen && roundParticipants > 0 && roundResponses >= roundParticipants) {
+            roundOpen = false;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 聚合本轮响应、计算利润并推进评估轮次，调用方需持有用户消耗列表的锁
+     */
+    private void finishRound() {
+        RetailerMetrics.recordLastResponse();
+        evaluateCollectedConsumption();
+        completeEvaluation();
+    }
+    
+    /**
+     * 聚合已收齐的全部用户消耗数据并计算新利润
+     * 按配置选择32位或64位聚合，聚合列表中的全部数据，完成后清空用户消耗列表以备下一轮使用；
+     * 调用方需持有用户消耗列表的锁
+     */
+    public void evaluateCollectedConsumption() {
+        if (RetailerConfigConstants.WIDE_AGGREGATION) {
+            // 64位聚合模式：long累加，double计算利润
+            long aggregationStart = System.nanoTime();
+            aggregateUserConsumptionWide(newWideConsumption, userConsumptionList, userConsumptionList.size());
+            userConsumptionList.clear();
+            RetailerMetrics.AGGREGATION_TIME.recordSince(aggregationStart);
+            
+            long profitStart = System.nanoTime();
+            double newProfit = RetailerProfitCalculator.calculateRetailerProfitWide(
+                newWideConsumption, newPriceVector);
+            RetailerMetrics.PROFIT_EVALUATION_TIME.recordSince(profitStart);
+            setNewRetailerProfit(newProfit);
+        } else {
+            // 聚合所有用户的消耗数据
+            long aggregationStart = System.nanoTime();
+            aggregateUserConsumption(newConsumption, userConsumptionList, userConsumptionList.size());
+            
+            // 清空用户消耗列表以备下一轮使用
+            userConsumptionList.clear();
+            RetailerMetrics.AGGREGATION_TIME.recordSince(aggregationStart);
+            
+            // 计算新的零售商利润
+            long profitStart = System.nanoTime();
+            float newProfit = RetailerProfitCalculator.calculateRetailerProfit(newConsumption, newPriceVector);
+            RetailerMetrics.PROFIT_EVALUATION_TIME.recordSince(profitStart);
+            setNewRetailerProfit(newProfit);
+        }
+        
+        RetailerMetrics.EVALUATIONS.increment();
+    }
+    
     // =========================== 业务方法 ===========================
     
     /**
@@ -190,14 +699,29 @@ public class Retailer {
      */
     public static void aggregateUserConsumption(ElectricityConsumptionByTime consumptionByTime,
                                               List<OneUserConsumVector> userConsumptionList) {
+        aggregateUserConsumption(consumptionByTime, userConsumptionList, UsersArgs.userNum);
+    }
+    
+    /**
+     * 根据用户消耗向量列表填充按时间的消耗数据
+     * 
+     * @param consumptionByTime 要填充的消耗数据对象
+     * @param userConsumptionList 用户消耗向量列表
+     * @param expectedUsers 期望的用户数量
+     */
+    public static void aggregateUserConsumption(ElectricityConsumptionByTime consumptionByTime,
+                                              List<OneUserConsumVector> userConsumptionList,
+                                              int expectedUsers) {
         
         // 数据验证：检查用户数量是否匹配
-        if (userConsumptionList.size() != UsersArgs.userNum) {
+        if (userConsumptionList.size() != expectedUsers) {
             RetailerLogger.logError("用户数量不匹配: 实际=" + userConsumptionList.size() + 
-                                   ", 期望=" + UsersArgs.userNum);
+                                   ", 期望=" + expectedUsers);
             return;
         }
         
+        AggregationEvent event = beginAggregationEvent();
+        
         // 聚合所有用户在各时间段的消耗数据
         for (int timeSlot = 0; timeSlot < consumptionByTime.getConsumptionByTimeVector().length; timeSlot++) {
             int totalConsumptionInTimeSlot = 0;
@@ -211,6 +735,99 @@ public class Retailer {
             consumptionByTime.getConsumptionByTimeVector()[timeSlot] = totalConsumptionInTimeSlot;
         }
         
-        RetailerLogger.logInfo("用户消耗数据聚合完成: " + consumptionByTime.toString());
+        if (event != null && event.shouldCommit()) {
+            long total = 0;
+            for (int consumption : consumptionByTime.getConsumptionByTimeVector()) {
+                total += consumption;
+            }
+            commitAggregationEvent(event, userConsumptionList.size(),
+                    consumptionByTime.getConsumptionByTimeVector().length, total, false);
+        }
+        
+        RetailerLogger.logInfo(() -> "用户消耗数据聚合完成: " + consumptionByTime.toString());
+    }
+    
+    /**
+     * 根据用户消耗向量列表填充64位消耗数据
+     * 与 {@link #aggregateUserConsumption(ElectricityConsumptionByTime, List)} 相同，
+     * 但以long累加，百万级用户下不会溢出；按用户顺序遍历，内层循环与int版本同样是连续的数组加法
+     * 
+     * @param totalConsumption 要填充的64位消耗数组
+     * @param userConsumptionList 用户消耗向量列表
+     */
+    public static void aggregateUserConsumptionWide(long[] totalConsumption,
+                                                  List<OneUserConsumVector> userConsumptionList) {
+        aggregateUserConsumptionWide(totalConsumption, userConsumptionList, UsersArgs.userNum);
+    }
+    
+    /**
+     * 根据用户消耗向量列表填充64位消耗数据
+     * 
+     * @param totalConsumption 要填充的64位消耗数组
+     * @param userConsumptionList 用户消耗向量列表
+     * @param expectedUsers 期望的用户数量
+     */
+    public static void aggregateUserConsumptionWide(long[] totalConsumption,
+                                                  List<OneUserConsumVector> userConsumptionList,
+                                                  int expectedUsers) {
+        
+        // 数据验证：检查用户数量是否匹配
+        if (userConsumptionList.size() != expectedUsers) {
+            RetailerLogger.logError("用户数量不匹配: 实际=" + userConsumptionList.size() + 
+                                   ", 期望=" + expectedUsers);
+            return;
+        }
+        
+        AggregationEvent event = beginAggregationEvent();
+        
+        Arrays.fill(totalConsumption, 0L);
+        for (OneUserConsumVector userConsumption : userConsumptionList) {
+            int[] consumVector = userConsumption.getConsumVector();
+            for (int timeSlot = 0; timeSlot < totalConsumption.length; timeSlot++) {
+                totalConsumption[timeSlot] += consumVector[timeSlot];
+            }
+        }
+        
+        if (event != null && event.shouldCommit()) {
+            long total = 0;
+            for (long consumption : totalConsumption) {
+                total += consumption;
+            }
+            commitAggregationEvent(event, userConsumptionList.size(), totalConsumption.length, total, true);
+        }
+        
+        RetailerLogger.logInfo("用户消耗数据64位聚合完成: {}", totalConsumption);
+    }
+    
+    /**
+     * 开始一次聚合的JFR事件
+     * 
+     * @return 已开始的事件，当前JVM不支持JFR时返回null
+     */
+    private static AggregationEvent beginAggregationEvent() {
+        if (!FlightRecorderSupport.AVAILABLE) {
+            return null;
+        }
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * 填充并提交聚合的JFR事件
+     * 
+     * @param event 已确认需要提交的事件
+     * @param userCount 用户数量
+     * @param timeSlots 时间段数量
+     * @param totalConsumption 系统总消耗
+     * @param wide 是否为64位聚合
+     */
+    private static void commitAggregationEvent(AggregationEvent event, int userCount, int timeSlots,
+                                               long totalConsumption, boolean wide) {
+        event.userCount = userCount;
+        event.timeSlots = timeSlots;
+        event.totalConsumption = totalConsumption;
+        event.wide = wide;
+        event.commit();
     }
 }
@@ -0,0 +1,312 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 零售商优化状态检查点
+ * 在SAPC的每一步评估之后保存一次完整的优化状态：当前价格、当前利润、轮次、温度和下一个要扰动的时间段。
+ * 进程崩溃后重新启动时，算法从检查点所在的一步继续，已完成的评估不再重复
+ *
+ * 保存分两步：算法线程上用 {@link Snapshot#capture(Retailer, int, long)} 复制状态，只复制几个数值，
+ * 停顿可以忽略；编码、写盘和原子重命名在后台线程上完成。后台线程来不及写入时只保留最新的快照，
+ * 算法线程从不等待磁盘。文件为小端字节序：
+ * <pre>
+ * magic(int) version(int) timeSlots(int) round(int) nextPosition(int) temperature(float)
+ * currentProfit(double) evaluations(long) seed(long) savedAtMillis(long)
+ * prices(float[timeSlots]) crc32(int)
+ * </pre>
+ * 候选价格和候选利润在每一步开始时由当前状态重新生成，因此不需要保存
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class RetailerCheckpoint implements Closeable {
+
+    /** 文件魔数 "SGCK" */
+    private static final int MAGIC = 0x5347434B;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 56;
+
+    /** 支持的最大时间段数量，防止损坏的文件导致过大的分配 */
+    private static final int MAX_TIME_SLOTS = 4096;
+
+    private final Path file;
+    private final int intervalEvaluations;
+    private final ExecutorService writer;
+    private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * 构造函数，后台写入线程在第一次保存时启动
+     * @param file 检查点文件路径
+     * @param intervalEvaluations 每隔多少次评估保存一次
+     * @throws IllegalArgumentException 如果路径为null或间隔不是正数
+     */
+    public RetailerCheckpoint(Path file, int intervalEvaluations) {
+        if (file == null) {
+            throw new IllegalArgumentException("检查点文件路径不能为null");
+        }
+        if (intervalEvaluations <= 0) {
+            throw new IllegalArgumentException("检查点间隔必须为正数: " + intervalEvaluations);
+        }
+        this.file = file.toAbsolutePath();
+        this.intervalEvaluations = intervalEvaluations;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retailer-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交一个快照，由后台线程写入
+     * 上一个快照尚未写入时直接被新的快照替换
+     * @param snapshot 快照
+     */
+    public void submit(Snapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * 等待已提交的快照全部写入
+     * @throws InterruptedException 等待被中断
+     */
+    public void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("检查点写入线程异常", e.getCause());
+        }
+    }
+
+    /**
+     * 等待已提交的快照写入后删除检查点文件，运行正常结束时调用
+     * @throws IOException 删除失败
+     * @throws InterruptedException 等待被中断
+     */
+    public void clear() throws IOException, InterruptedException {
+        flush();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * 读取检查点
+     * @return 快照，文件不存在时返回null
+     * @throws IOException 读取失败或文件内容无效
+     */
+    public Snapshot load() throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < HEADER_SIZE + Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("不是有效的检查点文件: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的检查点文件版本: " + version);
+        }
+        int timeSlots = buffer.getInt();
+        if (timeSlots <= 0 || timeSlots > MAX_TIME_SLOTS
+                || bytes.length != HEADER_SIZE + timeSlots * Float.BYTES + Integer.BYTES) {
+            throw new IOException("检查点文件长度与时间段数量不符: " + file);
+        }
+        int end = bytes.length - Integer.BYTES;
+        if (AtomicFiles.checksum(bytes, end) != buffer.getInt(end)) {
+            throw new IOException("检查点文件校验和不匹配: " + file);
+        }
+        int round = buffer.getInt();
+        int nextPosition = buffer.getInt();
+        float temperature = buffer.getFloat();
+        double currentProfit = buffer.getDouble();
+        long evaluations = buffer.getLong();
+        long seed = buffer.getLong();
+        long savedAtMillis = buffer.getLong();
+        float[] prices = new float[timeSlots];
+        for (int i = 0; i < timeSlots; i++) {
+            prices[i] = buffer.getFloat();
+        }
+        return new Snapshot(prices, currentProfit, round, nextPosition, temperature, evaluations, seed,
+                savedAtMillis);
+    }
+
+    /**
+     * 停止后台写入线程，已提交的快照仍会写入
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getIntervalEvaluations() {
+        return intervalEvaluations;
+    }
+
+    /**
+     * 获取已写入的快照数量
+     * @return 写入次数
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private void writePending() {
+        Snapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            AtomicFiles.write(file, encode(snapshot));
+            written.incrementAndGet();
+        } catch (IOException e) {
+            RetailerLogger.logError("写入检查点失败", e);
+        }
+    }
+
+    private static ByteBuffer encode(Snapshot snapshot) {
+        float[] prices = snapshot.prices;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + prices.length * Float.BYTES + Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(prices.length)
+                .putInt(snapshot.round)
+                .putInt(snapshot.nextPosition)
+                .putFloat(snapshot.temperature)
+                .putDouble(snapshot.currentProfit)
+                .putLong(snapshot.evaluations)
+                .putLong(snapshot.seed)
+                .putLong(snapshot.savedAtMillis);
+        for (float price : prices) {
+            buffer.putFloat(price);
+        }
+        buffer.putInt(AtomicFiles.checksum(buffer.array(), buffer.position()));
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 优化状态快照，创建后不再改变
+     */
+    public static final class Snapshot {
+        private final float[] prices;
+        private final double currentProfit;
+        private final int round;
+        private final int nextPosition;
+        private final float temperature;
+        private final long evaluations;
+        private final long seed;
+        private final long savedAtMillis;
+
+        private Snapshot(float[] prices, double currentProfit, int round, int nextPosition, float temperature,
+                         long evaluations, long seed, long savedAtMillis) {
+            this.prices = prices;
+            this.currentProfit = currentProfit;
+            this.round = round;
+            this.nextPosition = nextPosition;
+            this.temperature = temperature;
+            this.evaluations = evaluations;
+            this.seed = seed;
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        /**
+         * 在算法线程上复制零售商的当前状态和退火状态
+         * @param retailer 零售商核心对象
+         * @param nextPosition 本轮下一个要扰动的时间段，等于时间段数量时表示本轮已评估完
+         * @param evaluations 本次运行已完成的评估次数
+         * @return 快照
+         */
+        public static Snapshot capture(Retailer retailer, int nextPosition, long evaluations) {
+            return new Snapshot(retailer.getCurrentPriceVector().getPriceArray().clone(),
+                    retailer.getCurrentRetailerProfitDouble(), RetailerConfigConstants.CURRENT_ROUND,
+                    nextPosition, RetailerConfigConstants.INITIAL_TEMPERATURE, evaluations,
+                    retailer.getRandomSource().getSeed(), System.currentTimeMillis());
+        }
+
+        /**
+         * 把快照恢复到零售商和退火状态
+         * @param retailer 零售商核心对象
+         * @throws IllegalArgumentException 如果快照的时间段数量与零售商不一致
+         */
+        public void restoreTo(Retailer retailer) {
+            float[] target = retailer.getCurrentPriceVector().getPriceArray();
+            if (target.length != prices.length) {
+                throw new IllegalArgumentException("检查点时间段数量 " + prices.length + " 与当前配置 "
+                        + target.length + " 不一致");
+            }
+            System.arraycopy(prices, 0, target, 0, prices.length);
+            retailer.setCurrentRetailerProfit(currentProfit);
+            RetailerConfigConstants.CURRENT_ROUND = round;
+            RetailerConfigConstants.INITIAL_TEMPERATURE = temperature;
+        }
+
+        /**
+         * 获取当前价格
+         * @return 价格数组副本
+         */
+        public float[] getPrices() {
+            return prices.clone();
+        }
+
+        public double getCurrentProfit() {
+            return currentProfit;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public int getNextPosition() {
+            return nextPosition;
+        }
+
+        public float getTemperature() {
+            return temperature;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * 获取保存快照的运行所用的随机种子
+         * @return 种子
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+}
@@ -20,10 +20,20 @@ public final class RetailerConfigConstants {
     /** 零售商服务器监听端口号 */
     public static final int LISTEN_PORT = 1234;
     
+    /**
+     * 每次广播价格前的等待时间（毫秒）
+     * 通过系统属性 smartgrid.broadcast.delayMillis 设置，默认1500；
+     * 轮次同步不依赖这段等待，设为0即可全速运行
+     */
+    public static final long BROADCAST_DELAY_MILLIS = Long.getLong("smartgrid.broadcast.delayMillis", 1500L);
+    
     // =========================== SAPC算法参数 ===========================
     
-    /** 模拟退火算法初始温度 T = e^(-1) */
-    public static float INITIAL_TEMPERATURE = (float) Math.exp(-1);
+    /** 模拟退火算法起始温度 e^(-1) */
+    public static final float START_TEMPERATURE = (float) Math.exp(-1);
+    
+    /** 模拟退火算法当前温度，从 {@link #START_TEMPERATURE} 开始逐轮降低 */
+    public static float INITIAL_TEMPERATURE = START_TEMPERATURE;
     
     /** 模拟退火算法终止温度 E = e^(-5) */
     public static final float END_TEMPERATURE = (float) Math.exp(-5);
@@ -31,6 +41,61 @@ public final class RetailerConfigConstants {
     /** 当前迭代轮数，用于算法温度调整 */
     public static int CURRENT_ROUND = 1;
     
+    /**
+     * 最多执行的退火轮数
+     * 通过系统属性 smartgrid.sapc.maxRounds 设置，默认不限制，由终止温度决定何时结束
+     */
+    public static final int MAX_ROUNDS = Integer.getInteger("smartgrid.sapc.maxRounds", Integer.MAX_VALUE);
+    
+    // =========================== 热启动配置 ===========================
+    
+    /**
+     * SAPC解文件路径
+     * 设置系统属性 smartgrid.sapc.solutionFile 后，算法每轮结束写入检查点，结束时写入最终解，
+     * 下次启动时据此续跑或热启动；未设置时每次从随机价格和起始温度开始
+     */
+    public static final String SOLUTION_FILE = System.getProperty("smartgrid.sapc.solutionFile");
+    
+    /**
+     * 热启动温度
+     * 从上次的最终解开始时，跳过降温过程中高于该温度的轮次。
+     * 通过系统属性 smartgrid.sapc.warmStartTemperature 设置，默认 e^(-3)
+     */
+    public static final float WARM_START_TEMPERATURE = Float.parseFloat(
+            System.getProperty("smartgrid.sapc.warmStartTemperature", String.valueOf((float) Math.exp(-3))));
+    
+    // =========================== 检查点配置 ===========================
+    
+    /**
+     * 检查点文件路径
+     * 设置系统属性 smartgrid.checkpoint.file 后，SAPC在评估之后于后台写入完整的优化状态，
+     * 崩溃重启后从检查点所在的一步继续；运行正常结束后删除该文件。未设置时不保存检查点
+     */
+    public static final String CHECKPOINT_FILE = System.getProperty("smartgrid.checkpoint.file");
+    
+    /**
+     * 每隔多少次评估保存一次检查点
+     * 通过系统属性 smartgrid.checkpoint.interval 设置，默认每次评估后都保存
+     */
+    public static final int CHECKPOINT_INTERVAL = Integer.getInteger("smartgrid.checkpoint.interval", 1);
+    
+    // =========================== 会话配置 ===========================
+    
+    /**
+     * 等待用户发送会话握手请求的最长时间（毫秒）
+     * 通过系统属性 smartgrid.session.handshakeTimeoutMillis 设置，超时的连接被关闭，不会登记为成员
+     */
+    public static final int SESSION_HANDSHAKE_TIMEOUT_MILLIS =
+            Integer.getInteger("smartgrid.session.handshakeTimeoutMillis", 10000);
+    
+    /**
+     * 关闭时的排空期限（毫秒）
+     * 发送会话结束消息后等待用户确认的最长时间，也是服务器关闭时等待全部连接结束的总期限，
+     * 期限到达后仍未结束的连接被强制关闭。通过系统属性 smartgrid.session.drainTimeoutMillis 设置
+     */
+    public static final int SESSION_DRAIN_TIMEOUT_MILLIS =
+            Integer.getInteger("smartgrid.session.drainTimeoutMillis", 5000);
+    
     // =========================== 利润计算参数 ===========================
     
     /** 利润计算公式中的参数a，用于二次项成本计算 */
@@ -42,11 +107,76 @@ public final class RetailerConfigConstants {
     /** 利润计算公式中的权重参数w */
     public static final int PROFIT_WEIGHT = 1;
     
+    // =========================== 聚合配置 ===========================
+    
+    /**
+     * 是否启用64位聚合模式
+     * 启用后各时间段总消耗以long累加，利润以double补偿求和计算，适用于大规模用户
+     * 可通过系统属性 smartgrid.aggregation.wide=true 开启
+     */
+    public static final boolean WIDE_AGGREGATION = Boolean.getBoolean("smartgrid.aggregation.wide");
+    
+    // =========================== 轨迹配置 ===========================
+    
+    /**
+     * 优化轨迹目录
+     * 设置系统属性 smartgrid.trace.dir 后，SAPC算法的每一步都以二进制记录写入该目录，
+     * 未设置时不记录轨迹
+     */
+    public static final String TRACE_DIRECTORY = System.getProperty("smartgrid.trace.dir");
+    
+    /** 优化轨迹名称 */
+    public static final String TRACE_NAME = "sapc";
+    
+    // =========================== 指标配置 ===========================
+    
+    /**
+     * Prometheus指标端点端口
+     * 通过系统属性 smartgrid.metrics.port 设置，未设置（-1）时不启动端点，0表示自动分配
+     */
+    public static final int METRICS_PORT = Integer.getInteger("smartgrid.metrics.port", -1);
+    
     // =========================== 日志配置 ===========================
     
-    /** 日志文件路径 */
+    /**
+     * 日志文件路径
+     * @deprecated 零售商日志已统一写入 {@link io.leavesfly.smartgrid.util.logging.SmartGridLogger}
+     *             的零售商日志流，目录由系统属性 smartgrid.log.dir 配置
+     */
+    @Deprecated
     public static final String LOG_FILE_PATH = "E:\\RetailerLog.txt";
     
+    /**
+     * 将退火温度和轮数恢复为初始值
+     * 同一进程中多次运行算法时，每次运行开始前调用
+     */
+    public static void resetAnnealingState() {
+        INITIAL_TEMPERATURE = START_TEMPERATURE;
+        CURRENT_ROUND = 1;
+    }
+    
+    /**
+     * 结束一轮退火：轮数加一，温度按 T = T / ln(k) 降低
+     */
+    public static void coolDown() {
+        CURRENT_ROUND++;
+        INITIAL_TEMPERATURE = (float) (INITIAL_TEMPERATURE / Math.log(CURRENT_ROUND));
+    }
+    
+    /**
+     * 将退火状态设为热启动状态
+     * 从初始状态按正常降温过程推进，直到温度不高于指定温度或已达到终止温度，
+     * 之后的降温过程与冷启动完全相同
+     * 
+     * @param temperature 热启动温度
+     */
+    public static void warmStartAnnealingState(float temperature) {
+        resetAnnealingState();
+        while (INITIAL_TEMPERATURE > temperature && INITIAL_TEMPERATURE > END_TEMPERATURE) {
+            coolDown();
+        }
+    }
+    
     // 私有构造函数，禁止实例化工具类
     private RetailerConfigConstants() {
         throw new UnsupportedOperationException("此类为工具类，不允许实例化");
@@ -1,67 +1,46 @@
 package io.leavesfly.smartgrid.retailer;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.PrintWriter;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+import io.leavesfly.smartgrid.util.logging.LogStreamWriter;
+import io.leavesfly.smartgrid.util.logging.MessageTemplate;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
 
 /**
  * 日志输出工具类
- * 用于将系统运行日志输出到指定的文本文件中
- * 支持线程安全的日志记录操作
+ * 用于将系统运行日志输出到零售商日志文件中
+ * 所有输出统一经由 {@link SmartGridLogger} 的零售商日志流写入，只写文件、不输出到控制台
  * 
  * @author SmartGrid Team
  * @version 1.0
  */
 public class RetailerLogger {
     
-    /** 文件输出流 */
-    private static FileOutputStream fileOutputStream;
-    
-    /** 打印写入器 */
-    private static final PrintWriter logWriter;
-    
-    /** 日期时间格式化器 */
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = 
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
-    // 静态初始化块，初始化日志文件写入器
-    static {
-        PrintWriter tempWriter = null;
-        try {
-            fileOutputStream = new FileOutputStream(new File(RetailerConfigConstants.LOG_FILE_PATH));
-            tempWriter = new PrintWriter(fileOutputStream);
-        } catch (FileNotFoundException e) {
-            System.err.println("日志文件创建失败: " + e.getMessage());
-            e.printStackTrace();
-            // 如果文件创建失败，使用控制台输出作为备选
-            tempWriter = new PrintWriter(System.out);
-        }
-        logWriter = tempWriter;
-    }
+    /** 打印写入器，按行转发到零售商日志流 */
+    private static final PrintWriter logWriter = 
+        new PrintWriter(new LogStreamWriter(LogLevel.INFO, LogType.RETAILER));
     
     /**
      * 获取日志写入器
-     * 返回线程安全的日志写入器实例
+     * 返回线程安全的日志写入器实例，写入的每一行作为一条INFO日志
      * 
      * @return 日志写入器实例
      */
-    public static synchronized PrintWriter getLogWriter() {
+    public static PrintWriter getLogWriter() {
         return logWriter;
     }
     
     /**
      * 记录带时间戳的日志信息
+     * 时间戳、级别和线程名由 {@link SmartGridLogger} 统一添加
      * 
      * @param message 要记录的日志信息
      */
-    public static synchronized void logWithTimestamp(String message) {
-        String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
-        logWriter.println("[" + timestamp + "] " + message);
-        logWriter.flush();
+    public static void logWithTimestamp(String message) {
+        SmartGridLogger.getInstance().logToFile(LogLevel.INFO, LogType.RETAILER, message);
     }
     
     /**
@@ -69,8 +48,67 @@ public class RetailerLogger {
      * 
      * @param message 要记录的信息
      */
-    public static synchronized void logInfo(String message) {
-        logWithTimestamp("[INFO] " + message);
+    public static void logInfo(String message) {
+        logWithTimestamp(message);
+    }
+    
+    /**
+     * 延迟构造的信息日志
+     * 只有INFO级别启用时才调用supplier，热点路径上被过滤的日志不拼接字符串
+     * 
+     * @param messageSupplier 信息提供者
+     */
+    public static void logInfo(Supplier<String> messageSupplier) {
+        if (isInfoEnabled()) {
+            logInfo(messageSupplier.get());
+        }
+    }
+    
+    /**
+     * 单参数的模板信息日志，被过滤时不创建参数数组
+     * 
+     * @param template 消息模板
+     * @param arg 参数
+     */
+    public static void logInfo(String template, Object arg) {
+        if (isInfoEnabled()) {
+            logInfo(MessageTemplate.format(template, arg));
+        }
+    }
+    
+    /**
+     * 两个参数的模板信息日志，被过滤时不创建参数数组
+     * 
+     * @param template 消息模板
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    public static void logInfo(String template, Object arg1, Object arg2) {
+        if (isInfoEnabled()) {
+            logInfo(MessageTemplate.format(template, arg1, arg2));
+        }
+    }
+    
+    /**
+     * 模板形式的信息日志，占位符 "{}" 只在INFO级别启用时才被替换
+     * 
+     * @param template 消息模板
+     * @param args 参数
+     */
+    public static void logInfo(String template, Object... args) {
+        if (isInfoEnabled()) {
+            logInfo(MessageTemplate.format(template, args));
+        }
+    }
+    
+    /**
+     * 检查INFO级别日志是否启用
+     * 级别由 {@link SmartGridLogger} 统一控制
+     * 
+     * @return 启用返回true
+     */
+    public static boolean isInfoEnabled() {
+        return SmartGridLogger.getInstance().isEnabled(LogLevel.INFO);
     }
     
     /**
@@ -78,8 +116,8 @@ public class RetailerLogger {
      * 
      * @param message 错误信息
      */
-    public static synchronized void logError(String message) {
-        logWithTimestamp("[ERROR] " + message);
+    public static void logError(String message) {
+        SmartGridLogger.getInstance().logToFile(LogLevel.ERROR, LogType.RETAILER, message);
     }
     
     /**
@@ -88,27 +126,19 @@ public class RetailerLogger {
      * @param message 错误信息
      * @param throwable 异常对象
      */
-    public static synchronized void logError(String message, Throwable throwable) {
-        logError(message + ": " + throwable.getMessage());
-        throwable.printStackTrace(logWriter);
-        logWriter.flush();
+    public static void logError(String message, Throwable throwable) {
+        SmartGridLogger.getInstance().logToFile(LogLevel.ERROR, LogType.RETAILER, 
+            message + ": " + throwable.getMessage(), throwable);
     }
     
     /**
-     * 关闭日志写入器和文件输出流
-     * 应用程序退出时调用，确保资源正确释放
+     * 刷新日志
+     * 应用程序退出时调用，确保已记录的日志全部写入文件；
+     * 文件由 {@link SmartGridLogger} 统一管理，这里不关闭
      */
-    public static synchronized void close() {
-        if (logWriter != null) {
-            logWriter.close();
-        }
-        if (fileOutputStream != null) {
-            try {
-                fileOutputStream.close();
-            } catch (IOException e) {
-                System.err.println("关闭日志文件输出流失败: " + e.getMessage());
-            }
-        }
+    public static void close() {
+        logWriter.flush();
+        SmartGridLogger.getInstance().flushAll();
     }
     
     /**
@@ -0,0 +1,236 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.metrics.LatencyHistogram;
+import io.leavesfly.smartgrid.util.metrics.MetricsHttpServer;
+import io.leavesfly.smartgrid.util.metrics.MetricsRegistry;
+import io.leavesfly.smartgrid.util.metrics.PrometheusExporter;
+
+/**
+ * 零售商运行指标
+ * 记录每轮定价的广播延迟、最后一个用户响应的时间、聚合耗时、利润计算耗时、完整评估耗时、
+ * 收发字节数、价格接受/拒绝次数、已连接用户数、日志队列深度和当前最优利润与价格，
+ * 以MBean {@value #OBJECT_NAME} 发布，可在JConsole或jcmd中查看；
+ * 也可以通过 {@link #startHttpEndpoint(int)} 以Prometheus文本格式对外提供
+ *
+ * 延迟均以纳秒记录，MBean中按微秒展示
+ *
+ * @author SmartGrid Team
+ * @version 1.0
+ */
+public final class RetailerMetrics {
+
+    /** MBean对象名 */
+    public static final String OBJECT_NAME = "io.leavesfly.smartgrid:type=RetailerMetrics";
+
+    /** 零售商指标注册表 */
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    /** 从广播价格到价格写入各用户连接的延迟 */
+    static final LatencyHistogram BROADCAST_LATENCY = REGISTRY.histogram("broadcastLatency");
+
+    /** 从广播价格到最后一个用户的消耗数据到达的时间 */
+    static final LatencyHistogram LAST_RESPONSE_LATENCY = REGISTRY.histogram("lastResponseLatency");
+
+    /** 聚合全部用户消耗数据的耗时 */
+    static final LatencyHistogram AGGREGATION_TIME = REGISTRY.histogram("aggregationTime");
+
+    /** 计算零售商利润的耗时 */
+    static final LatencyHistogram PROFIT_EVALUATION_TIME = REGISTRY.histogram("profitEvaluationTime");
+    
+    /** 一次完整评估的耗时：从广播价格到聚合与利润计算完成、算法线程被唤醒 */
+    static final LatencyHistogram EVALUATION_LATENCY = REGISTRY.histogram("evaluationLatency");
+
+    /** 被接受的候选价格数量 */
+    static final LongAdder ACCEPTED_MOVES = REGISTRY.counter("acceptedMoves");
+
+    /** 被拒绝的候选价格数量 */
+    static final LongAdder REJECTED_MOVES = REGISTRY.counter("rejectedMoves");
+
+    /** 完成的价格评估次数（一次广播并收齐全部用户响应） */
+    static final LongAdder EVALUATIONS = REGISTRY.counter("evaluations");
+
+    /** 完成的退火轮次 */
+    static final LongAdder ANNEALING_ROUNDS = REGISTRY.counter("annealingRounds");
+
+    /** 零售商向用户连接写出的字节数 */
+    static final LongAdder BYTES_SENT = REGISTRY.counter("bytesSent");
+    
+    /** 零售商从用户连接读入的字节数 */
+    static final LongAdder BYTES_RECEIVED = REGISTRY.counter("bytesReceived");
+    
+    /** 断线重连后凭令牌恢复的会话数量 */
+    static final LongAdder RESUMED_SESSIONS = REGISTRY.counter("resumedSessions");
+    
+    /** 当前已连接的用户数量 */
+    static final LongAdder CONNECTED_USERS = new LongAdder();
+
+    /** 预先生成的时间段标签，渲染时不拼接字符串 */
+    private static final String[] SLOT_LABELS = new String[RetailerConfigConstants.TIME_SLOTS];
+
+    /** 当前轮次的广播时间（System.nanoTime） */
+    private static volatile long broadcastStartNanos;
+
+    /** 当前最优解，只由SAPC算法线程替换，读取方无需加锁 */
+    private static volatile BestSolution bestSolution;
+
+    static {
+        for (int slot = 0; slot < SLOT_LABELS.length; slot++) {
+            SLOT_LABELS[slot] = Integer.toString(slot);
+        }
+        REGISTRY.gauge("acceptRatio", () -> {
+            long accepted = ACCEPTED_MOVES.sum();
+            long total = accepted + REJECTED_MOVES.sum();
+            return total == 0 ? 0.0 : (double) accepted / total;
+        });
+        REGISTRY.gauge("connectedUsers", CONNECTED_USERS::sum);
+        REGISTRY.gauge("logQueueDepth", () -> SmartGridLogger.getInstance().getQueueDepth());
+        REGISTRY.gauge("logDroppedEvents", () -> SmartGridLogger.getInstance().getDroppedCount());
+        REGISTRY.gauge("bestProfit", () -> {
+            BestSolution best = bestSolution;
+            return best == null ? Double.NaN : best.profit;
+        });
+    }
+
+    // 私有构造函数，禁止实例化工具类
+    private RetailerMetrics() {
+        throw new UnsupportedOperationException("此类为工具类，不允许实例化");
+    }
+
+    /**
+     * 标记本轮价格广播开始
+     * 在唤醒各用户线程发送价格之前调用
+     */
+    static void markBroadcastStart() {
+        broadcastStartNanos = System.nanoTime();
+    }
+
+    /**
+     * 记录价格已写入一个用户连接
+     */
+    static void recordPriceSent() {
+        BROADCAST_LATENCY.recordSince(broadcastStartNanos);
+    }
+
+    /**
+     * 记录本轮最后一个用户的消耗数据已到达
+     */
+    static void recordLastResponse() {
+        LAST_RESPONSE_LATENCY.recordSince(broadcastStartNanos);
+    }
+
+    /**
+     * 记录本轮评估已完成，算法线程被唤醒
+     */
+    static void recordEvaluationComplete() {
+        EVALUATION_LATENCY.recordSince(broadcastStartNanos);
+    }
+    
+    /**
+     * 记录一次候选价格的接受结果
+     *
+     * @param accepted 是否接受
+     */
+    static void recordMove(boolean accepted) {
+        if (accepted) {
+            ACCEPTED_MOVES.increment();
+        } else {
+            REJECTED_MOVES.increment();
+        }
+    }
+
+    /**
+     * 记录一个被接受的解，利润超过当前最优解时替换最优解
+     * 只在接受新价格时调用，因此只在最优解改善时复制价格数组
+     *
+     * @param prices 价格数组
+     * @param profit 利润
+     */
+    static void offerSolution(float[] prices, double profit) {
+        BestSolution best = bestSolution;
+        if (best == null || profit > best.profit) {
+            bestSolution = new BestSolution(prices.clone(), profit);
+        }
+    }
+
+    /**
+     * 清空全部计数器、直方图和最优解
+     * 同一进程中多次运行算法（如负载测试）时，每次运行开始前调用
+     */
+    public static void reset() {
+        REGISTRY.reset();
+        bestSolution = null;
+    }
+    
+    /**
+     * 创建Prometheus导出器
+     * 除注册表中的指标外，还按时间段输出当前最优价格
+     *
+     * @return 导出器
+     */
+    public static PrometheusExporter createExporter() {
+        PrometheusExporter exporter = new PrometheusExporter(REGISTRY, "smartgrid_retailer");
+        exporter.addCollector((target, out) -> {
+            BestSolution best = bestSolution;
+            if (best == null) {
+                return;
+            }
+            String name = target.metricName("bestPrice");
+            PrometheusExporter.appendType(out, name, "gauge");
+            for (int slot = 0; slot < best.prices.length; slot++) {
+                PrometheusExporter.appendSample(out, name, "slot", SLOT_LABELS[slot], best.prices[slot]);
+            }
+        });
+        return exporter;
+    }
+
+    /**
+     * 启动Prometheus指标端点
+     *
+     * @param port 监听端口，0表示自动分配
+     * @return 指标端点，启动失败时返回null
+     */
+    public static MetricsHttpServer startHttpEndpoint(int port) {
+        try {
+            MetricsHttpServer server = MetricsHttpServer.start(new InetSocketAddress(port), createExporter());
+            RetailerLogger.logInfo("零售商指标端点已启动: http://localhost:{}{}",
+                    server.getPort(), MetricsHttpServer.METRICS_PATH);
+            return server;
+        } catch (IOException e) {
+            RetailerLogger.logError("零售商指标端点启动失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 不可变的最优解快照
+     */
+    private static final class BestSolution {
+        final float[] prices;
+        final double profit;
+
+        BestSolution(float[] prices, double profit) {
+            this.prices = prices;
+            this.profit = profit;
+        }
+    }
+
+    /**
+     * 将零售商指标注册为MBean
+     * 注册失败只记录日志，不影响算法运行
+     */
+    public static void registerMBean() {
+        try {
+            REGISTRY.registerMBean(OBJECT_NAME);
+            RetailerLogger.logInfo("零售商指标已注册为MBean: " + OBJECT_NAME);
+        } catch (JMException e) {
+            RetailerLogger.logError("零售商指标MBean注册失败", e);
+        }
+    }
+}
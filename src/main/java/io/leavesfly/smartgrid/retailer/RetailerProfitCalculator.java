@@ -1,5 +1,7 @@
 package io.leavesfly.smartgrid.retailer;
 
+import io.leavesfly.smartgrid.util.math.CompensatedSum;
+
 /**
  * 零售商利润计算算法类
  * 实现智能电网中零售商的利润计算逻辑
@@ -41,6 +43,54 @@ public final class RetailerProfitCalculator {
         return revenue - cost;
     }
     
+    /**
+     * 计算零售商利润（64位聚合版本）
+     * 收入与成本均以double补偿求和，三次项不会像float那样丢失精度
+     * 
+     * @param consumptionByTime 按时间段分组的64位总消耗
+     * @param priceVector 价格向量数据
+     * @return 计算得到的零售商利润，如果输入数据不匹配则返回-1
+     */
+    public static double calculateRetailerProfitWide(long[] consumptionByTime, PriceVector priceVector) {
+        
+        // 数据验证：检查消耗数据和价格数据的长度是否匹配
+        if (consumptionByTime.length != PriceVector.getTimeSlots()) {
+            return -1d;
+        }
+        
+        return calculateRetailerProfitWide(consumptionByTime, priceVector.getPriceArray());
+    }
+    
+    /**
+     * 计算零售商利润（64位聚合版本，任意时间段数量）
+     * 与 {@link #calculateRetailerProfitWide(long[], PriceVector)} 公式相同，
+     * 时间段数量由数组长度决定，用于规模测试等不受 TIME_SLOTS 限制的场景
+     * 
+     * @param consumptionByTime 按时间段分组的64位总消耗
+     * @param prices 各时间段价格
+     * @return 计算得到的零售商利润，如果两个数组长度不一致则返回-1
+     */
+    public static double calculateRetailerProfitWide(long[] consumptionByTime, float[] prices) {
+        
+        if (consumptionByTime.length != prices.length) {
+            return -1d;
+        }
+        
+        final double paramA = RetailerConfigConstants.PROFIT_PARAM_A;
+        final double paramB = RetailerConfigConstants.PROFIT_PARAM_B;
+        
+        CompensatedSum revenue = new CompensatedSum();
+        CompensatedSum cost = new CompensatedSum();
+        for (int i = 0; i < consumptionByTime.length; i++) {
+            double consumption = consumptionByTime[i];
+            revenue.add(consumption * prices[i]);
+            // a * c^2 + b * c^3 = c^2 * (a + b * c)
+            cost.add(consumption * consumption * (paramA + paramB * consumption));
+        }
+        
+        return revenue.value() - RetailerConfigConstants.PROFIT_WEIGHT * cost.value();
+    }
+    
     /**
      * 计算收入
      * 计算公式：∑(consumption[i] * price[i])
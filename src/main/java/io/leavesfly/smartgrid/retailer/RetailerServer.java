@@ -2,7 +2,14 @@ package io.leavesfly.smartgrid.retailer;
 
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.leavesfly.smartgrid.util.metrics.MetricsHttpServer;
 
 /**
  * 零售商服务器类
@@ -10,10 +17,62 @@ import java.io.IOException;
  * 负责监听用户连接、创建处理线程和执行SAPC算法
  * 采用多线程模型，同时处理多个用户连接和价格优化
  * 
+ * 既可以通过 {@link #main(String[])} 在配置端口上独立运行，
+ * 也可以通过 {@link #start(int, Retailer)} 在进程内启动（端口为0时自动分配），
+ * 供负载测试等场景在同一进程中多次运行
+ * 
+ * 关闭时停止监听线程并结束会话：每个连接在自己的线程上发送会话结束消息并等待用户确认，
+ * 全部连接并行排空，共用一个排空期限
+ * 
  * @author SmartGrid Team
  * @version 1.0
  */
-public class RetailerServer {
+public class RetailerServer implements Closeable {
+    
+    /** 服务器Socket */
+    private final ServerSocket serverSocket;
+    
+    /** 零售商核心对象 */
+    private final Retailer retailer;
+    
+    /** 客户端连接监听线程 */
+    private final Thread clientListenerThread;
+    
+    /** 已建立的连接及其处理线程，连接结束时移除 */
+    private final ConcurrentHashMap<Socket, Thread> connections = new ConcurrentHashMap<>();
+    
+    /** 是否已关闭 */
+    private final AtomicBoolean closed = new AtomicBoolean();
+    
+    /**
+     * 私有构造函数，通过 {@link #start(int, Retailer)} 创建
+     * 
+     * @param serverSocket 已绑定的服务器Socket
+     * @param retailer 零售商核心对象
+     */
+    private RetailerServer(ServerSocket serverSocket, Retailer retailer) {
+        this.serverSocket = serverSocket;
+        this.retailer = retailer;
+        this.clientListenerThread = createClientListenerThread();
+    }
+    
+    /**
+     * 在指定端口启动服务器并开始接受用户连接
+     * 
+     * @param port 监听端口，0表示自动分配
+     * @param retailer 零售商核心对象
+     * @return 已启动的服务器
+     * @throws IOException 端口绑定失败
+     */
+    public static RetailerServer start(int port, Retailer retailer) throws IOException {
+        if (retailer == null) {
+            throw new IllegalArgumentException("零售商对象不能为null");
+        }
+        RetailerServer server = new RetailerServer(initializeServerSocket(port), retailer);
+        server.clientListenerThread.start();
+        RetailerLogger.logInfo("零售商服务器在端口 " + server.getPort() + " 启动成功");
+        return server;
+    }
     
     /**
      * 主方法 - 服务器入口点
@@ -24,38 +83,120 @@ public class RetailerServer {
      */
     public static void main(String[] args) throws Exception {
         
-        // 初始化服务器Socket并开始监听
-        final ServerSocket serverSocket = initializeServerSocket();
+        // 初始化零售商核心对象并开始监听
+        final RetailerServer server = start(RetailerConfigConstants.LISTEN_PORT, new Retailer());
         
-        // 记录服务器启动日志
-        RetailerLogger.logInfo("零售商服务器在端口 " + RetailerConfigConstants.LISTEN_PORT + " 启动成功");
+        // 进程被终止时结束会话并排空全部连接
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "retailer-shutdown"));
         
-        // 初始化零售商核心对象
-        final Retailer retailer = new Retailer();
-        
-        // 启动客户端连接监听线程
-        Thread clientListenerThread = createClientListenerThread(serverSocket, retailer);
-        clientListenerThread.start();
-        
-        // 记录算法开始日志
-        RetailerLogger.logInfo("开始执行SAPC价格优化算法");
+        // 发布运行指标
+        RetailerMetrics.registerMBean();
+        final MetricsHttpServer metricsServer = RetailerConfigConstants.METRICS_PORT >= 0
+                ? RetailerMetrics.startHttpEndpoint(RetailerConfigConstants.METRICS_PORT)
+                : null;
         
         // 执行SAPC模拟退火价格优化算法
+        try {
+            server.runAlgorithm();
+        } finally {
+            // 关闭资源
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
+            server.close();
+            RetailerLogger.close();
+        }
+    }
+    
+    /**
+     * 在当前线程执行SAPC价格优化算法，等待全部用户连接后开始，算法结束后返回
+     * 
+     * @throws Exception 算法执行过程中的异常
+     */
+    public void runAlgorithm() throws Exception {
+        RetailerLogger.logInfo("开始执行SAPC价格优化算法");
         SAPC_Algorithm.simulatedAnnealingAglorith(retailer);
-        
-        // 关闭资源
+    }
+    
+    /**
+     * 获取实际监听的端口
+     * 
+     * @return 端口号
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * 获取零售商核心对象
+     * 
+     * @return 零售商核心对象
+     */
+    public Retailer getRetailer() {
+        return retailer;
+    }
+    
+    /**
+     * 获取当前连接数量
+     * 
+     * @return 尚未结束的连接数量
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+    
+    /**
+     * 优雅关闭服务器，重复调用时直接返回
+     * 关闭服务器Socket并等待监听线程退出，然后关闭零售商：各连接在自己的线程上并行发送会话结束消息
+     * 并等待用户确认。全部连接共用 {@link RetailerConfigConstants#SESSION_DRAIN_TIMEOUT_MILLIS} 的排空期限，
+     * 期限到达后仍未结束的连接被强制关闭。算法尚未结束时，算法线程因零售商关闭而抛出异常
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(RetailerConfigConstants.SESSION_DRAIN_TIMEOUT_MILLIS);
         closeResources(serverSocket);
+        try {
+            clientListenerThread.join(remainingMillis(deadline));
+            retailer.shutdown();
+            for (Thread connection : connections.values()) {
+                connection.join(remainingMillis(deadline));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        int remaining = connections.size();
+        if (remaining > 0) {
+            RetailerLogger.logError("排空期限已到，强制关闭 " + remaining + " 个连接");
+            for (Socket socket : connections.keySet()) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    RetailerLogger.logError("强制关闭连接时发生异常", e);
+                }
+            }
+        }
+        RetailerLogger.logInfo("零售商服务器已关闭");
+    }
+    
+    private static long remainingMillis(long deadline) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
     }
     
     /**
      * 初始化服务器Socket
      * 
+     * @param port 监听端口，0表示自动分配
      * @return 初始化完成的ServerSocket对象
      * @throws IOException Socket创建过程中的异常
      */
-    private static ServerSocket initializeServerSocket() throws IOException {
+    private static ServerSocket initializeServerSocket(int port) throws IOException {
         try {
-            return new ServerSocket(RetailerConfigConstants.LISTEN_PORT);
+            return new ServerSocket(port);
         } catch (IOException e) {
             RetailerLogger.logError("服务器Socket创建失败", e);
             throw e;
@@ -64,40 +205,53 @@ public class RetailerServer {
     
     /**
      * 创建客户端连接监听线程
-     * 该线程负责接受用户连接并为每个连接创建独立的处理线程
+     * 该线程负责接受用户连接并为每个连接创建独立的处理线程，服务器Socket关闭后退出
      * 
-     * @param serverSocket 服务器Socket
-     * @param retailer 零售商核心对象
      * @return 客户端监听线程
      */
-    private static Thread createClientListenerThread(final ServerSocket serverSocket, final Retailer retailer) {
-        return new Thread(new Runnable() {
+    private Thread createClientListenerThread() {
+        Thread thread = new Thread(new Runnable() {
             @Override
             public void run() {
                 try {
-                    listenForClientConnections(serverSocket, retailer);
+                    listenForClientConnections();
+                } catch (SocketException e) {
+                    if (!serverSocket.isClosed()) {
+                        RetailerLogger.logError("客户端监听线程发生异常", e);
+                    }
                 } catch (Exception e) {
                     RetailerLogger.logError("客户端监听线程发生异常", e);
                 }
             }
-        });
+        }, "retailer-listener-" + serverSocket.getLocalPort());
+        thread.setDaemon(true);
+        return thread;
     }
     
     /**
      * 监听客户端连接
-     * 持续监听新的客户端连接，并为每个连接创建独立的处理线程
+     * 持续监听新的客户端连接，并为每个连接创建独立的处理线程，连接结束时从连接表中移除
      * 
-     * @param serverSocket 服务器Socket
-     * @param retailer 零售商核心对象
-     * @throws IOException 网络连接异常
+     * @throws IOException 网络连接异常，服务器Socket关闭时抛出SocketException
      */
-    private static void listenForClientConnections(ServerSocket serverSocket, Retailer retailer) throws IOException {
+    private void listenForClientConnections() throws IOException {
         while (true) {
             // 等待客户端连接
-            Socket clientSocket = serverSocket.accept();
+            final Socket clientSocket = serverSocket.accept();
             
             // 为新连接创建并启动处理线程
-            Thread clientHandlerThread = new Thread(new RetailerThread(clientSocket, retailer));
+            final RetailerThread handler = new RetailerThread(clientSocket, retailer);
+            Thread clientHandlerThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        handler.run();
+                    } finally {
+                        connections.remove(clientSocket);
+                    }
+                }
+            }, "retailer-connection-" + clientSocket.getPort());
+            connections.put(clientSocket, clientHandlerThread);
             clientHandlerThread.start();
             
             // 记录新连接日志
@@ -106,8 +260,7 @@ public class RetailerServer {
     }
     
     /**
-     * 关闭服务器资源
-     * 在服务器关闭时清理相关资源
+     * 关闭服务器Socket
      * 
      * @param serverSocket 要关闭的服务器Socket
      */
@@ -119,9 +272,6 @@ public class RetailerServer {
             }
         } catch (IOException e) {
             RetailerLogger.logError("关闭服务器Socket时发生异常", e);
-        } finally {
-            // 关闭日志记录器
-            RetailerLogger.close();
         }
     }
 }
@@ -3,10 +3,17 @@ package io.leavesfly.smartgrid.retailer;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.io.IOException;
 
 import io.leavesfly.smartgrid.user.OneUserConsumVector;
-import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.user.SessionHello;
+import io.leavesfly.smartgrid.util.jfr.FlightRecorderSupport;
+import io.leavesfly.smartgrid.util.jfr.PriceBroadcastEvent;
+import io.leavesfly.smartgrid.util.jfr.UserResponseEvent;
+import io.leavesfly.smartgrid.util.metrics.ByteCountingInputStream;
+import io.leavesfly.smartgrid.util.metrics.ByteCountingOutputStream;
 
 /**
  * 零售商线程类
@@ -25,6 +32,24 @@ public class RetailerThread implements Runnable {
     /** 零售商核心对象（共享状态） */
     private Retailer retailer;
     
+    /** 是否已计入已连接用户数 */
+    private boolean countedAsConnected;
+    
+    /** 连接绑定的用户会话，握手完成前为null */
+    private SessionRegistry.Session session;
+    
+    /** 本次连接是否恢复了原有会话 */
+    private boolean resumed;
+    
+    /** 是否已登记为成员 */
+    private boolean joined;
+    
+    /** 该成员参与的第一个价格轮次 */
+    private long firstRound;
+    
+    /** 已向用户发送价格但尚未收到响应的轮次，没有时为0 */
+    private long pendingRound;
+    
     /**
      * 构造函数
      * 
@@ -49,9 +74,14 @@ public class RetailerThread implements Runnable {
         ObjectInputStream objectInputStream = null;
         
         try {
-            // 初始化输入输出流
-            objectOutputStream = new ObjectOutputStream(clientSocket.getOutputStream());
-            objectInputStream = new ObjectInputStream(clientSocket.getInputStream());
+            // 初始化输入输出流，收发字节数计入零售商指标
+            objectOutputStream = new ObjectOutputStream(
+                    new ByteCountingOutputStream(clientSocket.getOutputStream(), RetailerMetrics.BYTES_SENT));
+            objectInputStream = new ObjectInputStream(
+                    new ByteCountingInputStream(clientSocket.getInputStream(), RetailerMetrics.BYTES_RECEIVED));
+            
+            // 会话握手，重连的用户凭令牌恢复原有会话
+            performHandshake(objectOutputStream, objectInputStream);
             
             // 通知SAPC算法有新用户连接
             notifyNewUserConnection();
@@ -67,20 +97,46 @@ public class RetailerThread implements Runnable {
         }
     }
     
+    /**
+     * 会话握手
+     * 读取用户的握手请求，令牌匹配时恢复原有会话，否则分配新会话，然后回复会话令牌
+     * 
+     * @param objectOutputStream 对象输出流
+     * @param objectInputStream 对象输入流
+     * @throws IOException 读写异常或等待握手请求超时
+     * @throws ClassNotFoundException 类不存在异常
+     */
+    private void performHandshake(ObjectOutputStream objectOutputStream,
+                                  ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+        clientSocket.setSoTimeout(RetailerConfigConstants.SESSION_HANDSHAKE_TIMEOUT_MILLIS);
+        SessionHello hello = (SessionHello) objectInputStream.readObject();
+        clientSocket.setSoTimeout(0);
+        
+        SessionRegistry sessions = retailer.getSessions();
+        session = sessions.resume(hello.getUserID(), hello.getSessionToken());
+        resumed = session != null;
+        if (resumed) {
+            RetailerMetrics.RESUMED_SESSIONS.increment();
+        } else {
+            session = sessions.create(hello.getUserID());
+        }
+        objectOutputStream.writeObject(new SessionWelcome(session.getToken(), resumed));
+        objectOutputStream.flush();
+    }
+    
     /**
      * 通知SAPC算法有新用户连接
-     * 增加用户连接计数，当所有用户都连接后通知算法开始
+     * 将连接绑定到会话并登记为成员，从下一次发布的价格轮次开始参与定价；
+     * 恢复的会话还没有响应当前轮次时从当前轮次开始，立即收到当前价格
      */
     private void notifyNewUserConnection() {
-        synchronized (retailer.getStepCounter()) {
-            retailer.getStepCounter().incrementStep();
-            
-            // 当所有用户都已连接时，唤醒等待中的SAPC算法
-            if (retailer.getStepCounter().getStepCount() == UsersArgs.userNum) {
-                retailer.getStepCounter().notify();
-                RetailerLogger.logInfo("所有用户已连接，通知SAPC算法开始");
-            }
-        }
+        RetailerMetrics.CONNECTED_USERS.increment();
+        countedAsConnected = true;
+        
+        firstRound = session.attach(clientSocket, retailer, resumed);
+        joined = true;
+        RetailerLogger.logInfo("用户 {} {}，从价格轮次 {} 开始参与，当前成员数 {}", session.getUserID(),
+                resumed ? "恢复会话" : "加入", firstRound, retailer.getActiveMembers());
     }
     
     /**
@@ -94,52 +150,59 @@ public class RetailerThread implements Runnable {
     private void executePriceConsumptionLoop(ObjectOutputStream objectOutputStream, 
                                            ObjectInputStream objectInputStream) throws Exception {
         
+        long round = firstRound;
         while (true) {
-            // 等待SAPC算法发送新价格
-            PriceVector currentPrice = waitForNewPrice();
+            // 等待SAPC算法发送本成员参与的下一轮价格，副本带上轮次发给用户
+            PriceVector currentPrice = retailer.awaitNewPrice(round);
+            currentPrice.setRound(round);
             
-            // 检查算法是否结束
-            if (currentPrice.isAlgorithmEnded()) {
-                sendFinalPriceAndExit(objectOutputStream, currentPrice);
+            // 检查算法是否结束或服务器正在关闭
+            if (currentPrice.isAlgorithmEnded() || retailer.isShutdown()) {
+                endSession(objectOutputStream, objectInputStream, currentPrice, round);
                 break;
             }
             
-            // 发送价格给用户
-            sendPriceToUser(objectOutputStream, currentPrice);
+            // 发送价格给用户，收到响应前离开时由零售商释放本轮的位置
+            pendingRound = round;
+            sendPriceToUser(objectOutputStream, currentPrice, round);
             
             // 接收用户消耗数据
-            OneUserConsumVector userConsumption = receiveUserConsumption(objectInputStream);
+            OneUserConsumVector userConsumption = receiveUserConsumption(objectInputStream, round);
             
             // 处理用户消耗数据
-            processUserConsumption(userConsumption);
+            processUserConsumption(round, userConsumption);
+            pendingRound = 0;
+            round++;
         }
     }
     
     /**
-     * 等待SAPC算法发送新价格
-     * 
-     * @return 新的价格向量
-     * @throws InterruptedException 线程中断异常
-     */
-    private PriceVector waitForNewPrice() throws InterruptedException {
-        synchronized (retailer.getNewPriceVector()) {
-            retailer.getNewPriceVector().wait();
-            return new PriceVector(retailer.getNewPriceVector());
-        }
-    }
-    
-    /**
-     * 发送最终价格并退出
+     * 结束会话并排空连接
+     * 发送携带最终价格的会话结束消息后半关闭输出，已写出的数据随之全部送达用户；
+     * 然后等待用户的确认，最多等待 {@link RetailerConfigConstants#SESSION_DRAIN_TIMEOUT_MILLIS} 毫秒
      * 
      * @param objectOutputStream 对象输出流
+     * @param objectInputStream 对象输入流
      * @param finalPrice 最终价格向量
+     * @param round 本成员等待的价格轮次
      * @throws IOException 输出异常
+     * @throws ClassNotFoundException 类不存在异常
      */
-    private void sendFinalPriceAndExit(ObjectOutputStream objectOutputStream, 
-                                     PriceVector finalPrice) throws IOException {
-        objectOutputStream.writeObject(finalPrice);
+    private void endSession(ObjectOutputStream objectOutputStream, ObjectInputStream objectInputStream,
+                            PriceVector finalPrice, long round) throws IOException, ClassNotFoundException {
+        PriceBroadcastEvent event = beginBroadcastEvent();
+        objectOutputStream.writeObject(new EndOfSession(finalPrice, finalPrice.isAlgorithmEnded()));
         objectOutputStream.flush();
-        RetailerLogger.logInfo("向用户发送最终价格，线程即将退出");
+        commitBroadcastEvent(event, round, true);
+        clientSocket.shutdownOutput();
+        
+        clientSocket.setSoTimeout(RetailerConfigConstants.SESSION_DRAIN_TIMEOUT_MILLIS);
+        try {
+            Object ack = objectInputStream.readObject();
+            RetailerLogger.logInfo(() -> "会话结束，收到用户确认: " + ack);
+        } catch (SocketTimeoutException e) {
+            RetailerLogger.logError("等待用户确认会话结束超时，客户端端口: " + clientSocket.getPort());
+        }
     }
     
     /**
@@ -147,83 +210,118 @@ public class RetailerThread implements Runnable {
      * 
      * @param objectOutputStream 对象输出流
      * @param priceVector 要发送的价格向量
+     * @param round 价格轮次
      * @throws IOException 输出异常
      */
     private void sendPriceToUser(ObjectOutputStream objectOutputStream, 
-                               PriceVector priceVector) throws IOException {
+                               PriceVector priceVector, long round) throws IOException {
+        PriceBroadcastEvent event = beginBroadcastEvent();
         objectOutputStream.writeObject(priceVector);
         objectOutputStream.flush();
-        RetailerLogger.logInfo("向用户发送价格: " + priceVector.toString());
+        commitBroadcastEvent(event, round, false);
+        RetailerMetrics.recordPriceSent();
+        RetailerLogger.logInfo(() -> "向用户发送价格: " + priceVector.toString());
     }
     
     /**
      * 接收用户消耗数据
      * 
      * @param objectInputStream 对象输入流
+     * @param round 响应的价格轮次
      * @return 用户消耗数据
      * @throws IOException 输入异常
      * @throws ClassNotFoundException 类不存在异常
      */
-    private OneUserConsumVector receiveUserConsumption(ObjectInputStream objectInputStream) 
+    private OneUserConsumVector receiveUserConsumption(ObjectInputStream objectInputStream, long round) 
             throws IOException, ClassNotFoundException {
+        UserResponseEvent event = null;
+        if (FlightRecorderSupport.AVAILABLE) {
+            event = new UserResponseEvent();
+            event.begin();
+        }
         OneUserConsumVector userConsumption = (OneUserConsumVector) objectInputStream.readObject();
-        RetailerLogger.logInfo("接收到用户消耗数据: " + userConsumption.toString());
+        if (event != null && event.shouldCommit()) {
+            event.round = round;
+            event.userId = userConsumption.getUserID();
+            event.remotePort = clientSocket.getPort();
+            long total = 0;
+            for (int consumption : userConsumption.getConsumVector()) {
+                total += consumption;
+            }
+            event.totalConsumption = total;
+            event.commit();
+        }
+        RetailerLogger.logInfo(() -> "接收到用户消耗数据: " + userConsumption.toString());
         return userConsumption;
     }
     
+    /**
+     * 开始一次价格发送的JFR事件
+     * 
+     * @return 已开始的事件，当前JVM不支持JFR时返回null
+     */
+    private static PriceBroadcastEvent beginBroadcastEvent() {
+        if (!FlightRecorderSupport.AVAILABLE) {
+            return null;
+        }
+        PriceBroadcastEvent event = new PriceBroadcastEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * 提交价格发送的JFR事件
+     * 
+     * @param event 事件，为null时直接返回
+     * @param round 价格轮次
+     * @param endOfSession 是否为最终价格
+     */
+    private void commitBroadcastEvent(PriceBroadcastEvent event, long round, boolean endOfSession) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.round = round;
+        event.userId = session.getUserID();
+        event.remotePort = clientSocket.getPort();
+        event.endOfSession = endOfSession;
+        event.commit();
+    }
+    
     /**
      * 处理用户消耗数据
-     * 将用户消耗数据添加到全局列表，并在收集完所有用户数据后通知SAPC算法
+     * 经会话提交给零售商，本轮全部参与者都已响应时由零售商聚合并通知SAPC算法
      * 
+     * @param round 响应的价格轮次
      * @param userConsumption 用户消耗数据
+     * @throws SocketException 会话已由新连接接管，响应被丢弃
      */
-    private void processUserConsumption(OneUserConsumVector userConsumption) {
-        synchronized (retailer.getUserConsumptionList()) {
-            // 添加用户消耗数据到列表
-            retailer.getUserConsumptionList().add(userConsumption);
-            
-            // 检查是否收集完所有用户的消耗数据
-            if (retailer.getUserConsumptionList().size() == UsersArgs.userNum) {
-                // 聚合所有用户的消耗数据
-                Retailer.aggregateUserConsumption(
-                    retailer.getNewConsumption(), 
-                    retailer.getUserConsumptionList()
-                );
-                
-                // 清空用户消耗列表以备下一轮使用
-                retailer.getUserConsumptionList().clear();
-                
-                // 计算新的零售商利润
-                float newProfit = RetailerProfitCalculator.calculateRetailerProfit(
-                    retailer.getNewConsumption(), 
-                    retailer.getNewPriceVector()
-                );
-                retailer.setNewRetailerProfit(newProfit);
-                
-                // 通知SAPC算法数据已准备完成
-                synchronized (retailer.getCurrentConsumption()) {
-                    retailer.getCurrentConsumption().notify();
-                }
-                
-                RetailerLogger.logInfo("所有用户消耗数据已聚合完成，通知SAPC算法");
-            }
+    private void processUserConsumption(long round, OneUserConsumVector userConsumption) throws SocketException {
+        if (session.submit(clientSocket, round, userConsumption, retailer)) {
+            RetailerLogger.logInfo("本轮参与者的消耗数据已聚合完成，通知SAPC算法");
         }
     }
     
     /**
      * 清理资源
-     * 关闭输入输出流和Socket连接
+     * 释放成员位置，关闭输入输出流和Socket连接
      * 
      * @param objectOutputStream 对象输出流
      * @param objectInputStream 对象输入流
      */
     private void cleanupResources(ObjectOutputStream objectOutputStream, 
                                 ObjectInputStream objectInputStream) {
+        if (countedAsConnected) {
+            RetailerMetrics.CONNECTED_USERS.decrement();
+            countedAsConnected = false;
+        }
+        if (joined) {
+            // 先释放成员位置，本轮无需等待该用户
+            retailer.leaveMember(pendingRound);
+            session.detach(clientSocket);
+            joined = false;
+        }
         try {
-            // 等待一段时间确保数据发送完成
-            Thread.sleep(2000);
-            
-            // 关闭输入流
+            // 关闭输入流（会话结束时已经排空，不必再等待）
             if (objectInputStream != null) {
                 objectInputStream.close();
             }
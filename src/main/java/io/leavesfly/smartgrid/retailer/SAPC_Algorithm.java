@@ -1,8 +1,17 @@
 package io.leavesfly.smartgrid.retailer;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
 import io.leavesfly.smartgrid.user.OneUserConsumVector;
 import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
 import io.leavesfly.smartgrid.user.UsersArgs;
+import io.leavesfly.smartgrid.util.jfr.CandidateEvaluationEvent;
+import io.leavesfly.smartgrid.util.jfr.FlightRecorderSupport;
+import io.leavesfly.smartgrid.util.jfr.SapcRoundEvent;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+import io.leavesfly.smartgrid.util.trace.TraceRecorder;
 
 /**
  * SAPC（Simulated Annealing Price Control）价格控制算法类
@@ -14,6 +23,9 @@ import io.leavesfly.smartgrid.user.UsersArgs;
  * 2. 在每个温度下，随机扰动价格向量
  * 3. 根据利润改善情况决定是否接受新价格
  * 4. 逐渐降低温度，直至收敛
+ * <p>
+ * 初始价格、邻近解和接受判断的随机数都来自 {@link Retailer#getRandomSource()}，
+ * 用户响应相同时，同一种子得到相同的定价过程
  *
  * @author SmartGrid Team
  * @version 1.0
@@ -22,157 +34,402 @@ public final class SAPC_Algorithm {
 
     /**
      * 模拟退火价格优化算法主方法
-     * 在多线程环境中与用户进行交互，逐步优化价格策略
+     * 在多线程环境中经TCP连接与用户进行交互，逐步优化价格策略
      *
      * @param retailer 零售商核心对象，包含共享状态和同步机制
      * @throws Exception 算法执行过程中的异常
      */
     public static void simulatedAnnealingAglorith(Retailer retailer) throws Exception {
+        simulatedAnnealingAglorith(retailer, new SocketUserTransport(retailer));
+    }
 
-        RetailerLogger.logInfo("SAPC算法开始执行");
-
-        // 等待所有用户连接完成
-        synchronized (retailer.getStepCounter()) {
-            retailer.getStepCounter().wait();
+    /**
+     * 经指定传输与用户交互的模拟退火价格优化算法
+     * 算法本身与传输无关，同一流程可以在测试和仿真中以内存速度运行，在生产中经网络运行；
+     * 传输由调用方创建和关闭
+     *
+     * @param retailer 零售商核心对象
+     * @param transport 用户传输，需绑定同一个零售商
+     * @throws Exception 算法执行过程中的异常
+     */
+    public static void simulatedAnnealingAglorith(Retailer retailer, UserTransport transport) throws Exception {
+        TraceRecorder trace = openTraceRecorder();
+        try {
+            runSimulatedAnnealing(retailer, transport, trace);
+        } finally {
+            if (trace != null) {
+                RetailerLogger.logInfo("优化轨迹记录完成，共 {} 条", trace.getRecordCount());
+                trace.close();
+            }
         }
+    }
+
+    /**
+     * 模拟退火主流程
+     *
+     * @param retailer 零售商核心对象
+     * @param transport 用户传输
+     * @param trace 轨迹记录器，为null时不记录
+     * @throws Exception 算法执行过程中的异常
+     */
+    private static void runSimulatedAnnealing(Retailer retailer, UserTransport transport,
+                                              TraceRecorder trace) throws Exception {
+
+        RandomSource random = retailer.getRandomSource();
+        RetailerLogger.logInfo("SAPC算法开始执行，随机种子: {}", random.getSeed());
+        RetailerConfigConstants.resetAnnealingState();
+
+        // 在等待用户的同时读取崩溃前的检查点
+        RetailerCheckpoint checkpoint = retailer.getCheckpoint();
+        RetailerCheckpoint.Snapshot restored = loadCheckpoint(checkpoint);
+
+        // 等待所有用户就绪
+        transport.awaitUsers();
 
         RetailerLogger.logInfo("所有用户已连接，SAPC算法开始初始化");
 
-        // 初始化价格向量并进行第一轮交互
-        retailer.getNewPriceVector().copyPriceVector(
-                retailer.getNewPriceVector(),
-                retailer.getCurrentPriceVector()
-        );
+        SolutionStore store = retailer.getSolutionStore();
+        int startPosition = 0;
+        long evaluations;
+        if (restored != null) {
+            // 从检查点所在的一步继续，已完成的评估不再重复
+            restored.restoreTo(retailer);
+            startPosition = restored.getNextPosition();
+            evaluations = restored.getEvaluations();
+            RetailerMetrics.offerSolution(retailer.getCurrentPriceVector().getPriceArray(),
+                    retailer.getCurrentRetailerProfitDouble());
+            RetailerLogger.logInfo("从检查点恢复：第 {} 轮第 {} 个时间段，已完成 {} 次评估，当前利润 {}",
+                    restored.getRound(), startPosition, evaluations, restored.getCurrentProfit());
+        } else {
+            // 从上次的解续跑或热启动
+            restoreStartingPoint(retailer, store);
+
+            // 初始化价格向量并进行第一轮交互
+            retailer.getNewPriceVector().copyPriceVector(
+                    retailer.getNewPriceVector(),
+                    retailer.getCurrentPriceVector()
+            );
 
-        Thread.sleep(1500);
-        synchronized (retailer.getNewPriceVector()) {
-            retailer.getNewPriceVector().notifyAll();
-        }
+            CandidateEvaluationEvent initialEvaluation = evaluate(retailer, transport);
+            retailer.setCurrentRetailerProfit(retailer.getNewRetailerProfitDouble());
+            commitEvaluation(initialEvaluation, retailer, -1, true);
+            recordStep(trace, retailer, -1, true);
+            RetailerMetrics.offerSolution(retailer.getNewPriceVector().getPriceArray(),
+                    retailer.getNewRetailerProfitDouble());
+            evaluations = 1;
+            submitCheckpoint(checkpoint, retailer, 0, evaluations);
 
-        synchronized (retailer.getCurrentConsumption()) {
-            retailer.getCurrentConsumption().wait();
+            RetailerLogger.logInfo("初始利润: " + retailer.getCurrentRetailerProfitDouble());
         }
-        retailer.setCurrentRetailerProfit(retailer.getNewRetailerProfit());
-
-        RetailerLogger.logInfo("初始利润: " + retailer.getCurrentRetailerProfit());
 
         // 执行主算法循环
-        while (RetailerConfigConstants.INITIAL_TEMPERATURE > RetailerConfigConstants.END_TEMPERATURE) {
+        while (RetailerConfigConstants.INITIAL_TEMPERATURE > RetailerConfigConstants.END_TEMPERATURE
+                && RetailerConfigConstants.CURRENT_ROUND <= retailer.getMaxRounds()) {
             RetailerLogger.logInfo(
                     "========================== 第 " + RetailerConfigConstants.CURRENT_ROUND +
                             " 轮迭代 =========================="
             );
 
-            int position = 0;
-            for (position = 0; position < retailer.getCurrentPriceVector().getPriceArray().length; position++) {
+            SapcRoundEvent roundEvent = null;
+            if (FlightRecorderSupport.AVAILABLE) {
+                roundEvent = new SapcRoundEvent();
+                roundEvent.begin();
+            }
+            int acceptedMoves = 0;
+
+            int position;
+            for (position = startPosition; position < retailer.getCurrentPriceVector().getPriceArray().length;
+                 position++) {
 
-                float randomPrice = PriceVector.generateRandomPrice();
+                float randomPrice = PriceVector.generateRandomPrice(random);
                 retailer.setNewPriceVector(retailer.getCurrentPriceVector()
                         .createModifiedPriceVector(position, randomPrice,
                                 retailer.getNewPriceVector()));
 
-                RetailerLogger.logInfo("当前价格" + retailer.getNewPriceVector().toString());
+                RetailerLogger.logInfo(() -> "当前价格" + retailer.getNewPriceVector().toString());
 
-                Thread.sleep(1500);
-                synchronized (retailer.getNewPriceVector()) {
-                    retailer.getNewPriceVector().notifyAll();
-                }
-                synchronized (retailer.getCurrentConsumption()) {
-                    retailer.getCurrentConsumption().wait();
-                }
+                CandidateEvaluationEvent evaluation = evaluate(retailer, transport);
 
-                RetailerLogger.logInfo("系统总消耗:" + retailer.getNewConsumption());
-                RetailerLogger.logInfo("新利润:" + retailer.getNewRetailerProfit());
+                RetailerLogger.logInfo(() -> "系统总消耗:" + (RetailerConfigConstants.WIDE_AGGREGATION
+                        ? Arrays.toString(retailer.getNewWideConsumption())
+                        : retailer.getNewConsumption().toString()));
+                RetailerLogger.logInfo(() -> "新利润:" + retailer.getNewRetailerProfitDouble());
                 RetailerLogger.logInfo("------------------------------");
 
-                if (retailer.getNewRetailerProfit() > retailer.getCurrentRetailerProfit()) {
+                boolean accepted = retailer.getNewRetailerProfitDouble() > retailer.getCurrentRetailerProfitDouble()
+                        || (float) random.nextDouble() < (float) (Math.exp((retailer
+                            .getNewRetailerProfitDouble() - retailer
+                            .getCurrentRetailerProfitDouble())
+                            / RetailerConfigConstants.INITIAL_TEMPERATURE));
+                commitEvaluation(evaluation, retailer, position, accepted);
+                recordStep(trace, retailer, position, accepted);
+                RetailerMetrics.recordMove(accepted);
+                if (accepted) {
+                    acceptedMoves++;
+                    RetailerMetrics.offerSolution(retailer.getNewPriceVector().getPriceArray(),
+                            retailer.getNewRetailerProfitDouble());
                     retailer.getCurrentPriceVector().copyPriceVector(
                             retailer.getCurrentPriceVector(),
                             retailer.getNewPriceVector());
-                    retailer.setCurrentRetailerProfit(retailer.getNewRetailerProfit());
-                } else {
-                    if ((float) Math.random() < (float) (Math.exp((retailer
-                            .getNewRetailerProfit() - retailer
-                            .getCurrentRetailerProfit())
-                            / RetailerConfigConstants.INITIAL_TEMPERATURE))) {
-                        retailer.getCurrentPriceVector().copyPriceVector(
-                                retailer.getCurrentPriceVector(),
-                                retailer.getNewPriceVector());
-                        retailer.setCurrentRetailerProfit(retailer.getNewRetailerProfit());
-                    }
+                    retailer.setCurrentRetailerProfit(retailer.getNewRetailerProfitDouble());
                 }
+                evaluations++;
+                submitCheckpoint(checkpoint, retailer, position + 1, evaluations);
             }
-
-            RetailerConfigConstants.CURRENT_ROUND++;
-            RetailerConfigConstants.INITIAL_TEMPERATURE = (float) (RetailerConfigConstants.INITIAL_TEMPERATURE / Math
-                    .log(RetailerConfigConstants.CURRENT_ROUND));
+            startPosition = 0;
+
+            if (roundEvent != null && roundEvent.shouldCommit()) {
+                roundEvent.round = RetailerConfigConstants.CURRENT_ROUND;
+                roundEvent.temperature = RetailerConfigConstants.INITIAL_TEMPERATURE;
+                roundEvent.candidates = position;
+                roundEvent.acceptedMoves = acceptedMoves;
+                roundEvent.currentProfit = retailer.getCurrentRetailerProfitDouble();
+                roundEvent.commit();
+            }
+            RetailerMetrics.ANNEALING_ROUNDS.increment();
+            RetailerConfigConstants.coolDown();
+            saveSolution(store, retailer, false);
         }
 
         // 完成算法并发送最终结果
         retailer.getNewPriceVector().copyPriceVector(
                 retailer.getNewPriceVector(), retailer.getCurrentPriceVector());
 
-        synchronized (retailer.getNewPriceVector()) {
-            retailer.getNewPriceVector().setAlgorithmEnded(true);
-            retailer.getNewPriceVector().notifyAll();
-        }
+        transport.broadcastFinalPrice();
+        saveSolution(store, retailer, true);
+        clearCheckpoint(checkpoint);
 
         RetailerLogger.logInfo("最终价格: " + retailer.getCurrentPriceVector().toString());
-        RetailerLogger.logInfo("最终利润: " + retailer.getCurrentRetailerProfit());
-    }
-
-    public static void sapcAglorith() {
-        int k = 1;
-        float T = (float) Math.exp(-1);
-        final float E = (float) Math.exp(-5);
-        PriceVector priceVectorNow = new PriceVector();
-        PriceVector priceVectorNew = new PriceVector();
-        OneUserConsumVector userTimeConsumNow = SAPC_Algorithm.getUserTimeConsumByPrice(priceVectorNow);
-
-        float profitNow = RetailerProfitCalculator.calculateRetailerProfit(
-                new ElectricityConsumptionByTime(userTimeConsumNow.getConsumVector()), priceVectorNow);
-
-        System.out.println("T:" + T);
-        System.out.println("E:" + E);
-        System.out.println(priceVectorNow.toString());
-        System.out.println("profitNow:" + profitNow);
-
-        while (T > E) {
-            int position = 0;
-            for (position = 0; position < priceVectorNow.getPriceArray().length; position++) {
-
-                float randomPrice = PriceVector.generateRandomPrice();
-                priceVectorNew = priceVectorNow.createModifiedPriceVector(position, randomPrice, priceVectorNew);
-
-                OneUserConsumVector userTimeConsumNew = SAPC_Algorithm
-                        .getUserTimeConsumByPrice(priceVectorNew);
-
-                float profitNew = RetailerProfitCalculator.calculateRetailerProfit(
-                        new ElectricityConsumptionByTime(userTimeConsumNew.getConsumVector()), priceVectorNew);
-
-                if (profitNew > profitNow) {
-                    priceVectorNow.copyPriceVector(priceVectorNow, priceVectorNew);
-                    profitNow = profitNew;
-                } else {
-                    if ((float) Math.random() < (float) (Math
-                            .exp((profitNew - profitNow) / T))) {
-                        priceVectorNow.copyPriceVector(priceVectorNow, priceVectorNew);
-                        profitNow = profitNew;
-                    }
-                }
+        RetailerLogger.logInfo("最终利润: " + retailer.getCurrentRetailerProfitDouble());
+    }
 
-                RetailerLogger.logInfo(priceVectorNew.toString());
-                RetailerLogger.logInfo("profitNew:" + profitNew);
+    /**
+     * 经传输向全部用户广播新价格并等待本轮评估完成
+     * 返回时新利润和新的系统总消耗已计算好
+     *
+     * @param retailer 零售商核心对象
+     * @param transport 用户传输
+     * @return 已开始的评估JFR事件，当前JVM不支持JFR时返回null
+     * @throws InterruptedException 等待被中断
+     */
+    private static CandidateEvaluationEvent evaluate(Retailer retailer, UserTransport transport)
+            throws InterruptedException {
+        long delayMillis = retailer.getBroadcastDelayMillis();
+        if (delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+        CandidateEvaluationEvent event = beginEvaluation();
+        RetailerMetrics.markBroadcastStart();
+        transport.evaluate();
+        RetailerMetrics.recordEvaluationComplete();
+        return event;
+    }
+
+    /**
+     * 按保存的解设置起始价格和退火状态
+     * 未完成的检查点从保存的轮次和温度继续；已完成的解以其价格为初始价格，
+     * 按 {@link RetailerConfigConstants#WARM_START_TEMPERATURE} 热启动。
+     * 没有保存的解或读取失败时保持随机价格和初始退火状态
+     *
+     * @param retailer 零售商核心对象
+     * @param store 解存储，为null时直接返回
+     */
+    private static void restoreStartingPoint(Retailer retailer, SolutionStore store) {
+        if (store == null) {
+            return;
+        }
+        SolutionStore.Solution solution;
+        try {
+            solution = store.load();
+        } catch (IOException e) {
+            RetailerLogger.logError("读取上次的解失败，从随机价格开始", e);
+            return;
+        }
+        float[] prices = retailer.getCurrentPriceVector().getPriceArray();
+        if (solution == null || solution.getPrices().length != prices.length) {
+            RetailerLogger.logInfo("没有可用的上次解，从随机价格开始");
+            return;
+        }
+        System.arraycopy(solution.getPrices(), 0, prices, 0, prices.length);
+        if (solution.isCompleted()) {
+            RetailerConfigConstants.warmStartAnnealingState(RetailerConfigConstants.WARM_START_TEMPERATURE);
+            RetailerLogger.logInfo("从上次的最终解热启动，上次利润 {}，从第 {} 轮、温度 {} 开始",
+                    solution.getProfit(), RetailerConfigConstants.CURRENT_ROUND,
+                    RetailerConfigConstants.INITIAL_TEMPERATURE);
+        } else {
+            RetailerConfigConstants.CURRENT_ROUND = solution.getRound();
+            RetailerConfigConstants.INITIAL_TEMPERATURE = solution.getTemperature();
+            RetailerLogger.logInfo("从检查点续跑，从第 {} 轮、温度 {} 开始",
+                    solution.getRound(), solution.getTemperature());
+        }
+    }
+
+    /**
+     * 保存当前价格、退火状态和利润，失败时记录错误并继续运行
+     *
+     * @param store 解存储，为null时直接返回
+     * @param retailer 零售商核心对象
+     * @param completed 算法是否已结束
+     */
+    private static void saveSolution(SolutionStore store, Retailer retailer, boolean completed) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.save(new SolutionStore.Solution(retailer.getCurrentPriceVector().getPriceArray(),
+                    RetailerConfigConstants.INITIAL_TEMPERATURE, RetailerConfigConstants.CURRENT_ROUND,
+                    retailer.getCurrentRetailerProfitDouble(), completed));
+        } catch (IOException e) {
+            RetailerLogger.logError("保存SAPC解失败", e);
+        }
+    }
+
+    /**
+     * 读取检查点
+     *
+     * @param checkpoint 检查点，为null时返回null
+     * @return 可恢复的快照，没有检查点、读取失败或时间段数量不一致时返回null
+     */
+    private static RetailerCheckpoint.Snapshot loadCheckpoint(RetailerCheckpoint checkpoint) {
+        if (checkpoint == null) {
+            return null;
+        }
+        try {
+            RetailerCheckpoint.Snapshot snapshot = checkpoint.load();
+            if (snapshot != null && snapshot.getPrices().length != RetailerConfigConstants.TIME_SLOTS) {
+                RetailerLogger.logError("检查点的时间段数量与当前配置不一致，忽略检查点");
+                return null;
             }
-            k++;
-            T = (float) (T / Math.log(k));
+            return snapshot;
+        } catch (IOException e) {
+            RetailerLogger.logError("读取检查点失败，忽略检查点", e);
+            return null;
+        }
+    }
+
+    /**
+     * 按检查点间隔提交快照，只在算法线程上复制状态，写盘由检查点的后台线程完成
+     *
+     * @param checkpoint 检查点，为null时直接返回
+     * @param retailer 零售商核心对象
+     * @param nextPosition 本轮下一个要扰动的时间段
+     * @param evaluations 已完成的评估次数
+     */
+    private static void submitCheckpoint(RetailerCheckpoint checkpoint, Retailer retailer,
+                                         int nextPosition, long evaluations) {
+        if (checkpoint != null && evaluations % checkpoint.getIntervalEvaluations() == 0) {
+            checkpoint.submit(RetailerCheckpoint.Snapshot.capture(retailer, nextPosition, evaluations));
+        }
+    }
+
+    /**
+     * 运行正常结束后删除检查点，下次启动不再恢复本次运行
+     *
+     * @param checkpoint 检查点，为null时直接返回
+     * @throws InterruptedException 等待后台写入时被中断
+     */
+    private static void clearCheckpoint(RetailerCheckpoint checkpoint) throws InterruptedException {
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            checkpoint.clear();
+        } catch (IOException e) {
+            RetailerLogger.logError("删除检查点失败", e);
+        }
+    }
+
+    /**
+     * 按配置打开轨迹记录器
+     *
+     * @return 轨迹记录器，未配置轨迹目录或创建失败时返回null
+     */
+    private static TraceRecorder openTraceRecorder() {
+        if (RetailerConfigConstants.TRACE_DIRECTORY == null) {
+            return null;
+        }
+        try {
+            return TraceRecorder.open(Paths.get(RetailerConfigConstants.TRACE_DIRECTORY),
+                    RetailerConfigConstants.TRACE_NAME, RetailerConfigConstants.TIME_SLOTS);
+        } catch (IOException e) {
+            RetailerLogger.logError("优化轨迹文件创建失败，本次运行不记录轨迹", e);
+            return null;
+        }
+    }
 
-            RetailerLogger.logInfo("======================"
-                    + k
-                    + "_Round========================");
+    /**
+     * 开始一次候选价格评估的JFR事件
+     *
+     * @return 已开始的事件，当前JVM不支持JFR时返回null
+     */
+    private static CandidateEvaluationEvent beginEvaluation() {
+        if (!FlightRecorderSupport.AVAILABLE) {
+            return null;
         }
+        CandidateEvaluationEvent event = new CandidateEvaluationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 提交候选价格评估的JFR事件，事件未启用时不填充字段
+     * 需在更新当前利润之前调用，以记录接受前的当前利润
+     *
+     * @param event 事件，为null时直接返回
+     * @param retailer 零售商核心对象
+     * @param position 扰动的价格位置，初始评估为-1
+     * @param accepted 是否接受候选价格
+     */
+    private static void commitEvaluation(CandidateEvaluationEvent event, Retailer retailer,
+                                         int position, boolean accepted) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.round = RetailerConfigConstants.CURRENT_ROUND;
+        event.position = position;
+        event.candidateProfit = retailer.getNewRetailerProfitDouble();
+        event.currentProfit = retailer.getCurrentRetailerProfitDouble();
+        event.accepted = accepted;
+        event.commit();
+    }
 
-        RetailerLogger.logInfo("The right :" + priceVectorNow);
+    /**
+     * 记录一步退火的候选价格、系统总消耗、利润和接受结果
+     *
+     * @param trace 轨迹记录器，为null时直接返回
+     * @param retailer 零售商核心对象
+     * @param position 扰动的价格位置，初始评估为-1
+     * @param accepted 是否接受候选价格
+     */
+    private static void recordStep(TraceRecorder trace, Retailer retailer, int position, boolean accepted) {
+        if (trace == null) {
+            return;
+        }
+        float[] prices = retailer.getNewPriceVector().getPriceArray();
+        if (RetailerConfigConstants.WIDE_AGGREGATION) {
+            trace.record(RetailerConfigConstants.CURRENT_ROUND, position, prices,
+                    retailer.getNewWideConsumption(), retailer.getNewRetailerProfitDouble(),
+                    accepted, RetailerConfigConstants.INITIAL_TEMPERATURE);
+        } else {
+            trace.record(RetailerConfigConstants.CURRENT_ROUND, position, prices,
+                    retailer.getNewConsumption().getConsumptionByTimeVector(),
+                    retailer.getNewRetailerProfitDouble(), accepted,
+                    RetailerConfigConstants.INITIAL_TEMPERATURE);
+        }
+    }
+
+    /**
+     * 不经网络运行SAPC算法
+     * 使用 {@link DirectUserTransport} 在当前线程上计算全部已配置用户的响应，广播前不休眠
+     *
+     * @throws Exception 算法执行过程中的异常
+     */
+    public static void sapcAglorith() throws Exception {
+        Retailer retailer = new Retailer();
+        retailer.setBroadcastDelayMillis(0);
+        try (UserTransport transport = new DirectUserTransport(retailer)) {
+            simulatedAnnealingAglorith(retailer, transport);
+        }
     }
 
     public static OneUserConsumVector getUserTimeConsumByPrice(
@@ -187,7 +444,7 @@ public final class SAPC_Algorithm {
         return oneUserConsumVector;
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         SAPC_Algorithm.sapcAglorith();
     }
 }
\ No newline at end of file
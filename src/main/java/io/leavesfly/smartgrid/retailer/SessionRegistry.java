@@ -0,0 +1,147 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+
+/**
+ * 用户会话登记表
+ * 用户第一次连接时分配一个会话令牌，断线重连时凭令牌恢复同一会话：以原来的用户ID重新登记为成员，
+ * 当前价格轮次还在等待该用户的响应时，连接建立后立即收到当前价格
+ *
+ * 新连接接管会话或同一用户ID建立新会话时关闭旧连接，旧连接上迟到的响应不再提交，
+ * 每个会话在一个轮次中只计入一次响应。
+ * 零售商重启后登记表为空，重连的用户得到新的会话
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class SessionRegistry {
+
+    private final ConcurrentHashMap<Integer, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 按用户ID和令牌查找会话
+     * @param userID 用户ID
+     * @param token 用户保存的会话令牌，可以为null
+     * @return 令牌匹配的会话，没有时返回null
+     */
+    Session resume(int userID, String token) {
+        Session session = sessions.get(userID);
+        return session != null && session.token.equals(token) ? session : null;
+    }
+
+    /**
+     * 为用户创建新会话，替换该用户ID原有的会话并关闭原会话的连接
+     * @param userID 用户ID
+     * @return 新会话
+     */
+    Session create(int userID) {
+        Session session = new Session(userID, UUID.randomUUID().toString());
+        Session previous = sessions.put(userID, session);
+        if (previous != null) {
+            previous.close();
+        }
+        return session;
+    }
+
+    /**
+     * 获取会话数量
+     * @return 会话数量
+     */
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 一个用户会话，同一时刻只绑定一个连接
+     */
+    static final class Session {
+        private final int userID;
+        private final String token;
+
+        /** 当前绑定的连接，访问时持有本对象的锁 */
+        private Socket connection;
+
+        /** 最近一次提交响应的轮次，访问时持有本对象的锁 */
+        private long lastRespondedRound;
+
+        private Session(int userID, String token) {
+            this.userID = userID;
+            this.token = token;
+        }
+
+        /**
+         * 把连接绑定到会话并登记为成员，会话原来的连接被关闭
+         * @param socket 新连接
+         * @param retailer 零售商核心对象
+         * @param resumed 是否为恢复的会话
+         * @return 该连接参与的第一个价格轮次
+         */
+        synchronized long attach(Socket socket, Retailer retailer, boolean resumed) {
+            if (connection != socket) {
+                closeConnection();
+            }
+            connection = socket;
+            return resumed ? retailer.rejoinMember(lastRespondedRound) : retailer.joinMember();
+        }
+
+        /**
+         * 提交会话对某一轮次的响应
+         * @param socket 提交响应的连接
+         * @param round 响应的轮次
+         * @param consumption 消耗数据
+         * @param retailer 零售商核心对象
+         * @return 本次响应完成了本轮评估时返回true
+         * @throws SocketException 连接已被新连接接管，响应被丢弃
+         */
+        synchronized boolean submit(Socket socket, long round, OneUserConsumVector consumption,
+                                    Retailer retailer) throws SocketException {
+            if (connection != socket) {
+                throw new SocketException("用户 " + userID + " 的会话已由新连接接管");
+            }
+            lastRespondedRound = round;
+            return retailer.submitResponse(consumption);
+        }
+
+        /**
+         * 会话被同一用户ID的新会话替换时关闭当前连接，之后旧连接上的响应不再提交
+         */
+        synchronized void close() {
+            closeConnection();
+            connection = null;
+        }
+
+        private void closeConnection() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (IOException e) {
+                    RetailerLogger.logError("关闭被接管的连接失败", e);
+                }
+            }
+        }
+
+        /**
+         * 解除连接与会话的绑定，连接已被接管时不做任何事
+         * @param socket 要解除的连接
+         */
+        synchronized void detach(Socket socket) {
+            if (connection == socket) {
+                connection = null;
+            }
+        }
+
+        int getUserID() {
+            return userID;
+        }
+
+        String getToken() {
+            return token;
+        }
+    }
+}
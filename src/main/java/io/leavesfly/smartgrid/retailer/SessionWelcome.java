@@ -0,0 +1,46 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.Serializable;
+
+/**
+ * 会话握手应答
+ * 零售商收到 {@link io.leavesfly.smartgrid.user.SessionHello} 后回复，之后连接上只传输价格和响应。
+ * 用户保存其中的令牌，断线重连时带上它恢复会话
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class SessionWelcome implements Serializable {
+
+    private static final long serialVersionUID = -2761540832260771519L;
+
+    private final String sessionToken;
+    private final boolean resumed;
+
+    /**
+     * 构造函数
+     * @param sessionToken 会话令牌
+     * @param resumed 是否恢复了原有会话
+     */
+    public SessionWelcome(String sessionToken, boolean resumed) {
+        this.sessionToken = sessionToken;
+        this.resumed = resumed;
+    }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    /**
+     * 是否恢复了原有会话
+     * @return 令牌匹配时返回true，分配了新会话时返回false
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionWelcome{resumed=" + resumed + "}";
+    }
+}
@@ -0,0 +1,49 @@
+package io.leavesfly.smartgrid.retailer;
+
+/**
+ * 基于TCP连接的用户传输
+ * 价格经 {@link Retailer} 的价格轮次交给各 {@link RetailerThread} 写出，
+ * 最后一个用户的响应到达后由其连接线程完成聚合并推进评估轮次；
+ * 连接的建立与关闭由 {@link RetailerServer} 负责
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class SocketUserTransport implements UserTransport {
+
+    private final Retailer retailer;
+
+    /**
+     * 构造函数
+     * @param retailer 零售商核心对象
+     * @throws IllegalArgumentException 如果零售商为null
+     */
+    public SocketUserTransport(Retailer retailer) {
+        if (retailer == null) {
+            throw new IllegalArgumentException("零售商不能为null");
+        }
+        this.retailer = retailer;
+    }
+
+    @Override
+    public void awaitUsers() throws InterruptedException {
+        retailer.awaitAllUsersConnected();
+    }
+
+    @Override
+    public void evaluate() throws InterruptedException {
+        long round = retailer.publishNewPrice();
+        retailer.awaitEvaluation(round);
+    }
+
+    @Override
+    public void broadcastFinalPrice() {
+        retailer.getNewPriceVector().setAlgorithmEnded(true);
+        retailer.publishNewPrice();
+    }
+
+    @Override
+    public void close() {
+        // 连接由RetailerServer持有，这里没有需要释放的资源
+    }
+}
@@ -0,0 +1,203 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * SAPC解的持久化存储
+ * 保存价格向量、温度、轮次和利润，算法每轮结束后写入一次检查点，正常结束后写入最终解。
+ * 下次启动时，未完成的检查点从中断的轮次继续，已完成的解作为热启动的初始价格
+ *
+ * 文件经 {@link AtomicFiles} 原子写入，崩溃时不会留下不完整的内容。格式为小端字节序：
+ * <pre>
+ * magic(int) version(int) timeSlots(int) flags(int) round(int) temperature(float)
+ * profit(double) savedAtMillis(long) prices(float[timeSlots]) crc32(int)
+ * </pre>
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class SolutionStore {
+
+    /** 文件魔数 "SGSL" */
+    private static final int MAGIC = 0x5347534C;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 40;
+
+    private static final int FLAG_COMPLETED = 1;
+
+    /** 支持的最大时间段数量，防止损坏的文件导致过大的分配 */
+    private static final int MAX_TIME_SLOTS = 4096;
+
+    private final Path file;
+
+    /**
+     * 构造函数
+     * @param file 解文件路径，所在目录不存在时在第一次保存时创建
+     * @throws IllegalArgumentException 如果路径为null
+     */
+    public SolutionStore(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("解文件路径不能为null");
+        }
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * 原子地保存一个解，覆盖之前的内容
+     * @param solution 要保存的解
+     * @throws IOException 写入失败，此时原文件保持不变
+     */
+    public void save(Solution solution) throws IOException {
+        float[] prices = solution.prices;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + prices.length * Float.BYTES + Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(prices.length)
+                .putInt(solution.completed ? FLAG_COMPLETED : 0)
+                .putInt(solution.round)
+                .putFloat(solution.temperature)
+                .putDouble(solution.profit)
+                .putLong(solution.savedAtMillis);
+        for (float price : prices) {
+            buffer.putFloat(price);
+        }
+        buffer.putInt(AtomicFiles.checksum(buffer.array(), buffer.position()));
+        buffer.flip();
+        AtomicFiles.write(file, buffer);
+    }
+
+    /**
+     * 读取保存的解
+     * @return 保存的解，文件不存在时返回null
+     * @throws IOException 读取失败或文件内容无效
+     */
+    public Solution load() throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < HEADER_SIZE + Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("不是有效的解文件: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的解文件版本: " + version);
+        }
+        int timeSlots = buffer.getInt();
+        if (timeSlots <= 0 || timeSlots > MAX_TIME_SLOTS
+                || bytes.length != HEADER_SIZE + timeSlots * Float.BYTES + Integer.BYTES) {
+            throw new IOException("解文件长度与时间段数量不符: " + file);
+        }
+        int end = bytes.length - Integer.BYTES;
+        if (AtomicFiles.checksum(bytes, end) != buffer.getInt(end)) {
+            throw new IOException("解文件校验和不匹配: " + file);
+        }
+        boolean completed = (buffer.getInt() & FLAG_COMPLETED) != 0;
+        int round = buffer.getInt();
+        float temperature = buffer.getFloat();
+        double profit = buffer.getDouble();
+        long savedAtMillis = buffer.getLong();
+        float[] prices = new float[timeSlots];
+        for (int i = 0; i < timeSlots; i++) {
+            prices[i] = buffer.getFloat();
+        }
+        return new Solution(prices, temperature, round, profit, completed, savedAtMillis);
+    }
+
+    /**
+     * 删除保存的解
+     * @throws IOException 删除失败
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 一个保存的解
+     */
+    public static final class Solution {
+        private final float[] prices;
+        private final float temperature;
+        private final int round;
+        private final double profit;
+        private final boolean completed;
+        private final long savedAtMillis;
+
+        /**
+         * 以当前时间创建解
+         * @param prices 各时间段价格，会被复制
+         * @param temperature 保存时的温度
+         * @param round 保存时的轮次
+         * @param profit 价格对应的利润
+         * @param completed 算法是否已正常结束
+         * @throws IllegalArgumentException 如果价格数组为null或为空
+         */
+        public Solution(float[] prices, float temperature, int round, double profit, boolean completed) {
+            this(copyPrices(prices), temperature, round, profit, completed, System.currentTimeMillis());
+        }
+
+        private Solution(float[] prices, float temperature, int round, double profit, boolean completed,
+                         long savedAtMillis) {
+            this.prices = prices;
+            this.temperature = temperature;
+            this.round = round;
+            this.profit = profit;
+            this.completed = completed;
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        private static float[] copyPrices(float[] prices) {
+            if (prices == null || prices.length == 0) {
+                throw new IllegalArgumentException("价格数组不能为null或为空");
+            }
+            return prices.clone();
+        }
+
+        /**
+         * 获取各时间段价格
+         * @return 价格数组副本
+         */
+        public float[] getPrices() {
+            return prices.clone();
+        }
+
+        public float getTemperature() {
+            return temperature;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public double getProfit() {
+            return profit;
+        }
+
+        /**
+         * 算法是否已正常结束
+         * @return 最终解返回true，中途的检查点返回false
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+}
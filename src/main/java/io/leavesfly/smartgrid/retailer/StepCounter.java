@@ -39,6 +39,14 @@ public class StepCounter {
         stepCount++;
     }
     
+    /**
+     * 减少步骤计数
+     * 当有用户断开连接时调用此方法
+     */
+    public void decrementStep() {
+        stepCount--;
+    }
+    
     /**
      * 重置步骤计数为0
      * 用于重新开始计数
@@ -0,0 +1,43 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.Closeable;
+
+/**
+ * 零售商与用户群体之间的传输层
+ * SAPC算法只通过该接口向用户广播价格、收集响应，不关心用户在网络另一端、
+ * 在本进程的其他线程中，还是在调用线程上直接计算：
+ * {@link SocketUserTransport} 经TCP连接与用户进程交互，
+ * {@link QueueUserTransport} 经进程内阻塞队列与用户线程交互，
+ * {@link DirectUserTransport} 在算法线程上直接调用用户模型
+ *
+ * 每个传输绑定一个 {@link Retailer}，评估返回时零售商的新利润和新的系统总消耗已计算好
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public interface UserTransport extends Closeable {
+
+    /**
+     * 等待全部用户就绪
+     * @throws InterruptedException 等待被中断
+     */
+    void awaitUsers() throws InterruptedException;
+
+    /**
+     * 向全部用户广播零售商的新价格向量，收齐响应后聚合并计算新利润
+     * @throws InterruptedException 等待被中断
+     */
+    void evaluate() throws InterruptedException;
+
+    /**
+     * 向全部用户广播带结束标志的最终价格，用户收到后退出
+     * @throws InterruptedException 等待被中断
+     */
+    void broadcastFinalPrice() throws InterruptedException;
+
+    /**
+     * 释放传输占用的资源，不抛出检查异常
+     */
+    @Override
+    void close();
+}
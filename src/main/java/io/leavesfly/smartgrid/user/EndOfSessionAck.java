@@ -0,0 +1,34 @@
+package io.leavesfly.smartgrid.user;
+
+import java.io.Serializable;
+
+/**
+ * 会话结束确认
+ * 用户读完会话结束消息后发送的最后一个对象，零售商收到后即可关闭连接，不必再等待
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class EndOfSessionAck implements Serializable {
+
+    private static final long serialVersionUID = -8125609441733520876L;
+
+    private final int userID;
+
+    /**
+     * 构造函数
+     * @param userID 用户ID
+     */
+    public EndOfSessionAck(int userID) {
+        this.userID = userID;
+    }
+
+    public int getUserID() {
+        return userID;
+    }
+
+    @Override
+    public String toString() {
+        return "EndOfSessionAck{userID=" + userID + "}";
+    }
+}
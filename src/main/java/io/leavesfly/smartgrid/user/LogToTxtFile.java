@@ -1,9 +1,13 @@
 package io.leavesfly.smartgrid.user;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.PrintWriter;
+import java.util.function.Supplier;
+
+import io.leavesfly.smartgrid.util.logging.LogStreamWriter;
+import io.leavesfly.smartgrid.util.logging.MessageTemplate;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
 
 /**
  * 用户日志文件写入工具类
@@ -13,71 +17,119 @@ import java.io.PrintWriter;
  * 
  * <p>主要功能：</p>
  * <ul>
- *   <li>初始化日志文件输出流</li>
  *   <li>提供线程安全的日志写入器</li>
  *   <li>支持多个用户线程并发写入日志</li>
+ *   <li>所有输出经由 {@link SmartGridLogger} 的用户日志流写入，只写文件、不输出到控制台</li>
  * </ul>
  * 
  * <p>使用方式：</p>
  * <pre>
  * LogToTxtFile.getWritelogtofile().println("日志内容");
- * LogToTxtFile.getWritelogtofile().flush();
  * </pre>
  * 
  * @author SmartGrid System
  * @version 1.0
- * @see UsersArgs#usersLogFile 日志文件路径配置
+ * @see SmartGridLogger#getLogFile(LogType) 日志文件位置
  */
 public class LogToTxtFile {
 	
-	/** 文件输出流，用于写入日志文件 */
-	private static FileOutputStream fileOut;
-	
-	/** 日志写入器，线程安全的PrintWriter实例 */
-	private final static PrintWriter writeLogToFile;
-	
-	/**
-	 * 静态初始化块
-	 * 
-	 * <p>在类加载时自动执行，完成以下初始化工作：</p>
-	 * <ol>
-	 *   <li>根据UsersArgs.usersLogFile配置创建文件输出流</li>
-	 *   <li>基于文件输出流创建PrintWriter实例</li>
-	 *   <li>处理文件创建可能出现的异常</li>
-	 * </ol>
-	 */
-	static {
-		try {
-			// 根据配置文件路径创建日志文件输出流
-			fileOut = new FileOutputStream(new File(UsersArgs.usersLogFile));
-			
-		} catch (FileNotFoundException e) {
-			// 日志文件创建失败时打印异常信息
-			System.err.println("用户日志文件创建失败: " + UsersArgs.usersLogFile);
-			e.printStackTrace();
-		}
-		// 创建基于文件输出流的PrintWriter实例
-		writeLogToFile = new PrintWriter(fileOut);
-	}
+	/** 日志写入器，按行转发到用户日志流 */
+	private final static PrintWriter writeLogToFile = 
+		new PrintWriter(new LogStreamWriter(LogLevel.INFO, LogType.USER));
 	
 	/**
 	 * 获取日志写入器实例
 	 * 
-	 * <p>该方法使用synchronized关键字保证线程安全，
-	 * 多个用户线程可以安全地并发调用此方法获取日志写入器。</p>
+	 * <p>写入器内部按行加锁，多个用户线程可以安全地并发调用此方法获取日志写入器。</p>
 	 * 
 	 * <p>注意事项：</p>
 	 * <ul>
-	 *   <li>写入日志后需要调用flush()方法确保内容及时写入文件</li>
+	 *   <li>每个完整的行作为一条INFO日志写入，flush()不再是必需的</li>
 	 *   <li>所有用户线程共享同一个PrintWriter实例</li>
 	 *   <li>该方法是线程安全的，可以在多线程环境中安全使用</li>
 	 * </ul>
 	 * 
 	 * @return PrintWriter 日志写入器实例
 	 */
-	public synchronized static PrintWriter getWritelogtofile() {
+	public static PrintWriter getWritelogtofile() {
 		return writeLogToFile;
 	}
+	
+	/**
+	 * 检查用户日志是否启用
+	 * 
+	 * <p>级别由 {@link SmartGridLogger} 统一控制，用户日志按INFO级别处理。</p>
+	 * 
+	 * @return 启用返回true
+	 */
+	public static boolean isLogEnabled() {
+		return SmartGridLogger.getInstance().isEnabled(LogLevel.INFO);
+	}
+	
+	/**
+	 * 延迟构造的日志写入
+	 * 
+	 * <p>只有日志启用时才调用supplier并写入，被过滤的日志不拼接字符串、不调用toString。</p>
+	 * 
+	 * @param messageSupplier 日志内容提供者
+	 */
+	public static void log(Supplier<String> messageSupplier) {
+		if (isLogEnabled()) {
+			writeLine(messageSupplier.get());
+		}
+	}
+	
+	/**
+	 * 单参数的模板日志写入
+	 * 
+	 * <p>日志被过滤时不创建参数数组。</p>
+	 * 
+	 * @param template 日志模板
+	 * @param arg 参数
+	 */
+	public static void log(String template, Object arg) {
+		if (isLogEnabled()) {
+			writeLine(MessageTemplate.format(template, arg));
+		}
+	}
+	
+	/**
+	 * 两个参数的模板日志写入
+	 * 
+	 * <p>日志被过滤时不创建参数数组。</p>
+	 * 
+	 * @param template 日志模板
+	 * @param arg1 第一个参数
+	 * @param arg2 第二个参数
+	 */
+	public static void log(String template, Object arg1, Object arg2) {
+		if (isLogEnabled()) {
+			writeLine(MessageTemplate.format(template, arg1, arg2));
+		}
+	}
+	
+	/**
+	 * 模板形式的日志写入
+	 * 
+	 * <p>占位符 "{}" 只在日志启用时才被参数替换。</p>
+	 * 
+	 * @param template 日志模板
+	 * @param args 参数
+	 */
+	public static void log(String template, Object... args) {
+		if (isLogEnabled()) {
+			writeLine(MessageTemplate.format(template, args));
+		}
+	}
+	
+	/**
+	 * 写入一行日志
+	 * 
+	 * @param line 日志内容
+	 */
+	private static void writeLine(String line) {
+		SmartGridLogger.getInstance().logToFile(LogLevel.INFO, LogType.USER, line);
+	}
 
 	/**
 	 * 测试方法
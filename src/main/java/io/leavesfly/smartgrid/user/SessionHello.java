@@ -0,0 +1,42 @@
+package io.leavesfly.smartgrid.user;
+
+import java.io.Serializable;
+
+/**
+ * 会话握手请求
+ * 用户连接建立后发送的第一个对象，携带用户ID和上一次连接得到的会话令牌。
+ * 第一次连接时令牌为null；零售商凭匹配的令牌恢复会话，令牌无效时分配新会话
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class SessionHello implements Serializable {
+
+    private static final long serialVersionUID = 4417019324829051102L;
+
+    private final int userID;
+    private final String sessionToken;
+
+    /**
+     * 构造函数
+     * @param userID 用户ID
+     * @param sessionToken 会话令牌，第一次连接时为null
+     */
+    public SessionHello(int userID, String sessionToken) {
+        this.userID = userID;
+        this.sessionToken = sessionToken;
+    }
+
+    public int getUserID() {
+        return userID;
+    }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionHello{userID=" + userID + ", resuming=" + (sessionToken != null) + "}";
+    }
+}
@@ -112,6 +112,25 @@ public class UserMaxSatisfaConsumVector {
 		return oneUserConsumVector;
 	}
 
+	/**
+	 * 计算指定用户对电价向量的用电响应
+	 * 
+	 * <p>用户ID可以超过UsersArgs.userNum，此时按 userID % UsersArgs.userNum
+	 * 复用已配置用户的参数计算，再把结果中的用户ID换回原ID。
+	 * 网络用户线程与进程内传输共用该方法，保证两者的响应一致。</p>
+	 * 
+	 * @param userID 用户唯一标识符
+	 * @param priceVector 电价向量对象
+	 * @return 新建的用户用电向量对象
+	 */
+	public static OneUserConsumVector respond(int userID, PriceVector priceVector) {
+		OneUserConsumVector oneUserConsumVector = new OneUserConsumVector(
+				userID % UsersArgs.userNum, new int[UsersArgs.timeSlots]);
+		getConsumVectorByPriceVector(oneUserConsumVector, priceVector);
+		oneUserConsumVector.setUserID(userID);
+		return oneUserConsumVector;
+	}
+
 	/**
 	 * 计算单个B类电器在特定时段的用电量
 	 * 
@@ -3,8 +3,14 @@ package io.leavesfly.smartgrid.user;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.net.Socket;
+import java.util.concurrent.ThreadLocalRandom;
 
+import io.leavesfly.smartgrid.retailer.EndOfSession;
 import io.leavesfly.smartgrid.retailer.PriceVector;
+import io.leavesfly.smartgrid.retailer.SessionWelcome;
+import io.leavesfly.smartgrid.util.jfr.FlightRecorderSupport;
+import io.leavesfly.smartgrid.util.jfr.PriceBroadcastEvent;
+import io.leavesfly.smartgrid.util.jfr.UserResponseEvent;
 
 /**
  * 用户线程实现类
@@ -14,18 +20,19 @@ import io.leavesfly.smartgrid.retailer.PriceVector;
  * 
  * <p>核心功能：</p>
  * <ul>
- *   <li>建立与零售商服务器的Socket连接</li>
+ *   <li>建立与零售商服务器的Socket连接，完成会话握手</li>
  *   <li>循环接收服务器发送的电价向量</li>
  *   <li>调用用户满意度算法计算最优用电方案</li>
  *   <li>将用电响应向量发送回服务器</li>
+ *   <li>连接断开时带随机抖动退避重连，凭会话令牌恢复会话</li>
  *   <li>记录运行日志和调试信息</li>
  * </ul>
  * 
  * <p>工作流程：</p>
  * <ol>
- *   <li>连接到零售商服务器</li>
+ *   <li>连接到零售商服务器，发送SessionHello并接收SessionWelcome</li>
  *   <li>接收PriceVector对象</li>
- *   <li>检查是否为结束信号</li>
+ *   <li>检查是否为结束信号，收到EndOfSession时回复EndOfSessionAck</li>
  *   <li>计算用电响应向量</li>
  *   <li>发送OneUserConsumVector对象</li>
  *   <li>记录日志并继续下一轮</li>
@@ -42,6 +49,18 @@ public class UserThread implements Runnable {
 	
 	/** 用户唯一标识符，用于区分不同的用户线程 */
 	private int userID;
+	
+	/** 零售商服务器地址 */
+	private final String host;
+	
+	/** 零售商服务器端口 */
+	private final int port;
+
+	/** 会话令牌，第一次握手成功后保存，断线重连时用于恢复会话 */
+	private String sessionToken;
+
+	/** 连续重连失败的次数，握手成功后清零 */
+	private int reconnectFailures;
 
 	/**
 	 * 构造函数
@@ -56,94 +75,208 @@ public class UserThread implements Runnable {
 	 * @param userID 用户唯一标识符，应在[0, UsersArgs.userNum)范围内
 	 */
 	public UserThread(int userID) {
+		this(userID, UsersArgs.ip, UsersArgs.port);
+	}
+
+	/**
+	 * 连接指定服务器的构造函数
+	 * 
+	 * <p>用户ID可以超过UsersArgs.userNum，此时按 userID % UsersArgs.userNum
+	 * 复用已配置用户的电器与满意度参数，用于模拟大量用户。</p>
+	 * 
+	 * @param userID 用户唯一标识符
+	 * @param host 零售商服务器地址
+	 * @param port 零售商服务器端口
+	 */
+	public UserThread(int userID, String host, int port) {
 		this.userID = userID;
+		this.host = host;
+		this.port = port;
 	}
 
 	/**
 	 * 线程主执行方法
 	 * 
 	 * <p>实现用户线程的主要逻辑，包括网络连接建立、数据交换和日志记录。
-	 * 该方法将持续运行直到接收到结束信号或发生异常。</p>
+	 * 该方法将持续运行直到接收到结束信号，或者连接断开后重连失败。</p>
 	 * 
 	 * <p>主要步骤：</p>
 	 * <ol>
-	 *   <li>建立与零售商服务器的Socket连接</li>
-	 *   <li>初始化对象输入输出流</li>
+	 *   <li>建立与零售商服务器的Socket连接并完成会话握手</li>
 	 *   <li>进入主循环，处理电价信号</li>
-	 *   <li>关闭连接和资源</li>
+	 *   <li>连接断开时按退避时间等待后重连，凭会话令牌恢复会话</li>
 	 * </ol>
 	 * 
 	 * <p>异常处理：</p>
 	 * <ul>
-	 *   <li>网络连接异常</li>
-	 *   <li>数据序列化/反序列化异常</li>
-	 *   <li>I/O操作异常</li>
+	 *   <li>第一次连接失败时不重连，打印异常后退出</li>
+	 *   <li>会话建立后连接断开时重连，连续失败 UsersArgs.reconnectMaxAttempts 次后退出</li>
 	 * </ul>
 	 */
 	@Override
 	public void run() {
-		try {
-			// 步險1: 建立与零售商服务器的Socket连接
-			Socket socket = new Socket(UsersArgs.ip, UsersArgs.port);
+		while (true) {
+			try {
+				runSession();
+				return;
+			} catch (Exception e) {
+				if (sessionToken == null) {
+					// 从未建立会话：服务器不可用或协议不兼容，不重连
+					System.err.println("用户线程 " + userID + " 发生异常:");
+					e.printStackTrace();
+					return;
+				}
+				reconnectFailures++;
+				if (reconnectFailures > UsersArgs.reconnectMaxAttempts) {
+					System.err.println("用户线程 " + userID + " 连续重连失败 " + UsersArgs.reconnectMaxAttempts + " 次，放弃:");
+					e.printStackTrace();
+					return;
+				}
+				long delay = reconnectDelayMillis(reconnectFailures, ThreadLocalRandom.current().nextDouble());
+				if (LogToTxtFile.isLogEnabled()) {
+					String reconnectMsg = "User_" + userID + " 连接断开(" + e + ")，" + delay + "ms后第" + reconnectFailures + "次重连";
+					System.out.println(reconnectMsg);
+					LogToTxtFile.getWritelogtofile().println(reconnectMsg);
+				}
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 计算第 attempt 次重连前的等待时间
+	 * 
+	 * <p>退避上限从 UsersArgs.reconnectBaseDelayMillis 开始每次翻倍，不超过 UsersArgs.reconnectMaxDelayMillis；
+	 * 实际等待时间在上限的一半到上限之间随机分布，零售商重启后大量用户的重连请求被分散开，
+	 * 不会同时涌向零售商的监听线程。</p>
+	 * 
+	 * @param attempt 连续失败次数，从1开始
+	 * @param jitter [0, 1) 之间的随机数
+	 * @return 等待时间（毫秒）
+	 */
+	static long reconnectDelayMillis(int attempt, double jitter) {
+		int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+		long cap = Math.min(UsersArgs.reconnectMaxDelayMillis, UsersArgs.reconnectBaseDelayMillis << doublings);
+		long half = cap / 2;
+		return half + (long) (jitter * (cap - half));
+	}
+
+	/**
+	 * 执行一次连接
+	 * 
+	 * <p>连接零售商并完成会话握手，然后循环处理电价信号，直到接收到结束信号。</p>
+	 * 
+	 * @throws Exception 连接、握手或数据交换过程中的异常
+	 */
+	private void runSession() throws Exception {
+		// 步骤1: 建立与零售商服务器的Socket连接
+		try (Socket socket = new Socket(host, port)) {
 			
-			// 记录连接成功信息
-			String connectionMsg = "User_" + userID + "socket" + socket.getLocalPort() + "...";
-			System.out.println(connectionMsg);
-			LogToTxtFile.getWritelogtofile().println(connectionMsg);
+			// 记录连接成功信息（日志关闭时不构造消息）
+			if (LogToTxtFile.isLogEnabled()) {
+				String connectionMsg = "User_" + userID + "socket" + socket.getLocalPort() + "...";
+				System.out.println(connectionMsg);
+				LogToTxtFile.getWritelogtofile().println(connectionMsg);
+			}
 
-			// 步險2: 初始化对象输入输出流
+			// 步骤2: 初始化对象输入输出流
 			ObjectInputStream objIn = new ObjectInputStream(socket.getInputStream());
 			ObjectOutputStream objOut = new ObjectOutputStream(socket.getOutputStream());
 			
-			// 步險3: 主循环 - 处理电价信号并计算响应
+			// 步骤3: 会话握手，保存令牌供断线重连时恢复会话；恢复的会话立即收到当前价格
+			objOut.writeObject(new SessionHello(userID, sessionToken));
+			objOut.flush();
+			SessionWelcome welcome = (SessionWelcome) objIn.readObject();
+			sessionToken = welcome.getSessionToken();
+			reconnectFailures = 0;
+			if (LogToTxtFile.isLogEnabled()) {
+				String welcomeMsg = "User_" + userID + (welcome.isResumed() ? " 恢复会话" : " 建立会话");
+				System.out.println(welcomeMsg);
+				LogToTxtFile.getWritelogtofile().println(welcomeMsg);
+			}
+			
+			// 步骤4: 主循环 - 处理电价信号并计算响应
 			while (true) {
 			
-				// 3.1 接收零售商发送的电价向量
-				PriceVector priceVector = (PriceVector) objIn.readObject();
+				// 4.1 接收零售商发送的电价向量
+				PriceBroadcastEvent priceEvent = null;
+				if (FlightRecorderSupport.AVAILABLE) {
+					priceEvent = new PriceBroadcastEvent();
+					priceEvent.begin();
+				}
+				Object message = objIn.readObject();
+				EndOfSession endOfSession = message instanceof EndOfSession ? (EndOfSession) message : null;
+				PriceVector priceVector = endOfSession != null ? endOfSession.getFinalPrice() : (PriceVector) message;
+				if (priceEvent != null && priceEvent.shouldCommit()) {
+					priceEvent.round = priceVector.getRound();
+					priceEvent.userId = userID;
+					priceEvent.remotePort = socket.getPort();
+					priceEvent.endOfSession = endOfSession != null || priceVector.isAlgorithmEnded();
+					priceEvent.commit();
+				}
 
-				// 3.2 记录接收到的电价信息
-				String receivedMsg = "User_" + userID + "userID" + priceVector.toString();
-				System.out.println(receivedMsg);
-				LogToTxtFile.getWritelogtofile().println(receivedMsg);
+				// 4.2 记录接收到的电价信息（日志关闭时不构造消息）
+				if (LogToTxtFile.isLogEnabled()) {
+					String receivedMsg = "User_" + userID + "userID" + priceVector.toString();
+					System.out.println(receivedMsg);
+					LogToTxtFile.getWritelogtofile().println(receivedMsg);
+				}
 				
-				// 3.3 检查是否为结束信号
-				if (priceVector.isEnd()) {
+				// 4.3 检查是否为结束信号，会话结束消息需要回复确认，零售商收到确认后即关闭连接
+				if (endOfSession != null || priceVector.isAlgorithmEnded()) {
+					if (endOfSession != null) {
+						objOut.writeObject(new EndOfSessionAck(userID));
+						objOut.flush();
+					}
 					// 接收到结束信号，记录日志并退出循环
-					String endMsg = "priceVector:" + priceVector.toString();
-					System.out.println(endMsg);
-					LogToTxtFile.getWritelogtofile().println(endMsg);
-					LogToTxtFile.getWritelogtofile().flush();
+					if (LogToTxtFile.isLogEnabled()) {
+						String endMsg = "priceVector:" + priceVector.toString();
+						System.out.println(endMsg);
+						LogToTxtFile.getWritelogtofile().println(endMsg);
+						LogToTxtFile.getWritelogtofile().flush();
+					}
 					break;
 				}
-				// 3.4 创建用户用电向量对象
-				int[] consumVector = new int[UsersArgs.timeSlots];
-				OneUserConsumVector oneUserConsumVector = new OneUserConsumVector(
-						userID, consumVector);
-				
-				// 3.5 调用用户满意度算法计算最优用电方案
-				oneUserConsumVector = UserMaxSatisfaConsumVector
-						.getConsumVectorByPriceVector(oneUserConsumVector, priceVector);
+				// 4.4 开始用户响应的JFR事件
+				UserResponseEvent responseEvent = null;
+				if (FlightRecorderSupport.AVAILABLE) {
+					responseEvent = new UserResponseEvent();
+					responseEvent.begin();
+				}
+				// 4.5 调用用户满意度算法计算最优用电方案（按配置用户的参数计算，再换回本用户ID）
+				OneUserConsumVector oneUserConsumVector = UserMaxSatisfaConsumVector
+						.respond(userID, priceVector);
 				
-				// 3.6 将计算结果发送回零售商服务器
+				// 4.6 将计算结果发送回零售商服务器
 				objOut.writeObject(oneUserConsumVector);
+				if (responseEvent != null && responseEvent.shouldCommit()) {
+					responseEvent.round = priceVector.getRound();
+					responseEvent.userId = userID;
+					responseEvent.remotePort = socket.getPort();
+					long total = 0;
+					for (int consumption : oneUserConsumVector.getConsumVector()) {
+						total += consumption;
+					}
+					responseEvent.totalConsumption = total;
+					responseEvent.commit();
+				}
 				
-				// 3.7 记录发送的用电响应信息
-				String responseMsg = "User_" + userID + "userID" + oneUserConsumVector.toString();
-				System.out.println(responseMsg);
-				LogToTxtFile.getWritelogtofile().println(responseMsg);
-				LogToTxtFile.getWritelogtofile().flush();
+				// 4.7 记录发送的用电响应信息（日志关闭时不构造消息）
+				if (LogToTxtFile.isLogEnabled()) {
+					String responseMsg = "User_" + userID + "userID" + oneUserConsumVector.toString();
+					System.out.println(responseMsg);
+					LogToTxtFile.getWritelogtofile().println(responseMsg);
+					LogToTxtFile.getWritelogtofile().flush();
+				}
 			}
 			
-			// 步險4: 清理资源并关闭连接
-			objOut.flush();  // 刷新输出流，确保数据发送完成
-			objIn.close();   // 关闭对象输入流
-			objOut.close();  // 关闭对象输出流
-			socket.close();  // 关闭Socket连接
-
-		} catch (Exception e) {
-			// 异常处理：记录异常信息并打印堆栈跟踪
-			System.err.println("用户线程 " + userID + " 发生异常:");
-			e.printStackTrace();
+			// 步骤5: 刷新输出流，确保数据发送完成，连接由try-with-resources关闭
+			objOut.flush();
 		}
 	}
 
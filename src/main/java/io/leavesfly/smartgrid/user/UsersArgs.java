@@ -40,6 +40,15 @@ public class UsersArgs {
 	/** 零售商服务器端口号 */
 	public final static int port = 1234;
 	
+	/** 断线重连的初始退避时间（毫秒），每次连续失败后翻倍 */
+	public final static long reconnectBaseDelayMillis = 200;
+	
+	/** 断线重连的最大退避时间（毫秒） */
+	public final static long reconnectMaxDelayMillis = 10000;
+	
+	/** 连续重连失败多少次后放弃 */
+	public final static int reconnectMaxAttempts = 30;
+	
 	// ================================
 	// 系统基本配置参数
 	// ================================
@@ -56,7 +65,12 @@ public class UsersArgs {
 	/** B类电器数量（可调节电器） */
 	public final static int B_applianceNum = 4;
 	
-	/** 用户日志文件存储路径 */
+	/**
+	 * 用户日志文件存储路径
+	 * @deprecated 用户日志已统一写入 {@link io.leavesfly.smartgrid.util.logging.SmartGridLogger}
+	 *             的用户日志流，目录由系统属性 smartgrid.log.dir 配置
+	 */
+	@Deprecated
 	public final static String usersLogFile = "E://UsersLog.txt";
 
 	// ================================
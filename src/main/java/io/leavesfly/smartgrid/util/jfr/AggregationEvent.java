@@ -0,0 +1,33 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 用户消耗数据聚合事件
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@Name("io.leavesfly.smartgrid.Aggregation")
+@Label("Consumption Aggregation")
+@Category({"SmartGrid", "Retailer"})
+@Description("Aggregation of all user consumption vectors into system totals")
+public final class AggregationEvent extends Event {
+
+    @Label("Users")
+    public int userCount;
+
+    @Label("Time Slots")
+    public int timeSlots;
+
+    @Label("Total Consumption")
+    public long totalConsumption;
+
+    @Label("Wide")
+    @Description("Whether 64-bit aggregation was used")
+    public boolean wide;
+}
@@ -0,0 +1,36 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 候选价格评估事件，持续时间覆盖价格广播、等待全部用户响应和利润计算
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@Name("io.leavesfly.smartgrid.CandidateEvaluation")
+@Label("Candidate Evaluation")
+@Category({"SmartGrid", "Retailer"})
+@Description("Evaluation of one candidate price vector")
+public final class CandidateEvaluationEvent extends Event {
+
+    @Label("Round")
+    public int round;
+
+    @Label("Position")
+    @Description("Index of the perturbed price, -1 for the initial evaluation")
+    public int position;
+
+    @Label("Candidate Profit")
+    public double candidateProfit;
+
+    @Label("Current Profit")
+    public double currentProfit;
+
+    @Label("Accepted")
+    public boolean accepted;
+}
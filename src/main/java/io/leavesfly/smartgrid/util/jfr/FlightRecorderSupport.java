@@ -0,0 +1,29 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+/**
+ * JDK Flight Recorder 支持检测
+ *
+ * 事件类依赖 jdk.jfr 模块（JDK 11+，或带JFR的JDK 8u272+）。调用方在创建事件前检查
+ * {@link #AVAILABLE}，运行在不支持JFR的JVM上时事件类不会被加载；
+ * 该常量为static final，JIT会消除检查分支
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class FlightRecorderSupport {
+
+    /** 当前JVM是否支持JFR事件 */
+    public static final boolean AVAILABLE = detect();
+
+    private FlightRecorderSupport() {
+    }
+
+    private static boolean detect() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 价格传输事件，零售商端记录向单个用户写出价格，用户端记录接收价格
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@Name("io.leavesfly.smartgrid.PriceBroadcast")
+@Label("Price Broadcast")
+@Category({"SmartGrid", "Network"})
+@Description("Transfer of a price vector between the retailer and one user")
+public final class PriceBroadcastEvent extends Event {
+
+    @Label("Round")
+    @Description("Price round the message belongs to, numbered the same on the retailer and user side")
+    public long round;
+
+    @Label("User ID")
+    public int userId;
+
+    @Label("Remote Port")
+    public int remotePort;
+
+    @Label("End Of Session")
+    public boolean endOfSession;
+}
@@ -0,0 +1,37 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * SAPC算法一轮退火迭代事件，持续时间覆盖本轮所有候选价格的评估
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@Name("io.leavesfly.smartgrid.SapcRound")
+@Label("SAPC Round")
+@Category({"SmartGrid", "Retailer"})
+@Description("One annealing round of the SAPC pricing algorithm")
+public final class SapcRoundEvent extends Event {
+
+    @Label("Round")
+    public int round;
+
+    @Label("Temperature")
+    public float temperature;
+
+    @Label("Candidates")
+    @Description("Number of candidate prices evaluated in this round")
+    public int candidates;
+
+    @Label("Accepted Moves")
+    public int acceptedMoves;
+
+    @Label("Current Profit")
+    @Description("Retailer profit of the current price vector at the end of the round")
+    public double currentProfit;
+}
@@ -0,0 +1,33 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 用户响应事件，零售商端记录接收用户消耗数据，用户端记录计算并发送消耗数据
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@Name("io.leavesfly.smartgrid.UserResponse")
+@Label("User Response")
+@Category({"SmartGrid", "Network"})
+@Description("Transfer of one user consumption response")
+public final class UserResponseEvent extends Event {
+
+    @Label("Round")
+    @Description("Price round the message belongs to, numbered the same on the retailer and user side")
+    public long round;
+
+    @Label("User ID")
+    public int userId;
+
+    @Label("Remote Port")
+    public int remotePort;
+
+    @Label("Total Consumption")
+    public long totalConsumption;
+}
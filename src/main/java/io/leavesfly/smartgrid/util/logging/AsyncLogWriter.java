@@ -0,0 +1,283 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志写线程
+ * 调用线程只把事件放入 {@link LogRingBuffer}，由单个后台线程批量取出、格式化并写入缓冲文件，
+ * 按固定间隔刷新到磁盘，从而把每条日志一次系统调用降为每个刷新周期一次
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class AsyncLogWriter {
+
+    /** 后台写线程的事件处理回调 */
+    interface Handler {
+
+        /** 处理单个事件（格式化并写入缓冲区） */
+        void onEvent(LogEvent event);
+
+        /** 一批事件处理完毕 */
+        void onEndOfBatch();
+
+        /** 刷新所有缓冲区到磁盘 */
+        void onFlush();
+    }
+
+    /** 单批最多处理的事件数 */
+    private static final int MAX_BATCH = 1024;
+
+    /** SAMPLE策略下开始采样的队列占用比例（分子/4） */
+    private static final int SAMPLE_THRESHOLD_QUARTERS = 3;
+
+    /** SAMPLE策略下每多少条保留一条 */
+    private static final int SAMPLE_INTERVAL = 8;
+
+    /** 等待队列清空时每次休眠的时长 */
+    private static final long DRAIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** BLOCK策略下生产者单次等待空位的最长时间（毫秒），防止错过唤醒 */
+    private static final long BLOCK_WAIT_MILLIS = 1L;
+
+    private final LogRingBuffer ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long flushIntervalNanos;
+    private final Handler handler;
+    private final Thread writerThread;
+    private final int sampleThreshold;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    /** BLOCK策略下等待空位的生产者在此监视器上等待，写线程每批处理后统一唤醒 */
+    private final Object spaceAvailable = new Object();
+
+    /** 正在等待空位的生产者数量 */
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    /** 写线程是否处于休眠等待状态，生产者据此决定是否唤醒 */
+    private volatile boolean sleeping;
+
+    /**
+     * 构造并启动后台写线程
+     * @param capacity 队列容量
+     * @param flushIntervalMillis 刷新间隔（毫秒）
+     * @param overflowPolicy 队列满时的处理策略
+     * @param handler 事件处理回调
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    AsyncLogWriter(int capacity, long flushIntervalMillis, OverflowPolicy overflowPolicy, Handler handler) {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("刷新间隔必须为正数: " + flushIntervalMillis);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("溢出策略不能为null");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("事件处理器不能为null");
+        }
+
+        this.ringBuffer = new LogRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.handler = handler;
+        this.sampleThreshold = ringBuffer.capacity() / 4 * SAMPLE_THRESHOLD_QUARTERS;
+
+        this.writerThread = new Thread(this::runLoop, "smartgrid-async-logger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * 发布一条日志事件
+     * @return 事件被接受返回true，被丢弃返回false
+     */
+    boolean publish(LogLevel level, LogType logType, String threadName, long timestamp, String message,
+                    boolean toConsole) {
+        if (overflowPolicy == OverflowPolicy.SAMPLE && ringBuffer.size() >= sampleThreshold &&
+            sampleCounter.getAndIncrement() % SAMPLE_INTERVAL != 0) {
+            droppedCount.increment();
+            return false;
+        }
+
+        if (ringBuffer.tryPublish(level, logType, threadName, timestamp, message, toConsole)) {
+            wakeWriterIfSleeping();
+            return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK &&
+            publishBlocking(level, logType, threadName, timestamp, message, toConsole)) {
+            return true;
+        }
+
+        droppedCount.increment();
+        return false;
+    }
+
+    /**
+     * 队列满时阻塞等待空位，写线程停止后放弃
+     */
+    private boolean publishBlocking(LogLevel level, LogType logType, String threadName,
+                                    long timestamp, String message, boolean toConsole) {
+        blockedProducers.incrementAndGet();
+        try {
+            synchronized (spaceAvailable) {
+                while (running) {
+                    if (ringBuffer.tryPublish(level, logType, threadName, timestamp, message, toConsole)) {
+                        return true;
+                    }
+                    LockSupport.unpark(writerThread);
+                    spaceAvailable.wait(BLOCK_WAIT_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedProducers.decrementAndGet();
+        }
+        return false;
+    }
+
+    /**
+     * 等待队列中已有的事件全部写入缓冲区并刷新到磁盘
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 在超时前完成返回true
+     */
+    boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (ringBuffer.size() > 0) {
+            if (!writerThread.isAlive() || System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(DRAIN_PARK_NANOS);
+        }
+        handler.onFlush();
+        return true;
+    }
+
+    /**
+     * 停止后台写线程，写完剩余事件后返回
+     * @param timeoutMillis 最长等待时间（毫秒）
+     */
+    void shutdown(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(writerThread);
+        synchronized (spaceAvailable) {
+            spaceAvailable.notifyAll();
+        }
+        try {
+            writerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取当前排队的事件数量
+     * @return 队列深度
+     */
+    int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    /**
+     * 获取队列容量
+     * @return 容量
+     */
+    int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * 获取累计丢弃的事件数量
+     * @return 丢弃数量
+     */
+    long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 获取溢出策略
+     * @return 溢出策略
+     */
+    OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    private void wakeWriterIfSleeping() {
+        if (sleeping) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void runLoop() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+
+        while (running || ringBuffer.size() > 0) {
+            int processed = drainBatch();
+            if (processed > 0) {
+                dirty = true;
+            }
+
+            long now = System.nanoTime();
+            if (dirty && now - lastFlush >= flushIntervalNanos) {
+                safeFlush();
+                dirty = false;
+                lastFlush = now;
+            }
+
+            if (processed == 0) {
+                long waitNanos = dirty ? flushIntervalNanos - (now - lastFlush) : flushIntervalNanos;
+                sleeping = true;
+                if (ringBuffer.size() == 0 && running) {
+                    LockSupport.parkNanos(this, Math.max(waitNanos, 1L));
+                }
+                sleeping = false;
+            }
+        }
+
+        safeFlush();
+    }
+
+    private int drainBatch() {
+        int processed;
+        try {
+            processed = ringBuffer.drain(handler::onEvent, MAX_BATCH);
+        } catch (RuntimeException e) {
+            System.err.println("异步日志处理失败: " + e.getMessage());
+            return 1;
+        }
+        if (processed > 0) {
+            if (blockedProducers.get() > 0) {
+                synchronized (spaceAvailable) {
+                    spaceAvailable.notifyAll();
+                }
+            }
+            try {
+                handler.onEndOfBatch();
+            } catch (RuntimeException e) {
+                System.err.println("异步日志处理失败: " + e.getMessage());
+            }
+        }
+        return processed;
+    }
+
+    private void safeFlush() {
+        try {
+            handler.onFlush();
+        } catch (RuntimeException e) {
+            System.err.println("异步日志刷新失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 带缓存的线程安全时间戳格式化器
+ * 同一秒内的日志共享已渲染的 "yyyy-MM-dd HH:mm:ss" 前缀，只在秒数变化时重新格式化，
+ * 毫秒部分直接以数字追加，避免每条日志创建Date对象和调用SimpleDateFormat
+ *
+ * 缓存以不可变对象整体替换，多线程并发读写无需加锁
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class CachedTimestampFormatter {
+
+    /** 秒级前缀格式 */
+    private static final DateTimeFormatter SECOND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** 格式化后时间戳的最大长度 */
+    public static final int MAX_LENGTH = 23;
+
+    private final ZoneId zone;
+
+    private final boolean includeMillis;
+
+    /** 最近一次渲染的秒级前缀 */
+    private volatile CachedSecond cache = new CachedSecond(Long.MIN_VALUE, "");
+
+    /**
+     * 构造函数
+     * @param zone 时区
+     * @param includeMillis 是否输出毫秒部分（".SSS"）
+     * @throws IllegalArgumentException 如果时区为null
+     */
+    public CachedTimestampFormatter(ZoneId zone, boolean includeMillis) {
+        if (zone == null) {
+            throw new IllegalArgumentException("时区不能为null");
+        }
+        this.zone = zone;
+        this.includeMillis = includeMillis;
+    }
+
+    /**
+     * 创建系统默认时区、输出毫秒的格式化器（yyyy-MM-dd HH:mm:ss.SSS）
+     * @return 格式化器
+     */
+    public static CachedTimestampFormatter withMillis() {
+        return new CachedTimestampFormatter(ZoneId.systemDefault(), true);
+    }
+
+    /**
+     * 创建系统默认时区、只到秒的格式化器（yyyy-MM-dd HH:mm:ss）
+     * @return 格式化器
+     */
+    public static CachedTimestampFormatter withSeconds() {
+        return new CachedTimestampFormatter(ZoneId.systemDefault(), false);
+    }
+
+    /**
+     * 将时间戳追加到字符串构建器
+     * @param epochMillis 自1970-01-01T00:00:00Z起的毫秒数
+     * @param target 目标构建器
+     * @return 目标构建器
+     */
+    public StringBuilder formatTo(long epochMillis, StringBuilder target) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond current = cache;
+        if (current.epochSecond != epochSecond) {
+            current = new CachedSecond(epochSecond,
+                SECOND_FORMATTER.format(Instant.ofEpochSecond(epochSecond).atZone(zone)));
+            cache = current;
+        }
+
+        target.append(current.text);
+        if (includeMillis) {
+            int millis = (int) Math.floorMod(epochMillis, 1000L);
+            target.append('.');
+            if (millis < 100) {
+                target.append('0');
+            }
+            if (millis < 10) {
+                target.append('0');
+            }
+            target.append(millis);
+        }
+        return target;
+    }
+
+    /**
+     * 格式化时间戳
+     * @param epochMillis 自1970-01-01T00:00:00Z起的毫秒数
+     * @return 格式化后的字符串
+     */
+    public String format(long epochMillis) {
+        return formatTo(epochMillis, new StringBuilder(MAX_LENGTH)).toString();
+    }
+
+    /**
+     * 格式化当前时间
+     * @return 格式化后的字符串
+     */
+    public String formatNow() {
+        return format(System.currentTimeMillis());
+    }
+
+    /**
+     * 已渲染的秒级前缀（不可变）
+     */
+    private static final class CachedSecond {
+        private final long epochSecond;
+        private final String text;
+
+        private CachedSecond(long epochSecond, String text) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 单个日志流的缓冲文件追加器
+ * 每个日志流拥有独立的锁和缓冲区，不同流之间互不阻塞；文件在首次写入时才打开
+ *
+ * 按 {@link RollingPolicy} 滚动：写入后发现超过大小上限或跨过时间边界时，
+ * 关闭当前文件并重命名为 name.yyyyMMdd-HHmmss 归档，下一次写入重新打开新文件；
+ * 压缩和清理旧归档交给 {@link LogArchiver} 的后台线程，触发滚动的日志调用不等待；
+ * 关闭旧文件（写出最多一个缓冲区）和重命名仍在触发滚动的调用线程中完成。
+ * 首次打开时提交恢复任务，补做上次运行没有完成的压缩。
+ * 大小按已写入文件的字节计算，缓冲区中尚未写出的内容不计入，因此实际大小最多超出一个缓冲区
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class LogAppender {
+
+    /** 写缓冲区大小 */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final DateTimeFormatter ARCHIVE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final File file;
+
+    private final Object lock = new Object();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private Writer writer;
+
+    /** 当前文件已写出的字节数统计流 */
+    private CountingOutputStream counter;
+
+    /** 滚动策略，访问时持有lock */
+    private RollingPolicy policy;
+
+    /** 下一次按时间滚动的时间 */
+    private long nextRollMillis = Long.MAX_VALUE;
+
+    /** 缓冲区中是否有尚未刷新的内容，定时刷新时跳过没有新内容的流 */
+    private boolean dirty;
+
+    /** 是否已提交过上次运行遗留归档的恢复任务 */
+    private boolean recovered;
+
+    /** 打开失败后不再重试，避免每条日志都产生一次失败的系统调用 */
+    private boolean openFailed;
+
+    LogAppender(File file) {
+        this(file, RollingPolicy.NONE);
+    }
+
+    LogAppender(File file, RollingPolicy policy) {
+        this.file = file;
+        this.policy = policy;
+    }
+
+    /**
+     * 更换滚动策略，对之后的写入生效
+     * @param policy 滚动策略
+     */
+    void setRollingPolicy(RollingPolicy policy) {
+        synchronized (lock) {
+            this.policy = policy;
+            if (writer != null) {
+                nextRollMillis = policy.getRollInterval().nextBoundary(System.currentTimeMillis(), zone);
+            }
+        }
+    }
+
+    /**
+     * 追加一行，不刷新
+     * @param line 日志行
+     */
+    void append(CharSequence line) {
+        synchronized (lock) {
+            writeLine(line);
+        }
+    }
+
+    /**
+     * 追加一行并立即刷新到文件
+     * @param line 日志行
+     */
+    void appendAndFlush(CharSequence line) {
+        synchronized (lock) {
+            if (writeLine(line)) {
+                flushQuietly();
+            }
+        }
+    }
+
+    /**
+     * 刷新缓冲区
+     */
+    void flush() {
+        synchronized (lock) {
+            if (dirty) {
+                flushQuietly();
+            }
+        }
+    }
+
+    /**
+     * 刷新并关闭文件，之后的写入会重新打开文件
+     */
+    void close() {
+        synchronized (lock) {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("关闭日志文件失败: " + file + ", 错误: " + e.getMessage());
+                }
+                writer = null;
+                dirty = false;
+                counter = null;
+            }
+        }
+    }
+
+    /**
+     * 获取日志文件
+     * @return 日志文件
+     */
+    File getFile() {
+        return file;
+    }
+
+    private boolean writeLine(CharSequence line) {
+        if (!ensureOpen()) {
+            return false;
+        }
+        try {
+            writer.append(line).append(LINE_SEPARATOR);
+            dirty = true;
+            if (policy.isEnabled()) {
+                rollIfNeeded();
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("写入日志文件失败: " + file + ", 错误: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean ensureOpen() {
+        if (writer != null) {
+            return true;
+        }
+        if (openFailed) {
+            return false;
+        }
+        try {
+            File parentDir = file.getParentFile();
+            if (parentDir != null && !parentDir.exists()) {
+                parentDir.mkdirs();
+            }
+            long now = System.currentTimeMillis();
+            RollingPolicy.RollInterval interval = policy.getRollInterval();
+            // 上次运行留下的文件已属于之前的时间段，先归档再写入
+            if (interval != RollingPolicy.RollInterval.NONE && file.length() > 0
+                    && interval.nextBoundary(file.lastModified(), zone) <= now) {
+                archiveCurrentFile(file.lastModified());
+            }
+            if (!recovered && policy.isEnabled()) {
+                // 上次运行退出时可能有归档没有压缩完
+                LogArchiver.recover(file, policy);
+                recovered = true;
+            }
+            counter = new CountingOutputStream(new FileOutputStream(file, true), file.length());
+            writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), BUFFER_SIZE);
+            nextRollMillis = interval.nextBoundary(now, zone);
+            return true;
+        } catch (IOException e) {
+            openFailed = true;
+            System.err.println("创建日志文件失败: " + file + ", 错误: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void rollIfNeeded() {
+        long maxSize = policy.getMaxFileSizeBytes();
+        boolean sizeExceeded = maxSize > 0 && counter.count >= maxSize;
+        boolean timeExceeded = nextRollMillis != Long.MAX_VALUE && System.currentTimeMillis() >= nextRollMillis;
+        if (!sizeExceeded && !timeExceeded) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("关闭日志文件失败: " + file + ", 错误: " + e.getMessage());
+        }
+        writer = null;
+        dirty = false;
+        counter = null;
+        archiveCurrentFile(System.currentTimeMillis());
+    }
+
+    /**
+     * 把当前文件重命名为归档并提交后台压缩，调用时文件必须已关闭
+     * @param timestamp 归档名中使用的时间
+     */
+    private void archiveCurrentFile(long timestamp) {
+        String baseName = file.getName() + "." + ARCHIVE_FORMAT.format(Instant.ofEpochMilli(timestamp).atZone(zone));
+        File archive = new File(file.getParentFile(), baseName);
+        for (int sequence = 1; archive.exists() || new File(archive.getPath() + LogArchiver.GZIP_SUFFIX).exists();
+                sequence++) {
+            // 序号补零，保证同一秒内的多个归档按名称排序即按滚动顺序排序
+            archive = new File(file.getParentFile(), String.format("%s-%03d", baseName, sequence));
+        }
+        if (!file.renameTo(archive)) {
+            System.err.println("日志文件滚动失败，继续写入原文件: " + file);
+            return;
+        }
+        LogArchiver.submit(archive, file, policy);
+    }
+
+    private void flushQuietly() {
+        dirty = false;
+        if (writer == null) {
+            // 刚刚滚动过，内容已随关闭写出
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("刷新日志文件失败: " + file + ", 错误: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 统计写出字节数的输出流
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out, long initialCount) {
+            super(out);
+            this.count = initialCount;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 日志归档后台处理器
+ * 在单个守护线程中压缩滚动出的归档文件并清理超出保留数量的旧归档，
+ * 写日志的线程只提交任务，不等待压缩完成
+ *
+ * 进程退出时没有压缩完的归档会留下未压缩的归档和 .gz.tmp 临时文件，
+ * 日志流下次打开时由 {@link #recover(File, RollingPolicy)} 删除临时文件并重新压缩
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class LogArchiver {
+
+    /** 压缩文件后缀 */
+    static final String GZIP_SUFFIX = ".gz";
+
+    /** 压缩中的临时文件后缀 */
+    private static final String PARTIAL_SUFFIX = GZIP_SUFFIX + ".tmp";
+
+    /** 归档名中日志文件名之后的部分：滚动时间和同一秒内的可选序号 */
+    private static final Pattern ARCHIVE_STAMP = Pattern.compile("\\d{8}-\\d{6}(-\\d{3})?");
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smartgrid-log-archiver");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private LogArchiver() {
+    }
+
+    /**
+     * 提交归档任务
+     * @param archive 滚动出的归档文件
+     * @param activeFile 当前日志文件，用于匹配同一日志流的旧归档
+     * @param policy 滚动策略
+     * @return 任务句柄
+     */
+    static Future<?> submit(File archive, File activeFile, RollingPolicy policy) {
+        return EXECUTOR.submit(() -> {
+            if (policy.isCompress()) {
+                compress(archive);
+            }
+            if (policy.getMaxArchives() > 0) {
+                prune(activeFile, policy.getMaxArchives());
+            }
+        });
+    }
+
+    /**
+     * 提交恢复任务，处理上次运行中断的压缩：删除残留的临时文件，
+     * 启用压缩时重新压缩未压缩的归档，然后按保留数量清理
+     * @param activeFile 当前日志文件
+     * @param policy 滚动策略
+     * @return 任务句柄
+     */
+    static Future<?> recover(File activeFile, RollingPolicy policy) {
+        return EXECUTOR.submit(() -> {
+            File directory = activeFile.getAbsoluteFile().getParentFile();
+            String prefix = activeFile.getName() + ".";
+            File[] leftovers = directory == null ? null
+                : directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(PARTIAL_SUFFIX));
+            if (leftovers != null) {
+                for (File partial : leftovers) {
+                    if (!partial.delete()) {
+                        System.err.println("删除残留的压缩临时文件失败: " + partial);
+                    }
+                }
+            }
+            if (policy.isCompress()) {
+                File[] uncompressed = directory == null ? null
+                    : directory.listFiles((dir, name) -> name.startsWith(prefix)
+                        && ARCHIVE_STAMP.matcher(name.substring(prefix.length())).matches());
+                if (uncompressed != null) {
+                    for (File archive : uncompressed) {
+                        compress(archive);
+                    }
+                }
+            }
+            if (policy.getMaxArchives() > 0) {
+                prune(activeFile, policy.getMaxArchives());
+            }
+        });
+    }
+
+    /**
+     * 等待此前提交的归档任务全部完成
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 在超时前完成返回true
+     */
+    static boolean awaitIdle(long timeoutMillis) {
+        try {
+            EXECUTOR.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static void compress(File archive) {
+        File target = new File(archive.getPath() + GZIP_SUFFIX);
+        File partial = new File(target.getPath() + ".tmp");
+        try (InputStream in = new FileInputStream(archive);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(partial), 64 * 1024)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            System.err.println("压缩日志归档失败: " + archive + ", 错误: " + e.getMessage());
+            partial.delete();
+            return;
+        }
+        if (!partial.renameTo(target)) {
+            System.err.println("压缩日志归档重命名失败: " + target);
+            partial.delete();
+            return;
+        }
+        if (!archive.delete()) {
+            System.err.println("删除未压缩的日志归档失败: " + archive);
+        }
+    }
+
+    private static void prune(File activeFile, int maxArchives) {
+        File directory = activeFile.getAbsoluteFile().getParentFile();
+        String prefix = activeFile.getName() + ".";
+        File[] archives = directory == null ? null
+            : directory.listFiles((dir, name) -> name.startsWith(prefix) && !name.endsWith(".tmp"));
+        if (archives == null || archives.length <= maxArchives) {
+            return;
+        }
+        // 归档名包含滚动时间，按名称排序即按时间排序
+        Arrays.sort(archives, (a, b) -> stripGzip(a.getName()).compareTo(stripGzip(b.getName())));
+        for (int i = 0; i < archives.length - maxArchives; i++) {
+            if (!archives[i].delete()) {
+                System.err.println("删除旧日志归档失败: " + archives[i]);
+            }
+        }
+    }
+
+    private static String stripGzip(String name) {
+        return name.endsWith(GZIP_SUFFIX) ? name.substring(0, name.length() - GZIP_SUFFIX.length()) : name;
+    }
+}
@@ -0,0 +1,39 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+
+/**
+ * 异步日志事件
+ * 由环形缓冲区预先分配并循环复用，生产者只填充字段，格式化在后台写线程完成
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class LogEvent {
+
+    LogLevel level;
+    LogType logType;
+    String threadName;
+    long timestamp;
+    String message;
+    boolean toConsole;
+
+    void set(LogLevel level, LogType logType, String threadName, long timestamp, String message,
+             boolean toConsole) {
+        this.level = level;
+        this.logType = logType;
+        this.threadName = threadName;
+        this.timestamp = timestamp;
+        this.message = message;
+        this.toConsole = toConsole;
+    }
+
+    /**
+     * 清空引用，避免已处理的消息字符串被缓冲区长期持有
+     */
+    void clear() {
+        this.threadName = null;
+        this.message = null;
+    }
+}
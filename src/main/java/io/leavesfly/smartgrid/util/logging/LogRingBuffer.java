@@ -0,0 +1,129 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者单消费者）
+ *
+ * 每个槽位带一个序号：序号等于写入位置时槽位空闲，等于写入位置+1时事件已发布。
+ * 生产者通过CAS争抢写入位置，消费者只有后台写线程一个，无需任何锁
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class LogRingBuffer {
+
+    /** 事件处理回调 */
+    interface Consumer {
+        void accept(LogEvent event);
+    }
+
+    private final LogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    /** 下一个写入位置 */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 下一个读取位置，只由消费者线程写入 */
+    private volatile long head;
+
+    /**
+     * 构造函数
+     * @param requestedCapacity 期望容量，向上取整为2的幂
+     * @throws IllegalArgumentException 如果容量无效
+     */
+    LogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("缓冲区容量超出范围: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity);
+        if (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+
+        this.events = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 尝试发布一条事件
+     * @return 发布成功返回true，缓冲区已满返回false
+     */
+    boolean tryPublish(LogLevel level, LogType logType, String threadName, long timestamp, String message,
+                       boolean toConsole) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index].set(level, logType, threadName, timestamp, message, toConsole);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 批量取出已发布的事件，只能由单个消费者线程调用
+     * @param consumer 事件处理回调
+     * @param maxBatch 本次最多处理的事件数量
+     * @return 实际处理的事件数量
+     */
+    int drain(Consumer consumer, int maxBatch) {
+        long position = head;
+        int count = 0;
+        try {
+            while (count < maxBatch) {
+                int index = (int) (position & mask);
+                if (sequences.get(index) != position + 1) {
+                    break;
+                }
+                LogEvent event = events[index];
+                try {
+                    consumer.accept(event);
+                } finally {
+                    event.clear();
+                    sequences.lazySet(index, position + events.length);
+                    position++;
+                    count++;
+                }
+            }
+        } finally {
+            head = position;
+        }
+        return count;
+    }
+
+    /**
+     * 获取当前排队的事件数量（近似值）
+     * @return 排队数量
+     */
+    int size() {
+        long size = tail.get() - head;
+        return size <= 0 ? 0 : (int) Math.min(size, events.length);
+    }
+
+    /**
+     * 获取缓冲区容量
+     * @return 容量
+     */
+    int capacity() {
+        return events.length;
+    }
+}
@@ -0,0 +1,105 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import java.io.Writer;
+
+/**
+ * 面向旧日志接口的字符流适配器
+ * 按行缓冲写入的字符，每遇到换行就把完整的一行交给 {@link SmartGridLogger} 写入对应的日志文件，
+ * 使仍然持有 PrintWriter 的旧代码与新代码共用同一个带缓冲的后端
+ *
+ * 持久化由后端负责，因此 {@link #flush()} 不做任何事；{@link #close()} 只提交尚未换行的内容
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class LogStreamWriter extends Writer {
+
+    private final SmartGridLogger logger;
+    private final LogLevel level;
+    private final LogType logType;
+
+    /** 当前未完成的行，访问时持有 {@link Writer#lock} */
+    private final StringBuilder pending = new StringBuilder(128);
+
+    /**
+     * 构造函数，使用全局日志实例
+     * @param level 日志级别
+     * @param logType 日志类型
+     */
+    public LogStreamWriter(LogLevel level, LogType logType) {
+        this(SmartGridLogger.getInstance(), level, logType);
+    }
+
+    /**
+     * 构造函数
+     * @param logger 日志实例
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @throws IllegalArgumentException 如果参数为null
+     */
+    public LogStreamWriter(SmartGridLogger logger, LogLevel level, LogType logType) {
+        if (logger == null || level == null || logType == null) {
+            throw new IllegalArgumentException("日志实例、级别和类型不能为null");
+        }
+        this.logger = logger;
+        this.level = level;
+        this.logType = logType;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+        synchronized (lock) {
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                accept(buffer[i]);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+        synchronized (lock) {
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                accept(str.charAt(i));
+            }
+        }
+    }
+
+    @Override
+    public void write(int c) {
+        synchronized (lock) {
+            accept((char) c);
+        }
+    }
+
+    private void accept(char c) {
+        if (c == '\n') {
+            emitPending();
+        } else if (c != '\r') {
+            pending.append(c);
+        }
+    }
+
+    private void emitPending() {
+        String line = pending.toString();
+        pending.setLength(0);
+        logger.logToFile(level, logType, line);
+    }
+
+    @Override
+    public void flush() {
+        // 后端按批次或逐行刷新，这里无需处理
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (pending.length() > 0) {
+                emitPending();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import java.util.Arrays;
+
+/**
+ * 日志消息模板
+ * 按顺序用参数替换模板中的 "{}" 占位符，只有日志真正输出时才调用，
+ * 因此被级别过滤的日志不会触发参数的 toString
+ *
+ * 参数多于占位符时忽略多余参数，少于占位符时保留未替换的 "{}"；
+ * 基本类型数组和对象数组按 {@link Arrays#toString} 的格式输出
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private MessageTemplate() {
+    }
+
+    /**
+     * 格式化模板
+     * @param template 消息模板
+     * @param args 参数
+     * @return 格式化后的消息
+     */
+    public static String format(String template, Object... args) {
+        if (template == null || args == null || args.length == 0) {
+            return template;
+        }
+        return formatTo(new StringBuilder(template.length() + 16 * args.length), template, args).toString();
+    }
+
+    /**
+     * 将格式化结果追加到字符串构建器
+     * @param target 目标构建器
+     * @param template 消息模板
+     * @param args 参数
+     * @return 目标构建器
+     */
+    public static StringBuilder formatTo(StringBuilder target, String template, Object... args) {
+        if (template == null) {
+            return target.append((String) null);
+        }
+
+        int start = 0;
+        int argIndex = 0;
+        int argCount = args == null ? 0 : args.length;
+        while (argIndex < argCount) {
+            int placeholder = template.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) {
+                break;
+            }
+            target.append(template, start, placeholder);
+            appendArgument(target, args[argIndex++]);
+            start = placeholder + PLACEHOLDER.length();
+        }
+        return target.append(template, start, template.length());
+    }
+
+    private static void appendArgument(StringBuilder target, Object arg) {
+        if (arg == null || !arg.getClass().isArray()) {
+            target.append(arg);
+        } else if (arg instanceof int[]) {
+            target.append(Arrays.toString((int[]) arg));
+        } else if (arg instanceof long[]) {
+            target.append(Arrays.toString((long[]) arg));
+        } else if (arg instanceof float[]) {
+            target.append(Arrays.toString((float[]) arg));
+        } else if (arg instanceof double[]) {
+            target.append(Arrays.toString((double[]) arg));
+        } else if (arg instanceof Object[]) {
+            target.append(Arrays.deepToString((Object[]) arg));
+        } else {
+            target.append(arg);
+        }
+    }
+}
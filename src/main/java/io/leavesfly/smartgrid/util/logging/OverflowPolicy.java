@@ -0,0 +1,19 @@
+package io.leavesfly.smartgrid.util.logging;
+
+/**
+ * 异步日志队列满时的处理策略
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public enum OverflowPolicy {
+
+    /** 阻塞调用线程，直到队列有空位，不丢失任何日志 */
+    BLOCK,
+
+    /** 直接丢弃新日志，调用线程从不等待 */
+    DROP,
+
+    /** 队列接近满时只保留部分日志（按固定间隔采样），队列满时丢弃 */
+    SAMPLE
+}
@@ -0,0 +1,146 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 日志文件滚动策略
+ * 当前文件超过大小上限或跨过时间边界时滚动为归档文件，归档在后台线程中gzip压缩，
+ * 并只保留最近的若干个归档
+ *
+ * 可通过系统属性配置：
+ * smartgrid.log.maxSizeMB（默认64，0表示不按大小滚动）、
+ * smartgrid.log.rollInterval（NONE/HOURLY/DAILY，默认NONE）、
+ * smartgrid.log.maxArchives（默认10，0表示不清理）、
+ * smartgrid.log.compress（默认true）
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class RollingPolicy {
+
+    /** 默认大小上限（MB） */
+    public static final long DEFAULT_MAX_SIZE_MB = 64;
+
+    /** 默认保留的归档数量 */
+    public static final int DEFAULT_MAX_ARCHIVES = 10;
+
+    /** 不滚动的策略 */
+    public static final RollingPolicy NONE = new RollingPolicy(0, RollInterval.NONE, 0, false);
+
+    /**
+     * 按时间滚动的间隔
+     */
+    public enum RollInterval {
+        /** 不按时间滚动 */
+        NONE,
+        /** 每小时整点滚动 */
+        HOURLY,
+        /** 每天零点滚动 */
+        DAILY;
+
+        /**
+         * 计算下一个滚动时间
+         * @param nowMillis 当前时间
+         * @param zone 时区
+         * @return 下一个滚动时间，不按时间滚动时返回 Long.MAX_VALUE
+         */
+        long nextBoundary(long nowMillis, ZoneId zone) {
+            if (this == NONE) {
+                return Long.MAX_VALUE;
+            }
+            ZonedDateTime now = Instant.ofEpochMilli(nowMillis).atZone(zone);
+            ZonedDateTime next = this == HOURLY
+                ? now.truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                : now.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            return next.toInstant().toEpochMilli();
+        }
+    }
+
+    private final long maxFileSizeBytes;
+    private final RollInterval rollInterval;
+    private final int maxArchives;
+    private final boolean compress;
+
+    /**
+     * 构造函数
+     * @param maxFileSizeBytes 单个文件大小上限（字节），0表示不按大小滚动
+     * @param rollInterval 按时间滚动的间隔
+     * @param maxArchives 保留的归档数量，0表示不清理
+     * @param compress 是否gzip压缩归档
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public RollingPolicy(long maxFileSizeBytes, RollInterval rollInterval, int maxArchives, boolean compress) {
+        if (maxFileSizeBytes < 0 || maxArchives < 0 || rollInterval == null) {
+            throw new IllegalArgumentException("滚动策略参数无效");
+        }
+        this.maxFileSizeBytes = maxFileSizeBytes;
+        this.rollInterval = rollInterval;
+        this.maxArchives = maxArchives;
+        this.compress = compress;
+    }
+
+    /**
+     * 根据系统属性创建滚动策略
+     * @return 滚动策略
+     */
+    public static RollingPolicy fromSystemProperties() {
+        return new RollingPolicy(
+            Long.getLong("smartgrid.log.maxSizeMB", DEFAULT_MAX_SIZE_MB) * 1024 * 1024,
+            RollInterval.valueOf(System.getProperty("smartgrid.log.rollInterval", "NONE")),
+            Integer.getInteger("smartgrid.log.maxArchives", DEFAULT_MAX_ARCHIVES),
+            Boolean.parseBoolean(System.getProperty("smartgrid.log.compress", "true")));
+    }
+
+    /**
+     * 是否启用滚动
+     * @return 按大小或时间滚动时返回true
+     */
+    public boolean isEnabled() {
+        return maxFileSizeBytes > 0 || rollInterval != RollInterval.NONE;
+    }
+
+    /**
+     * 获取单个文件大小上限
+     * @return 大小上限（字节），0表示不按大小滚动
+     */
+    public long getMaxFileSizeBytes() {
+        return maxFileSizeBytes;
+    }
+
+    /**
+     * 获取按时间滚动的间隔
+     * @return 滚动间隔
+     */
+    public RollInterval getRollInterval() {
+        return rollInterval;
+    }
+
+    /**
+     * 获取保留的归档数量
+     * @return 归档数量，0表示不清理
+     */
+    public int getMaxArchives() {
+        return maxArchives;
+    }
+
+    /**
+     * 是否gzip压缩归档
+     * @return 压缩返回true
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    @Override
+    public String toString() {
+        return "RollingPolicy{" +
+                "maxFileSizeBytes=" + maxFileSizeBytes +
+                ", rollInterval=" + rollInterval +
+                ", maxArchives=" + maxArchives +
+                ", compress=" + compress +
+                '}';
+    }
+}
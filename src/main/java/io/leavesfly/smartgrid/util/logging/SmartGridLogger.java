@@ -2,10 +2,11 @@ package io.leavesfly.smartgrid.util.logging;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
 import java.io.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 智能电网系统统一日志管理器（重构版）
@@ -18,6 +19,23 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * 4. 自动创建日志目录
  * 5. 资源自动管理和清理
  * 6. 异常处理和错误恢复
+ * 7. 可选异步模式：调用线程只入队，后台线程批量写入并按间隔刷新
+ * 8. 零售商与用户进程的旧日志类统一经由本类的分流追加器写入
+ * 9. 按大小或时间滚动日志文件，归档在后台线程中压缩并按数量清理
+ * 10. 同步模式只写入缓冲区，由后台定时刷新，ERROR级别的日志和关闭时立即刷新
+ * 
+ * 日志目录由系统属性 smartgrid.log.dir 配置，默认为 logs
+ * 
+ * 启用异步模式：调用 {@link #enableAsync(int, long, OverflowPolicy)}，
+ * 或设置系统属性 smartgrid.log.async=true（可选 smartgrid.log.async.capacity、
+ * smartgrid.log.async.flushMillis、smartgrid.log.async.overflow）
+ * 
+ * 同步模式的刷新间隔由系统属性 smartgrid.log.flushMillis 配置，默认200毫秒；
+ * 需要每行都立即写出到文件时设置 smartgrid.log.flushEveryLine=true
+ * 或调用 {@link #setFlushEveryLine(boolean)}
+ * 
+ * 滚动策略默认取自 {@link RollingPolicy#fromSystemProperties()}，
+ * 也可以通过 {@link #setRollingPolicy(RollingPolicy)} 修改
  * 
  * @author SmartGrid Team
  * @version 2.0
@@ -63,13 +81,38 @@ public class SmartGridLogger {
     private static volatile SmartGridLogger instance;
     
     /** 日期格式化器 */
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final CachedTimestampFormatter DATE_FORMAT = CachedTimestampFormatter.withMillis();
+    
+    /** 格式化后日志行除消息以外部分的预估长度 */
+    private static final int LINE_OVERHEAD = 64;
+    
+    /** 默认异步队列容量 */
+    public static final int DEFAULT_ASYNC_CAPACITY = 8192;
+    
+    /** 默认异步刷新间隔（毫秒） */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200L;
+    
+    /** 关闭或刷新时等待异步队列清空的最长时间（毫秒） */
+    private static final long ASYNC_DRAIN_TIMEOUT_MILLIS = 5000L;
+    
+    /** 关闭时等待后台压缩归档的最长时间（毫秒），超时未完成的归档在下次启动时补做 */
+    private static final long ARCHIVE_DRAIN_TIMEOUT_MILLIS = 10_000L;
+    
+    /** 同步模式定时刷新文件追加器的后台线程 */
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smartgrid-log-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /** 各日志流的文件追加器，每个流独立加锁 */
+    private final ConcurrentHashMap<LogType, LogAppender> appenders = new ConcurrentHashMap<>();
     
-    /** PrintWriter缓存 */
-    private final ConcurrentHashMap<LogType, PrintWriter> writerCache = new ConcurrentHashMap<>();
+    /** 异步写线程，为null时使用同步模式 */
+    private volatile AsyncLogWriter asyncWriter;
     
-    /** 读写锁，保护writer缓存 */
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 日志目录 */
+    private final File logDirectory;
     
     /** 当前日志级别 */
     private volatile LogLevel currentLogLevel = LogLevel.INFO;
@@ -77,13 +120,36 @@ public class SmartGridLogger {
     /** 是否启用控制台输出 */
     private volatile boolean consoleEnabled = true;
     
+    /** 同步模式下是否每行都立即刷新 */
+    private volatile boolean flushEveryLine = Boolean.getBoolean("smartgrid.log.flushEveryLine");
+    
+    /** 日志文件滚动策略 */
+    private volatile RollingPolicy rollingPolicy = RollingPolicy.fromSystemProperties();
+    
     /**
      * 私有构造函数，防止外部实例化
      */
     private SmartGridLogger() {
+        this.logDirectory = new File(SmartGridConfig.getLogDirectory());
+        
         // 确保日志目录存在
         createLogDirectoryIfNeeded();
         
+        if (Boolean.getBoolean("smartgrid.log.async")) {
+            enableAsync(
+                Integer.getInteger("smartgrid.log.async.capacity", DEFAULT_ASYNC_CAPACITY),
+                Long.getLong("smartgrid.log.async.flushMillis", DEFAULT_FLUSH_INTERVAL_MILLIS),
+                OverflowPolicy.valueOf(System.getProperty("smartgrid.log.async.overflow", "BLOCK")));
+        }
+        
+        // 异步模式由写线程按自己的间隔刷新，这里只刷新同步写入的缓冲区
+        long flushMillis = Long.getLong("smartgrid.log.flushMillis", DEFAULT_FLUSH_INTERVAL_MILLIS);
+        flusher.scheduleWithFixedDelay(() -> {
+            if (asyncWriter == null) {
+                flushAppenders();
+            }
+        }, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        
         // 注册JVM关闭钩子，确保资源清理
         Runtime.getRuntime().addShutdownHook(new Thread(this::closeAllWriters));
     }
@@ -146,8 +212,87 @@ public class SmartGridLogger {
      * @param throwable 异常对象
      */
     public void error(LogType logType, String message, Throwable throwable) {
+        if (!isEnabled(LogLevel.ERROR)) {
+            return;
+        }
         String fullMessage = message + "\n" + getStackTrace(throwable);
-        log(LogLevel.ERROR, logType, fullMessage);
+        write(LogLevel.ERROR, logType, fullMessage);
+    }
+    
+    /**
+     * 记录调试级别的模板日志，占位符 "{}" 仅在日志启用时才被替换
+     * @param logType 日志类型
+     * @param template 消息模板
+     * @param arg 参数
+     */
+    public void debug(LogType logType, String template, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, logType, MessageTemplate.format(template, arg));
+        }
+    }
+    
+    /**
+     * 记录调试级别的模板日志
+     * @param logType 日志类型
+     * @param template 消息模板
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    public void debug(LogType logType, String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, logType, MessageTemplate.format(template, arg1, arg2));
+        }
+    }
+    
+    /**
+     * 记录信息级别的模板日志，占位符 "{}" 仅在日志启用时才被替换
+     * @param logType 日志类型
+     * @param template 消息模板
+     * @param arg 参数
+     */
+    public void info(LogType logType, String template, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, logType, MessageTemplate.format(template, arg));
+        }
+    }
+    
+    /**
+     * 记录信息级别的模板日志
+     * @param logType 日志类型
+     * @param template 消息模板
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    public void info(LogType logType, String template, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, logType, MessageTemplate.format(template, arg1, arg2));
+        }
+    }
+    
+    /**
+     * 记录任意级别的模板日志
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param template 消息模板
+     * @param args 参数
+     */
+    public void log(LogLevel level, LogType logType, String template, Object... args) {
+        if (isEnabled(level)) {
+            write(level, logType, MessageTemplate.format(template, args));
+        }
+    }
+    
+    /**
+     * 延迟构造消息的日志记录方法
+     * 只有该级别启用时才调用supplier，被过滤的日志不会拼接字符串或调用toString
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param messageSupplier 消息提供者
+     */
+    public void log(LogLevel level, LogType logType, Supplier<String> messageSupplier) {
+        if (isEnabled(level)) {
+            write(level, logType, messageSupplier == null ? null : messageSupplier.get());
+        }
     }
     
     /**
@@ -157,137 +302,192 @@ public class SmartGridLogger {
      * @param message 日志消息
      */
     public void log(LogLevel level, LogType logType, String message) {
-        if (!shouldLog(level)) {
+        if (isEnabled(level)) {
+            write(level, logType, message);
+        }
+    }
+    
+    /**
+     * 只写入日志文件、不输出到控制台的日志记录方法
+     * 供零售商和用户进程中原本只写文件的旧日志类使用
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param message 日志消息
+     */
+    public void logToFile(LogLevel level, LogType logType, String message) {
+        if (isEnabled(level)) {
+            write(level, logType, message, false);
+        }
+    }
+    
+    /**
+     * 只写入日志文件的异常日志记录方法
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param message 日志消息
+     * @param throwable 异常对象
+     */
+    public void logToFile(LogLevel level, LogType logType, String message, Throwable throwable) {
+        if (isEnabled(level)) {
+            write(level, logType, message + "\n" + getStackTrace(throwable), false);
+        }
+    }
+    
+    /**
+     * 输出一条已通过级别检查的日志
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param message 日志消息
+     */
+    private void write(LogLevel level, LogType logType, String message) {
+        write(level, logType, message, consoleEnabled);
+    }
+    
+    /**
+     * 输出一条已通过级别检查的日志
+     * @param level 日志级别
+     * @param logType 日志类型
+     * @param message 日志消息
+     * @param toConsole 是否同时输出到控制台
+     */
+    private void write(LogLevel level, LogType logType, String message, boolean toConsole) {
+        String threadName = Thread.currentThread().getName();
+        long timestamp = System.currentTimeMillis();
+        
+        // 异步模式：只入队，格式化和写入由后台线程完成
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.publish(level, logType, threadName, timestamp, message, toConsole);
             return;
         }
         
-        String formattedMessage = formatMessage(level, logType, message);
+        String formattedMessage = formatMessage(
+            new StringBuilder(LINE_OVERHEAD + (message == null ? 4 : message.length())),
+            level, logType, threadName, timestamp, message).toString();
         
         // 输出到控制台
-        if (consoleEnabled) {
+        if (toConsole) {
             System.out.println(formattedMessage);
         }
         
-        // 输出到文件
-        writeToFile(logType, formattedMessage);
+        // 输出到文件，其余级别的日志留在缓冲区中等待定时刷新
+        LogAppender appender = getOrCreateAppender(logType);
+        if (level == LogLevel.ERROR || flushEveryLine) {
+            appender.appendAndFlush(formattedMessage);
+        } else {
+            appender.append(formattedMessage);
+        }
     }
     
     /**
-     * 格式化日志消息
+     * 格式化日志消息，格式为 [时间] [级别] [类型] [线程] 消息
+     * @param target 目标构建器
      * @param level 日志级别
      * @param logType 日志类型
+     * @param threadName 记录日志的线程名
+     * @param timestampMillis 记录时间（毫秒）
      * @param message 原始消息
-     * @return 格式化后的消息
+     * @return 目标构建器
      */
-    private String formatMessage(LogLevel level, LogType logType, String message) {
-        String timestamp = DATE_FORMAT.format(new Date());
-        String threadName = Thread.currentThread().getName();
-        
-        return String.format("[%s] [%s] [%s] [%s] %s",
-                timestamp, level.getLevelName(), logType.getTypeName().toUpperCase(), threadName, message);
+    private static StringBuilder formatMessage(StringBuilder target, LogLevel level, LogType logType,
+                                               String threadName, long timestampMillis, String message) {
+        target.append('[');
+        DATE_FORMAT.formatTo(timestampMillis, target);
+        // 枚举常量名即为类型名的大写形式
+        return target.append("] [").append(level.getLevelName())
+                     .append("] [").append(logType.name())
+                     .append("] [").append(threadName)
+                     .append("] ").append(message);
     }
     
     /**
-     * 判断是否应该记录该级别的日志
+     * 判断该级别的日志是否会被记录
+     * 构造代价较高的消息前可先调用此方法
      * @param level 日志级别
-     * @return 如果应该记录返回true
+     * @return 如果会被记录返回true
      */
-    private boolean shouldLog(LogLevel level) {
+    public boolean isEnabled(LogLevel level) {
         return level.ordinal() >= currentLogLevel.ordinal();
     }
     
     /**
-     * 写入日志到文件
+     * 获取或创建指定类型的文件追加器
      * @param logType 日志类型
-     * @param message 格式化后的消息
-     */
-    private void writeToFile(LogType logType, String message) {
-        lock.readLock().lock();
-        try {
-            PrintWriter writer = getOrCreateWriter(logType);
-            if (writer != null) {
-                writer.println(message);
-                writer.flush();
-            }
-        } finally {
-            lock.readLock().unlock();
-        }
+     * @return 文件追加器
+     */
+    private LogAppender getOrCreateAppender(LogType logType) {
+        return appenders.computeIfAbsent(logType, type -> new LogAppender(getLogFile(type), rollingPolicy));
     }
     
     /**
-     * 获取或创建指定类型的PrintWriter
-     * @param logType 日志类型
-     * @return PrintWriter实例
-     */
-    private PrintWriter getOrCreateWriter(LogType logType) {
-        PrintWriter writer = writerCache.get(logType);
-        if (writer == null) {
-            lock.writeLock().lock();
-            try {
-                // 双重检查
-                writer = writerCache.get(logType);
-                if (writer == null) {
-                    writer = createWriter(logType);
-                    if (writer != null) {
-                        writerCache.put(logType, writer);
-                    }
-                }
-            } finally {
-                lock.writeLock().unlock();
-            }
+     * 设置日志文件滚动策略，对已打开的日志流同样生效
+     * @param policy 滚动策略，{@link RollingPolicy#NONE} 表示不滚动
+     */
+    public void setRollingPolicy(RollingPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("滚动策略不能为null");
+        }
+        this.rollingPolicy = policy;
+        for (LogAppender appender : appenders.values()) {
+            appender.setRollingPolicy(policy);
         }
-        return writer;
     }
     
     /**
-     * 创建指定类型的PrintWriter
-     * @param logType 日志类型
-     * @return PrintWriter实例，如果创建失败返回null
-     */
-    private PrintWriter createWriter(LogType logType) {
-        try {
-            String logFilePath = getLogFilePath(logType);
-            File logFile = new File(logFilePath);
-            
-            // 确保父目录存在
-            File parentDir = logFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
-            
-            // 创建PrintWriter，启用自动刷新
-            FileWriter fileWriter = new FileWriter(logFile, true);
-            return new PrintWriter(fileWriter, true);
-            
-        } catch (IOException e) {
-            System.err.println("创建日志文件失败: " + logType.getTypeName() + ", 错误: " + e.getMessage());
-            return null;
+     * 获取日志文件滚动策略
+     * @return 滚动策略
+     */
+    public RollingPolicy getRollingPolicy() {
+        return rollingPolicy;
+    }
+    
+    /**
+     * 刷新所有文件追加器
+     */
+    private void flushAppenders() {
+        for (LogAppender appender : appenders.values()) {
+            appender.flush();
         }
     }
     
     /**
-     * 获取指定类型的日志文件路径
+     * 获取指定类型的日志文件
+     * 文件名取自 {@link SmartGridConfig} 中的配置，目录为当前日志目录
      * @param logType 日志类型
-     * @return 日志文件路径
+     * @return 日志文件
      */
-    private String getLogFilePath(LogType logType) {
+    public File getLogFile(LogType logType) {
+        String configuredPath;
         switch (logType) {
             case RETAILER:
-                return SmartGridConfig.RETAILER_LOG_FILE;
+                configuredPath = SmartGridConfig.RETAILER_LOG_FILE;
+                break;
             case USER:
-                return SmartGridConfig.USER_LOG_FILE;
+                configuredPath = SmartGridConfig.USER_LOG_FILE;
+                break;
             case SYSTEM:
-                return "logs/system.log";
+                configuredPath = SmartGridConfig.SYSTEM_LOG_FILE;
+                break;
             default:
-                return "logs/default.log";
+                configuredPath = "default.log";
+                break;
         }
+        return new File(logDirectory, new File(configuredPath).getName());
+    }
+    
+    /**
+     * 获取日志目录
+     * @return 日志目录
+     */
+    public File getLogDirectory() {
+        return logDirectory;
     }
     
     /**
      * 创建日志目录
      */
     private void createLogDirectoryIfNeeded() {
-        File logDir = new File("logs");
+        File logDir = logDirectory;
         if (!logDir.exists()) {
             boolean created = logDir.mkdirs();
             if (!created) {
@@ -313,23 +513,83 @@ public class SmartGridLogger {
     }
     
     /**
-     * 关闭所有PrintWriter
+     * 关闭所有日志文件，异步模式下先写完队列中的日志，然后在限定时间内等待归档压缩完成
      */
     private void closeAllWriters() {
-        lock.writeLock().lock();
-        try {
-            for (PrintWriter writer : writerCache.values()) {
-                if (writer != null) {
-                    writer.flush();
-                    writer.close();
-                }
-            }
-            writerCache.clear();
-        } finally {
-            lock.writeLock().unlock();
+        disableAsync();
+        flusher.shutdown();
+        for (LogAppender appender : appenders.values()) {
+            appender.close();
+        }
+        if (!LogArchiver.awaitIdle(ARCHIVE_DRAIN_TIMEOUT_MILLIS)) {
+            System.err.println("等待日志归档压缩超时，未完成的归档将在下次启动时压缩");
+        }
+    }
+    
+    /**
+     * 启用异步日志模式
+     * 如果已处于异步模式，先写完旧队列再按新参数重建
+     * @param capacity 队列容量（向上取整为2的幂）
+     * @param flushIntervalMillis 刷新间隔（毫秒）
+     * @param overflowPolicy 队列满时的处理策略
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public synchronized void enableAsync(int capacity, long flushIntervalMillis, OverflowPolicy overflowPolicy) {
+        AsyncLogWriter newWriter = new AsyncLogWriter(
+            capacity, flushIntervalMillis, overflowPolicy, new AsyncHandler());
+        AsyncLogWriter oldWriter = asyncWriter;
+        asyncWriter = newWriter;
+        if (oldWriter != null) {
+            oldWriter.shutdown(ASYNC_DRAIN_TIMEOUT_MILLIS);
+        }
+    }
+    
+    /**
+     * 关闭异步日志模式，写完队列中的日志后恢复同步写入
+     */
+    public synchronized void disableAsync() {
+        AsyncLogWriter oldWriter = asyncWriter;
+        asyncWriter = null;
+        if (oldWriter != null) {
+            oldWriter.shutdown(ASYNC_DRAIN_TIMEOUT_MILLIS);
         }
     }
     
+    /**
+     * 检查是否处于异步模式
+     * @return 如果处于异步模式返回true
+     */
+    public boolean isAsyncEnabled() {
+        return asyncWriter != null;
+    }
+    
+    /**
+     * 获取异步队列中等待写入的日志数量，同步模式下为0
+     * @return 队列深度
+     */
+    public int getQueueDepth() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer == null ? 0 : writer.getQueueDepth();
+    }
+    
+    /**
+     * 获取异步队列容量，同步模式下为0
+     * @return 队列容量
+     */
+    public int getQueueCapacity() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer == null ? 0 : writer.getCapacity();
+    }
+    
+    /**
+     * 获取当前异步队列因溢出策略累计丢弃的日志数量，同步模式下为0
+     * @return 丢弃数量
+     */
+    public long getDroppedCount() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer == null ? 0L : writer.getDroppedCount();
+    }
+    
     /**
      * 设置日志级别
      * @param level 新的日志级别
@@ -356,6 +616,23 @@ public class SmartGridLogger {
         this.consoleEnabled = enabled;
     }
     
+    /**
+     * 设置同步模式下是否每行都立即刷新到文件
+     * 关闭时只有ERROR级别的日志立即刷新，其余日志按刷新间隔写出
+     * @param enabled 是否每行刷新
+     */
+    public void setFlushEveryLine(boolean enabled) {
+        this.flushEveryLine = enabled;
+    }
+    
+    /**
+     * 检查同步模式下是否每行都立即刷新
+     * @return 如果每行刷新返回true
+     */
+    public boolean isFlushEveryLine() {
+        return flushEveryLine;
+    }
+    
     /**
      * 检查控制台输出是否启用
      * @return 如果启用返回true
@@ -366,17 +643,50 @@ public class SmartGridLogger {
     
     /**
      * 刷新所有日志写入器
+     * 异步模式下等待已入队的日志全部写入后再刷新
      */
     public void flushAll() {
-        lock.readLock().lock();
-        try {
-            for (PrintWriter writer : writerCache.values()) {
-                if (writer != null) {
-                    writer.flush();
-                }
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.flush(ASYNC_DRAIN_TIMEOUT_MILLIS);
+        } else {
+            flushAppenders();
+        }
+    }
+    
+    /**
+     * 后台写线程的事件处理器
+     * 只在单个写线程中调用，控制台输出按批次合并为一次打印
+     */
+    private final class AsyncHandler implements AsyncLogWriter.Handler {
+        
+        private final StringBuilder consoleBatch = new StringBuilder();
+        
+        /** 复用的行缓冲区，写线程内格式化不产生中间字符串 */
+        private final StringBuilder line = new StringBuilder(256);
+        
+        @Override
+        public void onEvent(LogEvent event) {
+            line.setLength(0);
+            formatMessage(line, event.level, event.logType, event.threadName,
+                          event.timestamp, event.message);
+            getOrCreateAppender(event.logType).append(line);
+            if (event.toConsole) {
+                consoleBatch.append(line).append(System.lineSeparator());
             }
-        } finally {
-            lock.readLock().unlock();
+        }
+        
+        @Override
+        public void onEndOfBatch() {
+            if (consoleBatch.length() > 0) {
+                System.out.print(consoleBatch);
+                consoleBatch.setLength(0);
+            }
+        }
+        
+        @Override
+        public void onFlush() {
+            flushAppenders();
         }
     }
     
@@ -388,12 +698,12 @@ public class SmartGridLogger {
      */
     @Deprecated
     public static class RetailerLogger {
-        private static PrintWriter writer;
+        private static LogAppender appender;
         
         public static synchronized PrintWriter getWritelogtofile() {
-            if (writer == null) {
+            if (appender == null) {
                 SmartGridLogger logger = SmartGridLogger.getInstance();
-                writer = logger.getOrCreateWriter(LogType.RETAILER);
+                appender = logger.getOrCreateAppender(LogType.RETAILER);
             }
             return new PrintWriter(System.out) {
                 @Override
@@ -415,12 +725,12 @@ public class SmartGridLogger {
      */
     @Deprecated
     public static class UserLogger {
-        private static PrintWriter writer;
+        private static LogAppender appender;
         
         public static synchronized PrintWriter getWritelogtofile() {
-            if (writer == null) {
+            if (appender == null) {
                 SmartGridLogger logger = SmartGridLogger.getInstance();
-                writer = logger.getOrCreateWriter(LogType.USER);
+                appender = logger.getOrCreateAppender(LogType.USER);
             }
             return new PrintWriter(System.out) {
                 @Override
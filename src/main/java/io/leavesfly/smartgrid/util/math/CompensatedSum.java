@@ -0,0 +1,57 @@
+package io.leavesfly.smartgrid.util.math;
+
+/**
+ * 补偿求和累加器（Kahan-Babuška / Neumaier算法）
+ * 在累加量级差异很大的double值时保留被舍入掉的低位误差，
+ * 用于大规模用户下收益、成本等求和，避免精度随项数增加而丢失
+ *
+ * 该类不是线程安全的，通常作为方法内的局部变量使用
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class CompensatedSum {
+
+    /** 当前累加和 */
+    private double sum;
+
+    /** 累计的舍入误差补偿量 */
+    private double compensation;
+
+    /**
+     * 累加一个值
+     * @param value 要累加的值
+     * @return 当前累加器，便于链式调用
+     */
+    public CompensatedSum add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+        return this;
+    }
+
+    /**
+     * 获取补偿后的累加结果
+     * @return 累加结果
+     */
+    public double value() {
+        return sum + compensation;
+    }
+
+    /**
+     * 重置累加器
+     */
+    public void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "CompensatedSum{" + value() + "}";
+    }
+}
@@ -0,0 +1,59 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计读入字节数的输入流
+ * 多个连接可以共用同一个计数器
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class ByteCountingInputStream extends FilterInputStream {
+
+    private final LongAdder counter;
+
+    /**
+     * 构造函数
+     * @param in 底层输入流
+     * @param counter 字节计数器
+     * @throws IllegalArgumentException 如果参数为null
+     */
+    public ByteCountingInputStream(InputStream in, LongAdder counter) {
+        super(in);
+        if (in == null || counter == null) {
+            throw new IllegalArgumentException("输入流和计数器不能为null");
+        }
+        this.counter = counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            counter.increment();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = in.read(b, off, len);
+        if (count > 0) {
+            counter.add(count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        if (skipped > 0) {
+            counter.add(skipped);
+        }
+        return skipped;
+    }
+}
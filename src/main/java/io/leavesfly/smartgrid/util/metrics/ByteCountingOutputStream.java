@@ -0,0 +1,44 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计写出字节数的输出流
+ * 多个连接可以共用同一个计数器，计数只在写出成功后累加
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class ByteCountingOutputStream extends FilterOutputStream {
+
+    private final LongAdder counter;
+
+    /**
+     * 构造函数
+     * @param out 底层输出流
+     * @param counter 字节计数器
+     * @throws IllegalArgumentException 如果参数为null
+     */
+    public ByteCountingOutputStream(OutputStream out, LongAdder counter) {
+        super(out);
+        if (out == null || counter == null) {
+            throw new IllegalArgumentException("输出流和计数器不能为null");
+        }
+        this.counter = counter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        counter.increment();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        counter.add(len);
+    }
+}
@@ -0,0 +1,167 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对数-线性分桶的延迟直方图（HDR风格）
+ *
+ * 小于32的值每个值一个桶；更大的值按最高位所在的2的幂分组，每组再线性分为32个子桶，
+ * 因此任意值的相对误差不超过1/32（约3%），而桶数固定为1888个，与值域无关。
+ * 记录一次只需一次计算桶索引和三次无锁累加，可在热点路径上并发调用
+ *
+ * 读取的统计值是近似快照，记录与读取并发时不保证各统计值之间严格一致
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一个值，负值按0记录
+     * @param value 记录值，通常为纳秒
+     */
+    public void record(long value) {
+        long normalized = value < 0 ? 0 : value;
+        buckets.incrementAndGet(bucketIndex(normalized));
+        count.increment();
+        sum.add(normalized);
+        max.accumulate(normalized);
+    }
+
+    /**
+     * 记录从起始时间到当前的纳秒数
+     * @param startNanos {@link System#nanoTime()} 起始时间
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 获取记录次数
+     * @return 记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 获取记录值之和
+     * @return 记录值之和
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * 获取平均值
+     * @return 平均值，没有记录时返回0
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大值，没有记录时返回0
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 获取指定百分位的近似值
+     * 返回所在桶的上界，且不超过已记录的最大值
+     * @param percentile 百分位，取值范围 [0, 100]
+     * @return 百分位值，没有记录时返回0
+     * @throws IllegalArgumentException 如果百分位超出范围
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] result = new long[1];
+        getValuesAtPercentiles(new double[]{percentile}, result);
+        return result[0];
+    }
+
+    /**
+     * 一次遍历获取多个百分位的近似值，不分配内存
+     * @param percentiles 百分位数组，必须按升序排列，取值范围 [0, 100]
+     * @param result 结果数组，长度不小于百分位数组
+     * @throws IllegalArgumentException 如果百分位超出范围或未按升序排列
+     */
+    public void getValuesAtPercentiles(double[] percentiles, long[] result) {
+        for (int p = 0; p < percentiles.length; p++) {
+            double percentile = percentiles[p];
+            if (percentile < 0.0 || percentile > 100.0 || Double.isNaN(percentile)) {
+                throw new IllegalArgumentException("百分位超出范围: " + percentile);
+            }
+            if (p > 0 && percentile < percentiles[p - 1]) {
+                throw new IllegalArgumentException("百分位必须按升序排列");
+            }
+        }
+
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += buckets.get(i);
+        }
+        long maxValue = getMax();
+
+        int p = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && p < percentiles.length && total > 0; i++) {
+            seen += buckets.get(i);
+            while (p < percentiles.length && seen >= target(percentiles[p], total)) {
+                result[p++] = Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        // 没有记录，或遍历期间有并发记录导致计数不足时，剩余百分位取最大值
+        while (p < percentiles.length) {
+            result[p++] = maxValue;
+        }
+    }
+
+    private static long target(double percentile, long total) {
+        return Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+    }
+
+    /**
+     * 清空所有记录
+     * 与记录并发调用时，并发记录的值可能部分保留
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,91 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 基于JDK内置HTTP服务器的指标端点
+ * 在 /metrics 路径以Prometheus文本格式输出指标，使用单个守护线程处理抓取请求
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class MetricsHttpServer implements Closeable {
+
+    /** 指标路径 */
+    public static final String METRICS_PATH = "/metrics";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * 启动指标端点
+     * @param address 监听地址，端口为0时自动分配
+     * @param exporter Prometheus导出器
+     * @return 已启动的指标端点
+     * @throws IOException 如果端口绑定失败
+     */
+    public static MetricsHttpServer start(InetSocketAddress address, PrometheusExporter exporter) throws IOException {
+        if (address == null || exporter == null) {
+            throw new IllegalArgumentException("监听地址和导出器不能为null");
+        }
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smartgrid-metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(METRICS_PATH, exchange -> handle(exchange, exporter));
+        server.start();
+        return new MetricsHttpServer(server, executor);
+    }
+
+    private static void handle(HttpExchange exchange, PrometheusExporter exporter) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            exporter.writeTo((buffer, length) -> {
+                exchange.sendResponseHeaders(200, head ? -1 : length);
+                if (!head) {
+                    OutputStream body = exchange.getResponseBody();
+                    body.write(buffer, 0, length);
+                }
+            });
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 获取实际监听的端口
+     * @return 端口号
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 停止指标端点
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,237 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * 指标注册表
+ * 按名称管理分段计数器（{@link LongAdder}）、延迟直方图和只读指标，
+ * 并可整体注册为一个JMX MBean，在JConsole或jcmd中查看
+ *
+ * 热点路径应在初始化时取得计数器和直方图的引用并缓存，避免每次按名称查找
+ *
+ * MBean属性命名：计数器和只读指标使用原名；直方图展开为
+ * name.count、name.meanMicros、name.p50Micros、name.p99Micros、name.maxMicros（记录值按纳秒处理）
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * 获取或创建计数器
+     * @param name 指标名称
+     * @return 计数器
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(requireName(name), key -> new LongAdder());
+    }
+
+    /**
+     * 获取或创建延迟直方图
+     * @param name 指标名称
+     * @return 直方图
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(requireName(name), key -> new LatencyHistogram());
+    }
+
+    /**
+     * 注册只读指标，同名指标会被替换
+     * @param name 指标名称
+     * @param supplier 取值函数，读取指标时调用
+     * @throws IllegalArgumentException 如果取值函数为null
+     */
+    public void gauge(String name, DoubleSupplier supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("取值函数不能为null");
+        }
+        gauges.put(requireName(name), supplier);
+    }
+
+    /**
+     * 获取全部计数器（按名称排序的只读视图）
+     * @return 计数器
+     */
+    public Map<String, LongAdder> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * 获取全部直方图（按名称排序的只读视图）
+     * @return 直方图
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * 获取全部只读指标（按名称排序的只读视图）
+     * @return 只读指标
+     */
+    public Map<String, DoubleSupplier> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * 清空全部计数器和直方图
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * 注册到平台MBean服务器，已注册同名MBean时先注销
+     * @param objectName MBean对象名
+     * @throws JMException 如果对象名无效或注册失败
+     */
+    public void registerMBean(String objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(new RegistryMBean(), name);
+    }
+
+    /**
+     * 从平台MBean服务器注销
+     * @param objectName MBean对象名
+     * @throws JMException 如果对象名无效或注销失败
+     */
+    public void unregisterMBean(String objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static String requireName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("指标名称不能为空");
+        }
+        return name;
+    }
+
+    private static double nanosToMicros(double nanos) {
+        return nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * 注册表的动态MBean视图，属性列表随注册表内容变化
+     */
+    private final class RegistryMBean implements DynamicMBean {
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            LongAdder counter = counters.get(attribute);
+            if (counter != null) {
+                return counter.sum();
+            }
+            DoubleSupplier gauge = gauges.get(attribute);
+            if (gauge != null) {
+                return gauge.getAsDouble();
+            }
+
+            int dot = attribute.lastIndexOf('.');
+            LatencyHistogram histogram = dot < 0 ? null : histograms.get(attribute.substring(0, dot));
+            if (histogram != null) {
+                switch (attribute.substring(dot + 1)) {
+                    case "count":
+                        return histogram.getCount();
+                    case "meanMicros":
+                        return nanosToMicros(histogram.getMean());
+                    case "p50Micros":
+                        return nanosToMicros(histogram.getValueAtPercentile(50));
+                    case "p99Micros":
+                        return nanosToMicros(histogram.getValueAtPercentile(99));
+                    case "maxMicros":
+                        return nanosToMicros(histogram.getMax());
+                    default:
+                        break;
+                }
+            }
+            throw new AttributeNotFoundException("指标不存在: " + attribute);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("指标只读: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException e) {
+                    // 按JMX约定忽略不存在的属性
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if ("reset".equals(actionName)) {
+                reset();
+                return null;
+            }
+            throw new ReflectionException(new NoSuchMethodException(actionName), "操作不存在: " + actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : counters.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", "计数器", true, false, false));
+            }
+            for (String name : gauges.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "double", "只读指标", true, false, false));
+            }
+            for (String name : histograms.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name + ".count", "long", "记录次数", true, false, false));
+                attributes.add(new MBeanAttributeInfo(name + ".meanMicros", "double", "平均值（微秒）", true, false, false));
+                attributes.add(new MBeanAttributeInfo(name + ".p50Micros", "double", "中位数（微秒）", true, false, false));
+                attributes.add(new MBeanAttributeInfo(name + ".p99Micros", "double", "P99（微秒）", true, false, false));
+                attributes.add(new MBeanAttributeInfo(name + ".maxMicros", "double", "最大值（微秒）", true, false, false));
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo(
+                "reset", "清空计数器和直方图", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(MetricsRegistry.class.getName(), "SmartGrid指标注册表",
+                attributes.toArray(new MBeanAttributeInfo[0]), null,
+                new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Prometheus文本格式（0.0.4）导出器
+ * 把 {@link MetricsRegistry} 中的指标渲染为Prometheus可抓取的文本：
+ * 计数器导出为 counter（名称加 _total），只读指标导出为 gauge，
+ * 延迟直方图按秒导出为 summary（0.5/0.9/0.99/1 分位以及 _sum、_count）
+ *
+ * 指标名由命名空间加驼峰转下划线的注册名组成，例如 broadcastLatency 导出为
+ * namespace_broadcast_latency_seconds。渲染复用同一个字符缓冲区和字节缓冲区，
+ * 只在抓取线程上执行，读取指标不需要任何锁
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class PrometheusExporter {
+
+    /** 导出内容类型 */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 100.0};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "1"};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * 自定义指标收集器，用于输出带标签等注册表无法表达的指标
+     */
+    public interface Collector {
+        /**
+         * 向输出追加指标文本
+         * @param exporter 导出器，提供格式化辅助方法
+         * @param out 输出缓冲区
+         */
+        void collect(PrometheusExporter exporter, StringBuilder out);
+    }
+
+    private final MetricsRegistry registry;
+    private final String namespace;
+    private final List<Collector> collectors = new CopyOnWriteArrayList<>();
+    
+    /** 注册名到指标名的缓存，避免每次抓取重新拼接 */
+    private final Map<String, String> metricNames = new ConcurrentHashMap<>();
+
+    /** 复用的渲染缓冲区，访问时持有this锁 */
+    private final StringBuilder text = new StringBuilder(8 * 1024);
+    private byte[] bytes = new byte[8 * 1024];
+    private final long[] quantileValues = new long[PERCENTILES.length];
+
+    /**
+     * 构造函数
+     * @param registry 指标注册表
+     * @param namespace 指标名前缀，例如 smartgrid_retailer
+     * @throws IllegalArgumentException 如果参数为空
+     */
+    public PrometheusExporter(MetricsRegistry registry, String namespace) {
+        if (registry == null || namespace == null || namespace.isEmpty()) {
+            throw new IllegalArgumentException("指标注册表和命名空间不能为空");
+        }
+        this.registry = registry;
+        this.namespace = namespace;
+    }
+
+    /**
+     * 添加自定义收集器
+     * @param collector 收集器
+     */
+    public void addCollector(Collector collector) {
+        if (collector == null) {
+            throw new IllegalArgumentException("收集器不能为null");
+        }
+        collectors.add(collector);
+    }
+
+    /**
+     * 渲染全部指标
+     * @return 指标文本
+     */
+    public synchronized String render() {
+        return renderText().toString();
+    }
+
+    /**
+     * 渲染全部指标，编码到复用的字节缓冲区后交给回调写出
+     * 缓冲区只在回调期间有效
+     * @param sink 字节输出回调
+     * @throws IOException 如果输出失败
+     */
+    public synchronized void writeTo(ByteSink sink) throws IOException {
+        StringBuilder out = renderText();
+        int length = out.length();
+        if (bytes.length < length * 3) {
+            bytes = new byte[Math.max(length * 3, bytes.length * 2)];
+        }
+        int size = encodeUtf8(out, bytes);
+        sink.write(bytes, size);
+    }
+
+    /**
+     * 字节输出回调
+     */
+    public interface ByteSink {
+        /**
+         * 写出字节
+         * @param buffer 字节缓冲区
+         * @param length 有效长度
+         * @throws IOException 如果输出失败
+         */
+        void write(byte[] buffer, int length) throws IOException;
+    }
+
+    private StringBuilder renderText() {
+        StringBuilder out = text;
+        out.setLength(0);
+
+        for (Map.Entry<String, LongAdder> entry : registry.getCounters().entrySet()) {
+            String name = metricName(entry.getKey() + "_total");
+            appendType(out, name, "counter");
+            appendSample(out, name, null, null, entry.getValue().sum());
+        }
+        for (Map.Entry<String, DoubleSupplier> entry : registry.getGauges().entrySet()) {
+            String name = metricName(entry.getKey());
+            appendType(out, name, "gauge");
+            appendSample(out, name, null, null, entry.getValue().getAsDouble());
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            String name = metricName(entry.getKey() + "_seconds");
+            LatencyHistogram histogram = entry.getValue();
+            appendType(out, name, "summary");
+            histogram.getValuesAtPercentiles(PERCENTILES, quantileValues);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                appendSample(out, name, "quantile", QUANTILE_LABELS[i], quantileValues[i] / NANOS_PER_SECOND);
+            }
+            appendSample(out, metricName(entry.getKey() + "_seconds_sum"), null, null,
+                histogram.getSum() / NANOS_PER_SECOND);
+            appendSample(out, metricName(entry.getKey() + "_seconds_count"), null, null, histogram.getCount());
+        }
+        for (Collector collector : collectors) {
+            collector.collect(this, out);
+        }
+        return out;
+    }
+
+    /**
+     * 将注册名转换为带命名空间的Prometheus指标名
+     * @param registeredName 注册名
+     * @return 指标名
+     */
+    public String metricName(String registeredName) {
+        return metricNames.computeIfAbsent(registeredName, this::toMetricName);
+    }
+
+    private String toMetricName(String registeredName) {
+        StringBuilder name = new StringBuilder(namespace.length() + registeredName.length() + 8);
+        name.append(namespace).append('_');
+        for (int i = 0; i < registeredName.length(); i++) {
+            char c = registeredName.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    name.append('_');
+                }
+                name.append(Character.toLowerCase(c));
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_') {
+                name.append(c);
+            } else {
+                name.append('_');
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * 追加类型声明行
+     * @param out 输出缓冲区
+     * @param name 指标名
+     * @param type 指标类型
+     */
+    public static void appendType(StringBuilder out, String name, String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * 追加一个样本行
+     * @param out 输出缓冲区
+     * @param name 指标名
+     * @param labelName 标签名，为null时不输出标签
+     * @param labelValue 标签值
+     * @param value 样本值
+     */
+    public static void appendSample(StringBuilder out, String name, String labelName, String labelValue,
+                                    double value) {
+        out.append(name);
+        if (labelName != null) {
+            out.append('{').append(labelName).append("=\"");
+            appendEscaped(out, labelValue);
+            out.append("\"}");
+        }
+        out.append(' ');
+        appendValue(out, value);
+        out.append('\n');
+    }
+
+    private static void appendValue(StringBuilder out, double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (value == Double.POSITIVE_INFINITY) {
+            out.append("+Inf");
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            out.append("-Inf");
+        } else if (value == (long) value && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static int encodeUtf8(CharSequence text, byte[] target) {
+        int position = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                target[position++] = (byte) c;
+            } else if (c < 0x800) {
+                target[position++] = (byte) (0xC0 | (c >> 6));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                target[position++] = (byte) (0xF0 | (codePoint >> 18));
+                target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                target[position++] = (byte) (0xE0 | (c >> 12));
+                target[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,120 @@
+package io.leavesfly.smartgrid.util.random;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 可复现的随机数源
+ * 基于 {@link SplittableRandom}，相同种子产生相同序列，便于对比不同算法或重复一次运行；
+ * 需要在多个线程中使用时，用 {@link #split()} 为每个线程派生独立的随机数源，
+ * 各自推进，互不竞争。一次运行通常用 {@link #forRun()} 创建一个根随机数源，
+ * 再按固定顺序为每个工作线程或搜索链派生
+ *
+ * 该类不是线程安全的，一个实例只应由一个线程使用
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class RandomSource {
+
+    /** 指定运行种子的系统属性，未设置时每次运行使用不同的随机种子 */
+    public static final String SEED_PROPERTY = "smartgrid.random.seed";
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * 构造函数
+     * @param seed 随机种子
+     */
+    public RandomSource(long seed) {
+        this(seed, new SplittableRandom(seed));
+    }
+
+    private RandomSource(long seed, SplittableRandom random) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /**
+     * 创建一次运行的根随机数源
+     * 种子取系统属性 {@value #SEED_PROPERTY}，未设置时随机选取；
+     * 用 {@link #getSeed()} 记录实际种子后，以同一种子重新运行即可复现
+     * @return 根随机数源
+     */
+    public static RandomSource forRun() {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        return new RandomSource(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 派生一个独立的随机数源
+     * 派生结果由当前状态决定，因此按相同顺序派生可以复现
+     * @return 新的随机数源
+     */
+    public RandomSource split() {
+        SplittableRandom child = random.split();
+        return new RandomSource(seed, child);
+    }
+
+    /**
+     * 生成 [0, 1) 上均匀分布的double
+     * @return 随机数
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * 生成 [origin, bound) 上均匀分布的float
+     * @param origin 下界（包含）
+     * @param bound 上界（不包含）
+     * @return 随机数
+     * @throws IllegalArgumentException 如果下界不小于上界
+     */
+    public float nextFloat(float origin, float bound) {
+        if (!(origin < bound)) {
+            throw new IllegalArgumentException("随机数范围无效: [" + origin + ", " + bound + ")");
+        }
+        float value = (float) (origin + random.nextDouble() * (bound - origin));
+        // double转float可能舍入到上界
+        return value < bound ? value : Math.nextDown(bound);
+    }
+
+    /**
+     * 生成 [0, bound) 上均匀分布的int
+     * @param bound 上界（不包含）
+     * @return 随机数
+     * @throws IllegalArgumentException 如果上界不是正数
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * 生成 [origin, bound) 上均匀分布的int
+     * @param origin 下界（包含）
+     * @param bound 上界（不包含）
+     * @return 随机数
+     * @throws IllegalArgumentException 如果下界不小于上界
+     */
+    public int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    /**
+     * 生成随机long，常用于为其他组件派生种子
+     * @return 随机数
+     */
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * 获取构造时的种子，派生出的随机数源返回根种子
+     * @return 种子
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,101 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 优化轨迹CSV导出工具
+ * 每条记录输出一行：round,position,temperature,accepted,profit,price_0..price_n,consumption_0..consumption_n
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class TraceCsvExporter {
+
+    private TraceCsvExporter() {
+    }
+
+    /**
+     * 导出轨迹到CSV文件
+     * @param reader 轨迹读取器
+     * @param csvFile 目标CSV文件
+     * @return 导出的记录数量
+     * @throws IOException 如果读取或写入失败
+     */
+    public static long export(TraceReader reader, Path csvFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            return export(reader, writer);
+        }
+    }
+
+    /**
+     * 导出轨迹到字符流
+     * @param reader 轨迹读取器
+     * @param writer 目标字符流，调用方负责关闭
+     * @return 导出的记录数量
+     * @throws IOException 如果读取或写入失败
+     */
+    public static long export(TraceReader reader, Writer writer) throws IOException {
+        int timeSlots = reader.getTimeSlots();
+        if (timeSlots < 0) {
+            return 0;
+        }
+
+        StringBuilder line = new StringBuilder(64 + timeSlots * 24);
+        line.append("round,position,temperature,accepted,profit");
+        for (int i = 0; i < timeSlots; i++) {
+            line.append(",price_").append(i);
+        }
+        for (int i = 0; i < timeSlots; i++) {
+            line.append(",consumption_").append(i);
+        }
+        writer.write(line.append('\n').toString());
+
+        try {
+            return reader.forEach(record -> {
+                line.setLength(0);
+                line.append(record.getRound()).append(',')
+                    .append(record.getPosition()).append(',')
+                    .append(record.getTemperature()).append(',')
+                    .append(record.isAccepted() ? 1 : 0).append(',')
+                    .append(record.getProfit());
+                for (int i = 0; i < timeSlots; i++) {
+                    line.append(',').append(record.getPrice(i));
+                }
+                for (int i = 0; i < timeSlots; i++) {
+                    line.append(',').append(record.getConsumption(i));
+                }
+                line.append('\n');
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 命令行入口
+     * 用法: TraceCsvExporter &lt;轨迹目录&gt; &lt;轨迹名称&gt; &lt;CSV文件&gt;
+     *
+     * @param args 命令行参数
+     * @throws IOException 如果读取或写入失败
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("用法: TraceCsvExporter <轨迹目录> <轨迹名称> <CSV文件>");
+            return;
+        }
+        long count = export(new TraceReader(Paths.get(args[0]), args[1]), Paths.get(args[2]));
+        System.out.println("已导出 " + count + " 条轨迹记录到 " + args[2]);
+    }
+}
@@ -0,0 +1,89 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * 优化轨迹文件格式定义
+ *
+ * 每个分段文件由32字节文件头和若干定长记录组成，全部采用小端字节序：
+ * <pre>
+ * 文件头: magic(int) version(int) timeSlots(int) recordSize(int)
+ *        segmentIndex(int) capacity(int) recordCount(int) reserved(int)
+ * 记录:   round(int) position(int) temperature(float) flags(int) profit(double)
+ *        prices(float[timeSlots]，补齐到8字节) consumptions(long[timeSlots])
+ * </pre>
+ * recordCount 在每条记录写完后更新，读取时只读取已提交的记录
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+final class TraceFormat {
+
+    /** 文件魔数 "SGTR" */
+    static final int MAGIC = 0x53475452;
+
+    static final int VERSION = 1;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 32;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int TIME_SLOTS_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int SEGMENT_INDEX_OFFSET = 16;
+    static final int CAPACITY_OFFSET = 20;
+    static final int RECORD_COUNT_OFFSET = 24;
+
+    static final int ROUND_OFFSET = 0;
+    static final int POSITION_OFFSET = 4;
+    static final int TEMPERATURE_OFFSET = 8;
+    static final int FLAGS_OFFSET = 12;
+    static final int PROFIT_OFFSET = 16;
+    static final int PRICES_OFFSET = 24;
+
+    static final int FLAG_ACCEPTED = 1;
+
+    static final String SEGMENT_SUFFIX = ".sgtrace";
+
+    /** 单条记录支持的最大时间段数量 */
+    static final int MAX_TIME_SLOTS = 4096;
+
+    private TraceFormat() {
+    }
+
+    /**
+     * 计算消耗数组在记录中的偏移量
+     * @param timeSlots 时间段数量
+     * @return 偏移量
+     */
+    static int consumptionsOffset(int timeSlots) {
+        return PRICES_OFFSET + align8(timeSlots * Float.BYTES);
+    }
+
+    /**
+     * 计算单条记录的字节数
+     * @param timeSlots 时间段数量
+     * @return 记录大小
+     */
+    static int recordSize(int timeSlots) {
+        return consumptionsOffset(timeSlots) + timeSlots * Long.BYTES;
+    }
+
+    /**
+     * 获取分段文件路径
+     * @param directory 轨迹目录
+     * @param baseName 轨迹名称
+     * @param segmentIndex 分段序号
+     * @return 分段文件路径
+     */
+    static Path segmentPath(Path directory, String baseName, int segmentIndex) {
+        return directory.resolve(String.format("%s-%05d%s", baseName, segmentIndex, SEGMENT_SUFFIX));
+    }
+
+    private static int align8(int size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -0,0 +1,147 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 优化轨迹读取器
+ * 按分段序号顺序读取 {@link TraceRecorder} 写出的轨迹文件，只读取每个分段中已提交的记录，
+ * 因此也可以读取仍在写入或异常中断的轨迹
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class TraceReader {
+
+    private final Path directory;
+    private final String baseName;
+
+    /**
+     * 构造函数
+     * @param directory 轨迹目录
+     * @param baseName 轨迹名称
+     * @throws IllegalArgumentException 如果参数为空
+     */
+    public TraceReader(Path directory, String baseName) {
+        if (directory == null || baseName == null || baseName.isEmpty()) {
+            throw new IllegalArgumentException("轨迹目录和名称不能为空");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+    }
+
+    /**
+     * 依次处理全部记录
+     * @param action 记录处理回调
+     * @return 处理的记录数量
+     * @throws IOException 如果文件读取失败或格式无效
+     */
+    public long forEach(Consumer<TraceRecord> action) throws IOException {
+        long count = 0;
+        int expectedTimeSlots = -1;
+        for (int index = 0; ; index++) {
+            Path path = TraceFormat.segmentPath(directory, baseName, index);
+            if (!Files.exists(path)) {
+                break;
+            }
+            MappedByteBuffer segment = map(path);
+            int timeSlots = validateHeader(segment, path, index);
+            if (expectedTimeSlots >= 0 && timeSlots != expectedTimeSlots) {
+                throw new IOException("轨迹分段的时间段数量不一致: " + path);
+            }
+            expectedTimeSlots = timeSlots;
+            count += readSegment(segment, timeSlots, action);
+        }
+        return count;
+    }
+
+    /**
+     * 统计已提交的记录数量
+     * @return 记录数量
+     * @throws IOException 如果文件读取失败或格式无效
+     */
+    public long count() throws IOException {
+        long count = 0;
+        for (int index = 0; ; index++) {
+            Path path = TraceFormat.segmentPath(directory, baseName, index);
+            if (!Files.exists(path)) {
+                return count;
+            }
+            MappedByteBuffer segment = map(path);
+            validateHeader(segment, path, index);
+            count += segment.getInt(TraceFormat.RECORD_COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * 获取轨迹的时间段数量
+     * @return 时间段数量，轨迹不存在时返回-1
+     * @throws IOException 如果文件读取失败或格式无效
+     */
+    public int getTimeSlots() throws IOException {
+        Path path = TraceFormat.segmentPath(directory, baseName, 0);
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        return validateHeader(map(path), path, 0);
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < TraceFormat.HEADER_SIZE) {
+                throw new IOException("轨迹文件过短: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(TraceFormat.BYTE_ORDER);
+            return buffer;
+        }
+    }
+
+    private static int validateHeader(MappedByteBuffer segment, Path path, int index) throws IOException {
+        if (segment.getInt(TraceFormat.MAGIC_OFFSET) != TraceFormat.MAGIC) {
+            throw new IOException("不是有效的轨迹文件: " + path);
+        }
+        if (segment.getInt(TraceFormat.VERSION_OFFSET) != TraceFormat.VERSION) {
+            throw new IOException("不支持的轨迹文件版本: " + segment.getInt(TraceFormat.VERSION_OFFSET));
+        }
+        int timeSlots = segment.getInt(TraceFormat.TIME_SLOTS_OFFSET);
+        int recordSize = segment.getInt(TraceFormat.RECORD_SIZE_OFFSET);
+        int recordCount = segment.getInt(TraceFormat.RECORD_COUNT_OFFSET);
+        if (timeSlots <= 0 || timeSlots > TraceFormat.MAX_TIME_SLOTS
+                || recordSize != TraceFormat.recordSize(timeSlots)
+                || segment.getInt(TraceFormat.SEGMENT_INDEX_OFFSET) != index
+                || recordCount < 0
+                || TraceFormat.HEADER_SIZE + (long) recordCount * recordSize > segment.capacity()) {
+            throw new IOException("轨迹文件头已损坏: " + path);
+        }
+        return timeSlots;
+    }
+
+    private static int readSegment(MappedByteBuffer segment, int timeSlots, Consumer<TraceRecord> action) {
+        int recordSize = TraceFormat.recordSize(timeSlots);
+        int consumptionsOffset = TraceFormat.consumptionsOffset(timeSlots);
+        int recordCount = segment.getInt(TraceFormat.RECORD_COUNT_OFFSET);
+        for (int r = 0; r < recordCount; r++) {
+            int base = TraceFormat.HEADER_SIZE + r * recordSize;
+            float[] prices = new float[timeSlots];
+            long[] consumptions = new long[timeSlots];
+            for (int i = 0; i < timeSlots; i++) {
+                prices[i] = segment.getFloat(base + TraceFormat.PRICES_OFFSET + i * Float.BYTES);
+                consumptions[i] = segment.getLong(base + consumptionsOffset + i * Long.BYTES);
+            }
+            action.accept(new TraceRecord(
+                segment.getInt(base + TraceFormat.ROUND_OFFSET),
+                segment.getInt(base + TraceFormat.POSITION_OFFSET),
+                segment.getFloat(base + TraceFormat.TEMPERATURE_OFFSET),
+                (segment.getInt(base + TraceFormat.FLAGS_OFFSET) & TraceFormat.FLAG_ACCEPTED) != 0,
+                segment.getDouble(base + TraceFormat.PROFIT_OFFSET),
+                prices, consumptions));
+        }
+        return recordCount;
+    }
+}
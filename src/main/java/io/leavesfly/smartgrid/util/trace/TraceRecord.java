@@ -0,0 +1,127 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import java.util.Arrays;
+
+/**
+ * 一次退火步骤的轨迹记录
+ * 由 {@link TraceReader} 从轨迹文件中解码得到
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class TraceRecord {
+
+    private final int round;
+    private final int position;
+    private final float temperature;
+    private final boolean accepted;
+    private final double profit;
+    private final float[] prices;
+    private final long[] consumptions;
+
+    TraceRecord(int round, int position, float temperature, boolean accepted, double profit,
+                float[] prices, long[] consumptions) {
+        this.round = round;
+        this.position = position;
+        this.temperature = temperature;
+        this.accepted = accepted;
+        this.profit = profit;
+        this.prices = prices;
+        this.consumptions = consumptions;
+    }
+
+    /**
+     * 获取迭代轮次
+     * @return 轮次
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * 获取本步扰动的价格位置，初始评估为-1
+     * @return 价格位置
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * 获取当前温度
+     * @return 温度
+     */
+    public float getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * 候选价格是否被接受
+     * @return 接受返回true
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * 获取候选价格对应的利润
+     * @return 利润
+     */
+    public double getProfit() {
+        return profit;
+    }
+
+    /**
+     * 获取时间段数量
+     * @return 时间段数量
+     */
+    public int getTimeSlots() {
+        return prices.length;
+    }
+
+    /**
+     * 获取指定时间段的候选价格
+     * @param timeSlot 时间段索引
+     * @return 价格
+     */
+    public float getPrice(int timeSlot) {
+        return prices[timeSlot];
+    }
+
+    /**
+     * 获取指定时间段的系统总消耗
+     * @param timeSlot 时间段索引
+     * @return 总消耗
+     */
+    public long getConsumption(int timeSlot) {
+        return consumptions[timeSlot];
+    }
+
+    /**
+     * 获取候选价格的副本
+     * @return 价格数组副本
+     */
+    public float[] getPricesCopy() {
+        return prices.clone();
+    }
+
+    /**
+     * 获取系统总消耗的副本
+     * @return 消耗数组副本
+     */
+    public long[] getConsumptionsCopy() {
+        return consumptions.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "TraceRecord{" +
+                "round=" + round +
+                ", position=" + position +
+                ", temperature=" + temperature +
+                ", accepted=" + accepted +
+                ", profit=" + profit +
+                ", prices=" + Arrays.toString(prices) +
+                ", consumptions=" + Arrays.toString(consumptions) +
+                '}';
+    }
+}
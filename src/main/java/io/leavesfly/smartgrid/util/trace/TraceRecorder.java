@@ -0,0 +1,249 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 优化轨迹记录器
+ * 把每一步退火的轮次、位置、候选价格、系统总消耗、利润、是否接受和温度
+ * 以定长二进制记录追加到内存映射的分段文件中
+ *
+ * 写入只是对映射内存的若干次put，没有格式化和系统调用；分段写满时才映射下一个文件。
+ * 数据由操作系统页缓存回写，需要立即落盘时调用 {@link #force()}
+ *
+ * 同名的旧轨迹分段在打开时会被删除
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public final class TraceRecorder implements Closeable {
+
+    /** 默认每个分段的记录数量 */
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 18;
+
+    private final Path directory;
+    private final String baseName;
+    private final int timeSlots;
+    private final int recordSize;
+    private final int consumptionsOffset;
+    private final int recordsPerSegment;
+
+    private MappedByteBuffer segment;
+    private int segmentIndex = -1;
+    private int segmentRecordCount;
+    private long totalRecordCount;
+    private boolean closed;
+
+    private TraceRecorder(Path directory, String baseName, int timeSlots, int recordsPerSegment) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.timeSlots = timeSlots;
+        this.recordSize = TraceFormat.recordSize(timeSlots);
+        this.consumptionsOffset = TraceFormat.consumptionsOffset(timeSlots);
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    /**
+     * 使用默认分段大小打开轨迹记录器
+     * @param directory 轨迹目录
+     * @param baseName 轨迹名称
+     * @param timeSlots 时间段数量
+     * @return 轨迹记录器
+     * @throws IOException 如果创建文件失败
+     */
+    public static TraceRecorder open(Path directory, String baseName, int timeSlots) throws IOException {
+        return open(directory, baseName, timeSlots, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * 打开轨迹记录器
+     * @param directory 轨迹目录，不存在时自动创建
+     * @param baseName 轨迹名称，分段文件命名为 baseName-00000.sgtrace
+     * @param timeSlots 时间段数量
+     * @param recordsPerSegment 每个分段的记录数量
+     * @return 轨迹记录器
+     * @throws IllegalArgumentException 如果参数无效
+     * @throws IOException 如果创建文件失败
+     */
+    public static TraceRecorder open(Path directory, String baseName, int timeSlots,
+                                     int recordsPerSegment) throws IOException {
+        if (directory == null || baseName == null || baseName.isEmpty()) {
+            throw new IllegalArgumentException("轨迹目录和名称不能为空");
+        }
+        if (timeSlots <= 0 || timeSlots > TraceFormat.MAX_TIME_SLOTS) {
+            throw new IllegalArgumentException("时间段数量超出范围: " + timeSlots);
+        }
+        if (recordsPerSegment <= 0
+                || (long) recordsPerSegment * TraceFormat.recordSize(timeSlots) > Integer.MAX_VALUE - TraceFormat.HEADER_SIZE) {
+            throw new IllegalArgumentException("分段记录数量超出范围: " + recordsPerSegment);
+        }
+
+        Files.createDirectories(directory);
+        deleteSegments(directory, baseName);
+
+        TraceRecorder recorder = new TraceRecorder(directory, baseName, timeSlots, recordsPerSegment);
+        recorder.nextSegment();
+        return recorder;
+    }
+
+    /**
+     * 追加一条记录
+     * @param round 迭代轮次
+     * @param position 扰动的价格位置
+     * @param prices 候选价格
+     * @param consumptions 系统各时间段总消耗
+     * @param profit 候选价格对应的利润
+     * @param accepted 是否接受候选价格
+     * @param temperature 当前温度
+     * @throws IllegalArgumentException 如果数组长度与时间段数量不一致
+     * @throws IllegalStateException 如果记录器已关闭
+     */
+    public synchronized void record(int round, int position, float[] prices, long[] consumptions,
+                                    double profit, boolean accepted, float temperature) {
+        if (consumptions == null || consumptions.length != timeSlots) {
+            throw new IllegalArgumentException("消耗数组长度必须为 " + timeSlots);
+        }
+        int base = beginRecord(round, position, prices, profit, accepted, temperature);
+        for (int i = 0; i < timeSlots; i++) {
+            segment.putLong(base + consumptionsOffset + i * Long.BYTES, consumptions[i]);
+        }
+        commitRecord();
+    }
+
+    /**
+     * 追加一条记录，消耗以int数组给出
+     * @param round 迭代轮次
+     * @param position 扰动的价格位置
+     * @param prices 候选价格
+     * @param consumptions 系统各时间段总消耗
+     * @param profit 候选价格对应的利润
+     * @param accepted 是否接受候选价格
+     * @param temperature 当前温度
+     * @throws IllegalArgumentException 如果数组长度与时间段数量不一致
+     * @throws IllegalStateException 如果记录器已关闭
+     */
+    public synchronized void record(int round, int position, float[] prices, int[] consumptions,
+                                    double profit, boolean accepted, float temperature) {
+        if (consumptions == null || consumptions.length != timeSlots) {
+            throw new IllegalArgumentException("消耗数组长度必须为 " + timeSlots);
+        }
+        int base = beginRecord(round, position, prices, profit, accepted, temperature);
+        for (int i = 0; i < timeSlots; i++) {
+            segment.putLong(base + consumptionsOffset + i * Long.BYTES, consumptions[i]);
+        }
+        commitRecord();
+    }
+
+    private int beginRecord(int round, int position, float[] prices, double profit,
+                            boolean accepted, float temperature) {
+        if (closed) {
+            throw new IllegalStateException("轨迹记录器已关闭");
+        }
+        if (prices == null || prices.length != timeSlots) {
+            throw new IllegalArgumentException("价格数组长度必须为 " + timeSlots);
+        }
+        if (segmentRecordCount == recordsPerSegment) {
+            try {
+                nextSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("轨迹分段创建失败", e);
+            }
+        }
+
+        int base = TraceFormat.HEADER_SIZE + segmentRecordCount * recordSize;
+        segment.putInt(base + TraceFormat.ROUND_OFFSET, round);
+        segment.putInt(base + TraceFormat.POSITION_OFFSET, position);
+        segment.putFloat(base + TraceFormat.TEMPERATURE_OFFSET, temperature);
+        segment.putInt(base + TraceFormat.FLAGS_OFFSET, accepted ? TraceFormat.FLAG_ACCEPTED : 0);
+        segment.putDouble(base + TraceFormat.PROFIT_OFFSET, profit);
+        for (int i = 0; i < timeSlots; i++) {
+            segment.putFloat(base + TraceFormat.PRICES_OFFSET + i * Float.BYTES, prices[i]);
+        }
+        return base;
+    }
+
+    private void commitRecord() {
+        segmentRecordCount++;
+        totalRecordCount++;
+        segment.putInt(TraceFormat.RECORD_COUNT_OFFSET, segmentRecordCount);
+    }
+
+    private void nextSegment() throws IOException {
+        segmentIndex++;
+        Path path = TraceFormat.segmentPath(directory, baseName, segmentIndex);
+        long size = TraceFormat.HEADER_SIZE + (long) recordsPerSegment * recordSize;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(TraceFormat.BYTE_ORDER);
+            buffer.putInt(TraceFormat.MAGIC_OFFSET, TraceFormat.MAGIC);
+            buffer.putInt(TraceFormat.VERSION_OFFSET, TraceFormat.VERSION);
+            buffer.putInt(TraceFormat.TIME_SLOTS_OFFSET, timeSlots);
+            buffer.putInt(TraceFormat.RECORD_SIZE_OFFSET, recordSize);
+            buffer.putInt(TraceFormat.SEGMENT_INDEX_OFFSET, segmentIndex);
+            buffer.putInt(TraceFormat.CAPACITY_OFFSET, recordsPerSegment);
+            buffer.putInt(TraceFormat.RECORD_COUNT_OFFSET, 0);
+            segment = buffer;
+        }
+        segmentRecordCount = 0;
+    }
+
+    private static void deleteSegments(Path directory, String baseName) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+                directory, baseName + "-[0-9]*" + TraceFormat.SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 将当前分段强制写入磁盘
+     */
+    public synchronized void force() {
+        if (!closed) {
+            segment.force();
+        }
+    }
+
+    /**
+     * 获取已写入的记录总数
+     * @return 记录总数
+     */
+    public synchronized long getRecordCount() {
+        return totalRecordCount;
+    }
+
+    /**
+     * 获取已创建的分段数量
+     * @return 分段数量
+     */
+    public synchronized int getSegmentCount() {
+        return segmentIndex + 1;
+    }
+
+    /**
+     * 获取时间段数量
+     * @return 时间段数量
+     */
+    public int getTimeSlots() {
+        return timeSlots;
+    }
+
+    /**
+     * 关闭记录器，之后的写入会抛出异常
+     * 映射内存随缓冲区对象被回收而释放
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        segment = null;
+    }
+}
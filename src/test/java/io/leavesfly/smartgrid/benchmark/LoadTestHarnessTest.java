@@ -0,0 +1,42 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * LoadTestHarness 单元测试类
+ * 通过回环地址运行完整的零售商/用户协议
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("LoadTestHarness 回环负载测试")
+class LoadTestHarnessTest {
+
+    @Test
+    @DisplayName("测试固定轮数的端到端运行")
+    void testRunsFixedRounds() throws Exception {
+        LoadTestHarness.Result result = LoadTestHarness.run(5, 2, 0L, 60_000L);
+
+        assertThat(result.getUsers()).isEqualTo(5);
+        assertThat(result.getAnnealingRounds()).isEqualTo(2);
+        // 一次初始评估，每轮每个时间段一次评估
+        assertThat(result.getEvaluations()).isEqualTo(1 + 2 * 4);
+        assertThat(result.getLatencyP50Nanos()).isPositive();
+        assertThat(result.getLatencyP99Nanos()).isGreaterThanOrEqualTo(result.getLatencyP50Nanos());
+        assertThat(result.getBytesSent()).isPositive();
+        assertThat(result.getBytesReceived()).isPositive();
+        assertThat(result.getEvaluationsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("测试同一进程中重复运行")
+    void testRepeatedRuns() throws Exception {
+        LoadTestHarness.Result first = LoadTestHarness.run(3, 1, 0L, 60_000L);
+        LoadTestHarness.Result second = LoadTestHarness.run(3, 1, 0L, 60_000L);
+
+        assertThat(first.getEvaluations()).isEqualTo(5);
+        assertThat(second.getEvaluations()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,103 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.benchmark.OptimizerLeaderboard.Leaderboard;
+import io.leavesfly.smartgrid.benchmark.OptimizerLeaderboard.Run;
+import io.leavesfly.smartgrid.benchmark.OptimizerLeaderboard.Settings;
+import io.leavesfly.smartgrid.benchmark.OptimizerLeaderboard.Standing;
+import io.leavesfly.smartgrid.core.algorithm.SimulatedAnnealingOptimizer;
+
+/**
+ * OptimizerLeaderboard 与 CountingObjective 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("OptimizerLeaderboard 优化算法排行榜测试")
+class OptimizerLeaderboardTest {
+
+    @Test
+    @DisplayName("测试全部参赛算法在相同预算下运行并排名")
+    void testRanksDefaultContenders() throws Exception {
+        Settings settings = Settings.parse("users=6", "seeds=3", "evaluations=300", "budgetMillis=10000");
+
+        Leaderboard leaderboard = OptimizerLeaderboard.run(OptimizerLeaderboard.defaultContenders(), settings);
+
+        List<Standing> standings = leaderboard.getStandings();
+        assertThat(standings).extracting(Standing::getAlgorithm)
+            .containsExactlyInAnyOrder("sapc", "annealing", "annealing-x8", "random-search");
+        assertThat(leaderboard.getRuns()).hasSize(12);
+        for (Run run : leaderboard.getRuns()) {
+            assertThat(run.getEvaluations()).isBetween(1L, 300L);
+            assertThat(run.getGapPercent()).isGreaterThanOrEqualTo(0.0);
+            assertThat(run.getCurve()).isNotEmpty();
+        }
+        // 每个群体上至少有一个算法就是已知最优
+        assertThat(standings.stream().mapToInt(Standing::getHits).sum()).isGreaterThanOrEqualTo(3);
+        // 随机搜索不会自行停止，总是用尽评估预算
+        Run randomRun = leaderboard.getRuns().stream()
+            .filter(run -> run.getAlgorithm().equals("random-search")).findFirst().get();
+        assertThat(randomRun.isExhausted()).isTrue();
+        assertThat(randomRun.getEvaluations()).isEqualTo(300L);
+        assertThat(leaderboard.toString()).contains("annealing-x8");
+    }
+
+    @Test
+    @DisplayName("测试SAPC和重构版模拟退火在同一种子下结果可复现")
+    void testOptimizerRunsAreReproducible() throws Exception {
+        Settings settings = Settings.parse("users=4", "seeds=2", "evaluations=500");
+        List<OptimizerLeaderboard.Contender> contenders = Arrays.asList(
+            OptimizerLeaderboard.sapc(),
+            OptimizerLeaderboard.optimizer("annealing", SimulatedAnnealingOptimizer::new));
+
+        Leaderboard first = OptimizerLeaderboard.run(contenders, settings);
+        Leaderboard second = OptimizerLeaderboard.run(contenders, settings);
+
+        for (int i = 0; i < first.getRuns().size(); i++) {
+            assertThat(second.getRuns().get(i).getBestProfit()).isEqualTo(first.getRuns().get(i).getBestProfit());
+            assertThat(second.getRuns().get(i).getEvaluations()).isEqualTo(first.getRuns().get(i).getEvaluations());
+        }
+    }
+
+    @Test
+    @DisplayName("测试曲线CSV输出")
+    void testWritesCurves() throws Exception {
+        Leaderboard leaderboard = OptimizerLeaderboard.run(
+            Arrays.asList(OptimizerLeaderboard.randomSearch()), Settings.parse("seeds=1", "evaluations=50"));
+        StringBuilder csv = new StringBuilder();
+
+        leaderboard.writeCurves(csv);
+
+        String[] lines = csv.toString().split("\n");
+        assertThat(lines[0]).isEqualTo(OptimizerLeaderboard.CURVE_HEADER);
+        assertThat(lines).hasSize(1 + leaderboard.getRuns().get(0).getCurve().size());
+        assertThat(lines[1]).startsWith("random-search,1,1,");
+    }
+
+    @Test
+    @DisplayName("测试目标函数预算与曲线记录")
+    void testCountingObjectiveBudget() {
+        SyntheticPopulation population = SyntheticPopulation.random(5, 4, 4, 4, 1L);
+        CountingObjective objective = new CountingObjective(population, 3, 60_000L);
+        float[] prices = {0.6f, 0.8f, 1.0f, 1.2f};
+        long[] totals = new long[4];
+
+        objective.evaluate(prices, totals);
+        objective.evaluate(prices, totals);
+        objective.evaluate(new float[]{1.4f, 1.4f, 1.4f, 1.4f}, totals);
+
+        assertThat(objective.getEvaluations()).isEqualTo(3);
+        assertThat(objective.getCurve()).isNotEmpty();
+        assertThat(objective.getCurve().get(0).getEvaluation()).isEqualTo(1);
+        assertThatThrownBy(() -> objective.evaluate(prices, totals))
+            .isInstanceOf(CountingObjective.BudgetExhaustedException.class);
+        assertThat(objective.isExhausted()).isTrue();
+        assertThatThrownBy(() -> Settings.parse("seeds=0")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.benchmark.ScalabilityBenchmark.Kernel;
+import io.leavesfly.smartgrid.benchmark.ScalabilityBenchmark.Result;
+import io.leavesfly.smartgrid.benchmark.ScalabilityBenchmark.Sweep;
+
+/**
+ * ScalabilityBenchmark 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("ScalabilityBenchmark 规模测试")
+class ScalabilityBenchmarkTest {
+
+    @Test
+    @DisplayName("测试两种内核在配置形状下得到相同利润")
+    void testKernelsAgreeOnConfiguredShape() {
+        Result generic = ScalabilityBenchmark.runPoint(Kernel.GENERIC, 500, 4, 4, 2, 8, 10_000L, 3L);
+        Result legacy = ScalabilityBenchmark.runPoint(Kernel.LEGACY, 500, 4, 4, 2, 8, 10_000L, 3L);
+
+        assertThat(generic.getStatus()).isEqualTo("ok");
+        assertThat(legacy.getStatus()).isEqualTo("ok");
+        assertThat(generic.getEvaluations()).isEqualTo(8);
+        assertThat(legacy.getEvaluations()).isEqualTo(8);
+        assertThat(generic.getBestProfit()).isEqualTo(legacy.getBestProfit());
+        assertThat(generic.getLatencyP99Nanos()).isGreaterThanOrEqualTo(generic.getLatencyP50Nanos());
+        assertThat(generic.getUserResponsesPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("测试网格输出CSV并跳过legacy内核不支持的形状")
+    void testSweepWritesCsv() throws Exception {
+        Sweep sweep = Sweep.parse("users=1e2", "slots=4,24", "appliances=4", "threads=1",
+                "kernels=generic,legacy", "evaluations=3", "budgetMillis=5000");
+        StringBuilder csv = new StringBuilder();
+
+        List<Result> results = ScalabilityBenchmark.run(sweep, csv, null);
+
+        String[] lines = csv.toString().split("\n");
+        assertThat(results).hasSize(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo(ScalabilityBenchmark.CSV_HEADER);
+        int columns = ScalabilityBenchmark.CSV_HEADER.split(",").length;
+        for (int i = 1; i < lines.length; i++) {
+            assertThat(lines[i].split(",")).hasSize(columns);
+        }
+        assertThat(lines[1]).startsWith("generic,100,4,4,1,ok,3,");
+        assertThat(lines[2]).startsWith("generic,100,24,4,1,ok,3,");
+        assertThat(lines[3]).startsWith("legacy,100,4,4,1,ok,3,");
+    }
+
+    @Test
+    @DisplayName("测试参数解析与校验")
+    void testParseRejectsInvalidArguments() {
+        assertThatThrownBy(() -> Sweep.parse("users")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Sweep.parse("unknown=1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Sweep.parse("users=1.5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScalabilityBenchmark.runPoint(Kernel.LEGACY, 10, 24, 4, 1, 1, 1_000L, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Sweep.parse("output=result.csv").getOutput()).isEqualTo("result.csv");
+    }
+}
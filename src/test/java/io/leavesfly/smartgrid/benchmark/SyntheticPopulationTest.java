@@ -0,0 +1,93 @@
+package io.leavesfly.smartgrid.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.retailer.PriceVector;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UsersArgs;
+
+/**
+ * SyntheticPopulation 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("SyntheticPopulation 合成用户群体测试")
+class SyntheticPopulationTest {
+
+    @Test
+    @DisplayName("测试按配置生成的群体与用户模型响应一致")
+    void testConfiguredMatchesUserModel() {
+        SyntheticPopulation population = SyntheticPopulation.configured(7);
+        float[][] priceSets = {
+            {0.5f, 0.5f, 0.5f, 0.5f},
+            {0.73f, 1.12f, 0.91f, 1.49f},
+            {1.5f, 0.61f, 1.27f, 0.55f}
+        };
+
+        for (float[] prices : priceSets) {
+            long[] expected = new long[UsersArgs.timeSlots];
+            int[] consumption = new int[UsersArgs.timeSlots];
+            for (int user = 0; user < population.getUsers(); user++) {
+                OneUserConsumVector response = UserMaxSatisfaConsumVector.respond(user, new PriceVector(prices));
+                population.respondUser(user, prices, consumption);
+                assertThat(consumption).containsExactly(response.getConsumVector());
+                for (int slot = 0; slot < expected.length; slot++) {
+                    expected[slot] += response.getConsumVector()[slot];
+                }
+            }
+
+            long[] totals = new long[UsersArgs.timeSlots];
+            population.respond(0, population.getUsers(), prices, totals);
+            assertThat(totals).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("测试按区间分段累加与整体累加一致")
+    void testChunkedRespondMatchesWhole() {
+        SyntheticPopulation population = SyntheticPopulation.random(1_001, 24, 6, 16, 7L);
+        float[] prices = new float[24];
+        for (int slot = 0; slot < prices.length; slot++) {
+            prices[slot] = 0.5f + slot / 24f;
+        }
+
+        long[] whole = new long[24];
+        population.respond(0, 1_001, prices, whole);
+        long[] chunked = new long[24];
+        population.respond(0, 333, prices, chunked);
+        population.respond(333, 1_001, prices, chunked);
+
+        assertThat(chunked).containsExactly(whole);
+        assertThat(whole[0]).isPositive();
+    }
+
+    @Test
+    @DisplayName("测试相同种子生成相同群体")
+    void testSeedIsReproducible() {
+        float[] prices = {0.6f, 0.9f, 1.2f, 1.4f, 0.7f, 1.0f};
+        long[] first = new long[6];
+        long[] second = new long[6];
+        long[] other = new long[6];
+
+        SyntheticPopulation.random(500, 6, 3, 8, 1L).respond(0, 500, prices, first);
+        SyntheticPopulation.random(500, 6, 3, 8, 1L).respond(0, 500, prices, second);
+        SyntheticPopulation.random(500, 6, 3, 8, 2L).respond(0, 500, prices, other);
+
+        assertThat(second).containsExactly(first);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("测试参数校验")
+    void testRejectsInvalidShape() {
+        assertThatThrownBy(() -> SyntheticPopulation.random(0, 4, 4, 4, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SyntheticPopulation.random(10, 0, 4, 4, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SyntheticPopulation.random(3, 4, 4, 64, 1L).getProfiles()).isEqualTo(3);
+    }
+}
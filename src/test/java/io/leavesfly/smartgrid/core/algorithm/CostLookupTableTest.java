@@ -0,0 +1,187 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.core.model.PriceVector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 成本曲线与成本查找表单元测试类
+ * 测试多项式、分段线性、分时段表格成本曲线及其预编译查找表
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("CostLookupTable 成本查找表测试")
+class CostLookupTableTest {
+
+    @Test
+    @DisplayName("测试三次多项式曲线与默认成本公式一致")
+    void testCubicCurveMatchesFormula() {
+        PolynomialCostCurve curve = PolynomialCostCurve.fromConfig();
+
+        // 0.005 * 10² + 0.001 * 10³ = 1.5
+        assertThat(curve.evaluate(0, 10)).isCloseTo(1.5, within(1e-6));
+        assertThat(curve.evaluate(3, 0)).isZero();
+        assertThat(curve.isSlotIndependent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试分段线性曲线插值与外推")
+    void testPiecewiseLinearCurve() {
+        PiecewiseLinearCostCurve curve = new PiecewiseLinearCostCurve(
+            new long[]{0, 10, 20}, new double[]{0.0, 5.0, 25.0});
+
+        assertThat(curve.evaluate(0, 5)).isCloseTo(2.5, within(1e-9));
+        assertThat(curve.evaluate(0, 10)).isCloseTo(5.0, within(1e-9));
+        assertThat(curve.evaluate(0, 15)).isCloseTo(15.0, within(1e-9));
+        // 末段外推，斜率为2
+        assertThat(curve.evaluate(0, 30)).isCloseTo(45.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("测试无效折点")
+    void testInvalidPiecewiseBreakpoints() {
+        assertThatThrownBy(() -> new PiecewiseLinearCostCurve(new long[]{0}, new double[]{0.0}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("分段线性曲线至少需要两个折点");
+
+        assertThatThrownBy(() -> new PiecewiseLinearCostCurve(new long[]{0, 0}, new double[]{0.0, 1.0}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("折点用电量必须严格递增: 0");
+    }
+
+    @Test
+    @DisplayName("测试分时段表格曲线")
+    void testTabulatedCurve() {
+        double[][] costs = new double[SmartGridConfig.TIME_SLOTS][];
+        for (int slot = 0; slot < costs.length; slot++) {
+            costs[slot] = new double[]{0.0, 10.0 * (slot + 1), 30.0 * (slot + 1)};
+        }
+        TabulatedCostCurve curve = new TabulatedCostCurve(costs, 100);
+
+        assertThat(curve.isSlotIndependent()).isFalse();
+        assertThat(curve.evaluate(0, 50)).isCloseTo(5.0, within(1e-9));
+        assertThat(curve.evaluate(1, 150)).isCloseTo(40.0, within(1e-9));
+        assertThatThrownBy(() -> curve.evaluate(SmartGridConfig.TIME_SLOTS, 0))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("测试查找表与曲线求值一致")
+    void testLookupTableMatchesCurve() {
+        PolynomialCostCurve curve = PolynomialCostCurve.fromConfig();
+        CostLookupTable table = CostLookupTable.compile(curve, 1000);
+
+        for (int consumption = 0; consumption <= 1000; consumption += 37) {
+            assertThat(table.costAt(2, consumption)).isEqualTo(curve.evaluate(2, consumption));
+        }
+        // 超出表格范围时回退到曲线求值
+        assertThat(table.costAt(0, 5000)).isEqualTo(curve.evaluate(0, 5000));
+    }
+
+    @Test
+    @DisplayName("测试百万级用电量查找表")
+    void testLargeLookupTable() {
+        CostLookupTable table = CostLookupTable.compile(
+            new PiecewiseLinearCostCurve(new long[]{0, 2_000_000}, new double[]{0.0, 2_000_000.0}),
+            2_000_000);
+
+        assertThat(table.getMaxConsumption()).isEqualTo(2_000_000);
+        assertThat(table.costAt(3, 1_500_000)).isCloseTo(1_500_000.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("测试分时段表格曲线不展开为逐单位的表格")
+    void testTabulatedCurveIsNotExpanded() {
+        double[][] costs = new double[96][];
+        for (int slot = 0; slot < costs.length; slot++) {
+            costs[slot] = new double[]{0.0, slot + 1.0, 4.0 * (slot + 1)};
+        }
+        TabulatedCostCurve curve = new TabulatedCostCurve(costs, 5_000_000);
+        CostLookupTable table = CostLookupTable.compile(curve, 96, 10_000_000);
+
+        assertThat(table.getTimeSlots()).isEqualTo(96);
+        assertThat(table.costAt(95, 7_500_000)).isEqualTo(curve.evaluate(95, 7_500_000));
+        assertThat(table.costAt(0, 2_500_000)).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("测试曲线时间段数量与查找表不一致")
+    void testRejectsSlotCountMismatch() {
+        TabulatedCostCurve curve = new TabulatedCostCurve(
+            new double[][]{{0.0, 1.0}, {0.0, 2.0}}, 10);
+
+        assertThatThrownBy(() -> CostLookupTable.compile(curve, 4, 100))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("成本曲线的时间段数量 2 与查找表的时间段数量 4 不一致");
+        assertThat(CostLookupTable.compile(curve, 2, 100).getTimeSlots()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("测试分时段曲线的表格单元总数上限")
+    void testRejectsOversizedSlotTables() {
+        CostCurveInterface slotDependent = new CostCurveInterface() {
+            @Override
+            public double evaluate(int timeSlot, long consumption) {
+                return (timeSlot + 1) * (double) consumption;
+            }
+
+            @Override
+            public boolean isSlotIndependent() {
+                return false;
+            }
+        };
+
+        assertThatThrownBy(() -> CostLookupTable.compile(slotDependent, 96, 10_000_000))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("查找表单元总数");
+        assertThat(CostLookupTable.compile(slotDependent, 4, 1000).costAt(3, 10)).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("测试总成本计算")
+    void testTotalCost() {
+        CostLookupTable table = CostLookupTable.compile(PolynomialCostCurve.fromConfig(), 100);
+
+        // 见 RetailerProfitCalculatorTest 中的手动计算
+        assertThat(table.totalCost(new int[]{10, 15, 8, 12})).isCloseTo(9.28, within(1e-6));
+        assertThatThrownBy(() -> table.totalCost(new int[]{1, 2}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("消耗数组长度必须为 " + SmartGridConfig.TIME_SLOTS);
+    }
+
+    @Test
+    @DisplayName("测试无效编译参数")
+    void testInvalidCompileArguments() {
+        assertThatThrownBy(() -> CostLookupTable.compile(null, 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("成本曲线不能为null");
+
+        assertThatThrownBy(() -> CostLookupTable.compile(PolynomialCostCurve.fromConfig(), -1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("最大用电量超出范围: -1");
+    }
+
+    @Test
+    @DisplayName("测试利润计算器使用成本曲线")
+    void testProfitCalculatorWithCostCurve() {
+        PriceVector priceVector = new PriceVector(new float[]{0.8f, 1.0f, 1.2f, 0.6f});
+        int[] totalConsumption = {10, 15, 8, 12};
+
+        RetailerProfitCalculator formulaCalculator = new RetailerProfitCalculator();
+        RetailerProfitCalculator curveCalculator =
+            new RetailerProfitCalculator(PolynomialCostCurve.fromConfig(), 100);
+
+        assertThat(curveCalculator.getCostTable()).isNotNull();
+        assertThat(curveCalculator.calculateCost(totalConsumption))
+            .isCloseTo(formulaCalculator.calculateCost(totalConsumption), offset(0.001f));
+        assertThat(curveCalculator.calculateProfit(priceVector, totalConsumption))
+            .isCloseTo(formulaCalculator.calculateProfit(priceVector, totalConsumption), offset(0.001f));
+
+        // 恢复公式计算
+        curveCalculator.setCostTable(null);
+        assertThat(curveCalculator.getCostTable()).isNull();
+    }
+}
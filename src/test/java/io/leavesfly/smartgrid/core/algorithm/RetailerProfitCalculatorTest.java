@@ -403,4 +403,38 @@ class RetailerProfitCalculatorTest {
         assertThat(profit).isFinite();
         assertThat(profit).isNotNaN();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试64位聚合的利润计算与int版本一致")
+    void testWideProfitMatchesIntPath() {
+        long[] wideConsumption = new long[]{10, 15, 8, 12};
+        
+        assertThat(calculator.calculateProfitWide(priceVector, wideConsumption))
+            .isCloseTo(calculator.calculateProfit(priceVector, totalConsumption), within(0.001));
+        assertThat(calculator.calculateRevenueWide(priceVector, wideConsumption))
+            .isCloseTo(39.8, within(0.001));
+    }
+
+    @Test
+    @DisplayName("测试百万级用户规模下的64位成本计算")
+    void testWideCostForLargePopulation() {
+        // 单个时间段三百万，int三次方早已溢出，float也无法精确表示
+        long consumption = 3_000_000L;
+        long[] wideConsumption = new long[]{consumption, consumption, consumption, consumption};
+        
+        double c = consumption;
+        double expectedSlotCost = (double) SmartGridConfig.PROFIT_COEFFICIENT_A * c * c
+            + (double) SmartGridConfig.PROFIT_COEFFICIENT_B * c * c * c;
+        
+        assertThat(calculator.calculateCostWide(wideConsumption))
+            .isCloseTo(4 * expectedSlotCost, withinPercentage(1e-9));
+    }
+
+    @Test
+    @DisplayName("测试负数64位消耗")
+    void testWideCostWithNegativeConsumption() {
+        assertThatThrownBy(() -> calculator.calculateCostWide(new long[]{1, -2, 3, 4}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("用电消耗不能为负数: -2");
+    }
+}
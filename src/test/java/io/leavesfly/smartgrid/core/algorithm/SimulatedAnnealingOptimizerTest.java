@@ -0,0 +1,92 @@
+package io.leavesfly.smartgrid.core.algorithm;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.core.model.PriceVector;
+import io.leavesfly.smartgrid.core.model.PriceVectorInterface;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * SimulatedAnnealingOptimizer 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("SimulatedAnnealingOptimizer 模拟退火优化器测试")
+class SimulatedAnnealingOptimizerTest {
+
+    /** 在所有价格为1.0时取得最大值0的目标函数 */
+    private static final ProfitObjectiveInterface PEAK_AT_ONE = priceVector -> {
+        double profit = 0.0;
+        for (int slot = 0; slot < priceVector.getTimeSlots(); slot++) {
+            double offset = priceVector.getPriceByPosition(slot) - 1.0;
+            profit -= offset * offset;
+        }
+        return profit;
+    };
+
+    @Test
+    @DisplayName("测试优化结果接近最优并返回见过的最优价格")
+    void testFindsPeak() {
+        SimulatedAnnealingOptimizer optimizer = new SimulatedAnnealingOptimizer(PEAK_AT_ONE, new RandomSource(5L));
+        optimizer.setSweepsPerTemperature(200);
+        PriceVector initial = new PriceVector(new float[]{1.5f, 0.5f, 1.5f, 0.5f});
+
+        PriceVectorInterface best = optimizer.optimize(initial);
+
+        assertThat(optimizer.getBestProfit()).isEqualTo(PEAK_AT_ONE.evaluate(best));
+        assertThat(optimizer.getBestProfit()).isGreaterThan(PEAK_AT_ONE.evaluate(initial));
+        assertThat(optimizer.getBestProfit()).isGreaterThan(-0.01);
+        assertThat(optimizer.hasConverged()).isTrue();
+        assertThat(optimizer.getCurrentRound()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("测试相同种子结果可复现")
+    void testReproducible() {
+        SimulatedAnnealingOptimizer first = new SimulatedAnnealingOptimizer(PEAK_AT_ONE, new RandomSource(11L));
+        SimulatedAnnealingOptimizer second = new SimulatedAnnealingOptimizer(PEAK_AT_ONE, new RandomSource(11L));
+
+        PriceVectorInterface a = first.optimize(SimulatedAnnealingOptimizer.randomInitialPrice(new RandomSource(3L)));
+        PriceVectorInterface b = second.optimize(SimulatedAnnealingOptimizer.randomInitialPrice(new RandomSource(3L)));
+
+        assertThat(b.getPricesCopy()).containsExactly(a.getPricesCopy());
+        assertThat(second.getBestProfit()).isEqualTo(first.getBestProfit());
+    }
+
+    @Test
+    @DisplayName("测试评估次数随每个温度下的扫描轮数增加")
+    void testSweepsMultiplyEvaluations() {
+        int[] counter = new int[1];
+        ProfitObjectiveInterface counting = priceVector -> {
+            counter[0]++;
+            return PEAK_AT_ONE.evaluate(priceVector);
+        };
+        SimulatedAnnealingOptimizer optimizer = new SimulatedAnnealingOptimizer(counting, new RandomSource(1L));
+        optimizer.optimize(SimulatedAnnealingOptimizer.randomInitialPrice(new RandomSource(1L)));
+        int rounds = optimizer.getCurrentRound() - 1;
+        assertThat(counter[0]).isEqualTo(1 + rounds * SmartGridConfig.TIME_SLOTS);
+
+        counter[0] = 0;
+        optimizer.setSweepsPerTemperature(3);
+        optimizer.optimize(SimulatedAnnealingOptimizer.randomInitialPrice(new RandomSource(1L)));
+        assertThat(counter[0]).isEqualTo(1 + rounds * 3 * SmartGridConfig.TIME_SLOTS);
+    }
+
+    @Test
+    @DisplayName("测试参数校验与重置")
+    void testParametersAndReset() {
+        SimulatedAnnealingOptimizer optimizer = new SimulatedAnnealingOptimizer(PEAK_AT_ONE, new RandomSource(1L));
+        optimizer.setParameters(1.0f, 0.5f);
+        assertThat(optimizer.getTemperature()).isEqualTo(1.0f);
+        assertThat(optimizer.hasConverged()).isFalse();
+
+        assertThatThrownBy(() -> optimizer.setParameters(0f, 0.5f)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> optimizer.setSweepsPerTemperature(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimulatedAnnealingOptimizer(null, new RandomSource(1L)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> optimizer.optimize(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
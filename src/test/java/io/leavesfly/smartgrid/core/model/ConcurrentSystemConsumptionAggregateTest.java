@@ -0,0 +1,195 @@
+package io.leavesfly.smartgrid.core.model;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ConcurrentSystemConsumptionAggregate 单元测试类
+ * 测试并发累加与按轮关闭快照
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("ConcurrentSystemConsumptionAggregate 并发聚合测试")
+class ConcurrentSystemConsumptionAggregateTest {
+
+    @Test
+    @DisplayName("测试单线程累加与关闭轮次")
+    void testSingleThreadedRound() {
+        ConcurrentSystemConsumptionAggregate aggregate = new ConcurrentSystemConsumptionAggregate();
+        aggregate.add(new int[]{10, 15, 8, 12});
+        aggregate.add(new UserConsumptionVector(0, new int[]{5, 5, 5, 5}));
+
+        ConsumptionSnapshot snapshot = aggregate.closeRound();
+
+        assertThat(snapshot.getRoundNumber()).isEqualTo(1L);
+        assertThat(snapshot.getTotalConsumptionsCopy()).containsExactly(15L, 20L, 13L, 17L);
+        assertThat(snapshot.getContributorCount()).isEqualTo(2L);
+        assertThat(snapshot.calculateTotalSystemConsumption()).isEqualTo(65L);
+        assertThat(aggregate.getCurrentRoundNumber()).isEqualTo(2L);
+
+        // 新一轮从零开始
+        ConsumptionSnapshot empty = aggregate.closeRound();
+        assertThat(empty.getRoundNumber()).isEqualTo(2L);
+        assertThat(empty.calculateTotalSystemConsumption()).isZero();
+        assertThat(empty.getContributorCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试快照转换为int版本聚合对象")
+    void testSnapshotToSystemConsumptionAggregate() {
+        ConcurrentSystemConsumptionAggregate aggregate = new ConcurrentSystemConsumptionAggregate();
+        aggregate.add(new int[]{10, 15, 8, 12});
+
+        SystemConsumptionAggregate narrowed = aggregate.closeRound().toSystemConsumptionAggregate();
+        assertThat(narrowed.getTotalConsumptionsCopy()).containsExactly(10, 15, 8, 12);
+
+        aggregate.addToTimeSlot(0, Integer.MAX_VALUE + 1L);
+        ConsumptionSnapshot overflow = aggregate.closeRound();
+        assertThatThrownBy(overflow::toSystemConsumptionAggregate)
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("测试无效输入")
+    void testInvalidInputs() {
+        ConcurrentSystemConsumptionAggregate aggregate = new ConcurrentSystemConsumptionAggregate();
+
+        assertThatThrownBy(() -> aggregate.add((int[]) null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("消耗数组不能为null");
+        assertThatThrownBy(() -> aggregate.add(new int[]{1, 2}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("消耗数组长度必须为 " + SmartGridConfig.TIME_SLOTS);
+        assertThatThrownBy(() -> aggregate.add(new int[]{1, -2, 3, 4}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("用电消耗不能为负数: -2");
+        assertThatThrownBy(() -> aggregate.addToTimeSlot(SmartGridConfig.TIME_SLOTS, 1))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+
+        // 无效输入不影响计数
+        assertThat(aggregate.closeRound().getContributorCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试并发累加与关闭轮次时数据不丢失且不被拆分")
+    void testConcurrentProducersWithRoundClosing() throws Exception {
+        final int producers = 8;
+        final int submissionsPerProducer = 20_000;
+        ConcurrentSystemConsumptionAggregate aggregate = new ConcurrentSystemConsumptionAggregate();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < submissionsPerProducer; i++) {
+                    aggregate.add(new int[]{1, 2, 3, 4});
+                }
+                return null;
+            }));
+        }
+
+        List<ConsumptionSnapshot> snapshots = new ArrayList<>();
+        start.countDown();
+        while (!allDone(futures)) {
+            snapshots.add(aggregate.closeRound());
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        snapshots.add(aggregate.closeRound());
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long contributors = 0L;
+        long expectedRound = 1L;
+        for (ConsumptionSnapshot snapshot : snapshots) {
+            assertThat(snapshot.getRoundNumber()).isEqualTo(expectedRound++);
+            long count = snapshot.getContributorCount();
+            // 每次提交整体计入同一轮
+            assertThat(snapshot.getTotalConsumptionsCopy())
+                .containsExactly(count, 2 * count, 3 * count, 4 * count);
+            contributors += count;
+        }
+        assertThat(contributors).isEqualTo((long) producers * submissionsPerProducer);
+    }
+
+    @Test
+    @DisplayName("测试大量生产者争用时关闭轮次与提交交错")
+    void testManyContendedProducers() throws Exception {
+        final int producers = 32;
+        final int submissionsPerProducer = 5_000;
+        ConcurrentSystemConsumptionAggregate aggregate = new ConcurrentSystemConsumptionAggregate();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final boolean perSlot = p % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < submissionsPerProducer; i++) {
+                    if (perSlot) {
+                        aggregate.addToTimeSlot(i % SmartGridConfig.TIME_SLOTS, 1);
+                    } else {
+                        aggregate.add(new int[]{1, 1, 1, 1});
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long[] totals = new long[SmartGridConfig.TIME_SLOTS];
+        long contributors = 0L;
+        long started = System.nanoTime();
+        start.countDown();
+        while (!allDone(futures)) {
+            ConsumptionSnapshot snapshot = aggregate.closeRound();
+            long count = snapshot.getContributorCount();
+            long[] slots = snapshot.getTotalConsumptionsCopy();
+            for (int slot = 0; slot < totals.length; slot++) {
+                // 整体提交不会被拆分，各时间段至少包含本轮全部整体提交
+                assertThat(slots[slot]).isGreaterThanOrEqualTo(count);
+                totals[slot] += slots[slot];
+            }
+            contributors += count;
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        ConsumptionSnapshot last = aggregate.closeRound();
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        contributors += last.getContributorCount();
+        long[] lastSlots = last.getTotalConsumptionsCopy();
+        long perSlotSubmissions = (long) (producers / 2) * submissionsPerProducer / SmartGridConfig.TIME_SLOTS;
+        for (int slot = 0; slot < totals.length; slot++) {
+            assertThat(totals[slot] + lastSlots[slot]).isEqualTo(contributors + perSlotSubmissions);
+        }
+        assertThat(contributors).isEqualTo((long) (producers / 2) * submissionsPerProducer);
+        // 16万次提交即使在单核上也应在数秒内完成
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(elapsedNanos)).isLessThan(10L);
+    }
+
+    private static boolean allDone(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package io.leavesfly.smartgrid.core.model;
 
 import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import io.leavesfly.smartgrid.util.random.RandomSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,6 +44,19 @@ class PriceVectorTest {
         }
     }
 
+    @Test
+    @DisplayName("测试随机数源构造函数")
+    void testRandomSourceConstructor() {
+        PriceVector first = new PriceVector(new RandomSource(3L));
+        PriceVector second = new PriceVector(new RandomSource(3L));
+        
+        assertThat(second.getPricesCopy()).containsExactly(first.getPricesCopy());
+        assertThat(first.isValid()).isTrue();
+        assertThat(first.getPriceByPosition(0)).isEqualTo(first.getPriceByPosition(SmartGridConfig.TIME_SLOTS - 1));
+        assertThatThrownBy(() -> new PriceVector((RandomSource) null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("测试价格数组构造函数")
     void testArrayConstructor() {
@@ -327,4 +341,39 @@ class PriceVectorTest {
             t2.join();
         }).doesNotThrowAnyException();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试受信任构造方法与只读视图")
+    void testTrustedFactoryAndReadOnlyView() {
+        float[] prices = {0.8f, 1.0f, 1.2f, 0.6f};
+        PriceVector trusted = PriceVector.ofTrusted(prices);
+
+        assertThat(trusted.getPricesCopy()).containsExactly(prices);
+        assertThat(trusted).isEqualTo(new PriceVector(prices));
+
+        java.nio.FloatBuffer view = trusted.asReadOnlyBuffer();
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view.get(2)).isEqualTo(1.2f);
+        assertThatThrownBy(() -> view.put(0, 1.0f))
+            .isInstanceOf(java.nio.ReadOnlyBufferException.class);
+
+        // 视图随向量修改而变化
+        trusted.setPriceByPosition(2, 0.9f);
+        assertThat(view.get(2)).isEqualTo(0.9f);
+    }
+
+    @Test
+    @DisplayName("测试同类型复制快速路径")
+    void testCopyFromSameType() {
+        PriceVector source = new PriceVector(new float[]{0.8f, 1.0f, 1.2f, 0.6f});
+        PriceVector target = new PriceVector();
+        target.copyFrom(source);
+
+        assertThat(target.getPricesCopy()).containsExactly(source.getPricesCopy());
+
+        PriceVector derived = (PriceVector) source.createNewPriceVector(1, 1.5f);
+        assertThat(derived.isNewPrice()).isTrue();
+        assertThat(derived.getPricesCopy()).containsExactly(0.8f, 1.5f, 1.2f, 0.6f);
+        assertThat(source.getPriceByPosition(1)).isEqualTo(1.0f);
+    }
+}
@@ -443,4 +443,75 @@ class SystemConsumptionAggregateTest {
             assertThat(aggregate.getPeakConsumptionTimeSlot()).isEqualTo(0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试派生指标缓存在每次修改后失效")
+    void testCachedMetricsInvalidatedOnMutation() {
+        assertThat(aggregate.getPeakConsumptionTimeSlot()).isEqualTo(1);
+        assertThat(aggregate.getValleyConsumptionTimeSlot()).isEqualTo(2);
+        double balanceBefore = aggregate.calculateLoadBalanceMetric();
+        
+        aggregate.setAllConsumptions(new int[]{30, 1, 2, 3});
+        assertThat(aggregate.calculateTotalSystemConsumption()).isEqualTo(36);
+        assertThat(aggregate.getPeakConsumptionTimeSlot()).isEqualTo(0);
+        assertThat(aggregate.getValleyConsumptionTimeSlot()).isEqualTo(1);
+        assertThat(aggregate.calculateLoadBalanceMetric()).isNotEqualTo(balanceBefore);
+        
+        SystemConsumptionAggregate source = new SystemConsumptionAggregate(testConsumptions);
+        aggregate.copyFrom(source);
+        assertThat(aggregate.calculateTotalSystemConsumption()).isEqualTo(45);
+        assertThat(aggregate.calculateLoadBalanceMetric()).isEqualTo(balanceBefore);
+        
+        aggregate.reset();
+        assertThat(aggregate.calculateTotalSystemConsumption()).isZero();
+        assertThat(aggregate.getConsumptionRatio(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("测试通过兼容方法直接修改数组后指标仍然正确")
+    @SuppressWarnings("deprecation")
+    void testMetricsAfterRawArrayMutation() {
+        assertThat(aggregate.calculateTotalSystemConsumption()).isEqualTo(45);
+        
+        int[] raw = aggregate.getConsumByTimeVector();
+        raw[3] = 100;
+        
+        assertThat(aggregate.calculateTotalSystemConsumption()).isEqualTo(133);
+        assertThat(aggregate.getPeakConsumptionTimeSlot()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("测试受信任构造方法与只读视图")
+    void testTrustedFactoryAndReadOnlyView() {
+        SystemConsumptionAggregate trusted = SystemConsumptionAggregate.ofTrusted(new int[]{10, 15, 8, 12});
+
+        assertThat(trusted).isEqualTo(aggregate);
+        assertThat(trusted.calculateTotalSystemConsumption()).isEqualTo(45);
+
+        java.nio.IntBuffer view = trusted.asReadOnlyBuffer();
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view.get(1)).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("测试混合类型用户消耗聚合")
+    void testAggregateMixedConsumptionTypes() {
+        ConsumptionVectorInterface plain = new UserConsumptionVector(1, new int[]{1, 1, 1, 1});
+        ConsumptionVectorInterface wrapped = new ConsumptionVectorInterface() {
+            private final UserConsumptionVector delegate = new UserConsumptionVector(0, new int[]{2, 3, 1, 2});
+            @Override public int getUserId() { return delegate.getUserId(); }
+            @Override public int getConsumptionByTimeSlot(int timeSlot) { return delegate.getConsumptionByTimeSlot(timeSlot); }
+            @Override public void setConsumptionByTimeSlot(int timeSlot, int consumption) { delegate.setConsumptionByTimeSlot(timeSlot, consumption); }
+            @Override public int[] getConsumptionsCopy() { return delegate.getConsumptionsCopy(); }
+            @Override public int getTotalConsumption() { return delegate.getTotalConsumption(); }
+            @Override public boolean isValid() { return delegate.isValid(); }
+            @Override public void reset() { delegate.reset(); }
+        };
+
+        SystemConsumptionAggregate mixed = new SystemConsumptionAggregate();
+        mixed.aggregateUserConsumptions(Arrays.asList(wrapped, plain));
+
+        assertThat(mixed.getTotalConsumptionsCopy()).containsExactly(3, 4, 2, 3);
+        assertThat(mixed.isDataComplete()).isTrue();
+    }
+}
@@ -378,4 +378,19 @@ class UserConsumptionVectorTest {
             t2.join();
         }).doesNotThrowAnyException();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试受信任构造方法与只读视图")
+    void testTrustedFactoryAndReadOnlyView() {
+        UserConsumptionVector trusted = UserConsumptionVector.ofTrusted(TEST_USER_ID, new int[]{2, 3, 1, 2});
+
+        assertThat(trusted).isEqualTo(consumptionVector);
+        assertThat(trusted.isValid()).isTrue();
+
+        java.nio.IntBuffer view = trusted.asReadOnlyBuffer();
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view.get(1)).isEqualTo(3);
+        assertThatThrownBy(() -> view.put(0, 1))
+            .isInstanceOf(java.nio.ReadOnlyBufferException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package io.leavesfly.smartgrid.core.model;
+
+import io.leavesfly.smartgrid.core.config.SmartGridConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WideConsumptionAggregate 单元测试类
+ * 测试64位系统用电消耗聚合在大规模用户下的正确性
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("WideConsumptionAggregate 64位消耗聚合测试")
+class WideConsumptionAggregateTest {
+
+    private WideConsumptionAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        aggregate = new WideConsumptionAggregate();
+    }
+
+    @Test
+    @DisplayName("测试聚合用户消耗列表")
+    void testAggregateUserConsumptions() {
+        List<UserConsumptionVector> users = new ArrayList<>();
+        users.add(new UserConsumptionVector(0, new int[]{1, 2, 3, 4}));
+        users.add(new UserConsumptionVector(1, new int[]{2, 3, 1, 5}));
+
+        aggregate.aggregateUserConsumptions(users);
+
+        assertThat(aggregate.getTotalConsumptionsCopy()).containsExactly(3L, 5L, 4L, 9L);
+        assertThat(aggregate.calculateTotalSystemConsumption()).isEqualTo(21L);
+        assertThat(aggregate.getContributorCount()).isEqualTo(2L);
+        assertThat(aggregate.toSystemConsumptionAggregate().getTotalConsumptionsCopy())
+            .containsExactly(3, 5, 4, 9);
+    }
+
+    @Test
+    @DisplayName("测试超出int范围的累加不会溢出")
+    void testNoOverflowBeyondIntRange() {
+        int[] heavyUser = new int[SmartGridConfig.TIME_SLOTS];
+        Arrays.fill(heavyUser, 1_000_000);
+
+        for (int i = 0; i < 5_000; i++) {
+            aggregate.add(heavyUser);
+        }
+
+        assertThat(aggregate.getConsumptionByTimeSlot(0)).isEqualTo(5_000_000_000L);
+        assertThat(aggregate.calculateTotalSystemConsumption())
+            .isEqualTo(5_000_000_000L * SmartGridConfig.TIME_SLOTS);
+        assertThatThrownBy(() -> aggregate.toSystemConsumptionAggregate())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("测试无效输入")
+    void testInvalidInput() {
+        assertThatThrownBy(() -> aggregate.add((int[]) null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("消耗数组不能为null");
+
+        assertThatThrownBy(() -> aggregate.add(new int[]{1, -1, 1, 1}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("用电消耗不能为负数: -1");
+
+        assertThatThrownBy(() -> aggregate.getConsumptionByTimeSlot(SmartGridConfig.TIME_SLOTS))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("测试重置")
+    void testReset() {
+        aggregate.add(new int[]{1, 1, 1, 1});
+        aggregate.reset();
+
+        assertThat(aggregate.calculateTotalSystemConsumption()).isZero();
+        assertThat(aggregate.getContributorCount()).isZero();
+    }
+}
@@ -0,0 +1,168 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * RetailerCheckpoint 单元测试类
+ * 验证快照的异步写入和恢复，以及SAPC算法崩溃后从检查点继续
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("RetailerCheckpoint 检查点测试")
+class RetailerCheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+        RetailerConfigConstants.resetAnnealingState();
+    }
+
+    @Test
+    @DisplayName("测试快照写入后恢复到零售商和退火状态")
+    void testSnapshotRoundTrip() throws Exception {
+        Retailer retailer = new Retailer(2, new RandomSource(5L));
+        retailer.setCurrentRetailerProfit(-3.25);
+        RetailerConfigConstants.resetAnnealingState();
+        RetailerConfigConstants.coolDown();
+        float[] prices = retailer.getCurrentPriceVector().getPriceArray().clone();
+
+        try (RetailerCheckpoint checkpoint = new RetailerCheckpoint(tempDir.resolve("retailer.ckpt"), 1)) {
+            assertThat(checkpoint.load()).isNull();
+            checkpoint.submit(RetailerCheckpoint.Snapshot.capture(retailer, 2, 7L));
+            checkpoint.flush();
+
+            RetailerCheckpoint.Snapshot snapshot = checkpoint.load();
+            assertThat(snapshot.getNextPosition()).isEqualTo(2);
+            assertThat(snapshot.getEvaluations()).isEqualTo(7L);
+            assertThat(snapshot.getSeed()).isEqualTo(5L);
+
+            RetailerConfigConstants.resetAnnealingState();
+            Retailer restored = new Retailer(2, new RandomSource(6L));
+            snapshot.restoreTo(restored);
+
+            assertThat(restored.getCurrentPriceVector().getPriceArray()).containsExactly(prices);
+            assertThat(restored.getCurrentRetailerProfitDouble()).isEqualTo(-3.25);
+            assertThat(RetailerConfigConstants.CURRENT_ROUND).isEqualTo(2);
+
+            checkpoint.clear();
+            assertThat(checkpoint.getFile()).doesNotExist();
+        }
+    }
+
+    @Test
+    @DisplayName("测试写入跟不上时只保留最新的快照")
+    void testCoalescesPendingSnapshots() throws Exception {
+        Retailer retailer = new Retailer(2, new RandomSource(1L));
+        try (RetailerCheckpoint checkpoint = new RetailerCheckpoint(tempDir.resolve("retailer.ckpt"), 1)) {
+            for (int i = 1; i <= 200; i++) {
+                checkpoint.submit(RetailerCheckpoint.Snapshot.capture(retailer, 0, i));
+            }
+            checkpoint.flush();
+
+            assertThat(checkpoint.getWrittenCount()).isBetween(1L, 200L);
+            assertThat(checkpoint.load().getEvaluations()).isEqualTo(200L);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("测试崩溃后从检查点继续且不重复已完成的评估")
+    void testResumesAfterCrash() throws Exception {
+        long uninterrupted = runSimulatedAnnealing(null, Integer.MAX_VALUE);
+
+        try (RetailerCheckpoint checkpoint = new RetailerCheckpoint(tempDir.resolve("retailer.ckpt"), 1)) {
+            assertThatThrownBy(() -> runSimulatedAnnealing(checkpoint, 10))
+                .isInstanceOf(IllegalStateException.class);
+            checkpoint.flush();
+            RetailerCheckpoint.Snapshot snapshot = checkpoint.load();
+            assertThat(snapshot.getEvaluations()).isEqualTo(10L);
+
+            assertThat(runSimulatedAnnealing(checkpoint, Integer.MAX_VALUE)).isEqualTo(uninterrupted - 10);
+            assertThat(checkpoint.getFile()).doesNotExist();
+        }
+    }
+
+    @Test
+    @DisplayName("测试参数校验")
+    void testRejectsInvalidArguments() {
+        assertThatThrownBy(() -> new RetailerCheckpoint(null, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetailerCheckpoint(tempDir.resolve("x"), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 运行SAPC算法，第maxEvaluations次之后的评估抛出异常模拟崩溃
+     * @return 本次运行完成的评估次数
+     */
+    private static long runSimulatedAnnealing(RetailerCheckpoint checkpoint, int maxEvaluations) throws Exception {
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(6, new RandomSource(9L));
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setCheckpoint(checkpoint);
+        try (UserTransport transport = new CrashingTransport(new DirectUserTransport(retailer), maxEvaluations)) {
+            SAPC_Algorithm.simulatedAnnealingAglorith(retailer, transport);
+        }
+        return RetailerMetrics.EVALUATIONS.sum();
+    }
+
+    private static final class CrashingTransport implements UserTransport {
+        private final UserTransport delegate;
+        private final int maxEvaluations;
+        private int evaluations;
+
+        CrashingTransport(UserTransport delegate, int maxEvaluations) {
+            this.delegate = delegate;
+            this.maxEvaluations = maxEvaluations;
+        }
+
+        @Override
+        public void awaitUsers() throws InterruptedException {
+            delegate.awaitUsers();
+        }
+
+        @Override
+        public void evaluate() throws InterruptedException {
+            if (evaluations++ >= maxEvaluations) {
+                throw new IllegalStateException("模拟崩溃");
+            }
+            delegate.evaluate();
+        }
+
+        @Override
+        public void broadcastFinalPrice() throws InterruptedException {
+            delegate.broadcastFinalPrice();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.SessionHello;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UserThread;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+
+/**
+ * Retailer 动态成员单元测试类
+ * 验证每轮参与者在发布价格时确定，成员加入和离开不会使算法停住
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("Retailer 动态成员测试")
+class RetailerMembershipTest {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("测试新成员从下一轮开始参与")
+    void testJoinAtRoundBoundary() throws Exception {
+        Retailer retailer = new Retailer(1);
+        assertThat(retailer.joinMember()).isEqualTo(1L);
+        retailer.awaitAllUsersConnected();
+
+        long round = retailer.publishNewPrice();
+        assertThat(retailer.joinMember()).isEqualTo(round + 1);
+
+        // 本轮只有第一个成员参与
+        assertThat(retailer.submitResponse(response(0))).isTrue();
+        retailer.awaitEvaluation(round);
+
+        long next = retailer.publishNewPrice();
+        assertThat(retailer.submitResponse(response(0))).isFalse();
+        assertThat(retailer.submitResponse(response(1))).isTrue();
+        retailer.awaitEvaluation(next);
+        assertThat(retailer.getActiveMembers()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("测试参与者离开后本轮按已收到的响应完成")
+    void testLeaveFreesSlot() throws Exception {
+        Retailer retailer = new Retailer(3);
+        for (int i = 0; i < 3; i++) {
+            retailer.joinMember();
+        }
+        long round = retailer.publishNewPrice();
+        assertThat(retailer.submitResponse(response(0))).isFalse();
+        assertThat(retailer.submitResponse(response(1))).isFalse();
+
+        retailer.leaveMember(round);
+        retailer.awaitEvaluation(round);
+
+        assertThat(retailer.getNewConsumption().getConsumptionByTimeVector()).containsExactly(2, 4, 6, 8);
+        assertThat(retailer.getActiveMembers()).isEqualTo(2);
+        assertThat(retailer.getUserConsumptionList()).isEmpty();
+
+        // 不是本轮参与者的成员离开不影响本轮
+        long next = retailer.publishNewPrice();
+        retailer.joinMember();
+        retailer.leaveMember(0);
+        assertThat(retailer.submitResponse(response(0))).isFalse();
+        assertThat(retailer.submitResponse(response(1))).isTrue();
+        retailer.awaitEvaluation(next);
+        assertThat(retailer.getNewConsumption().getConsumptionByTimeVector()).containsExactly(2, 4, 6, 8);
+    }
+
+    @Test
+    @DisplayName("测试全部参与者离开后由新成员继续本轮")
+    void testEmptyRoundAdoptsNewMember() throws Exception {
+        Retailer retailer = new Retailer(1);
+        retailer.joinMember();
+        long round = retailer.publishNewPrice();
+        retailer.leaveMember(round);
+
+        assertThat(retailer.joinMember()).isEqualTo(round);
+        assertThat(retailer.submitResponse(response(0))).isTrue();
+        retailer.awaitEvaluation(round);
+    }
+
+    @Test
+    @DisplayName("测试已发布最终价格后加入的成员立即收到最终价格")
+    void testJoinAfterEnd() throws Exception {
+        Retailer retailer = new Retailer(1);
+        retailer.joinMember();
+        retailer.getNewPriceVector().setAlgorithmEnded(true);
+        retailer.publishNewPrice();
+
+        long first = retailer.joinMember();
+        assertThat(retailer.awaitNewPrice(first).isAlgorithmEnded()).isTrue();
+    }
+
+    @Test
+    @Timeout(60)
+    @DisplayName("测试运行中用户断开和新用户加入时SAPC算法继续完成")
+    void testSimulatedAnnealingSurvivesChurn() throws Exception {
+        Retailer retailer = new Retailer(3);
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setMaxRounds(3);
+        try (RetailerServer server = RetailerServer.start(0, retailer)) {
+            Thread[] users = {
+                startThread(new UserThread(0, LOOPBACK, server.getPort())),
+                startThread(new UserThread(1, LOOPBACK, server.getPort())),
+                startThread(() -> leaveAfterResponses(server.getPort(), 3,
+                    new UserThread(3, LOOPBACK, server.getPort())))
+            };
+
+            server.runAlgorithm();
+
+            assertThat(retailer.getNewPriceVector().isAlgorithmEnded()).isTrue();
+            assertThat(retailer.getCurrentRetailerProfitDouble()).isFinite();
+            for (Thread user : users) {
+                user.join();
+            }
+        }
+    }
+
+    /**
+     * 作为用户2响应指定次数后断开，然后启动一个新用户
+     */
+    private static void leaveAfterResponses(int port, int responses, Runnable replacement) {
+        try (Socket socket = new Socket(LOOPBACK, port)) {
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.writeObject(new SessionHello(2, null));
+            out.flush();
+            in.readObject();
+            for (int i = 0; i < responses; i++) {
+                PriceVector price = (PriceVector) in.readObject();
+                out.writeObject(UserMaxSatisfaConsumVector.respond(2, price));
+                out.flush();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        replacement.run();
+    }
+
+    private static Thread startThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static OneUserConsumVector response(int userId) {
+        return new OneUserConsumVector(userId, new int[] {1, 2, 3, 4});
+    }
+}
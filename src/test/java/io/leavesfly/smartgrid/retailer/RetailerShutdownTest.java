@@ -0,0 +1,180 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.user.EndOfSessionAck;
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.SessionHello;
+import io.leavesfly.smartgrid.user.UserMaxSatisfaConsumVector;
+import io.leavesfly.smartgrid.user.UserThread;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+
+/**
+ * 零售商关闭单元测试类
+ * 验证会话结束消息和确认、关闭时并行排空连接，以及算法运行中关闭服务器
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("零售商关闭测试")
+class RetailerShutdownTest {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("测试关闭后等待价格的连接立即返回且不再等待评估")
+    void testShutdownReleasesWaiters() throws Exception {
+        Retailer retailer = new Retailer(1);
+        retailer.joinMember();
+        long round = retailer.publishNewPrice();
+
+        retailer.shutdown();
+        assertThat(retailer.isShutdown()).isTrue();
+        assertThat(retailer.awaitNewPrice(round + 5)).isNotNull();
+        assertThatThrownBy(() -> retailer.awaitEvaluation(round)).isInstanceOf(IllegalStateException.class);
+
+        // 关闭后发布的价格不会重新开始轮次
+        retailer.publishNewPrice();
+        assertThat(retailer.submitResponse(new OneUserConsumVector(0, new int[4]))).isFalse();
+    }
+
+    @Test
+    @Timeout(60)
+    @DisplayName("测试算法结束后用户确认会话结束，服务器关闭时不再等待")
+    void testEndOfSessionIsAcknowledged() throws Exception {
+        Retailer retailer = new Retailer(2);
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setMaxRounds(2);
+        RetailerServer server = RetailerServer.start(0, retailer);
+        int port = server.getPort();
+        AtomicReference<Object> lastMessage = new AtomicReference<>();
+        List<Long> rounds = new CopyOnWriteArrayList<>();
+        Thread[] users = {
+            startThread(new UserThread(0, LOOPBACK, port)),
+            startThread(() -> respondAndAcknowledge(port, lastMessage, rounds))
+        };
+
+        server.runAlgorithm();
+        for (Thread user : users) {
+            user.join();
+        }
+
+        long start = System.nanoTime();
+        server.close();
+        long closeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(lastMessage.get()).isInstanceOf(EndOfSession.class);
+        EndOfSession end = (EndOfSession) lastMessage.get();
+        assertThat(end.isCompleted()).isTrue();
+        assertThat(end.getFinalPrice().isAlgorithmEnded()).isTrue();
+        // 每条价格都带有零售商为本连接服务的价格轮次，从1开始连续编号
+        assertThat(rounds).isNotEmpty();
+        for (int i = 0; i < rounds.size(); i++) {
+            assertThat(rounds.get(i)).isEqualTo(i + 1L);
+        }
+        assertThat(end.getFinalPrice().getRound()).isEqualTo(rounds.size() + 1L);
+        assertThat(server.getConnectionCount()).isZero();
+        assertThat(closeMillis).isLessThan(RetailerConfigConstants.SESSION_DRAIN_TIMEOUT_MILLIS);
+        assertThatThrownBy(() -> new Socket(LOOPBACK, port).close()).isInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    @Timeout(60)
+    @DisplayName("测试算法运行中关闭服务器时全部连接并行排空")
+    void testCloseDuringRunDrainsConnections() throws Exception {
+        int userCount = 8;
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(userCount);
+        retailer.setBroadcastDelayMillis(20);
+        RetailerServer server = RetailerServer.start(0, retailer);
+        Thread[] users = new Thread[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = startThread(new UserThread(i, LOOPBACK, server.getPort()));
+        }
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread algorithm = startThread(() -> {
+            try {
+                server.runAlgorithm();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        while (RetailerMetrics.EVALUATIONS.sum() < 2) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        server.close();
+        long closeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        algorithm.join();
+        for (Thread user : users) {
+            user.join();
+        }
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(server.getConnectionCount()).isZero();
+        assertThat(closeMillis).isLessThan(RetailerConfigConstants.SESSION_DRAIN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 作为用户1响应每一轮价格并记录价格轮次，收到会话结束消息后回复确认
+     */
+    private static void respondAndAcknowledge(int port, AtomicReference<Object> lastMessage, List<Long> rounds) {
+        try (Socket socket = new Socket(LOOPBACK, port)) {
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.writeObject(new SessionHello(1, null));
+            out.flush();
+            in.readObject();
+            while (true) {
+                Object message = in.readObject();
+                lastMessage.set(message);
+                if (message instanceof EndOfSession) {
+                    out.writeObject(new EndOfSessionAck(1));
+                    out.flush();
+                    return;
+                }
+                rounds.add(((PriceVector) message).getRound());
+                out.writeObject(UserMaxSatisfaConsumVector.respond(1, (PriceVector) message));
+                out.flush();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Thread startThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
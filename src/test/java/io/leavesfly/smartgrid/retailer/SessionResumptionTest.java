@@ -0,0 +1,239 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.user.OneUserConsumVector;
+import io.leavesfly.smartgrid.user.UserThread;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+
+/**
+ * 会话恢复单元测试类
+ * 验证会话令牌的匹配、重连成员立即参与当前轮次，以及断线的用户自动重连后算法继续完成
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("会话恢复测试")
+class SessionResumptionTest {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("测试只有匹配的令牌能恢复会话")
+    void testResumeRequiresMatchingToken() {
+        SessionRegistry sessions = new SessionRegistry();
+        SessionRegistry.Session session = sessions.create(7);
+
+        assertThat(sessions.resume(7, session.getToken())).isSameAs(session);
+        assertThat(sessions.resume(7, null)).isNull();
+        assertThat(sessions.resume(7, "stale")).isNull();
+        assertThat(sessions.resume(8, session.getToken())).isNull();
+
+        SessionRegistry.Session replaced = sessions.create(7);
+        assertThat(replaced.getToken()).isNotEqualTo(session.getToken());
+        assertThat(sessions.resume(7, session.getToken())).isNull();
+        assertThat(sessions.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试重连的成员未响应当前轮次时立即参与当前轮次")
+    void testRejoinCatchesUpWithCurrentRound() throws Exception {
+        Retailer retailer = new Retailer(1);
+        retailer.joinMember();
+        long round = retailer.publishNewPrice();
+
+        assertThat(retailer.rejoinMember(round - 1)).isEqualTo(round);
+        assertThat(retailer.rejoinMember(round)).isEqualTo(round + 1);
+        assertThat(retailer.joinMember()).isEqualTo(round + 1);
+
+        // 本轮等待第一个成员和追上本轮的重连成员
+        assertThat(retailer.submitResponse(response(0))).isFalse();
+        assertThat(retailer.submitResponse(response(1))).isTrue();
+        retailer.awaitEvaluation(round);
+    }
+
+    @Test
+    @DisplayName("测试新连接接管会话后旧连接的响应被丢弃")
+    void testNewConnectionSupersedesOld() throws Exception {
+        Retailer retailer = new Retailer(1);
+        SessionRegistry.Session session = retailer.getSessions().create(0);
+        try (Socket first = new Socket(); Socket second = new Socket()) {
+            assertThat(session.attach(first, retailer, false)).isEqualTo(1L);
+            retailer.awaitAllUsersConnected();
+            long round = retailer.publishNewPrice();
+
+            assertThat(session.attach(second, retailer, true)).isEqualTo(round);
+            assertThat(first.isClosed()).isTrue();
+            assertThatThrownBy(() -> session.submit(first, round, response(0), retailer))
+                .isInstanceOf(SocketException.class);
+
+            retailer.leaveMember(round);
+            session.detach(first);
+            assertThat(session.submit(second, round, response(0), retailer)).isTrue();
+            retailer.awaitEvaluation(round);
+            assertThat(retailer.rejoinMember(round)).isEqualTo(round + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("测试同一用户ID建立新会话时关闭原会话的连接")
+    void testNewSessionClosesReplacedConnection() throws Exception {
+        Retailer retailer = new Retailer(1);
+        SessionRegistry.Session session = retailer.getSessions().create(0);
+        try (Socket first = new Socket(); Socket second = new Socket()) {
+            session.attach(first, retailer, false);
+            long round = retailer.publishNewPrice();
+
+            SessionRegistry.Session replaced = retailer.getSessions().create(0);
+            assertThat(first.isClosed()).isTrue();
+            assertThatThrownBy(() -> session.submit(first, round, response(0), retailer))
+                .isInstanceOf(SocketException.class);
+
+            retailer.leaveMember(round);
+            session.detach(first);
+            replaced.attach(second, retailer, false);
+            assertThat(second.isClosed()).isFalse();
+            assertThat(retailer.getActiveMembers()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    @DisplayName("测试连接断开后用户自动重连并以原会话继续")
+    void testUsersReconnectAfterDrop() throws Exception {
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(2);
+        retailer.setBroadcastDelayMillis(50);
+        retailer.setMaxRounds(3);
+        try (RetailerServer server = RetailerServer.start(0, retailer);
+             DroppingProxy proxy = new DroppingProxy(server.getPort())) {
+            Thread[] users = {
+                startThread(new UserThread(0, LOOPBACK, proxy.getPort())),
+                startThread(new UserThread(1, LOOPBACK, proxy.getPort()))
+            };
+            Thread algorithm = startThread(() -> {
+                try {
+                    server.runAlgorithm();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            while (RetailerMetrics.EVALUATIONS.sum() < 2) {
+                Thread.sleep(5);
+            }
+            proxy.dropConnections();
+
+            algorithm.join();
+            for (Thread user : users) {
+                user.join();
+            }
+            assertThat(retailer.getNewPriceVector().isAlgorithmEnded()).isTrue();
+            assertThat(RetailerMetrics.RESUMED_SESSIONS.sum()).isEqualTo(2L);
+            assertThat(retailer.getSessions().size()).isEqualTo(2);
+        }
+    }
+
+    private static Thread startThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static OneUserConsumVector response(int userId) {
+        return new OneUserConsumVector(userId, new int[] {1, 2, 3, 4});
+    }
+
+    /**
+     * 转发到零售商的TCP代理，可以一次断开全部已转发的连接
+     */
+    private static final class DroppingProxy implements Closeable {
+        private final ServerSocket listener;
+        private final List<Socket> sockets = new ArrayList<>();
+
+        DroppingProxy(int upstreamPort) throws IOException {
+            listener = new ServerSocket(0);
+            startThread(() -> {
+                try {
+                    while (true) {
+                        Socket client = listener.accept();
+                        Socket upstream = new Socket(LOOPBACK, upstreamPort);
+                        synchronized (sockets) {
+                            sockets.add(client);
+                            sockets.add(upstream);
+                        }
+                        startThread(() -> pump(client, upstream));
+                        startThread(() -> pump(upstream, client));
+                    }
+                } catch (IOException e) {
+                    // 代理已关闭
+                }
+            });
+        }
+
+        int getPort() {
+            return listener.getLocalPort();
+        }
+
+        void dropConnections() throws IOException {
+            synchronized (sockets) {
+                for (Socket socket : sockets) {
+                    socket.close();
+                }
+                sockets.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            listener.close();
+            dropConnections();
+        }
+
+        private static void pump(Socket from, Socket to) {
+            byte[] buffer = new byte[8192];
+            try {
+                InputStream in = from.getInputStream();
+                OutputStream out = to.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+                to.shutdownOutput();
+            } catch (IOException e) {
+                // 连接已断开
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.leavesfly.smartgrid.retailer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * SolutionStore 单元测试类
+ * 验证解文件的读写和校验，以及SAPC算法的续跑和热启动
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("SolutionStore 解存储测试")
+class SolutionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+        RetailerConfigConstants.resetAnnealingState();
+    }
+
+    @Test
+    @DisplayName("测试保存后读取得到相同的解")
+    void testRoundTrip() throws Exception {
+        SolutionStore store = new SolutionStore(tempDir.resolve("state/solution.bin"));
+        assertThat(store.load()).isNull();
+
+        float[] prices = {0.6f, 0.9f, 1.2f, 1.4f};
+        store.save(new SolutionStore.Solution(prices, 0.05f, 7, -12.5, true));
+        prices[0] = 1.0f;
+        SolutionStore.Solution loaded = store.load();
+
+        assertThat(loaded.getPrices()).containsExactly(0.6f, 0.9f, 1.2f, 1.4f);
+        assertThat(loaded.getTemperature()).isEqualTo(0.05f);
+        assertThat(loaded.getRound()).isEqualTo(7);
+        assertThat(loaded.getProfit()).isEqualTo(-12.5);
+        assertThat(loaded.isCompleted()).isTrue();
+        assertThat(loaded.getSavedAtMillis()).isPositive();
+        try (Stream<Path> files = Files.list(store.getFile().getParent())) {
+            assertThat(files).containsExactly(store.getFile());
+        }
+
+        store.clear();
+        assertThat(store.load()).isNull();
+    }
+
+    @Test
+    @DisplayName("测试损坏和截断的文件被拒绝")
+    void testRejectsCorruptedFile() throws Exception {
+        SolutionStore store = new SolutionStore(tempDir.resolve("solution.bin"));
+        store.save(new SolutionStore.Solution(new float[]{0.7f, 0.8f}, 0.1f, 2, 3.0, false));
+        byte[] bytes = Files.readAllBytes(store.getFile());
+
+        bytes[bytes.length - 6] ^= 0x10;
+        Files.write(store.getFile(), bytes);
+        assertThatThrownBy(store::load).isInstanceOf(IOException.class).hasMessageContaining("校验和");
+
+        Files.write(store.getFile(), Arrays.copyOf(bytes, bytes.length - 4));
+        assertThatThrownBy(store::load).isInstanceOf(IOException.class);
+
+        assertThatThrownBy(() -> new SolutionStore.Solution(new float[0], 0.1f, 1, 0.0, false))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("测试从上次的最终解热启动时轮数减少")
+    void testWarmStartSkipsHotRounds() throws Exception {
+        SolutionStore store = new SolutionStore(tempDir.resolve("solution.bin"));
+
+        long coldRounds = runSimulatedAnnealing(store, 1L);
+        SolutionStore.Solution coldSolution = store.load();
+        assertThat(coldSolution.isCompleted()).isTrue();
+
+        long warmRounds = runSimulatedAnnealing(store, 2L);
+        RetailerConfigConstants.warmStartAnnealingState(RetailerConfigConstants.WARM_START_TEMPERATURE);
+        int skipped = RetailerConfigConstants.CURRENT_ROUND - 1;
+
+        assertThat(skipped).isPositive();
+        assertThat(warmRounds).isEqualTo(coldRounds - skipped);
+        assertThat(store.load().isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试从未完成的检查点续跑")
+    void testResumesFromCheckpoint() throws Exception {
+        SolutionStore store = new SolutionStore(tempDir.resolve("solution.bin"));
+        long coldRounds = runSimulatedAnnealing(null, 3L);
+
+        RetailerConfigConstants.resetAnnealingState();
+        for (int i = 0; i < 3; i++) {
+            RetailerConfigConstants.coolDown();
+        }
+        store.save(new SolutionStore.Solution(new float[]{0.9f, 0.9f, 0.9f, 0.9f},
+            RetailerConfigConstants.INITIAL_TEMPERATURE, RetailerConfigConstants.CURRENT_ROUND, 0.0, false));
+
+        assertThat(runSimulatedAnnealing(store, 3L)).isEqualTo(coldRounds - 3);
+        assertThat(store.load().isCompleted()).isTrue();
+    }
+
+    private static long runSimulatedAnnealing(SolutionStore store, long seed) throws Exception {
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(6, new RandomSource(seed));
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setSolutionStore(store);
+        try (UserTransport transport = new DirectUserTransport(retailer)) {
+            SAPC_Algorithm.simulatedAnnealingAglorith(retailer, transport);
+        }
+        return RetailerMetrics.ANNEALING_ROUNDS.sum();
+    }
+}
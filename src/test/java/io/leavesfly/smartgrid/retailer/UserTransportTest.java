@@ -0,0 +1,140 @@
+package io.leavesfly.smartgrid.retailer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.random.RandomSource;
+
+/**
+ * UserTransport 单元测试类
+ * 验证进程内传输与直接调用传输的评估结果一致，并能驱动完整的SAPC算法
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("UserTransport 用户传输测试")
+class UserTransportTest {
+
+    private static final float[] PRICES = {0.12f, 0.35f, 0.58f, 0.81f};
+
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = SmartGridLogger.getInstance().getLogLevel();
+        SmartGridLogger.getInstance().setLogLevel(LogLevel.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SmartGridLogger.getInstance().setLogLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("测试队列传输与直接调用传输的评估结果一致")
+    void testQueueMatchesDirect() throws Exception {
+        Retailer direct = retailerWithPrices(7);
+        Retailer queued = retailerWithPrices(7);
+
+        try (UserTransport directTransport = new DirectUserTransport(direct);
+             UserTransport queueTransport = new QueueUserTransport(queued)) {
+            queueTransport.awaitUsers();
+            directTransport.evaluate();
+            queueTransport.evaluate();
+        }
+
+        assertThat(queued.getNewRetailerProfitDouble()).isEqualTo(direct.getNewRetailerProfitDouble());
+        assertThat(queued.getNewWideConsumption()).containsExactly(direct.getNewWideConsumption());
+        assertThat(queued.getUserConsumptionList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("测试重复评估时每轮都收齐全部用户")
+    void testRepeatedEvaluations() throws Exception {
+        Retailer retailer = retailerWithPrices(5);
+        try (UserTransport transport = new QueueUserTransport(retailer)) {
+            transport.awaitUsers();
+            transport.evaluate();
+            double first = retailer.getNewRetailerProfitDouble();
+            transport.evaluate();
+
+            assertThat(retailer.getNewRetailerProfitDouble()).isEqualTo(first);
+            assertThat(retailer.getUserConsumptionList()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("测试经直接调用传输运行SAPC算法")
+    void testSimulatedAnnealingWithDirectTransport() throws Exception {
+        assertEvaluationsForTwoRounds(retailer -> new DirectUserTransport(retailer));
+    }
+
+    @Test
+    @DisplayName("测试经队列传输运行SAPC算法")
+    void testSimulatedAnnealingWithQueueTransport() throws Exception {
+        assertEvaluationsForTwoRounds(retailer -> new QueueUserTransport(retailer));
+    }
+
+    @Test
+    @DisplayName("测试同一种子的SAPC运行结果可复现")
+    void testSimulatedAnnealingIsReproducible() throws Exception {
+        Retailer first = runSimulatedAnnealing(11L);
+        Retailer second = runSimulatedAnnealing(11L);
+
+        assertThat(second.getCurrentPriceVector().getPriceArray())
+            .containsExactly(first.getCurrentPriceVector().getPriceArray());
+        assertThat(second.getCurrentRetailerProfitDouble()).isEqualTo(first.getCurrentRetailerProfitDouble());
+        assertThat(first.getRandomSource().getSeed()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("测试参数校验")
+    void testRejectsNullRetailer() {
+        assertThatThrownBy(() -> new DirectUserTransport(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new QueueUserTransport(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SocketUserTransport(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Retailer(2, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private interface TransportFactory {
+        UserTransport create(Retailer retailer);
+    }
+
+    private static void assertEvaluationsForTwoRounds(TransportFactory factory) throws Exception {
+        RetailerMetrics.reset();
+        Retailer retailer = new Retailer(6);
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setMaxRounds(2);
+
+        try (UserTransport transport = factory.create(retailer)) {
+            SAPC_Algorithm.simulatedAnnealingAglorith(retailer, transport);
+        }
+
+        // 一次初始评估，每轮每个时间段一次评估
+        assertThat(RetailerMetrics.EVALUATIONS.sum()).isEqualTo(1 + 2 * RetailerConfigConstants.TIME_SLOTS);
+        assertThat(RetailerMetrics.ANNEALING_ROUNDS.sum()).isEqualTo(2);
+        assertThat(retailer.getNewPriceVector().isAlgorithmEnded()).isTrue();
+        assertThat(retailer.getCurrentRetailerProfitDouble()).isFinite();
+    }
+
+    private static Retailer runSimulatedAnnealing(long seed) throws Exception {
+        Retailer retailer = new Retailer(6, new RandomSource(seed));
+        retailer.setBroadcastDelayMillis(0);
+        retailer.setMaxRounds(3);
+        try (UserTransport transport = new DirectUserTransport(retailer)) {
+            SAPC_Algorithm.simulatedAnnealingAglorith(retailer, transport);
+        }
+        return retailer;
+    }
+
+    private static Retailer retailerWithPrices(int users) {
+        Retailer retailer = new Retailer(users);
+        retailer.setNewPriceVector(new PriceVector(PRICES.clone()));
+        return retailer;
+    }
+}
@@ -0,0 +1,36 @@
+package io.leavesfly.smartgrid.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * UserThread 单元测试类
+ * 验证断线重连的退避时间
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("UserThread 重连测试")
+class UserThreadTest {
+
+    @Test
+    @DisplayName("测试退避上限每次翻倍且不超过最大值")
+    void testBackoffDoublesUpToMaximum() {
+        assertThat(UserThread.reconnectDelayMillis(1, 0.999999)).isEqualTo(UsersArgs.reconnectBaseDelayMillis - 1);
+        assertThat(UserThread.reconnectDelayMillis(2, 0.999999)).isEqualTo(2 * UsersArgs.reconnectBaseDelayMillis - 1);
+        assertThat(UserThread.reconnectDelayMillis(3, 0.999999)).isEqualTo(4 * UsersArgs.reconnectBaseDelayMillis - 1);
+        assertThat(UserThread.reconnectDelayMillis(1000, 0.999999)).isEqualTo(UsersArgs.reconnectMaxDelayMillis - 1);
+    }
+
+    @Test
+    @DisplayName("测试抖动把等待时间分布在上限的一半到上限之间")
+    void testJitterSpreadsDelay() {
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long low = UserThread.reconnectDelayMillis(attempt, 0.0);
+            long high = UserThread.reconnectDelayMillis(attempt, 0.999999);
+            assertThat(low).isPositive();
+            assertThat(high).isGreaterThan(low).isLessThanOrEqualTo(2 * low);
+        }
+    }
+}
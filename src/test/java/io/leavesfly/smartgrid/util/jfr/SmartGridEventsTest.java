@@ -0,0 +1,82 @@
+package io.leavesfly.smartgrid.util.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SmartGrid JFR事件单元测试类
+ * 测试事件在录制开启时被记录且字段完整
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("SmartGrid JFR事件测试")
+class SmartGridEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("测试JFR可用")
+    void testAvailable() {
+        assertThat(FlightRecorderSupport.AVAILABLE).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试事件录制与字段")
+    void testEventsAreRecorded() throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SapcRoundEvent.class);
+            recording.enable(CandidateEvaluationEvent.class);
+            recording.start();
+
+            SapcRoundEvent round = new SapcRoundEvent();
+            round.begin();
+            round.round = 3;
+            round.temperature = 0.25f;
+            round.candidates = 4;
+            round.acceptedMoves = 2;
+            round.currentProfit = 12.5;
+            round.commit();
+
+            CandidateEvaluationEvent evaluation = new CandidateEvaluationEvent();
+            evaluation.begin();
+            evaluation.round = 3;
+            evaluation.position = 1;
+            evaluation.candidateProfit = 13.0;
+            evaluation.currentProfit = 12.5;
+            evaluation.accepted = true;
+            evaluation.commit();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("io.leavesfly.smartgrid."))
+            .collect(Collectors.toList());
+        assertThat(events).extracting(event -> event.getEventType().getName())
+            .containsExactly("io.leavesfly.smartgrid.SapcRound", "io.leavesfly.smartgrid.CandidateEvaluation");
+
+        RecordedEvent round = events.get(0);
+        assertThat(round.getInt("round")).isEqualTo(3);
+        assertThat(round.getFloat("temperature")).isEqualTo(0.25f);
+        assertThat(round.getInt("acceptedMoves")).isEqualTo(2);
+        assertThat(round.getDouble("currentProfit")).isEqualTo(12.5);
+
+        RecordedEvent evaluation = events.get(1);
+        assertThat(evaluation.getInt("position")).isEqualTo(1);
+        assertThat(evaluation.getBoolean("accepted")).isTrue();
+        assertThat(evaluation.getDuration().isNegative()).isFalse();
+    }
+}
@@ -0,0 +1,196 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步日志环形缓冲区与后台写线程单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("AsyncLogWriter 异步日志测试")
+class AsyncLogWriterTest {
+
+    @Test
+    @DisplayName("测试环形缓冲区容量取整与满队列")
+    void testRingBufferCapacityAndFull() {
+        LogRingBuffer ringBuffer = new LogRingBuffer(3);
+        assertThat(ringBuffer.capacity()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.tryPublish(LogLevel.INFO, LogType.SYSTEM, "t", i, "m" + i, false)).isTrue();
+        }
+        assertThat(ringBuffer.tryPublish(LogLevel.INFO, LogType.SYSTEM, "t", 4, "m4", false)).isFalse();
+        assertThat(ringBuffer.size()).isEqualTo(4);
+
+        List<String> drained = new ArrayList<>();
+        assertThat(ringBuffer.drain(event -> drained.add(event.message), 2)).isEqualTo(2);
+        assertThat(drained).containsExactly("m0", "m1");
+        assertThat(ringBuffer.size()).isEqualTo(2);
+
+        // 释放的槽位可以再次写入
+        assertThat(ringBuffer.tryPublish(LogLevel.INFO, LogType.SYSTEM, "t", 5, "m5", false)).isTrue();
+        ringBuffer.drain(event -> drained.add(event.message), 16);
+        assertThat(drained).containsExactly("m0", "m1", "m2", "m3", "m5");
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试无效容量")
+    void testInvalidCapacity() {
+        assertThatThrownBy(() -> new LogRingBuffer(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("缓冲区容量超出范围: 0");
+    }
+
+    @Test
+    @DisplayName("测试BLOCK策略下多线程写入不丢失日志")
+    void testBlockPolicyDeliversEverything() throws InterruptedException {
+        final int threads = 8;
+        final int messagesPerThread = 5_000;
+        RecordingHandler handler = new RecordingHandler();
+        AsyncLogWriter writer = new AsyncLogWriter(64, 10, OverflowPolicy.BLOCK, handler);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < messagesPerThread; i++) {
+                        writer.publish(LogLevel.INFO, LogType.SYSTEM, "t", i, "m", false);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(writer.flush(10_000)).isTrue();
+        writer.shutdown(5_000);
+
+        assertThat(handler.events.get()).isEqualTo(threads * messagesPerThread);
+        assertThat(writer.getDroppedCount()).isZero();
+        assertThat(handler.flushes.get()).isPositive();
+    }
+
+    @Test
+    @DisplayName("测试DROP策略在队列满时丢弃日志")
+    void testDropPolicyDropsWhenFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler() {
+            @Override
+            public void onEvent(LogEvent event) {
+                awaitQuietly(release);
+                super.onEvent(event);
+            }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(4, 10, OverflowPolicy.DROP, handler);
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (writer.publish(LogLevel.INFO, LogType.SYSTEM, "t", i, "m", false)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        writer.shutdown(5_000);
+
+        assertThat(writer.getDroppedCount()).isEqualTo(100 - accepted);
+        assertThat(writer.getDroppedCount()).isPositive();
+        assertThat(handler.events.get()).isEqualTo(accepted);
+    }
+
+    @Test
+    @DisplayName("测试SAMPLE策略在队列接近满时采样")
+    void testSamplePolicyKeepsSubset() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler() {
+            @Override
+            public void onEvent(LogEvent event) {
+                awaitQuietly(release);
+                super.onEvent(event);
+            }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(64, 10, OverflowPolicy.SAMPLE, handler);
+
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            if (writer.publish(LogLevel.INFO, LogType.SYSTEM, "t", i, "m", false)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        writer.shutdown(5_000);
+
+        // 前3/4容量全部接受，之后按间隔采样直到队列满
+        assertThat(accepted).isGreaterThanOrEqualTo(48).isLessThanOrEqualTo(64);
+        assertThat(accepted + writer.getDroppedCount()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("测试关闭时写完剩余日志")
+    void testShutdownDrainsQueue() {
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        RecordingHandler handler = new RecordingHandler() {
+            @Override
+            public void onEvent(LogEvent event) {
+                super.onEvent(event);
+                messages.add(event.message);
+            }
+        };
+        AsyncLogWriter writer = new AsyncLogWriter(1024, 60_000, OverflowPolicy.BLOCK, handler);
+        for (int i = 0; i < 500; i++) {
+            writer.publish(LogLevel.INFO, LogType.USER, "t", i, "m" + i, false);
+        }
+        writer.shutdown(5_000);
+
+        assertThat(messages).hasSize(500);
+        assertThat(messages.get(499)).isEqualTo("m499");
+        assertThat(handler.flushes.get()).isPositive();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 记录回调次数的测试处理器
+     */
+    private static class RecordingHandler implements AsyncLogWriter.Handler {
+        final AtomicInteger events = new AtomicInteger();
+        final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void onEvent(LogEvent event) {
+            events.incrementAndGet();
+        }
+
+        @Override
+        public void onEndOfBatch() {
+        }
+
+        @Override
+        public void onFlush() {
+            flushes.incrementAndGet();
+        }
+    }
+}
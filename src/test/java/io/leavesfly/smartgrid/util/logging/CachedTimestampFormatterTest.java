@@ -0,0 +1,93 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CachedTimestampFormatter 单元测试类
+ * 测试缓存时间戳格式化结果与SimpleDateFormat一致以及并发安全性
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("CachedTimestampFormatter 时间戳格式化测试")
+class CachedTimestampFormatterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    private static String reference(String pattern, long epochMillis) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone(ZONE));
+        return format.format(new Date(epochMillis));
+    }
+
+    @Test
+    @DisplayName("测试与SimpleDateFormat输出一致")
+    void testMatchesSimpleDateFormat() {
+        CachedTimestampFormatter withMillis = new CachedTimestampFormatter(ZONE, true);
+        CachedTimestampFormatter withSeconds = new CachedTimestampFormatter(ZONE, false);
+
+        long base = 1_700_000_000_000L;
+        long[] samples = {base, base + 1, base + 9, base + 10, base + 99, base + 100,
+                          base + 999, base + 1000, base + 59_999, base + 86_400_000L, 0L};
+        for (long sample : samples) {
+            assertThat(withMillis.format(sample)).isEqualTo(reference("yyyy-MM-dd HH:mm:ss.SSS", sample));
+            assertThat(withSeconds.format(sample)).isEqualTo(reference("yyyy-MM-dd HH:mm:ss", sample));
+        }
+    }
+
+    @Test
+    @DisplayName("测试追加到已有构建器")
+    void testFormatToAppends() {
+        CachedTimestampFormatter formatter = new CachedTimestampFormatter(ZONE, true);
+        StringBuilder sb = new StringBuilder("[");
+        formatter.formatTo(1_700_000_000_005L, sb).append(']');
+
+        assertThat(sb.toString()).isEqualTo("[" + reference("yyyy-MM-dd HH:mm:ss.SSS", 1_700_000_000_005L) + "]");
+        assertThat(sb.length()).isEqualTo(CachedTimestampFormatter.MAX_LENGTH + 2);
+    }
+
+    @Test
+    @DisplayName("测试无效时区")
+    void testNullZone() {
+        assertThatThrownBy(() -> new CachedTimestampFormatter(null, true))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("时区不能为null");
+    }
+
+    @Test
+    @DisplayName("测试多线程交替格式化不同秒数")
+    void testConcurrentFormatting() throws Exception {
+        CachedTimestampFormatter formatter = new CachedTimestampFormatter(ZONE, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            final long base = 1_700_000_000_000L + t * 1_000L;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    long millis = base + (i % 7) * 4_321L + i % 1000;
+                    if (!formatter.format(millis).equals(reference("yyyy-MM-dd HH:mm:ss.SSS", millis))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        executor.shutdown();
+    }
+}
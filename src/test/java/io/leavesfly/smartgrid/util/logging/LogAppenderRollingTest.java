@@ -0,0 +1,156 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 日志滚动单元测试类
+ * 测试按大小滚动、后台压缩、归档清理和时间边界计算
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("LogAppender 日志滚动测试")
+class LogAppenderRollingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("测试超过大小上限后滚动并压缩归档")
+    void testRollsBySizeAndCompresses() throws Exception {
+        File file = tempDir.resolve("test.log").toFile();
+        LogAppender appender = new LogAppender(file, new RollingPolicy(1024, RollingPolicy.RollInterval.NONE, 0, true));
+        for (int i = 0; i < 200; i++) {
+            appender.appendAndFlush(String.format("line-%04d-0123456789", i));
+        }
+        appender.close();
+        assertThat(LogArchiver.awaitIdle(10_000)).isTrue();
+
+        File[] archives = archives(file);
+        assertThat(archives).isNotEmpty();
+        assertThat(archives).allMatch(archive -> archive.getName().endsWith(LogArchiver.GZIP_SUFFIX));
+        assertThat(file.length()).isLessThanOrEqualTo(1024 + 64);
+
+        List<String> lines = new ArrayList<>();
+        for (File archive : archives) {
+            lines.addAll(gunzipLines(archive));
+        }
+        if (file.exists()) {
+            lines.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+        assertThat(lines).hasSize(200);
+        assertThat(lines.get(0)).isEqualTo("line-0000-0123456789");
+        assertThat(lines.get(199)).isEqualTo("line-0199-0123456789");
+    }
+
+    @Test
+    @DisplayName("测试只保留最近的若干个归档")
+    void testPrunesOldArchives() {
+        File file = tempDir.resolve("prune.log").toFile();
+        LogAppender appender = new LogAppender(file, new RollingPolicy(256, RollingPolicy.RollInterval.NONE, 2, false));
+        for (int i = 0; i < 100; i++) {
+            appender.appendAndFlush(String.format("line-%04d-0123456789", i));
+        }
+        appender.close();
+        assertThat(LogArchiver.awaitIdle(10_000)).isTrue();
+
+        File[] archives = archives(file);
+        assertThat(archives).hasSize(2);
+        assertThat(archives).noneMatch(archive -> archive.getName().endsWith(LogArchiver.GZIP_SUFFIX));
+    }
+
+    @Test
+    @DisplayName("测试打开时补做上次运行中断的压缩")
+    void testRecoversInterruptedCompression() throws Exception {
+        File file = tempDir.resolve("recover.log").toFile();
+        File archive = tempDir.resolve("recover.log.20240305-101530").toFile();
+        File partial = tempDir.resolve("recover.log.20240305-101530.gz.tmp").toFile();
+        File unrelated = tempDir.resolve("recover.log.bak").toFile();
+        Files.write(archive.toPath(), Arrays.asList("archived-0", "archived-1"), StandardCharsets.UTF_8);
+        Files.write(partial.toPath(), new byte[] {0x1f, (byte) 0x8b});
+        Files.write(unrelated.toPath(), new byte[] {1});
+
+        LogAppender appender = new LogAppender(file, new RollingPolicy(1024 * 1024, RollingPolicy.RollInterval.NONE, 0, true));
+        appender.appendAndFlush("current");
+        appender.close();
+        assertThat(LogArchiver.awaitIdle(10_000)).isTrue();
+
+        File compressed = new File(archive.getPath() + LogArchiver.GZIP_SUFFIX);
+        assertThat(partial).doesNotExist();
+        assertThat(archive).doesNotExist();
+        assertThat(gunzipLines(compressed)).containsExactly("archived-0", "archived-1");
+        assertThat(unrelated).exists();
+    }
+
+    @Test
+    @DisplayName("测试不滚动策略")
+    void testNoRolling() {
+        File file = tempDir.resolve("plain.log").toFile();
+        LogAppender appender = new LogAppender(file, RollingPolicy.NONE);
+        for (int i = 0; i < 100; i++) {
+            appender.appendAndFlush(String.format("line-%04d-0123456789", i));
+        }
+        appender.close();
+
+        assertThat(RollingPolicy.NONE.isEnabled()).isFalse();
+        assertThat(archives(file)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("测试时间边界计算")
+    void testNextBoundary() {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        long now = ZonedDateTime.of(2024, 3, 5, 10, 15, 30, 0, zone).toInstant().toEpochMilli();
+
+        assertThat(RollingPolicy.RollInterval.NONE.nextBoundary(now, zone)).isEqualTo(Long.MAX_VALUE);
+        assertThat(RollingPolicy.RollInterval.HOURLY.nextBoundary(now, zone))
+            .isEqualTo(ZonedDateTime.of(2024, 3, 5, 11, 0, 0, 0, zone).toInstant().toEpochMilli());
+        assertThat(RollingPolicy.RollInterval.DAILY.nextBoundary(now, zone))
+            .isEqualTo(ZonedDateTime.of(2024, 3, 6, 0, 0, 0, 0, zone).toInstant().toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("测试无效滚动策略参数")
+    void testInvalidPolicy() {
+        assertThatThrownBy(() -> new RollingPolicy(-1, RollingPolicy.RollInterval.NONE, 0, false))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("滚动策略参数无效");
+    }
+
+    private static File[] archives(File file) {
+        String prefix = file.getName() + ".";
+        File[] archives = file.getParentFile().listFiles((dir, name) -> name.startsWith(prefix));
+        Arrays.sort(archives, Comparator.comparing(archive -> archive.getName().replace(LogArchiver.GZIP_SUFFIX, "")));
+        return archives;
+    }
+
+    private static List<String> gunzipLines(File archive) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(archive)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
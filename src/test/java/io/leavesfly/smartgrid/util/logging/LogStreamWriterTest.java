@@ -0,0 +1,57 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogLevel;
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * LogStreamWriter 单元测试类
+ * 测试旧日志接口按行转发到统一日志后端
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("LogStreamWriter 日志流适配测试")
+class LogStreamWriterTest {
+
+    @Test
+    @DisplayName("测试按行写入用户日志文件")
+    void testLinesReachLogFile() throws Exception {
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        LogLevel previousLevel = logger.getLogLevel();
+        logger.setLogLevel(LogLevel.DEBUG);
+        try {
+            String marker = "stream-" + System.nanoTime();
+            PrintWriter writer = new PrintWriter(new LogStreamWriter(logger, LogLevel.INFO, LogType.USER));
+            writer.print(marker + "-a");
+            writer.println();
+            writer.print(marker + "-b\r\n" + marker + "-c");
+            writer.close();
+            logger.flushAll();
+
+            List<String> lines = Files.readAllLines(logger.getLogFile(LogType.USER).toPath(),
+                StandardCharsets.UTF_8);
+            assertThat(lines).anyMatch(line -> line.endsWith(" " + marker + "-a"));
+            assertThat(lines).anyMatch(line -> line.endsWith(" " + marker + "-b"));
+            assertThat(lines).anyMatch(line -> line.endsWith(" " + marker + "-c"));
+            assertThat(lines).noneMatch(line -> line.contains("\r"));
+        } finally {
+            logger.setLogLevel(previousLevel);
+        }
+    }
+
+    @Test
+    @DisplayName("测试无效参数")
+    void testNullArguments() {
+        assertThatThrownBy(() -> new LogStreamWriter(null, LogType.USER))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("日志实例、级别和类型不能为null");
+    }
+}
@@ -0,0 +1,40 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MessageTemplate 单元测试类
+ * 测试 "{}" 占位符替换规则
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("MessageTemplate 日志模板测试")
+class MessageTemplateTest {
+
+    @Test
+    @DisplayName("测试按顺序替换占位符")
+    void testSequentialReplacement() {
+        assertThat(MessageTemplate.format("利润: {}, 轮次: {}", 12.5, 3)).isEqualTo("利润: 12.5, 轮次: 3");
+        assertThat(MessageTemplate.format("{}{}", "a", "b")).isEqualTo("ab");
+    }
+
+    @Test
+    @DisplayName("测试参数数量与占位符数量不一致")
+    void testMismatchedArgumentCount() {
+        assertThat(MessageTemplate.format("只有一个 {}", 1, 2)).isEqualTo("只有一个 1");
+        assertThat(MessageTemplate.format("两个 {} {}", 1)).isEqualTo("两个 1 {}");
+        assertThat(MessageTemplate.format("没有参数 {}")).isEqualTo("没有参数 {}");
+    }
+
+    @Test
+    @DisplayName("测试null与数组参数")
+    void testNullAndArrayArguments() {
+        assertThat(MessageTemplate.format("值: {}", (Object) null)).isEqualTo("值: null");
+        assertThat(MessageTemplate.format("消耗: {}", new long[]{1L, 2L})).isEqualTo("消耗: [1, 2]");
+        assertThat(MessageTemplate.format("价格: {}", new float[]{0.5f})).isEqualTo("价格: [0.5]");
+        assertThat(MessageTemplate.format(null, 1)).isNull();
+    }
+}
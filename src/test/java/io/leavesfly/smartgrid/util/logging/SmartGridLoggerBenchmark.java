@@ -0,0 +1,83 @@
+package io.leavesfly.smartgrid.util.logging;
+
+import io.leavesfly.smartgrid.util.logging.SmartGridLogger.LogType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SmartGridLogger 吞吐量基准
+ * 多个线程同时记录日志，统计同步模式与各异步溢出策略下每秒的日志调用次数
+ *
+ * 运行方式（先执行 mvn test-compile）：
+ * java -cp target/classes:target/test-classes io.leavesfly.smartgrid.util.logging.SmartGridLoggerBenchmark [线程数] [每轮秒数]
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+public class SmartGridLoggerBenchmark {
+
+    private static final int DEFAULT_THREADS = 64;
+    private static final int DEFAULT_SECONDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+
+        SmartGridLogger logger = SmartGridLogger.getInstance();
+        logger.setConsoleEnabled(false);
+
+        System.out.printf("threads=%d, seconds=%d%n", threads, seconds);
+        System.out.printf("%-12s %16s %14s%n", "mode", "calls/sec", "dropped");
+
+        report("sync", run(logger, threads, seconds), 0L);
+
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            logger.enableAsync(SmartGridLogger.DEFAULT_ASYNC_CAPACITY,
+                               SmartGridLogger.DEFAULT_FLUSH_INTERVAL_MILLIS, policy);
+            double callsPerSecond = run(logger, threads, seconds);
+            long dropped = logger.getDroppedCount();
+            logger.disableAsync();
+            report("async-" + policy.name().toLowerCase(), callsPerSecond, dropped);
+        }
+    }
+
+    private static double run(SmartGridLogger logger, int threads, int seconds) throws InterruptedException {
+        LongAdder calls = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int t = 0; t < threads; t++) {
+            final int threadId = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long deadline = System.nanoTime() + durationNanos;
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        logger.info(LogType.SYSTEM, "benchmark thread " + threadId + " message " + count);
+                        count++;
+                    }
+                    calls.add(count);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        logger.flushAll();
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        return calls.sum() / elapsedSeconds;
+    }
+
+    private static void report(String mode, double callsPerSecond, long dropped) {
+        System.out.printf("%-12s %16.0f %14d%n", mode, callsPerSecond, dropped);
+    }
+}
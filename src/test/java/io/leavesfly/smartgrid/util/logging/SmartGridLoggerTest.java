@@ -393,6 +393,125 @@ class SmartGridLoggerTest {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    @DisplayName("测试异步模式写入文件")
+    void testAsyncModeWritesToFile() throws IOException {
+        String marker = "异步模式消息-" + System.nanoTime();
+        logger.enableAsync(1024, 50, OverflowPolicy.BLOCK);
+        try {
+            assertThat(logger.isAsyncEnabled()).isTrue();
+            assertThat(logger.getQueueCapacity()).isEqualTo(1024);
+            
+            for (int i = 0; i < 100; i++) {
+                logger.info(LogType.SYSTEM, marker + " " + i);
+            }
+            logger.flushAll();
+            
+            assertThat(logger.getQueueDepth()).isZero();
+            assertThat(logger.getDroppedCount()).isZero();
+        } finally {
+            logger.disableAsync();
+        }
+        
+        assertThat(logger.isAsyncEnabled()).isFalse();
+        assertThat(logger.getQueueDepth()).isZero();
+        
+        List<String> lines = Files.readAllLines(logger.getLogFile(LogType.SYSTEM).toPath(),
+                                                java.nio.charset.StandardCharsets.UTF_8);
+        assertThat(lines.stream().filter(line -> line.contains(marker)).count()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("测试异步模式级别过滤")
+    void testAsyncModeLevelFiltering() {
+        logger.enableAsync(16, 50, OverflowPolicy.DROP);
+        try {
+            logger.setLogLevel(LogLevel.ERROR);
+            for (int i = 0; i < 100; i++) {
+                logger.info(LogType.SYSTEM, "应该被过滤");
+            }
+            // 被级别过滤的日志不进入队列，也不计入丢弃
+            assertThat(logger.getDroppedCount()).isZero();
+        } finally {
+            logger.disableAsync();
+        }
+    }
+
+    @Test
+    @DisplayName("测试被过滤的延迟日志不调用supplier")
+    void testSupplierNotInvokedWhenFiltered() {
+        java.util.concurrent.atomic.AtomicInteger invocations = new java.util.concurrent.atomic.AtomicInteger();
+        
+        logger.setLogLevel(LogLevel.WARN);
+        assertThat(logger.isEnabled(LogLevel.INFO)).isFalse();
+        assertThat(logger.isEnabled(LogLevel.ERROR)).isTrue();
+        
+        logger.log(LogLevel.INFO, LogType.SYSTEM, () -> "被过滤" + invocations.incrementAndGet());
+        assertThat(invocations.get()).isZero();
+        
+        logger.log(LogLevel.WARN, LogType.SYSTEM, () -> "被记录" + invocations.incrementAndGet());
+        assertThat(invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试被过滤的模板日志不调用参数toString")
+    void testTemplateArgumentsNotRenderedWhenFiltered() {
+        java.util.concurrent.atomic.AtomicInteger renders = new java.util.concurrent.atomic.AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                renders.incrementAndGet();
+                return "参数";
+            }
+        };
+        
+        logger.setLogLevel(LogLevel.WARN);
+        logger.info(LogType.SYSTEM, "模板 {}", argument);
+        logger.debug(LogType.SYSTEM, "模板 {} {}", argument, argument);
+        logger.log(LogLevel.INFO, LogType.SYSTEM, "模板 {} {} {}", argument, argument, argument);
+        assertThat(renders.get()).isZero();
+        
+        logger.setLogLevel(LogLevel.DEBUG);
+        logger.info(LogType.SYSTEM, "模板 {}", argument);
+        assertThat(renders.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试同步模式的ERROR日志和每行刷新模式立即写出到文件")
+    void testSyncModeFlushesErrorsImmediately() throws IOException {
+        String error = "同步错误消息-" + System.nanoTime();
+        logger.error(LogType.SYSTEM, error);
+        assertThat(countLines(LogType.SYSTEM, error)).isEqualTo(1);
+        
+        String info = "每行刷新消息-" + System.nanoTime();
+        logger.setFlushEveryLine(true);
+        try {
+            logger.info(LogType.SYSTEM, info);
+        } finally {
+            logger.setFlushEveryLine(false);
+        }
+        assertThat(countLines(LogType.SYSTEM, info)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试同步模式的普通日志由定时刷新写出到文件")
+    void testSyncModeFlushesOnTimer() throws Exception {
+        assertThat(logger.isFlushEveryLine()).isFalse();
+        String marker = "定时刷新消息-" + System.nanoTime();
+        logger.info(LogType.SYSTEM, marker);
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countLines(LogType.SYSTEM, marker) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(countLines(LogType.SYSTEM, marker)).isEqualTo(1);
+    }
+
+    private long countLines(LogType logType, String marker) throws IOException {
+        return Files.readAllLines(logger.getLogFile(logType).toPath(), java.nio.charset.StandardCharsets.UTF_8)
+                    .stream().filter(line -> line.contains(marker)).count();
+    }
+
     /**
      * 测试用的日志处理器（辅助类）
      */
@@ -0,0 +1,78 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 字节计数流单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("ByteCountingStream 字节计数流测试")
+class ByteCountingStreamTest {
+
+    @Test
+    @DisplayName("测试输出流统计写出的字节")
+    void testCountsWrittenBytes() throws Exception {
+        LongAdder counter = new LongAdder();
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ByteCountingOutputStream out = new ByteCountingOutputStream(target, counter);
+        out.write(1);
+        out.write(new byte[10], 2, 5);
+        out.write(new byte[3]);
+
+        assertThat(counter.sum()).isEqualTo(9);
+        assertThat(target.size()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("测试输入流统计读入的字节，流结束不计数")
+    void testCountsReadBytes() throws Exception {
+        LongAdder counter = new LongAdder();
+        ByteCountingInputStream in = new ByteCountingInputStream(new ByteArrayInputStream(new byte[20]), counter);
+        assertThat(in.read()).isEqualTo(0);
+        assertThat(in.read(new byte[8], 0, 8)).isEqualTo(8);
+        assertThat(in.skip(4)).isEqualTo(4);
+        assertThat(in.read(new byte[100])).isEqualTo(7);
+        assertThat(in.read()).isEqualTo(-1);
+
+        assertThat(counter.sum()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("测试对象流经计数流往返")
+    void testObjectStreamRoundTrip() throws Exception {
+        LongAdder sent = new LongAdder();
+        LongAdder received = new LongAdder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new ByteCountingOutputStream(bytes, sent))) {
+            out.writeObject(new int[] {1, 2, 3, 4});
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteCountingInputStream(new ByteArrayInputStream(bytes.toByteArray()), received))) {
+            assertThat((int[]) in.readObject()).containsExactly(1, 2, 3, 4);
+        }
+
+        assertThat(sent.sum()).isEqualTo(bytes.size());
+        assertThat(received.sum()).isEqualTo(bytes.size());
+    }
+
+    @Test
+    @DisplayName("测试无效参数")
+    void testNullArguments() {
+        assertThatThrownBy(() -> new ByteCountingOutputStream(null, new LongAdder()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("输出流和计数器不能为null");
+        assertThatThrownBy(() -> new ByteCountingInputStream(new ByteArrayInputStream(new byte[0]), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("输入流和计数器不能为null");
+    }
+}
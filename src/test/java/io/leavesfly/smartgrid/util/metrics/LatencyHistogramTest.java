@@ -0,0 +1,88 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LatencyHistogram 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("LatencyHistogram 延迟直方图测试")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("测试桶索引与上界互相一致")
+    void testBucketBoundaries() {
+        long[] samples = {0, 1, 31, 32, 33, 63, 64, 65, 1_000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : samples) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertThat(upper).isGreaterThanOrEqualTo(value);
+            // 相对误差不超过1/32
+            assertThat((double) (upper - value)).isLessThanOrEqualTo(value / 32.0);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(59 * 32 - 1);
+    }
+
+    @Test
+    @DisplayName("测试统计值与百分位")
+    void testStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMean()).isZero();
+
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+
+        assertThat(histogram.getCount()).isEqualTo(10_001);
+        assertThat(histogram.getMax()).isEqualTo(10_000);
+        assertThat(histogram.getMean()).isCloseTo(5_000.0, within(1.0));
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(5_000L, 5_000L + 5_000L / 32);
+        assertThat(histogram.getValueAtPercentile(99)).isBetween(9_900L, 10_000L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10_000);
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+
+        histogram.reset();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试无效百分位")
+    void testInvalidPercentile() {
+        assertThatThrownBy(() -> new LatencyHistogram().getValueAtPercentile(101))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("百分位超出范围: 101.0");
+    }
+
+    @Test
+    @DisplayName("测试多线程并发记录")
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(24_999);
+    }
+}
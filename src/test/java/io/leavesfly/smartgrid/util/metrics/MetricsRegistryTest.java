@@ -0,0 +1,66 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * MetricsRegistry 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("MetricsRegistry 指标注册表测试")
+class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("测试同名指标返回同一实例")
+    void testNamedMetricsAreShared() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertThat(registry.counter("a")).isSameAs(registry.counter("a"));
+        assertThat(registry.histogram("h")).isSameAs(registry.histogram("h"));
+
+        registry.counter("b").increment();
+        registry.counter("a").add(3);
+        assertThat(registry.getCounters().keySet()).containsExactly("a", "b");
+
+        assertThatThrownBy(() -> registry.counter(""))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("指标名称不能为空");
+    }
+
+    @Test
+    @DisplayName("测试通过JMX读取指标")
+    void testMBeanAttributes() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("moves").add(7);
+        registry.gauge("ratio", () -> 0.25);
+        registry.histogram("latency").record(2_000);
+
+        String objectName = "io.leavesfly.smartgrid:type=MetricsRegistryTest";
+        registry.registerMBean(objectName);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+
+            assertThat(server.getAttribute(name, "moves")).isEqualTo(7L);
+            assertThat(server.getAttribute(name, "ratio")).isEqualTo(0.25);
+            assertThat(server.getAttribute(name, "latency.count")).isEqualTo(1L);
+            assertThat((Double) server.getAttribute(name, "latency.maxMicros")).isEqualTo(2.0);
+            assertThat(Arrays.stream(server.getMBeanInfo(name).getAttributes()).map(MBeanAttributeInfo::getName))
+                .contains("moves", "ratio", "latency.p99Micros");
+
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertThat(server.getAttribute(name, "moves")).isEqualTo(0L);
+        } finally {
+            registry.unregisterMBean(objectName);
+        }
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(objectName))).isFalse();
+    }
+}
@@ -0,0 +1,88 @@
+package io.leavesfly.smartgrid.util.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PrometheusExporter 与 MetricsHttpServer 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("PrometheusExporter 指标导出测试")
+class PrometheusExporterTest {
+
+    @Test
+    @DisplayName("测试文本格式输出")
+    void testRenderFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("acceptedMoves").add(3);
+        registry.gauge("acceptRatio", () -> 0.75);
+        registry.gauge("bestProfit", () -> Double.NaN);
+        LatencyHistogram histogram = registry.histogram("broadcastLatency");
+        histogram.record(1_000_000);
+        histogram.record(3_000_000);
+
+        PrometheusExporter exporter = new PrometheusExporter(registry, "sg");
+        exporter.addCollector((target, out) -> {
+            String name = target.metricName("bestPrice");
+            PrometheusExporter.appendType(out, name, "gauge");
+            PrometheusExporter.appendSample(out, name, "slot", "0", 0.5);
+        });
+        String text = exporter.render();
+
+        assertThat(text).contains(
+            "# TYPE sg_accepted_moves_total counter\nsg_accepted_moves_total 3\n",
+            "# TYPE sg_accept_ratio gauge\nsg_accept_ratio 0.75\n",
+            "sg_best_profit NaN\n",
+            "# TYPE sg_broadcast_latency_seconds summary\n",
+            "sg_broadcast_latency_seconds{quantile=\"1\"} 0.003\n",
+            "sg_broadcast_latency_seconds_sum 0.004\n",
+            "sg_broadcast_latency_seconds_count 2\n",
+            "sg_best_price{slot=\"0\"} 0.5\n");
+        // 重复渲染结果一致，缓冲区被复用
+        assertThat(exporter.render()).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("测试HTTP端点")
+    void testHttpEndpoint() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("evaluations").add(42);
+        PrometheusExporter exporter = new PrometheusExporter(registry, "sg");
+
+        try (MetricsHttpServer server = MetricsHttpServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), exporter)) {
+            URL url = new URL("http://127.0.0.1:" + server.getPort() + MetricsHttpServer.METRICS_PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try {
+                assertThat(connection.getResponseCode()).isEqualTo(200);
+                assertThat(connection.getContentType()).isEqualTo(PrometheusExporter.CONTENT_TYPE);
+                assertThat(readBody(connection)).contains("sg_evaluations_total 42\n");
+            } finally {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static String readBody(HttpURLConnection connection) throws Exception {
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                body.write(buffer, 0, read);
+            }
+            return new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
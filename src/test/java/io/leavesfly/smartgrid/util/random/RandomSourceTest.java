@@ -0,0 +1,83 @@
+package io.leavesfly.smartgrid.util.random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RandomSource 单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("RandomSource 随机数源测试")
+class RandomSourceTest {
+
+    @Test
+    @DisplayName("测试相同种子产生相同序列")
+    void testSameSeedSameSequence() {
+        RandomSource first = new RandomSource(42L);
+        RandomSource second = new RandomSource(42L);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(second.nextDouble()).isEqualTo(first.nextDouble());
+            assertThat(second.nextInt(1000)).isEqualTo(first.nextInt(1000));
+        }
+        assertThat(new RandomSource(43L).nextLong()).isNotEqualTo(new RandomSource(42L).nextLong());
+    }
+
+    @Test
+    @DisplayName("测试按相同顺序派生的随机数源可复现且互不相同")
+    void testSplitIsReproducible() {
+        RandomSource root = new RandomSource(7L);
+        RandomSource childA = root.split();
+        RandomSource childB = root.split();
+
+        RandomSource replay = new RandomSource(7L);
+        RandomSource replayA = replay.split();
+
+        long a = childA.nextLong();
+        assertThat(replayA.nextLong()).isEqualTo(a);
+        assertThat(childB.nextLong()).isNotEqualTo(a);
+        assertThat(childA.getSeed()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("测试浮点数范围")
+    void testNextFloatRange() {
+        RandomSource random = new RandomSource(1L);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(random.nextFloat(0.5f, 1.5f)).isGreaterThanOrEqualTo(0.5f).isLessThan(1.5f);
+        }
+        assertThatThrownBy(() -> random.nextFloat(1.0f, 1.0f)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> random.nextFloat(Float.NaN, 1.0f)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("测试按系统属性指定运行种子")
+    void testForRunUsesSeedProperty() {
+        String previous = System.getProperty(RandomSource.SEED_PROPERTY);
+        System.setProperty(RandomSource.SEED_PROPERTY, "99");
+        try {
+            RandomSource run = RandomSource.forRun();
+            assertThat(run.getSeed()).isEqualTo(99L);
+            assertThat(run.nextLong()).isEqualTo(new RandomSource(99L).nextLong());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(RandomSource.SEED_PROPERTY);
+            } else {
+                System.setProperty(RandomSource.SEED_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试整数范围")
+    void testNextIntRange() {
+        RandomSource random = new RandomSource(5L);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(random.nextInt(8, 17)).isBetween(8, 16);
+        }
+        assertThatThrownBy(() -> random.nextInt(3, 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package io.leavesfly.smartgrid.util.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 优化轨迹记录与读取单元测试类
+ *
+ * @author SmartGrid Team
+ * @version 2.0
+ */
+@DisplayName("TraceRecorder 优化轨迹测试")
+class TraceRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("测试跨分段写入并按顺序读回")
+    void testRoundTripAcrossSegments() throws IOException {
+        try (TraceRecorder recorder = TraceRecorder.open(tempDir, "run", 3, 4)) {
+            for (int i = 0; i < 10; i++) {
+                recorder.record(i / 3, i % 3, new float[]{i, i + 0.5f, i + 0.25f},
+                    new long[]{i, 3_000_000_000L + i, -i}, i * 1.5, i % 2 == 0, 1.0f / (i + 1));
+            }
+            recorder.record(4, -1, new float[]{1f, 2f, 3f}, new int[]{7, 8, 9}, -2.0, true, 0.01f);
+
+            assertThat(recorder.getRecordCount()).isEqualTo(11);
+            assertThat(recorder.getSegmentCount()).isEqualTo(3);
+        }
+
+        TraceReader reader = new TraceReader(tempDir, "run");
+        List<TraceRecord> records = new ArrayList<>();
+        assertThat(reader.forEach(records::add)).isEqualTo(11);
+        assertThat(reader.count()).isEqualTo(11);
+        assertThat(reader.getTimeSlots()).isEqualTo(3);
+
+        for (int i = 0; i < 10; i++) {
+            TraceRecord record = records.get(i);
+            assertThat(record.getRound()).isEqualTo(i / 3);
+            assertThat(record.getPosition()).isEqualTo(i % 3);
+            assertThat(record.getPricesCopy()).containsExactly(i, i + 0.5f, i + 0.25f);
+            assertThat(record.getConsumptionsCopy()).containsExactly(i, 3_000_000_000L + i, -i);
+            assertThat(record.getProfit()).isEqualTo(i * 1.5);
+            assertThat(record.isAccepted()).isEqualTo(i % 2 == 0);
+            assertThat(record.getTemperature()).isEqualTo(1.0f / (i + 1));
+        }
+        assertThat(records.get(10).getConsumptionsCopy()).containsExactly(7, 8, 9);
+        assertThat(records.get(10).getPosition()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("测试重新打开时覆盖旧轨迹")
+    void testReopenReplacesOldSegments() throws IOException {
+        try (TraceRecorder recorder = TraceRecorder.open(tempDir, "run", 1, 2)) {
+            for (int i = 0; i < 5; i++) {
+                recorder.record(1, 0, new float[]{1f}, new long[]{1}, 1.0, true, 1f);
+            }
+        }
+        try (TraceRecorder recorder = TraceRecorder.open(tempDir, "run", 1, 2)) {
+            recorder.record(1, 0, new float[]{1f}, new long[]{1}, 1.0, true, 1f);
+        }
+
+        assertThat(new TraceReader(tempDir, "run").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试导出CSV")
+    void testCsvExport() throws IOException {
+        try (TraceRecorder recorder = TraceRecorder.open(tempDir, "csv", 2)) {
+            recorder.record(1, 0, new float[]{0.5f, 0.25f}, new long[]{10, 20}, 3.5, true, 0.25f);
+            recorder.record(1, 1, new float[]{0.75f, 0.25f}, new long[]{8, 21}, 2.0, false, 0.25f);
+        }
+
+        StringWriter out = new StringWriter();
+        assertThat(TraceCsvExporter.export(new TraceReader(tempDir, "csv"), out)).isEqualTo(2);
+        assertThat(out.toString().split("\n")).containsExactly(
+            "round,position,temperature,accepted,profit,price_0,price_1,consumption_0,consumption_1",
+            "1,0,0.25,1,3.5,0.5,0.25,10,20",
+            "1,1,0.25,0,2.0,0.75,0.25,8,21");
+
+        Path csv = tempDir.resolve("trace.csv");
+        TraceCsvExporter.export(new TraceReader(tempDir, "csv"), csv);
+        assertThat(Files.readAllLines(csv)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("测试无效参数与关闭后写入")
+    void testInvalidArguments() throws IOException {
+        assertThatThrownBy(() -> TraceRecorder.open(tempDir, "bad", 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("时间段数量超出范围: 0");
+
+        TraceRecorder recorder = TraceRecorder.open(tempDir, "closed", 2);
+        assertThatThrownBy(() -> recorder.record(1, 0, new float[]{1f}, new long[]{1, 2}, 0, true, 1f))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("价格数组长度必须为 2");
+        recorder.close();
+        assertThatThrownBy(() -> recorder.record(1, 0, new float[]{1f, 2f}, new long[]{1, 2}, 0, true, 1f))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("轨迹记录器已关闭");
+    }
+
+    @Test
+    @DisplayName("测试读取不存在或损坏的轨迹")
+    void testMissingAndCorruptTrace() throws IOException {
+        TraceReader missing = new TraceReader(tempDir, "missing");
+        assertThat(missing.count()).isZero();
+        assertThat(missing.getTimeSlots()).isEqualTo(-1);
+        assertThat(TraceCsvExporter.export(missing, new StringWriter())).isZero();
+
+        Files.write(tempDir.resolve("corrupt-00000.sgtrace"), new byte[64]);
+        assertThatThrownBy(() -> new TraceReader(tempDir, "corrupt").count())
+            .isInstanceOf(IOException.class)
+            .hasMessageStartingWith("不是有效的轨迹文件");
+    }
+}